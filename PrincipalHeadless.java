@@ -0,0 +1,255 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import controller.ConfiguracaoSimulacao;
+import controller.ControllerHeadless;
+import model.TransferenciaDeArquivo;
+
+/**
+ * Ponto de entrada da simulacao sem interface grafica.
+ * <p>
+ * Transmite uma mensagem (gerada ou lida de um arquivo) por toda a pilha de
+ * camadas, sem JavaFX e sem animacao, e informa o tempo gasto, a vazao e se os
+ * bytes recebidos sao iguais aos enviados. Uso:
+ * <pre>
+ *   java PrincipalHeadless [--codificacao N] [--enquadramento N] [--erro N]
+ *                          [--controle N] [--crc NOME] [--fluxo N] [--janela N]
+ *                          [--tamanho BYTES] [--binario] [--arquivo CAMINHO]
+ *                          [--destino CAMINHO] [--bloco BYTES] [--tempo-limite MS]
+ *                          [--ber P] [--rajadas P_BR,P_RB,BER_B,BER_R]
+ *                          [--perda P] [--apagamento P] [--duplicacao P]
+ *                          [--semente N] [--estagios] [--verbose]
+ * </pre>
+ * Os codigos numericos sao os mesmos da interface grafica (ver ConfiguracaoSimulacao).
+ * A mensagem gerada eh de texto ASCII imprimivel; com --binario, ela percorre
+ * todos os valores de byte (inclusive as flags, os escapes, a marca de ACK e
+ * bytes nulos). O arquivo eh enviado byte a byte, qualquer que seja o conteudo.
+ * Com --destino, o arquivo nao eh lido inteiro: ele eh transferido em blocos de
+ * --bloco bytes (ver TransferenciaDeArquivo), o receptor grava o destino e o
+ * resultado eh a verificacao de ponta a ponta (SHA-256) da transferencia.
+ * Com --estagios, o meio e o receptor rodam em estagios paralelos (PipelineEnlace).
+ * Por padrao o meio inverte um bit por quadro com a probabilidade de --erro;
+ * --ber troca esse modelo por erros de bit independentes e --rajadas por erros
+ * em rajadas (Gilbert-Elliott: probabilidades de entrar e sair da rajada, por
+ * bit, e a BER fora e dentro dela). --perda, --apagamento e --duplicacao sao
+ * probabilidades por palavra de 32 bits, somadas ao modelo de bits. Com
+ * --semente, os erros sorteados se repetem de uma execucao para outra (quando um
+ * tempo limite expira antes do ACK, a retransmissao muda a ordem dos quadros, e
+ * com ela a quais quadros os sorteios se aplicam). Alem da vazao, o resultado
+ * mostra a sobrecarga de linha da codificacao: a nominal (simbolos na linha por
+ * bit de dados) e a medida, com o padding e as flags de violacao, sobre os bytes
+ * dos quadros da camada de enlace.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class PrincipalHeadless {
+
+  private static final int TAMANHO_PADRAO = 64 * 1024; //Bytes da mensagem gerada, se nenhum arquivo for informado
+
+  /**Nome de cada codificacao, na ordem dos codigos de --codificacao */
+  private static final String[] CODIFICACOES = {"Binaria", "Manchester", "Manchester Diferencial", "NRZI",
+                                                "AMI", "4B/5B (NRZI)", "8B/10B"};
+
+  /**Simbolos na linha por bit de dados de cada codificacao (no AMI, um simbolo de tres niveis ocupa dois bits do fluxo) */
+  private static final double[] SOBRECARGAS = {1.0, 2.0, 2.0, 1.0, 1.0, 1.25, 1.25};
+
+  /**
+   * Le as opcoes, executa a transmissao e exibe o resultado.
+   *
+   * @param args Os argumentos da linha de comando.
+   * @throws Exception Erro na leitura do arquivo ou na espera pela transmissao.
+   */
+  public static void main(String[] args) throws Exception {
+    ConfiguracaoSimulacao configuracao = new ConfiguracaoSimulacao();
+    int tamanho = TAMANHO_PADRAO;
+    String arquivo = null;
+    String destino = null;
+    int tamanhoBloco = TransferenciaDeArquivo.TAMANHO_BLOCO_PADRAO;
+    boolean binario = false;
+    boolean verbose = false;
+
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--codificacao":
+          configuracao.setCodificacao(Integer.parseInt(args[++i]));
+          break;
+        case "--enquadramento":
+          configuracao.setEnquadramento(Integer.parseInt(args[++i]));
+          break;
+        case "--erro":
+          configuracao.setErro(Integer.parseInt(args[++i]));
+          break;
+        case "--controle":
+          configuracao.setControleErro(Integer.parseInt(args[++i]));
+          break;
+        case "--crc":
+          configuracao.setTipoCRC(args[++i]);
+          break;
+        case "--fluxo":
+          configuracao.setControleFluxo(Integer.parseInt(args[++i]));
+          break;
+        case "--janela":
+          configuracao.setTamanhoJanela(Integer.parseInt(args[++i]));
+          break;
+        case "--tamanho":
+          tamanho = Integer.parseInt(args[++i]);
+          break;
+        case "--binario":
+          binario = true;
+          break;
+        case "--arquivo":
+          arquivo = args[++i];
+          break;
+        case "--destino":
+          destino = args[++i];
+          break;
+        case "--bloco":
+          tamanhoBloco = Integer.parseInt(args[++i]);
+          break;
+        case "--tempo-limite":
+          configuracao.setTempoLimite(Integer.parseInt(args[++i]));
+          break;
+        case "--ber":
+          configuracao.setTaxaErroBit(Double.parseDouble(args[++i]));
+          break;
+        case "--rajadas":
+          String[] parametros = args[++i].split(",");
+          if (parametros.length != 4) {
+            System.err.println("--rajadas espera 4 valores: P_BR,P_RB,BER_B,BER_R");
+            System.exit(2);
+          }
+          configuracao.setRajadas(Double.parseDouble(parametros[0]), Double.parseDouble(parametros[1]),
+                                  Double.parseDouble(parametros[2]), Double.parseDouble(parametros[3]));
+          break;
+        case "--perda":
+          configuracao.setPerdaPalavra(Double.parseDouble(args[++i]));
+          break;
+        case "--apagamento":
+          configuracao.setApagamentoPalavra(Double.parseDouble(args[++i]));
+          break;
+        case "--duplicacao":
+          configuracao.setDuplicacaoPalavra(Double.parseDouble(args[++i]));
+          break;
+        case "--semente":
+          configuracao.setSemente(Long.parseLong(args[++i]));
+          break;
+        case "--estagios":
+          configuracao.setExecucaoEmEstagios(true);
+          break;
+        case "--verbose":
+          verbose = true;
+          break;
+        default:
+          System.err.println("Opcao desconhecida: " + args[i]);
+          System.exit(2);
+      } //Fim switch
+    } //Fim for
+
+    int codificacao = configuracao.getCodificacao();
+    if (codificacao < 1 || codificacao > CODIFICACOES.length) {
+      System.err.println("Codificacao desconhecida: " + codificacao);
+      System.exit(2);
+    }
+    if (codificacao != 2 && codificacao != 3 && configuracao.getEnquadramento() == 4) {
+      System.err.println("A codificacao " + CODIFICACOES[codificacao - 1]
+          + " nao suporta o enquadramento por violacao da camada fisica");
+      System.exit(2);
+    }
+    if (destino != null && arquivo == null) {
+      System.err.println("--destino exige --arquivo");
+      System.exit(2);
+    }
+    if (tamanhoBloco < 1) {
+      System.err.println("Tamanho de bloco invalido: " + tamanhoBloco);
+      System.exit(2);
+    }
+
+    byte[] mensagem = null; //Na transferencia em blocos, o arquivo nao eh carregado
+    if (destino == null) {
+      mensagem = (arquivo != null) ? lerArquivo(arquivo) : gerarMensagem(tamanho, binario);
+    }
+
+    PrintStream saida = System.out;
+    PrintStream saidaErro = System.err;
+    if (!verbose) { //Descarta os logs das camadas (inclusive os avisos de retransmissao)
+      PrintStream descarte = new PrintStream(OutputStream.nullOutputStream());
+      System.setOut(descarte);
+      System.setErr(descarte);
+    }
+
+    ControllerHeadless controller = new ControllerHeadless(configuracao);
+    long inicio = System.nanoTime();
+    long bytesEnviados;
+    boolean iguais;
+    if (destino != null) {
+      TransferenciaDeArquivo transferencia = controller.transferir(Paths.get(arquivo), Paths.get(destino), tamanhoBloco);
+      bytesEnviados = transferencia.getBytesEnviados();
+      iguais = transferencia.aguardar();
+    } else {
+      byte[] recebida = controller.transmitir(mensagem);
+      bytesEnviados = mensagem.length;
+      iguais = Arrays.equals(recebida, mensagem);
+    } //Fim if-else
+    long duracao = System.nanoTime() - inicio;
+
+    System.setOut(saida);
+    System.setErr(saidaErro);
+
+    double segundos = duracao / 1e9;
+    System.out.printf("Bytes enviados:    %d%n", bytesEnviados);
+    System.out.printf("Tempo:             %.1f ms%n", duracao / 1e6);
+    System.out.printf("Vazao:             %.1f KB/s%n", bytesEnviados / 1024.0 / segundos);
+    System.out.printf("Erros detectados:  %d%n", controller.getErrosDetectados());
+    System.out.printf("Retransmitidos:    %d bytes%n", controller.getBytesRetransmitidos());
+    int bitsPorSimbolo = (codificacao == 5) ? 2 : 1;
+    double simbolos = (double) controller.getBitsNaLinha() / bitsPorSimbolo;
+    System.out.printf("Codificacao:       %s (%.2f simbolos por bit)%n", CODIFICACOES[codificacao - 1],
+                      SOBRECARGAS[codificacao - 1]);
+    System.out.printf("Simbolos na linha: %.0f (%.2f por bit dos quadros)%n", simbolos,
+                      simbolos / Math.max(1, controller.getBytesCodificados() * 8));
+    System.out.printf("Taxa de linha:     %.1f Kbaud%n", simbolos / 1000.0 / segundos);
+    System.out.printf("Mensagem integra:  %s%n", iguais ? "sim" : "nao");
+
+    System.exit(iguais ? 0 : 1);
+  } //Fim main
+
+
+  /**
+   * Gera uma mensagem de texto com caracteres imprimiveis ou, com binario, com
+   * todos os valores de byte.
+   *
+   * @param  tamanho O numero de bytes.
+   * @param  binario Se a mensagem deve percorrer todos os valores de byte.
+   * @return byte[]  A mensagem gerada.
+   */
+  private static byte[] gerarMensagem(int tamanho, boolean binario) {
+    byte[] mensagem = new byte[tamanho];
+    for (int i = 0; i < tamanho; i++) {
+      if (binario) {
+        mensagem[i] = (byte) (i * 37 + i / 256); //Percorre os valores de 0 a 255
+      } else {
+        mensagem[i] = (byte) (' ' + (i * 31 + i / 95) % 95); //Percorre os caracteres de ' ' a '~'
+      }
+    } //Fim for
+    return mensagem;
+  } //Fim gerarMensagem
+
+
+  /**
+   * Le o conteudo de um arquivo.
+   *
+   * @param  caminho     O caminho do arquivo.
+   * @return byte[]      O conteudo do arquivo.
+   * @throws IOException Erro na leitura do arquivo.
+   */
+  private static byte[] lerArquivo(String caminho) throws IOException {
+    return Files.readAllBytes(Paths.get(caminho));
+  } //Fim lerArquivo
+
+} //Fim da classe PrincipalHeadless
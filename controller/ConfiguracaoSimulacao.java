@@ -0,0 +1,327 @@
+package controller;
+
+/**
+ * Opcoes de uma transmissao simulada sem interface grafica.
+ * <p>
+ * Guarda os mesmos valores que a interface grafica le das ComboBoxes e do
+ * slider, com os mesmos codigos numericos devolvidos pelos getters do
+ * ControllerTelaPrincipal. Por padrao a velocidade eh 0 (sem espera entre
+ * as palavras) e o tempo limite do ACK eh curto, ja que sem animacao a
+ * resposta do receptor chega assim que o quadro eh processado.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 17/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class ConfiguracaoSimulacao {
+
+  private int codificacao = 1; //1: Binaria, 2: Manchester, 3: Manchester Diferencial, 4: NRZI, 5: AMI, 6: 4B/5B, 7: 8B/10B
+  private int enquadramento = 1; //1: Contagem, 2: Bytes, 3: Bits, 4: Violacao da Camada Fisica
+  private int erro = 0; //Probabilidade de erro, em porcentagem
+  private int controleErro = 1; //Mesmos codigos de ControllerTelaPrincipal.getControleErro()
+  private String tipoCRC = "CRC-32"; //Polinomio usado quando controleErro eh 3
+  private int controleFluxo = 1; //1: Stop-and-Wait, 2: Go-Back-N, 3: Selective Repeat
+  private int tamanhoJanela = 8; //Quadros pendentes no Go-Back-N (1 a 63) ou no Selective Repeat (1 a 32)
+  private int velocidade = 0; //Espera entre as palavras, em milissegundos
+  private int tempoLimite = 1; //RTO inicial (espera por um ACK antes de retransmitir), em milissegundos
+  private boolean execucaoEmEstagios = false; //Meio e receptor em estagios paralelos (PipelineEnlace)
+  private double taxaErroBit = 0; //BER independente por bit (0: usa a probabilidade de erro por quadro)
+  private double[] rajadas = null; //Gilbert-Elliott: {p BOM->RUIM, p RUIM->BOM, BER BOM, BER RUIM} (null: sem rajadas)
+  private double perdaPalavra = 0; //Probabilidade de uma palavra se perder no meio
+  private double apagamentoPalavra = 0; //Probabilidade de uma palavra chegar apagada (nula)
+  private double duplicacaoPalavra = 0; //Probabilidade de uma palavra chegar duas vezes
+  private Long semente = null; //Semente dos sorteios do enlace (null: diferente a cada execucao)
+
+  /**
+   * Retorna o tipo de codificacao.
+   *
+   * @return int O codigo da codificacao (1-7).
+   */
+  public int getCodificacao() {
+    return codificacao;
+  } //Fim getCodificacao
+
+  /**
+   * Define o tipo de codificacao.
+   *
+   * @param codificacao O codigo da codificacao (1-7).
+   */
+  public void setCodificacao(int codificacao) {
+    this.codificacao = codificacao;
+  } //Fim setCodificacao
+
+  /**
+   * Retorna o tipo de enquadramento.
+   *
+   * @return int O codigo do enquadramento (1-4).
+   */
+  public int getEnquadramento() {
+    return enquadramento;
+  } //Fim getEnquadramento
+
+  /**
+   * Define o tipo de enquadramento.
+   *
+   * @param enquadramento O codigo do enquadramento (1-4).
+   */
+  public void setEnquadramento(int enquadramento) {
+    this.enquadramento = enquadramento;
+  } //Fim setEnquadramento
+
+  /**
+   * Retorna a probabilidade de erro.
+   *
+   * @return int A probabilidade, em porcentagem (0-100).
+   */
+  public int getErro() {
+    return erro;
+  } //Fim getErro
+
+  /**
+   * Define a probabilidade de erro.
+   *
+   * @param erro A probabilidade, em porcentagem (0-100).
+   */
+  public void setErro(int erro) {
+    this.erro = erro;
+  } //Fim setErro
+
+  /**
+   * Retorna o tipo de controle de erro.
+   *
+   * @return int O codigo do controle de erro (1-6).
+   */
+  public int getControleErro() {
+    return controleErro;
+  } //Fim getControleErro
+
+  /**
+   * Define o tipo de controle de erro.
+   *
+   * @param controleErro O codigo do controle de erro (1-6).
+   */
+  public void setControleErro(int controleErro) {
+    this.controleErro = controleErro;
+  } //Fim setControleErro
+
+  /**
+   * Retorna o polinomio CRC.
+   *
+   * @return String O nome do polinomio no catalogo da CalculadoraCRC.
+   */
+  public String getTipoCRC() {
+    return tipoCRC;
+  } //Fim getTipoCRC
+
+  /**
+   * Define o polinomio CRC.
+   *
+   * @param tipoCRC O nome do polinomio no catalogo da CalculadoraCRC.
+   */
+  public void setTipoCRC(String tipoCRC) {
+    this.tipoCRC = tipoCRC;
+  } //Fim setTipoCRC
+
+  /**
+   * Retorna o protocolo de controle de fluxo.
+   *
+   * @return int O codigo do controle de fluxo (1-3).
+   */
+  public int getControleFluxo() {
+    return controleFluxo;
+  } //Fim getControleFluxo
+
+  /**
+   * Define o protocolo de controle de fluxo.
+   *
+   * @param controleFluxo O codigo do controle de fluxo (1-3).
+   */
+  public void setControleFluxo(int controleFluxo) {
+    this.controleFluxo = controleFluxo;
+  } //Fim setControleFluxo
+
+  /**
+   * Retorna o tamanho da janela de transmissao.
+   *
+   * @return int O numero maximo de quadros pendentes (1 no Stop-and-Wait).
+   */
+  public int getTamanhoJanela() {
+    return (controleFluxo == 1) ? 1 : tamanhoJanela;
+  } //Fim getTamanhoJanela
+
+  /**
+   * Define o tamanho da janela usado pelo Go-Back-N e pelo Selective Repeat.
+   *
+   * @param tamanhoJanela O numero maximo de quadros pendentes (1 a 63, ou 1 a 32 no Selective Repeat).
+   */
+  public void setTamanhoJanela(int tamanhoJanela) {
+    this.tamanhoJanela = tamanhoJanela;
+  } //Fim setTamanhoJanela
+
+  /**
+   * Retorna a espera entre as palavras transmitidas.
+   *
+   * @return int O intervalo em milissegundos.
+   */
+  public int getVelocidade() {
+    return velocidade;
+  } //Fim getVelocidade
+
+  /**
+   * Define a espera entre as palavras transmitidas.
+   *
+   * @param velocidade O intervalo em milissegundos (0 para nao esperar).
+   */
+  public void setVelocidade(int velocidade) {
+    this.velocidade = velocidade;
+  } //Fim setVelocidade
+
+  /**
+   * Retorna o tempo de espera por um ACK.
+   *
+   * @return int O tempo limite em milissegundos.
+   */
+  public int getTempoLimite() {
+    return tempoLimite;
+  } //Fim getTempoLimite
+
+  /**
+   * Define o tempo de espera por um ACK.
+   *
+   * @param tempoLimite O tempo limite em milissegundos.
+   */
+  public void setTempoLimite(int tempoLimite) {
+    this.tempoLimite = tempoLimite;
+  } //Fim setTempoLimite
+
+  /**
+   * Informa se a execucao em estagios esta ligada.
+   *
+   * @return boolean Verdadeiro se o meio e o receptor rodam em estagios paralelos.
+   */
+  public boolean isExecucaoEmEstagios() {
+    return execucaoEmEstagios;
+  } //Fim isExecucaoEmEstagios
+
+  /**
+   * Liga ou desliga a execucao em estagios.
+   *
+   * @param execucaoEmEstagios Verdadeiro para o meio e o receptor em estagios paralelos.
+   */
+  public void setExecucaoEmEstagios(boolean execucaoEmEstagios) {
+    this.execucaoEmEstagios = execucaoEmEstagios;
+  } //Fim setExecucaoEmEstagios
+
+  /**
+   * Retorna a taxa de erro de bit independente.
+   *
+   * @return double A probabilidade de cada bit ser invertido (0: desligada).
+   */
+  public double getTaxaErroBit() {
+    return taxaErroBit;
+  } //Fim getTaxaErroBit
+
+  /**
+   * Define a taxa de erro de bit independente (CanalBER), no lugar do erro por quadro.
+   *
+   * @param taxaErroBit A probabilidade de cada bit ser invertido (0 a 1).
+   */
+  public void setTaxaErroBit(double taxaErroBit) {
+    this.taxaErroBit = taxaErroBit;
+  } //Fim setTaxaErroBit
+
+  /**
+   * Retorna os parametros do canal com rajadas.
+   *
+   * @return double[] {p BOM->RUIM, p RUIM->BOM, BER BOM, BER RUIM}, ou null se desligado.
+   */
+  public double[] getRajadas() {
+    return rajadas;
+  } //Fim getRajadas
+
+  /**
+   * Define o canal com rajadas (CanalGilbertElliott), no lugar do erro por quadro.
+   *
+   * @param pBomRuim     A probabilidade, por bit, de entrar em uma rajada.
+   * @param pRuimBom     A probabilidade, por bit, de sair da rajada.
+   * @param taxaErroBom  A BER fora das rajadas.
+   * @param taxaErroRuim A BER durante as rajadas.
+   */
+  public void setRajadas(double pBomRuim, double pRuimBom, double taxaErroBom, double taxaErroRuim) {
+    this.rajadas = new double[] {pBomRuim, pRuimBom, taxaErroBom, taxaErroRuim};
+  } //Fim setRajadas
+
+  /**
+   * Retorna a probabilidade de perda de uma palavra.
+   *
+   * @return double A probabilidade (0 a 1).
+   */
+  public double getPerdaPalavra() {
+    return perdaPalavra;
+  } //Fim getPerdaPalavra
+
+  /**
+   * Define a probabilidade de perda de uma palavra.
+   *
+   * @param perdaPalavra A probabilidade (0 a 1).
+   */
+  public void setPerdaPalavra(double perdaPalavra) {
+    this.perdaPalavra = perdaPalavra;
+  } //Fim setPerdaPalavra
+
+  /**
+   * Retorna a probabilidade de uma palavra chegar apagada.
+   *
+   * @return double A probabilidade (0 a 1).
+   */
+  public double getApagamentoPalavra() {
+    return apagamentoPalavra;
+  } //Fim getApagamentoPalavra
+
+  /**
+   * Define a probabilidade de uma palavra chegar apagada (nula).
+   *
+   * @param apagamentoPalavra A probabilidade (0 a 1).
+   */
+  public void setApagamentoPalavra(double apagamentoPalavra) {
+    this.apagamentoPalavra = apagamentoPalavra;
+  } //Fim setApagamentoPalavra
+
+  /**
+   * Retorna a probabilidade de uma palavra chegar duas vezes.
+   *
+   * @return double A probabilidade (0 a 1).
+   */
+  public double getDuplicacaoPalavra() {
+    return duplicacaoPalavra;
+  } //Fim getDuplicacaoPalavra
+
+  /**
+   * Define a probabilidade de uma palavra chegar duas vezes.
+   *
+   * @param duplicacaoPalavra A probabilidade (0 a 1).
+   */
+  public void setDuplicacaoPalavra(double duplicacaoPalavra) {
+    this.duplicacaoPalavra = duplicacaoPalavra;
+  } //Fim setDuplicacaoPalavra
+
+  /**
+   * Retorna a semente dos sorteios do enlace.
+   *
+   * @return Long A semente, ou null se cada execucao usa uma diferente.
+   */
+  public Long getSemente() {
+    return semente;
+  } //Fim getSemente
+
+  /**
+   * Define a semente dos sorteios do enlace (erros do meio), para repetir uma
+   * execucao. Deve ser definida antes de criar o controlador.
+   *
+   * @param semente A semente.
+   */
+  public void setSemente(long semente) {
+    this.semente = semente;
+  } //Fim setSemente
+
+} //Fim da classe ConfiguracaoSimulacao
@@ -0,0 +1,217 @@
+package controller;
+
+import java.util.SplittableRandom;
+
+import model.SessaoEnlace;
+import util.ModeloDeCanal;
+
+/**
+ * Contrato entre as camadas da simulacao (model) e quem as controla.
+ * <p>
+ * As camadas consultam por aqui as opcoes da transmissao (codificacao,
+ * enquadramento, erro, controle de erro e velocidade) e enviam por aqui tudo o
+ * que seria exibido (sinais, bits, mensagem e dados recebidos e alertas). A interface
+ * grafica (ControllerTelaPrincipal) e o modo sem interface (ControllerHeadless)
+ * implementam o mesmo contrato, de modo que as camadas nao dependem do JavaFX.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public interface ControladorSimulacao {
+
+  /**
+   * Retorna o tipo de codificacao escolhido.
+   *
+   * @return int O valor correspondente a codificacao (1: Binaria, 2: Manchester,
+   *         3: Manchester Diferencial, 4: NRZI, 5: AMI, 6: 4B/5B com NRZI, 7: 8B/10B).
+   */
+  int getCodificacao();
+
+  /**
+   * Retorna o tipo de enquadramento escolhido.
+   *
+   * @return int O valor correspondente ao enquadramento (1-4).
+   */
+  int getEnquadramento();
+
+  /**
+   * Retorna a probabilidade de erro escolhida.
+   *
+   * @return int A probabilidade de erro, em porcentagem (0-100).
+   */
+  int getErro();
+
+  /**
+   * Retorna o tipo de controle de erro escolhido.
+   *
+   * @return int O valor correspondente ao controle de erro (1-6).
+   */
+  int getControleErro();
+
+  /**
+   * Retorna o polinomio CRC escolhido, quando o controle de erro eh CRC.
+   *
+   * @return String O nome do polinomio no catalogo da CalculadoraCRC.
+   */
+  String getTipoCRC();
+
+  /**
+   * Retorna o protocolo de controle de fluxo escolhido.
+   *
+   * @return int O valor correspondente ao controle de fluxo (1: Stop-and-Wait, 2: Go-Back-N,
+   *         3: Selective Repeat).
+   */
+  int getControleFluxo();
+
+  /**
+   * Retorna o tamanho da janela de transmissao.
+   *
+   * @return int O numero maximo de quadros enviados e ainda nao confirmados.
+   */
+  int getTamanhoJanela();
+
+  /**
+   * Retorna a mensagem a ser transmitida.
+   *
+   * @return String A mensagem.
+   */
+  String getMensagem();
+
+  /**
+   * Retorna o intervalo da animacao entre as palavras transmitidas.
+   *
+   * @return int O intervalo em milissegundos (0 para nao esperar).
+   */
+  int getVelocidade();
+
+  /**
+   * Retorna o tempo de espera por um ACK antes de retransmitir o quadro.
+   * <p>
+   * Eh apenas o valor inicial do RTO: a camada de enlace o ajusta a cada ACK
+   * pelo RTT medido (ver EstimadorRTT).
+   *
+   * @return int O tempo limite inicial em milissegundos.
+   */
+  int getTempoLimite();
+
+  /**
+   * Retorna o enlace simulado por este controlador.
+   * <p>
+   * A sessao guarda os numeros de sequencia, a janela e os temporizadores das
+   * camadas de enlace. Controladores diferentes tem sessoes diferentes e podem
+   * transmitir ao mesmo tempo; o mesmo controlador deve devolver sempre a mesma.
+   *
+   * @return SessaoEnlace O estado do enlace.
+   */
+  SessaoEnlace getSessaoEnlace();
+
+  /**
+   * Informa se os quadros devem atravessar o meio e o receptor em estagios
+   * paralelos (ver PipelineEnlace), em vez de sincronamente na thread de envio.
+   *
+   * @return boolean Verdadeiro para a execucao em estagios.
+   */
+  boolean execucaoEmEstagios();
+
+  /**
+   * Cria o modelo de erros do meio para o enlace deste controlador.
+   * <p>
+   * Chamado uma vez por sessao (ver SessaoEnlace.getModeloDeCanal()): o estado do
+   * modelo, como a fase de rajada, continua de um quadro para o outro.
+   *
+   * @param  aleatorio     O gerador de numeros aleatorios do modelo, derivado do gerador da sessao.
+   * @return ModeloDeCanal O modelo de canal.
+   */
+  ModeloDeCanal criarModeloDeCanal(SplittableRandom aleatorio);
+
+  /**
+   * Informa se a transmissao deve ser exibida em detalhes.
+   * <p>
+   * Quando falso, as camadas deixam de montar a animacao bit a bit e as
+   * listagens palavra a palavra, que so servem para exibicao.
+   *
+   * @return boolean Verdadeiro se os detalhes devem ser exibidos.
+   */
+  boolean exibirDetalhes();
+
+  /**
+   * Desloca a animacao dos sinais.
+   */
+  void atualizarSinais();
+
+  /**
+   * Desenha o novo bit de sinal na animacao.
+   *
+   * @param bit O bit (0 ou 1) que esta sendo transmitido.
+   */
+  void sinalizar(int bit);
+
+  /**
+   * Adiciona texto a exibicao dos bits codificados.
+   *
+   * @param mensagem A string a ser adicionada.
+   */
+  void adicionarBitsCodificadosTextArea(String mensagem);
+
+  /**
+   * Adiciona texto a exibicao dos bits enquadrados.
+   *
+   * @param mensagem A string a ser adicionada.
+   */
+  void adicionarBitsEnquadradosTextArea(String mensagem);
+
+  /**
+   * Adiciona texto a mensagem recebida.
+   * <p>
+   * Eh o texto UTF-8 dos bytes de adicionarDadosRecebidos(), so com os
+   * caracteres ja completos.
+   *
+   * @param mensagem A string a ser adicionada.
+   */
+  void adicionarMsgRecebidaTextArea(String mensagem);
+
+  /**
+   * Adiciona bytes aos dados recebidos, sem nenhuma conversao.
+   * <p>
+   * Chamado para cada parte da mensagem, na ordem, antes de
+   * adicionarMsgRecebidaTextArea().
+   *
+   * @param dados Os bytes entregues a aplicacao receptora (o vetor nao eh reutilizado).
+   */
+  void adicionarDadosRecebidos(byte[] dados);
+
+  /**
+   * Avisa que a camada de enlace receptora detectou um erro nao corrigivel.
+   */
+  void alertarErroDetectado();
+
+  /**
+   * Avisa que um quadro foi retransmitido.
+   *
+   * @param numBytes O tamanho do quadro retransmitido, em bytes.
+   */
+  void registrarRetransmissao(int numBytes);
+
+  /**
+   * Avisa que a camada fisica transmissora codificou um quadro (ACKs nao contam).
+   * <p>
+   * Com os dois tamanhos eh possivel comparar a sobrecarga de linha de cada
+   * codificacao, incluindo o padding e as flags de violacao.
+   *
+   * @param numBytes    O tamanho do quadro vindo da camada de enlace, em bytes.
+   * @param numPalavras O tamanho do fluxo enviado ao meio, em palavras de 32 bits.
+   */
+  void registrarQuadroCodificado(int numBytes, int numPalavras);
+
+  /**
+   * Faz beep.
+   */
+  void beep();
+
+  /**
+   * Avisa que toda a transmissao foi concluida.
+   */
+  void reativar();
+
+} //Fim da interface ControladorSimulacao
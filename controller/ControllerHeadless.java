@@ -0,0 +1,349 @@
+package controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.AplicacaoTransmissora;
+import model.SessaoEnlace;
+import model.TransferenciaDeArquivo;
+import util.CanalBER;
+import util.CanalDePalavras;
+import util.CanalErroUnico;
+import util.CanalGilbertElliott;
+import util.ModeloDeCanal;
+
+/**
+ * Controlador da simulacao sem interface grafica.
+ * <p>
+ * Substitui o ControllerTelaPrincipal quando a pilha eh executada pela linha
+ * de comando: as opcoes vem de uma ConfiguracaoSimulacao, a animacao e as
+ * areas de texto sao descartadas e apenas a mensagem recebida (o texto e os
+ * bytes) e o numero de erros detectados sao guardados. Como as camadas nao esperam pela animacao,
+ * a transmissao roda na velocidade da CPU. Cada controlador tem a sua
+ * SessaoEnlace, entao varios controladores podem transmitir em paralelo.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class ControllerHeadless implements ControladorSimulacao {
+
+  private final ConfiguracaoSimulacao configuracao;
+  private final StringBuilder mensagemRecebida = new StringBuilder();
+  private final ByteArrayOutputStream dadosRecebidos = new ByteArrayOutputStream();
+  private final AtomicInteger errosDetectados = new AtomicInteger();
+  private final AtomicLong bytesRetransmitidos = new AtomicLong();
+  private final AtomicLong bytesCodificados = new AtomicLong(); //Quadros da camada de enlace, antes da codificacao
+  private final AtomicLong palavrasNaLinha = new AtomicLong(); //Os mesmos quadros, depois da codificacao
+  private final SessaoEnlace sessaoEnlace; //Cada controlador eh um enlace independente
+  private volatile String mensagem = "";
+  private volatile CountDownLatch fimTransmissao = new CountDownLatch(0);
+
+  /**
+   * Cria o controlador com as opcoes da simulacao.
+   *
+   * @param configuracao As opcoes de codificacao, enquadramento, erro e controle de erro.
+   */
+  public ControllerHeadless(ConfiguracaoSimulacao configuracao) {
+    this.configuracao = configuracao;
+    Long semente = configuracao.getSemente();
+    this.sessaoEnlace = (semente != null) ? new SessaoEnlace(semente) : new SessaoEnlace();
+  } //Fim construtor
+
+
+  /**
+   * Transmite a mensagem por toda a pilha e espera o fim da transmissao.
+   * <p>
+   * A mensagem viaja em UTF-8 e volta como o texto exibido pela aplicacao receptora.
+   *
+   * @param  mensagem             A mensagem a ser transmitida.
+   * @return String               A mensagem entregue a aplicacao receptora.
+   * @throws InterruptedException Se a espera pelo fim da transmissao for interrompida.
+   */
+  public String transmitir(String mensagem) throws InterruptedException {
+    this.mensagem = mensagem;
+    transmitir(() -> AplicacaoTransmissora.aplicacaoTransmissora(this));
+
+    synchronized (mensagemRecebida) {
+      return mensagemRecebida.toString();
+    }
+  } //Fim transmitir
+
+
+  /**
+   * Transmite dados binarios por toda a pilha e espera o fim da transmissao.
+   *
+   * @param  dados                Os bytes a serem transmitidos.
+   * @return byte[]               Os bytes entregues a aplicacao receptora.
+   * @throws InterruptedException Se a espera pelo fim da transmissao for interrompida.
+   */
+  public byte[] transmitir(byte[] dados) throws InterruptedException {
+    transmitir(() -> AplicacaoTransmissora.aplicacaoTransmissora(dados, this));
+
+    synchronized (dadosRecebidos) {
+      return dadosRecebidos.toByteArray();
+    }
+  } //Fim transmitir
+
+
+  /**
+   * Transfere um arquivo em blocos e espera o fim da transferencia.
+   * <p>
+   * Os bytes recebidos vao para o arquivo de destino, e nao para o resultado de transmitir().
+   *
+   * @param  origem                 O arquivo a ser transmitido.
+   * @param  destino                O arquivo gravado pelo receptor.
+   * @param  tamanhoBloco           O numero de bytes de cada bloco.
+   * @return TransferenciaDeArquivo A transferencia concluida, com o resultado da verificacao.
+   * @throws IOException            Erro na abertura de um dos arquivos.
+   * @throws InterruptedException   Se a espera pelo fim da transferencia for interrompida.
+   */
+  public TransferenciaDeArquivo transferir(Path origem, Path destino, int tamanhoBloco)
+      throws IOException, InterruptedException {
+    reiniciarResultados();
+    TransferenciaDeArquivo transferencia = AplicacaoTransmissora.transferirArquivo(origem, destino, tamanhoBloco, this);
+    transferencia.aguardar();
+    return transferencia;
+  } //Fim transferir
+
+
+  /**
+   * Zera os resultados da transmissao anterior, inicia a nova e espera o seu fim.
+   *
+   * @param  envio                Entrega a mensagem a aplicacao transmissora.
+   * @throws InterruptedException Se a espera pelo fim da transmissao for interrompida.
+   */
+  private void transmitir(Runnable envio) throws InterruptedException {
+    reiniciarResultados();
+    envio.run();
+    fimTransmissao.await(); //Liberado por reativar(), ao fim da transmissao
+  } //Fim transmitir
+
+
+  /**
+   * Zera os resultados e prepara a espera pelo fim da proxima transmissao.
+   */
+  private void reiniciarResultados() {
+    synchronized (mensagemRecebida) {
+      mensagemRecebida.setLength(0);
+    }
+    synchronized (dadosRecebidos) {
+      dadosRecebidos.reset();
+    }
+    errosDetectados.set(0);
+    bytesRetransmitidos.set(0);
+    bytesCodificados.set(0);
+    palavrasNaLinha.set(0);
+    fimTransmissao = new CountDownLatch(1);
+  } //Fim reiniciarResultados
+
+
+  /**
+   * Retorna quantos quadros a camada de enlace receptora rejeitou na ultima transmissao.
+   *
+   * @return int O numero de erros detectados.
+   */
+  public int getErrosDetectados() {
+    return errosDetectados.get();
+  } //Fim getErrosDetectados
+
+
+  /**
+   * Retorna quantos bytes de quadros foram retransmitidos na ultima transmissao.
+   *
+   * @return long O total de bytes retransmitidos.
+   */
+  public long getBytesRetransmitidos() {
+    return bytesRetransmitidos.get();
+  } //Fim getBytesRetransmitidos
+
+
+  /**
+   * Retorna quantos bytes de quadros a camada fisica codificou na ultima
+   * transmissao (com cabecalhos, controle de erro e retransmissoes).
+   *
+   * @return long O total de bytes dos quadros.
+   */
+  public long getBytesCodificados() {
+    return bytesCodificados.get();
+  } //Fim getBytesCodificados
+
+
+  /**
+   * Retorna quantos bits a camada fisica enviou ao meio na ultima transmissao,
+   * para os mesmos quadros de getBytesCodificados().
+   *
+   * @return long O total de bits do fluxo codificado.
+   */
+  public long getBitsNaLinha() {
+    return palavrasNaLinha.get() * 32;
+  } //Fim getBitsNaLinha
+
+
+  public int getCodificacao() {
+    return configuracao.getCodificacao();
+  } //Fim getCodificacao
+
+  public int getEnquadramento() {
+    return configuracao.getEnquadramento();
+  } //Fim getEnquadramento
+
+  public int getErro() {
+    return configuracao.getErro();
+  } //Fim getErro
+
+  public int getControleErro() {
+    return configuracao.getControleErro();
+  } //Fim getControleErro
+
+  public String getTipoCRC() {
+    return configuracao.getTipoCRC();
+  } //Fim getTipoCRC
+
+  public int getControleFluxo() {
+    return configuracao.getControleFluxo();
+  } //Fim getControleFluxo
+
+  public int getTamanhoJanela() {
+    return configuracao.getTamanhoJanela();
+  } //Fim getTamanhoJanela
+
+  public String getMensagem() {
+    return mensagem;
+  } //Fim getMensagem
+
+  public int getVelocidade() {
+    return configuracao.getVelocidade();
+  } //Fim getVelocidade
+
+  public int getTempoLimite() {
+    return configuracao.getTempoLimite();
+  } //Fim getTempoLimite
+
+  public SessaoEnlace getSessaoEnlace() {
+    return sessaoEnlace;
+  } //Fim getSessaoEnlace
+
+  public boolean execucaoEmEstagios() {
+    return configuracao.isExecucaoEmEstagios();
+  } //Fim execucaoEmEstagios
+
+  /**
+   * Monta o modelo de canal da configuracao: rajadas (Gilbert-Elliott), BER
+   * independente ou, se nenhum deles for definido, o erro unico por quadro; com
+   * perda, apagamento ou duplicacao de palavras por cima, se configurados.
+   *
+   * @param  aleatorio     O gerador de numeros aleatorios do modelo.
+   * @return ModeloDeCanal O modelo de canal.
+   */
+  public ModeloDeCanal criarModeloDeCanal(SplittableRandom aleatorio) {
+    ModeloDeCanal canal;
+
+    double[] rajadas = configuracao.getRajadas();
+    if (rajadas != null) {
+      canal = new CanalGilbertElliott(rajadas[0], rajadas[1], rajadas[2], rajadas[3], aleatorio);
+    } else if (configuracao.getTaxaErroBit() > 0) {
+      canal = new CanalBER(configuracao.getTaxaErroBit(), aleatorio);
+    } else {
+      canal = new CanalErroUnico(configuracao::getErro, aleatorio);
+    } //Fim if-else
+
+    if (configuracao.getPerdaPalavra() > 0 || configuracao.getApagamentoPalavra() > 0
+        || configuracao.getDuplicacaoPalavra() > 0) {
+      canal = new CanalDePalavras(canal, configuracao.getPerdaPalavra(), configuracao.getApagamentoPalavra(),
+                                  configuracao.getDuplicacaoPalavra(), aleatorio);
+    }
+    return canal;
+  } //Fim criarModeloDeCanal
+
+  /**
+   * Sem interface, nao ha o que exibir em detalhes.
+   *
+   * @return boolean Sempre falso.
+   */
+  public boolean exibirDetalhes() {
+    return false;
+  } //Fim exibirDetalhes
+
+  public void atualizarSinais() {
+    //Sem animacao
+  } //Fim atualizarSinais
+
+  public void sinalizar(int bit) {
+    //Sem animacao
+  } //Fim sinalizar
+
+  public void adicionarBitsCodificadosTextArea(String mensagem) {
+    //Sem area de texto
+  } //Fim adicionarBitsCodificadosTextArea
+
+  public void adicionarBitsEnquadradosTextArea(String mensagem) {
+    //Sem area de texto
+  } //Fim adicionarBitsEnquadradosTextArea
+
+  /**
+   * Acumula a parte da mensagem entregue pela aplicacao receptora.
+   *
+   * @param mensagem A parte da mensagem recebida.
+   */
+  public void adicionarMsgRecebidaTextArea(String mensagem) {
+    synchronized (mensagemRecebida) {
+      mensagemRecebida.append(mensagem);
+    }
+  } //Fim adicionarMsgRecebidaTextArea
+
+  /**
+   * Acumula os bytes entregues pela aplicacao receptora.
+   *
+   * @param dados Os bytes recebidos.
+   */
+  public void adicionarDadosRecebidos(byte[] dados) {
+    synchronized (dadosRecebidos) {
+      dadosRecebidos.write(dados, 0, dados.length);
+    }
+  } //Fim adicionarDadosRecebidos
+
+  /**
+   * Conta o erro detectado, em vez de exibir um alerta.
+   */
+  public void alertarErroDetectado() {
+    errosDetectados.incrementAndGet();
+  } //Fim alertarErroDetectado
+
+  /**
+   * Soma o quadro retransmitido ao total.
+   *
+   * @param numBytes O tamanho do quadro retransmitido, em bytes.
+   */
+  public void registrarRetransmissao(int numBytes) {
+    bytesRetransmitidos.addAndGet(numBytes);
+  } //Fim registrarRetransmissao
+
+  /**
+   * Soma o quadro codificado aos totais.
+   *
+   * @param numBytes    O tamanho do quadro vindo da camada de enlace, em bytes.
+   * @param numPalavras O tamanho do fluxo enviado ao meio, em palavras de 32 bits.
+   */
+  public void registrarQuadroCodificado(int numBytes, int numPalavras) {
+    bytesCodificados.addAndGet(numBytes);
+    palavrasNaLinha.addAndGet(numPalavras);
+  } //Fim registrarQuadroCodificado
+
+  public void beep() {
+    //Sem som
+  } //Fim beep
+
+  /**
+   * Libera quem espera em transmitir().
+   */
+  public void reativar() {
+    fimTransmissao.countDown();
+  } //Fim reativar
+
+} //Fim da classe ControllerHeadless
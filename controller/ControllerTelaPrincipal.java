@@ -5,7 +5,9 @@ import java.applet.AudioClip;
 import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.Arrays;
+import java.util.SplittableRandom;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -17,8 +19,12 @@ import javafx.scene.control.Slider;
 import javafx.scene.control.TextArea;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 import model.AplicacaoTransmissora;
+import model.SessaoEnlace;
+import util.CanalErroUnico;
+import util.ModeloDeCanal;
 
 /**
  * Controlador principal da interface grafica (GUI) da aplicacao.
@@ -32,7 +38,7 @@ import model.AplicacaoTransmissora;
  * @version 04/11/2025 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
-public class ControllerTelaPrincipal implements Initializable {
+public class ControllerTelaPrincipal implements Initializable, ControladorSimulacao {
   @FXML //Notacao de insercao do id FXML
   private Button botaoEnviar, botaoFechar, botaoMinimizar;
 
@@ -40,7 +46,8 @@ public class ControllerTelaPrincipal implements Initializable {
   private TextArea msgEnviadaTextArea, bitsCodificadosTextArea, bitsEnquadradosTextArea, msgRecebidaTextArea;
 
   @FXML
-  private ComboBox<String> comboBoxCodificacao, comboBoxEnquadramento, comboBoxErro, comboBoxControleErro;
+  private ComboBox<String> comboBoxCodificacao, comboBoxEnquadramento, comboBoxErro, comboBoxControleErro,
+                           comboBoxControleFluxo;
 
   //Instanciacao de ImageViews para representar graficamente os sinais transmitidos
   @FXML
@@ -61,14 +68,25 @@ public class ControllerTelaPrincipal implements Initializable {
   private ImageView lowImagens[], midImagens[], highImagens[];
 
   /**Opcoes de codificacao, de enquadramento e de probabilidade de erro na transmissao da mensagem */
-  private String[] codificacao = { "Codificacao Binaria", "Codificacao Manchester", "Codificacao Manchester Diferencial" };
+  private String[] codificacao = { "Codificacao Binaria", "Codificacao Manchester", "Codificacao Manchester Diferencial",
+                                   "Codificacao NRZI", "Codificacao AMI (bipolar)", "Codificacao 4B/5B (NRZI)",
+                                   "Codificacao 8B/10B" };
   private String[] enquadramento = { "Contagem de caracteres", "Insercao de bytes", "Insercao de bits", "Violacao da Camada Fisica" };
   private String[] erro = { "0%", "10%", "20%", "30%", "40%", "50%", "60%", "70%", "80%", "90%", "100%" };
-  private String[] controleErro = {"Bit de paridade par", "Bit de paridade impar", "CRC", "Codigo de Hamming"};
+  private String[] controleErro = {"Bit de paridade par", "Bit de paridade impar", "Paridade bidimensional", "CRC-8",
+                                   "CRC-16-CCITT", "CRC-32", "CRC-32C", "CRC-64", "Codigo de Hamming",
+                                   "Hamming SECDED (72,64)"};
+  private String[] controleFluxo = {"Stop-and-Wait", "Go-Back-N (janela 4)", "Go-Back-N (janela 8)",
+                                    "Go-Back-N (janela 16)", "Go-Back-N (janela 63)",
+                                    "Selective Repeat (janela 4)", "Selective Repeat (janela 8)",
+                                    "Selective Repeat (janela 16)", "Selective Repeat (janela 32)"};
+
+  private static final int TEMPO_LIMITE = 5000; //RTO inicial, ate a primeira amostra de RTT (5 segundos)
 
   private int sinalAnterior = 0;
   private int milissegundos = 307;
   private boolean transmissaoAtiva = false; //Flag para controlar se a transmissao esta ativa
+  private final SessaoEnlace sessaoEnlace = new SessaoEnlace(); //Estado do enlace simulado pela janela
 
   /**
    * Metodo invocado para inicializar o controlador apos a interface ser
@@ -97,12 +115,14 @@ public class ControllerTelaPrincipal implements Initializable {
     comboBoxEnquadramento.getItems().addAll(Arrays.asList(enquadramento));
     comboBoxErro.getItems().addAll(Arrays.asList(erro));
     comboBoxControleErro.getItems().addAll(Arrays.asList(controleErro));
+    comboBoxControleFluxo.getItems().addAll(Arrays.asList(controleFluxo));
 
     //Seleciona as opcoes padrao para as ComboBoxes, em tempo de execucao
     comboBoxCodificacao.setValue(codificacao[0]);
     comboBoxEnquadramento.setValue(enquadramento[0]);
     comboBoxErro.setValue(erro[0]);
     comboBoxControleErro.setValue(controleErro[0]);
+    comboBoxControleFluxo.setValue(controleFluxo[0]);
 
     for (int i = 0; i < 12; i++) { //Torna todas as imagens dos sinais, exceto do LOW, invisiveis
       midImagens[i].setVisible(false);
@@ -125,14 +145,15 @@ public class ControllerTelaPrincipal implements Initializable {
 
       } else{
 
-        if (getCodificacao() == 1 && getEnquadramento() == 4) { //Se V. Camada Fisica && Cod. Binaria
+        if (getCodificacao() != 2 && getCodificacao() != 3 && getEnquadramento() == 4) { //Se V. Camada Fisica sem Manchester
           Alert alert = new Alert(AlertType.INFORMATION);
           alert.getDialogPane().getStylesheets().add(
             ControllerTelaPrincipal.class.getResource("/view/styles.css").toExternalForm());
           alert.getDialogPane().getStyleClass().add("dialog-pane");
           alert.setTitle("ATENCAO");
           alert.setHeaderText(null);
-          alert.setContentText("Nao eh possivel violar a Camada Fisica com a Codificacao Binaria escolhida.");
+          alert.setContentText("Nao eh possivel violar a Camada Fisica com a Codificacao escolhida"
+                               + " (apenas com Manchester ou Manchester Diferencial).");
           alert.showAndWait();
         } else {
           // Desabilita o botao e as combo boxes
@@ -141,6 +162,7 @@ public class ControllerTelaPrincipal implements Initializable {
           comboBoxEnquadramento.setDisable(true);
           comboBoxErro.setDisable(true);
           comboBoxControleErro.setDisable(true);
+          comboBoxControleFluxo.setDisable(true);
           limparTextArea();
           transmissaoAtiva = true; //Ativa a flag de transmissao
           AplicacaoTransmissora.aplicacaoTransmissora(this);
@@ -185,6 +207,7 @@ public class ControllerTelaPrincipal implements Initializable {
       comboBoxEnquadramento.setDisable(false);
       comboBoxErro.setDisable(false);
       comboBoxControleErro.setDisable(false);
+      comboBoxControleFluxo.setDisable(false);
       limparSinaisAnimacao(); //Limpa a animacao dos sinais ao finalizar
     }); //Fim runLater
   } //Fim reativar
@@ -342,19 +365,37 @@ public class ControllerTelaPrincipal implements Initializable {
     }); //Fim runLater
   } //Fim adicionarMsgRecebidaTextArea
 
+  /**
+   * Na interface grafica, os dados recebidos aparecem como texto, em
+   * adicionarMsgRecebidaTextArea().
+   *
+   * @param dados Os bytes entregues a aplicacao receptora.
+   */
+  public void adicionarDadosRecebidos(byte[] dados) {
+    //Nada a exibir alem do texto
+  } //Fim adicionarDadosRecebidos
+
   /**
    * Retorna o tipo de codificacao selecionado pelo usuario.
    *
    * @return int O valor correspondente a codificacao (1: Binaria, 2: Manchester,
-   *         3: Manchester Diferencial).
+   *         3: Manchester Diferencial, 4: NRZI, 5: AMI, 6: 4B/5B com NRZI, 7: 8B/10B).
    */
   public int getCodificacao() {
     if (comboBoxCodificacao.getValue().equals("Codificacao Binaria")) {
       return 1;
     } else if (comboBoxCodificacao.getValue().equals("Codificacao Manchester")) {
       return 2;
-    } else { //Ao caso da opcao escolhida ser "Codificacao Manchester Diferencial"
+    } else if (comboBoxCodificacao.getValue().equals("Codificacao Manchester Diferencial")) {
       return 3;
+    } else if (comboBoxCodificacao.getValue().equals("Codificacao NRZI")) {
+      return 4;
+    } else if (comboBoxCodificacao.getValue().startsWith("Codificacao AMI")) {
+      return 5;
+    } else if (comboBoxCodificacao.getValue().startsWith("Codificacao 4B/5B")) {
+      return 6;
+    } else { //Ao caso da opcao escolhida ser "Codificacao 8B/10B"
+      return 7;
     } //Fim if-else
   } //Fim getCodificacao
 
@@ -409,20 +450,64 @@ public class ControllerTelaPrincipal implements Initializable {
   /**
    * Retorna o tipo de controle de erro selecionado pelo usuario.
    *
-   * @return int O valor correspondente ao controle de erro (1-4).
+   * @return int O valor correspondente ao controle de erro (1-6).
    */
   public int getControleErro() {
     if (comboBoxControleErro.getValue().equals("Bit de paridade par")) {
       return 1;
     } else if (comboBoxControleErro.getValue().equals("Bit de paridade impar")) {
       return 2;
-    } else if (comboBoxControleErro.getValue().equals("CRC")) {
+    } else if (comboBoxControleErro.getValue().startsWith("CRC")) { //Qualquer polinomio do catalogo CRC
       return 3;
-    } else { //Ao caso da opcao escolhida ser "Codigo de Hamming"
+    } else if (comboBoxControleErro.getValue().equals("Codigo de Hamming")) {
       return 4;
+    } else if (comboBoxControleErro.getValue().equals("Hamming SECDED (72,64)")) {
+      return 5;
+    } else { //Ao caso da opcao escolhida ser "Paridade bidimensional"
+      return 6;
     } //Fim if-else
   } //Fim getControleErro
 
+  /**
+   * Retorna o polinomio CRC selecionado pelo usuario.
+   * <p>
+   * So tem significado quando o controle de erro escolhido eh CRC (getControleErro() == 3).
+   *
+   * @return String O nome do polinomio no catalogo (CRC-8, CRC-16-CCITT, CRC-32, CRC-32C ou CRC-64).
+   */
+  public String getTipoCRC() {
+    return comboBoxControleErro.getValue();
+  } //Fim getTipoCRC
+
+  /**
+   * Retorna o protocolo de controle de fluxo selecionado pelo usuario.
+   *
+   * @return int O valor correspondente ao controle de fluxo (1: Stop-and-Wait, 2: Go-Back-N,
+   *         3: Selective Repeat).
+   */
+  public int getControleFluxo() {
+    if (comboBoxControleFluxo.getValue().equals("Stop-and-Wait")) {
+      return 1;
+    } else if (comboBoxControleFluxo.getValue().startsWith("Go-Back-N")) {
+      return 2;
+    } else { //Ao caso da opcao escolhida ser "Selective Repeat (janela N)"
+      return 3;
+    } //Fim if-else
+  } //Fim getControleFluxo
+
+  /**
+   * Retorna o tamanho da janela de transmissao selecionado pelo usuario.
+   *
+   * @return int O numero maximo de quadros pendentes (1 no Stop-and-Wait).
+   */
+  public int getTamanhoJanela() {
+    if (getControleFluxo() == 1) {
+      return 1;
+    } //Fim if
+
+    return Integer.parseInt(comboBoxControleFluxo.getValue().replaceAll("\\D", "")); //"Selective Repeat (janela 8)" -> 8
+  } //Fim getTamanhoJanela
+
   /**
    * Retorna a mensagem digitada pelo usuario na area de texto.
    *
@@ -441,6 +526,106 @@ public class ControllerTelaPrincipal implements Initializable {
     return milissegundos;
   } //Fim getVelocidade
 
+  /**
+   * Retorna o tempo de espera por um ACK antes de retransmitir o quadro.
+   * <p>
+   * Eh apenas o valor inicial do RTO: a camada de enlace o ajusta a cada ACK
+   * pelo RTT medido (ver EstimadorRTT).
+   *
+   * @return int O tempo limite inicial em milissegundos.
+   */
+  public int getTempoLimite() {
+    return TEMPO_LIMITE;
+  } //Fim getTempoLimite
+
+  /**
+   * Retorna o enlace simulado pela interface grafica.
+   *
+   * @return SessaoEnlace O estado do enlace.
+   */
+  public SessaoEnlace getSessaoEnlace() {
+    return sessaoEnlace;
+  } //Fim getSessaoEnlace
+
+  /**
+   * Na interface grafica a animacao mostra um quadro de cada vez, entao os
+   * estagios nao sao usados.
+   *
+   * @return boolean Sempre falso.
+   */
+  public boolean execucaoEmEstagios() {
+    return false;
+  } //Fim execucaoEmEstagios
+
+  /**
+   * Na interface grafica o erro continua sendo o do slider: no maximo um bit
+   * invertido por quadro, com a probabilidade escolhida.
+   *
+   * @param  aleatorio     O gerador de numeros aleatorios do modelo.
+   * @return ModeloDeCanal O modelo de erro unico por quadro.
+   */
+  public ModeloDeCanal criarModeloDeCanal(SplittableRandom aleatorio) {
+    return new CanalErroUnico(this::getErro, aleatorio);
+  } //Fim criarModeloDeCanal
+
+  /**
+   * Na interface grafica, a transmissao eh sempre exibida em detalhes.
+   *
+   * @return boolean Sempre verdadeiro.
+   */
+  public boolean exibirDetalhes() {
+    return true;
+  } //Fim exibirDetalhes
+
+  /**
+   * Exibe um alerta de erro detectado pela camada de enlace receptora.
+   * <p>
+   * O alerta fecha sozinho apos 5 segundos, ja que a transmissao continua
+   * com a retransmissao do quadro.
+   */
+  public void alertarErroDetectado() {
+    Platform.runLater(() -> {
+      Alert alert = new Alert(AlertType.ERROR);
+
+      alert.getDialogPane().getStylesheets().add(
+        ControllerTelaPrincipal.class.getResource("/view/styles.css").toExternalForm());
+      alert.getDialogPane().getStyleClass().add("dialog-pane");
+
+      alert.setTitle("ERRO DETECTADO");
+      alert.setHeaderText(null);
+      alert.setContentText("A Camada de Enlace de Dados Receptora detectou um erro de transmissao! Aguardando retransmissao");
+
+      //Mostra o alert e fecha automaticamente apos 5 segundos, na propria thread da interface
+      alert.show();
+      PauseTransition fechamento = new PauseTransition(Duration.seconds(5));
+      fechamento.setOnFinished(evento -> {
+        if (alert.isShowing()) {
+          alert.close();
+        }
+      });
+      fechamento.play();
+    }); //Fim runLater
+  } //Fim alertarErroDetectado
+
+  /**
+   * Na interface grafica, as retransmissoes ja aparecem na animacao e nos logs.
+   *
+   * @param numBytes O tamanho do quadro retransmitido, em bytes.
+   */
+  public void registrarRetransmissao(int numBytes) {
+    //Nada a registrar
+  } //Fim registrarRetransmissao
+
+  /**
+   * Na interface grafica, os bits codificados ja aparecem na tela.
+   *
+   * @param numBytes    O tamanho do quadro vindo da camada de enlace, em bytes.
+   * @param numPalavras O tamanho do fluxo enviado ao meio, em palavras de 32 bits.
+   */
+  public void registrarQuadroCodificado(int numBytes, int numPalavras) {
+    //Nada a registrar
+  } //Fim registrarQuadroCodificado
+
   /**
    * Faz beep.
    *
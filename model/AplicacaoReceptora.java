@@ -1,33 +1,66 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
+import controller.ControladorSimulacao;
 
 /**
  * Ponto final do processo de recepcao da mensagem.
  * <p>
- * Esta classe eh responsavel por receber a mensagem ja decodificada da
+ * Esta classe eh responsavel por receber os bytes da mensagem vindos da
  * camada de aplicacao e interagir com o controlador da GUI para exibi-la
  * na interface do usuario, finalizando a simulacao.
+ * <p>
+ * Os bytes sao entregues ao controlador sem alteracao (dados binarios) e
+ * tambem como texto UTF-8. A mensagem chega em partes, uma por quadro, e o
+ * DecodificadorDeTexto da sessao guarda o caractere dividido entre dois quadros
+ * ate que a outra parte chegue.
+ * <p>
+ * Durante uma transferencia de arquivo (ver TransferenciaDeArquivo), os bytes
+ * sao gravados no arquivo de destino, e nao entregues ao controlador.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class AplicacaoReceptora {
 
   /**
-   * Exibe a mensagem recebida na interface grafica e finaliza a transmissao.
+   * Entrega os bytes recebidos e exibe o texto correspondente na interface grafica.
    * <p>
-   * Este eh o metodo final da simulacao de recepcao. Ele recebe a string
-   * da mensagem, comanda o controlador para exibi-la na area de texto
-   * do receptor e reativa os controles da interface para uma nova transmissao.
+   * Este eh o metodo final da simulacao de recepcao. Ele recebe uma parte da
+   * mensagem, entrega os bytes ao controlador e comanda-o para exibir na area de
+   * texto do receptor os caracteres ja completos.
    *
-   * @param mensagem    A mensagem decodificada recebida da camada de aplicacao.
+   * @param dados       Os bytes recebidos da camada de aplicacao.
    * @param controller  O controlador da interface grafica para exibir o resultado.
    */
-  public static void aplicacaoReceptora(String mensagem, ControllerTelaPrincipal controller){
-    controller.adicionarMsgRecebidaTextArea(mensagem);
+  public static void aplicacaoReceptora(byte[] dados, ControladorSimulacao controller){
+    TransferenciaDeArquivo transferencia = controller.getSessaoEnlace().transferencia;
+    if (transferencia != null) { //Bloco de arquivo: vai direto para o destino, sem passar pela tela
+      transferencia.receber(dados);
+      return;
+    }
+
+    controller.adicionarDadosRecebidos(dados);
+
+    String mensagem = controller.getSessaoEnlace().texto.decodificar(dados);
+    if (!mensagem.isEmpty()) { //Vazia quando a parte so tem o inicio de um caractere
+      controller.adicionarMsgRecebidaTextArea(mensagem);
+    }
     //Nao reativa aqui - sera reativado quando toda a transmissao terminar
   } //Fim aplicacaoReceptora
 
+
+  /**
+   * Encerra a mensagem atual: um caractere UTF-8 que ficou incompleto (quadro
+   * perdido ou alterado) eh exibido como U+FFFD.
+   *
+   * @param controller  O controlador da interface grafica para exibir o resultado.
+   */
+  public static void fimDaMensagem(ControladorSimulacao controller){
+    String restante = controller.getSessaoEnlace().texto.finalizar();
+    if (!restante.isEmpty()) {
+      controller.adicionarMsgRecebidaTextArea(restante);
+    }
+  } //Fim fimDaMensagem
+
 } //Fim da classe AplicacaoReceptora
\ No newline at end of file
@@ -1,6 +1,12 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import controller.ControladorSimulacao;
 
 /**
  * Ponto de entrada para o processo de transmissao da mensagem.
@@ -8,9 +14,15 @@ import controller.ControllerTelaPrincipal;
  * Esta classe eh responsavel por capturar a mensagem inserida pelo usuario
  * na interface grafica e entrega-la a primeira camada da pilha de protocolos,
  * a CamadaAplicacaoTransmissora, para iniciar a simulacao.
+ * <p>
+ * A pilha transporta bytes, e nao caracteres: o texto eh convertido em UTF-8
+ * (qualquer caractere, nao so os da tabela ASCII), e dados binarios podem ser
+ * enviados diretamente como byte[], ByteBuffer ou InputStream, com qualquer
+ * valor de byte, inclusive os iguais as flags, aos escapes e a marca de ACK.
+ * Arquivos de qualquer tamanho sao enviados em blocos por transferirArquivo().
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class AplicacaoTransmissora {
@@ -19,17 +31,93 @@ public class AplicacaoTransmissora {
    * Captura a mensagem da GUI e a envia para a camada de aplicacao.
    * <p>
    * Este eh o metodo inicial da simulacao de transmissao. Ele obtem o texto
-   * digitado pelo usuario atraves do controlador e o passa para a proxima
-   * camada, dando inicio ao fluxo de envio da mensagem.
+   * digitado pelo usuario atraves do controlador, converte-o em UTF-8 e o passa
+   * para a proxima camada, dando inicio ao fluxo de envio da mensagem.
    *
    * @param controller O controlador da interface grafica do usuario.
    */
-  public static void aplicacaoTransmissora(ControllerTelaPrincipal controller){
+  public static void aplicacaoTransmissora(ControladorSimulacao controller){
     System.out.println("\nAPLICACAO TRANSMISSORA--------------");
     String mensagem = controller.getMensagem();
     System.out.println("\nMensagem enviada: " + mensagem);
-    CamadaAplicacaoTransmissora.camadaAplicacaoTransmissora(mensagem, controller);
+    CamadaAplicacaoTransmissora.camadaAplicacaoTransmissora(mensagem.getBytes(StandardCharsets.UTF_8), controller);
 
   } //Fim aplicacaoTransmissora
+
+
+  /**
+   * Envia dados binarios para a camada de aplicacao.
+   * <p>
+   * O vetor eh copiado, entao pode ser reutilizado assim que o metodo retornar.
+   *
+   * @param dados      Os bytes a transmitir.
+   * @param controller O controlador da simulacao.
+   */
+  public static void aplicacaoTransmissora(byte[] dados, ControladorSimulacao controller){
+    System.out.println("\nAPLICACAO TRANSMISSORA--------------");
+    System.out.println("\nDados enviados: " + dados.length + " bytes");
+    CamadaAplicacaoTransmissora.camadaAplicacaoTransmissora(dados.clone(), controller);
+
+  } //Fim aplicacaoTransmissora
+
+
+  /**
+   * Envia os bytes restantes de um buffer (da posicao ate o limite).
+   * <p>
+   * Como em uma escrita em canal, a posicao do buffer avanca ate o limite.
+   *
+   * @param dados      O buffer com os bytes a transmitir.
+   * @param controller O controlador da simulacao.
+   */
+  public static void aplicacaoTransmissora(ByteBuffer dados, ControladorSimulacao controller){
+    byte[] copia = new byte[dados.remaining()];
+    dados.get(copia);
+    System.out.println("\nAPLICACAO TRANSMISSORA--------------");
+    System.out.println("\nDados enviados: " + copia.length + " bytes");
+    CamadaAplicacaoTransmissora.camadaAplicacaoTransmissora(copia, controller);
+
+  } //Fim aplicacaoTransmissora
+
+
+  /**
+   * Le uma entrada ate o fim e envia os bytes lidos como uma mensagem.
+   * <p>
+   * A entrada nao eh fechada.
+   *
+   * @param  entrada     A origem dos bytes a transmitir.
+   * @param  controller  O controlador da simulacao.
+   * @throws IOException Erro na leitura da entrada.
+   */
+  public static void aplicacaoTransmissora(InputStream entrada, ControladorSimulacao controller) throws IOException {
+    byte[] dados = entrada.readAllBytes();
+    System.out.println("\nAPLICACAO TRANSMISSORA--------------");
+    System.out.println("\nDados enviados: " + dados.length + " bytes");
+    CamadaAplicacaoTransmissora.camadaAplicacaoTransmissora(dados, controller);
+
+  } //Fim aplicacaoTransmissora
+
+
+  /**
+   * Transfere um arquivo em blocos, gravando no receptor o arquivo de destino.
+   * <p>
+   * O arquivo nao eh carregado inteiro na memoria: ver TransferenciaDeArquivo.
+   * O controlador eh reativado apenas no fim do arquivo.
+   *
+   * @param  origem                 O arquivo a ser transmitido.
+   * @param  destino                O arquivo gravado pelo receptor (criado ou sobrescrito).
+   * @param  tamanhoBloco           O numero de bytes de cada bloco.
+   * @param  controller             O controlador da simulacao.
+   * @return TransferenciaDeArquivo A transferencia iniciada, para esperar o resultado.
+   * @throws IOException            Erro na abertura de um dos arquivos.
+   */
+  public static TransferenciaDeArquivo transferirArquivo(Path origem, Path destino, int tamanhoBloco,
+                                                         ControladorSimulacao controller) throws IOException {
+    System.out.println("\nAPLICACAO TRANSMISSORA--------------");
+    System.out.println("\nArquivo enviado: " + origem + " (blocos de " + tamanhoBloco + " bytes)");
+    TransferenciaDeArquivo transferencia = new TransferenciaDeArquivo(origem, destino, tamanhoBloco, controller);
+    transferencia.iniciar();
+    return transferencia;
+
+  } //Fim transferirArquivo
   
 } //Fim da classe AplicacaoTransmissora
\ No newline at end of file
@@ -1,17 +1,16 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
+import controller.ControladorSimulacao;
 
 /**
  * Simula o funcionamento da camada de aplicacao de um receptor.
  * <p>
- * Esta eh a camada final do processo de recepcao. Ela recebe um array de
- * inteiros (representando caracteres ASCII) da camada de enlace, reconstroi
- * a mensagem original e a entrega para a aplicacao final, que a exibe ao
- * usuario.
+ * Esta eh a camada final do processo de recepcao. Ela recebe os bytes da
+ * mensagem original da camada de enlace e os entrega para a aplicacao final,
+ * que os exibe ao usuario.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class CamadaAplicacaoReceptora {
@@ -19,25 +18,17 @@ public class CamadaAplicacaoReceptora {
   /**
    * Processa os dados recebidos para reconstruir e exibir a mensagem final.
    * <p>
-   * Este metodo itera sobre o array de inteiros, convertendo cada um para o
-   * caractere ASCII correspondente para formar a string da mensagem. Ao final,
-   * invoca a AplicacaoReceptora para apresentar a mensagem decodificada
-   * na interface do usuario.
+   * O quadro chega com o tamanho exato da parte da mensagem (todas as posicoes,
+   * inclusive bytes nulos, sao dados) e ja eh uma copia so desta camada, entao
+   * eh entregue sem conversao a AplicacaoReceptora, que apresenta a mensagem
+   * decodificada na interface do usuario.
    *
-   * @param bits        Array de inteiros (valores ASCII) recebido da camada de enlace.
+   * @param quadro      Os bytes recebidos da camada de enlace.
    * @param controller  O controlador da interface grafica.
    */
-  protected static void camadaAplicacaoReceptora(int quadro[], ControllerTelaPrincipal controller) {
+  protected static void camadaAplicacaoReceptora(byte quadro[], ControladorSimulacao controller) {
 
-    String mensagem = ""; //Armazenara a mensagem decodificada
-    
-    //Loop para processar cada inteiro no array quadro
-    for (int i = 0; i < quadro.length; i++) {
-      if (quadro[i] == 0) {break;}
-      mensagem += ((char) quadro[i]);
-    } //Fim for
-    
-    AplicacaoReceptora.aplicacaoReceptora(mensagem, controller); //Chama a aplicacao receptora
+    AplicacaoReceptora.aplicacaoReceptora(quadro, controller); //Chama a aplicacao receptora
 
   } //Fim camadaAplicacaoReceptora
   
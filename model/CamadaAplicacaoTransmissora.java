@@ -1,55 +1,61 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
+import controller.ControladorSimulacao;
+import util.ExecutorDeTransmissoes;
  
 /**
  * Simula o funcionamento da camada de aplicacao de um transmissor.
  * <p>
- * Esta classe recebe a mensagem do usuario, transforma cada caractere em seu
- * valor inteiro correspondente na tabela ASCII e passa o array de inteiros
- * resultante para a proxima camada da pilha de protocolos, a Camada de Enlace.
+ * Esta classe recebe os bytes da mensagem do usuario (o texto ja convertido em
+ * UTF-8, ou dados binarios), que ja formam o quadro, um caractere por byte, e
+ * os passa para a proxima camada da pilha de protocolos, a Camada de Enlace.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class CamadaAplicacaoTransmissora {
 
   /**
-   * Inicia o processo de transmissao da mensagem em uma nova thread.
+   * Inicia o processo de transmissao da mensagem no ExecutorDeTransmissoes.
    * <p>
-   * Este metodo converte a mensagem de texto em um array de inteiros (quadro)
-   * contendo os valores ASCII de cada caractere. Em seguida, invoca a proxima
-   * camada (enlace de dados) para dar continuidade ao processo de transmissao.
-   * A operacao eh executada em uma thread separada para nao bloquear a UI.
+   * Este metodo exibe o valor sem sinal de cada byte da mensagem (quando ha
+   * animacao), que eh passada sem copia como quadro. Em seguida, invoca a
+   * proxima camada (enlace de dados) para dar continuidade ao processo de
+   * transmissao.
+   * A operacao eh executada fora da thread de quem chama, para nao bloquear a UI,
+   * em uma thread virtual (ou do pool limitado) compartilhada com as demais mensagens.
    *
-   * @param mensagem    O texto a ser transmitido.
+   * @param dados       Os bytes a serem transmitidos (nao devem ser alterados depois).
    * @param controller  O controlador da interface grafica.
    */
-  protected static void camadaAplicacaoTransmissora(String mensagem, ControllerTelaPrincipal controller) {
+  protected static void camadaAplicacaoTransmissora(byte[] dados, ControladorSimulacao controller) {
 
-    new Thread(() -> {
+    ExecutorDeTransmissoes.executar(() -> {
       
-      int quadro[] = new int[mensagem.length()];
       String textoExibicao;
 
       System.out.println("\nCAMADA DE APLICACAO TRANSMISSORA -------------------");
-      for (int i = 0; i < mensagem.length(); i++) { //Laco que percorre todos os caracteres da mensagem
-        textoExibicao = "";
-        textoExibicao += mensagem.charAt(i);
-        textoExibicao += " = ";
-        quadro[i] = mensagem.charAt(i); //Valor ASCII do caractere i eh adicionado a posicao i do array
-        textoExibicao += quadro[i];
-        textoExibicao += ";";
-
-        String textoAtual = textoExibicao; //Armazena o texto construido na string
-
-        System.out.println(textoAtual); //Imprime no console a codificacao ascii
-      } //Fim do for da mensagem
-
-      CamadaEnlaceDadosTransmissora.camadaEnlaceDadosTransmissora(quadro, controller);
+      if (controller.exibirDetalhes()) { //Exibicao byte a byte, apenas quando ha animacao
+        for (int i = 0; i < dados.length; i++) { //Laco que percorre todos os bytes da mensagem
+          int valor = dados[i] & 0xFF; //Valor sem sinal do byte i
+          textoExibicao = "";
+          if (valor >= ' ' && valor <= '~') { //Caracteres ASCII imprimiveis aparecem junto do valor
+            textoExibicao += (char) valor;
+            textoExibicao += " = ";
+          }
+          textoExibicao += valor;
+          textoExibicao += ";";
+
+          String textoAtual = textoExibicao; //Armazena o texto construido na string
+
+          System.out.println(textoAtual); //Imprime no console o valor de cada byte
+        } //Fim do for da mensagem
+      }
+
+      CamadaEnlaceDadosTransmissora.camadaEnlaceDadosTransmissora(dados, controller);
       
-    }).start(); //Inicializa a thread de transmissao
+    }); //Agenda a preparacao da mensagem
 
   } //Fim camadaAplicacaoTransmissora
 } //Fim da classe CamadaAplicacaoTransmissora
\ No newline at end of file
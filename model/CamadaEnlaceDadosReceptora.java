@@ -1,14 +1,13 @@
 package model;
 
-import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
-import controller.ControllerTelaPrincipal;
-import javafx.application.Platform;
-import javafx.scene.control.Alert;
-import javafx.scene.control.Alert.AlertType;
+import controller.ControladorSimulacao;
+import util.BufferDeBits;
+import util.CalculadoraCRC;
+import util.CalculadoraParidade;
+import util.CodificadorHamming;
+import util.CodificadorSECDED;
 import util.Util;
 
 /**
@@ -17,32 +16,23 @@ import util.Util;
  * erros e encaminhar a mensagem para a camada de aplicacao.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class CamadaEnlaceDadosReceptora {
-  private static int seqEsperado = 0; // Numero de sequencia esperado (0 ou 1)
-
   /**
    * Metodo principal da camada de enlace de dados receptora.
    * <p>
    * Coordena as operacoes de desenquadramento, controle de erros e
    * controle de fluxo antes de enviar a mensagem para a camada de aplicacao.
    *
-   * @param quadro      Array de inteiros com os dados recebidos da camada fisica.
+   * @param quadro      Array de bytes com os dados recebidos da camada fisica (null ou vazio:
+   *                    descartado pela camada fisica por simbolos de sinal invalidos).
    * @param controller  Controlador da interface grafica.
    */
-  protected static void camadaEnlaceDadosReceptora(int quadro[], ControllerTelaPrincipal controller) {
-    // Verifica primeiro se o quadro recebido eh um ACK antes de qualquer processamento
-    // ACKs vem decodificados da camada fisica como 4 bytes: [0x80, 0, 0, 0]
-    // (quando ACK original { 0x80 } eh codificado em 0x80000000 e depois decodificado)
-    if (quadro != null && quadro.length == 4) {
-      if (quadro[0] == 0x80 && quadro[1] == 0 && quadro[2] == 0 && quadro[3] == 0) {
-        // ACK nao deve ser processado aqui - ele ja foi tratado no MeioDeComunicacao
-        return; // Nao processa ACK como mensagem de dados
-      }
-    }
-
+  protected static void camadaEnlaceDadosReceptora(byte quadro[], ControladorSimulacao controller) {
+    // ACKs e NAKs viajam no sentido contrario e sao entregues pelo MeioDeComunicacao direto
+    // ao transmissor, entao todo quadro que chega aqui eh de dados, qualquer que seja o conteudo
     // Como a implementacao atual do controle de fluxo esta cuidando do envio dos quadros, do ack e da retransmissao
     // entao ela tambem sera responsavel por centralizar as chamadas de enquadramento e de controle de erro.
     camadaEnlaceDadosReceptoraControleDeFluxo(quadro, controller);
@@ -60,12 +50,12 @@ public class CamadaEnlaceDadosReceptora {
    *
    * @param quadro      O fluxo de dados brutos vindo da camada fisica.
    * @param controller  Controlador da GUI para obter o tipo de enquadramento.
-   * @return int[]      O quadro de dados original, ja desenquadrado.
+   * @return byte[]     O quadro de dados original, ja desenquadrado.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramento(int quadro[], ControllerTelaPrincipal controller) {
+  private static byte[] camadaEnlaceDadosReceptoraEnquadramento(byte quadro[], ControladorSimulacao controller) {
 
     int tipoEnquadramento = controller.getEnquadramento(); //Captura o enquadramento escolhido na interface grafica
-    int[] quadroDesenquadrado;
+    byte[] quadroDesenquadrado;
 
     switch(tipoEnquadramento){
       case 1:
@@ -94,54 +84,39 @@ public class CamadaEnlaceDadosReceptora {
    * Le o byte de contagem no inicio de cada quadro para determinar seu tamanho
    * e extrair a mensagem original.
    *
-   * @param quadro O fluxo de dados enquadrado.
-   * @return int[] A mensagem original, sem os bytes de contagem.
+   * @param quadro  O fluxo de dados enquadrado.
+   * @return byte[] A mensagem original, sem os bytes de contagem.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoContagemDeCaracteres(int quadro[]){
-
-    //Usa um array dinamico, pois o tamanho original da mensagem eh desconhecido a priori
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
+  private static byte[] camadaEnlaceDadosReceptoraEnquadramentoContagemDeCaracteres(byte quadro[]){
 
+    //O quadro chega com o tamanho exato: os bytes de contagem sao visitados uma vez
+    //para validar os blocos e saber o tamanho da mensagem antes de copia-la
+    int numBlocos = 0;
     int indiceEntrada = 0; //Controla a posicao de leitura no quadroEnquadrado
 
-    //Altera o loop para verificar ativamente as condicoes de parada,
-    //em vez de apenas iterar sobre o comprimento do array.
-    while (true) {
-      
-      //Condicao de parada 1: Atingiu o fim fisico do array.
-      if (indiceEntrada >= quadro.length) {
-        break; //Fim da transmissao
-      }
-
-      //Le o primeiro byte do quadro, que eh o byte de contagem.
-      int tamanhoDoBloco = quadro[indiceEntrada++];
-
-      //Condicao de parada 2: Encontrou um byte de contagem 0.
-      //Isso indica padding ou o fim logico da transmissao.
-      if (tamanhoDoBloco == 0) {
-        break; //Fim logico da transmissao
-      }
-
-      int caracteresCargaUtil = tamanhoDoBloco - 1;
+    while (indiceEntrada < quadro.length) {
+      int tamanhoDoBloco = quadro[indiceEntrada] & 0xFF; //Byte de contagem, incluindo ele mesmo
 
       //Condicao de seguranca: Verifica se o byte de contagem eh valido.
-      //Se for corrompido e apontar para fora do array, lanca a excecao
+      //Se for corrompido (nulo ou apontando para fora do array), lanca a excecao
       //que eh esperada e tratada pela camadaEnlaceDadosReceptora.
-      if (indiceEntrada + caracteresCargaUtil > quadro.length) {
+      if (tamanhoDoBloco < 1 || indiceEntrada + tamanhoDoBloco > quadro.length) {
         throw new ArrayIndexOutOfBoundsException("Contagem de caracteres corrompida");
       }
 
-      //Le os caracteres da carga util e os adiciona a lista
-      for (int i = 0; i < caracteresCargaUtil; i++) {
-        quadroOriginalList.add(quadro[indiceEntrada++]);
-      } //Fim do for
+      indiceEntrada += tamanhoDoBloco;
+      numBlocos++;
     } //Fim do while
 
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
-    //Converte a lista de inteiros de volta para um int[]
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
-    }
+    byte[] quadroOriginal = new byte[quadro.length - numBlocos];
+    int indiceSaida = 0;
+
+    for (indiceEntrada = 0; indiceEntrada < quadro.length; ) {
+      int caracteresCargaUtil = (quadro[indiceEntrada++] & 0xFF) - 1;
+      System.arraycopy(quadro, indiceEntrada, quadroOriginal, indiceSaida, caracteresCargaUtil);
+      indiceEntrada += caracteresCargaUtil;
+      indiceSaida += caracteresCargaUtil;
+    } //Fim do for
 
     return quadroOriginal;
 
@@ -155,25 +130,26 @@ public class CamadaEnlaceDadosReceptora {
    * Remove as flags de inicio/fim e os bytes de escape para restaurar
    * a mensagem original.
    *
-   * @param quadro O fluxo de dados enquadrado com flags e escapes.
-   * @return int[] A mensagem original.
+   * @param quadro  O fluxo de dados enquadrado com flags e escapes.
+   * @return byte[] A mensagem original.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes(int quadro[]){
+  private static byte[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes(byte quadro[]){
 
     final char FLAG = 'i';
     final char ESCAPE = '/';
 
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
+    byte[] quadroOriginal = new byte[quadro.length]; //Cortado no fim, no tamanho da mensagem
+    int tamanhoOriginal = 0;
 
     boolean dentroDoQuadro = false; //Controla se esta dentro do quadro, para determinar o fim
     boolean proximoEhDado = false; //Controla a relacao do escape lido anteriormente com o byte atual
 
     for (int i = 0; i < quadro.length; i++) {
 
-      int caractere = quadro[i];
+      int caractere = quadro[i] & 0xFF;
 
       if (proximoEhDado) {
-        quadroOriginalList.add(caractere);
+        quadroOriginal[tamanhoOriginal++] = (byte) caractere;
         proximoEhDado = false;
         continue;
       }
@@ -192,7 +168,7 @@ public class CamadaEnlaceDadosReceptora {
           
           //Se nao existe proximo byte, ou se o proximo byte nao eh FLAG,
           //a transmissao eh considerada finalizada e o laco eh interrompido.
-          if (!existeProximoByte || (existeProximoByte && quadro[i + 1] != FLAG)) {
+          if (!existeProximoByte || (existeProximoByte && (quadro[i + 1] & 0xFF) != FLAG)) {
             break; 
           }
           //Se a condicao acima for falsa, significa que o proximo byte e uma FLAG
@@ -203,18 +179,13 @@ public class CamadaEnlaceDadosReceptora {
         if (caractere == ESCAPE) {
           proximoEhDado = true;
         } else {
-          quadroOriginalList.add(caractere);
+          quadroOriginal[tamanhoOriginal++] = (byte) caractere;
         }
       }
       
     }
 
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
-    }
-
-    return quadroOriginal;
+    return Arrays.copyOf(quadroOriginal, tamanhoOriginal);
 
   } //Fim camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes
 
@@ -227,26 +198,26 @@ public class CamadaEnlaceDadosReceptora {
    * para restaurar o fluxo de dados original. As flags sao usadas para
    * delimitar o quadro.
    *
-   * @param quadro O fluxo de bits enquadrado.
-   * @return int[] A mensagem original.
+   * @param quadro  O fluxo de bits enquadrado.
+   * @return byte[] A mensagem original.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBits(int quadro[]) {
+  private static byte[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBits(byte quadro[]) {
 
     final int FLAG = 0b01111110; //01111110
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
-    ArrayList<Integer> cargaUtilBruta = new ArrayList<>(); //Lista para bytes entre as FLAGs
+    BufferDeBits quadroOriginal = new BufferDeBits(quadro.length * 8);
+    BufferDeBits cargaUtilBruta = new BufferDeBits(); //Bits entre as FLAGs
     boolean dentroDoQuadro = false;
 
     //Separa a Carga Util das FLAGs
-    for (int byteEntrada : quadro) {
+    for (byte b : quadro) {
+      int byteEntrada = b & 0xFF;
       if (byteEntrada == FLAG) {
         if (dentroDoQuadro) {
           //FLAG de fim de quadro encontrada. Processa o que acumulou.
-          if (!cargaUtilBruta.isEmpty()) {
+          if (cargaUtilBruta.tamanho() > 0) {
               //Implementacao do desestufamento com uma funcao desestufarBits
-              ArrayList<Integer> cargaUtilLimpa = desestufarBits(cargaUtilBruta);
-              quadroOriginalList.addAll(cargaUtilLimpa);
-              cargaUtilBruta.clear(); //Limpa para o proximo quadro
+              desestufarBits(cargaUtilBruta, quadroOriginal);
+              cargaUtilBruta.limpar(); //Limpa para o proximo quadro
           }
           dentroDoQuadro = false; //Sai do quadro
         } else {
@@ -256,69 +227,57 @@ public class CamadaEnlaceDadosReceptora {
       } else {
         if (dentroDoQuadro) {
           //Este eh um byte de dados (carga util), adiciona para processamento posterior
-          cargaUtilBruta.add(byteEntrada);
+          cargaUtilBruta.anexarByte(byteEntrada);
         } //Fim if
       } //Fim if-else
     } //Fim for
 
-    if(!cargaUtilBruta.isEmpty()){
-      ArrayList<Integer> cargaUtilLimpa = desestufarBits(cargaUtilBruta);
-      quadroOriginalList.addAll(cargaUtilLimpa);
-    }
-
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
-
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
+    if (cargaUtilBruta.tamanho() > 0) {
+      desestufarBits(cargaUtilBruta, quadroOriginal);
     }
 
-    return quadroOriginal;
+    return quadroOriginal.paraBytes();
 
   } //Fim camadaEnlaceDadosReceptoraInsercaoDeBits
 
 
 
   /**
-   * Funcao auxiliar que realiza o desestufamento em uma lista de bytes.
-   * @param cargaUtilBruta      A lista de bytes que compoe a carga util de um quadro.
-   * @return ArrayList<Integer> A lista de bytes apos a remocao dos bits de stuffing.
+   * Funcao auxiliar que realiza o desestufamento da carga util de um quadro.
+   * <p>
+   * Os bits de dados sao anexados ao buffer de saida; bits que nao completam
+   * um byte (padding do transmissor) sao descartados ao final.
+   *
+   * @param cargaUtilBruta Os bits que compoem a carga util de um quadro.
+   * @param saida          O buffer onde os bytes desestufados sao anexados.
    */
-  private static ArrayList<Integer> desestufarBits(ArrayList<Integer> cargaUtilBruta) {
-    ArrayList<Integer> bytesDecodificados = new ArrayList<>();
+  private static void desestufarBits(BufferDeBits cargaUtilBruta, BufferDeBits saida) {
+    int inicioSaida = saida.tamanho();
     int contBits1 = 0;
-    int byteSaidaAtual = 0;
-    int bitsNoByteSaida = 0;
-
-    for (int byteEntrada : cargaUtilBruta) {
-      for (int j = 7; j >= 0; j--) {
-        int bit = (byteEntrada >> j) & 1;
-
-        if (contBits1 == 5) {
-          if (bit == 0) { //Encontrou um bit de stuffing
-            contBits1 = 0;
-            continue; //Descarta o bit e continua
-          }
-        } //Fim de if contBits1
 
-        //Se nao for bit de stuffing, eh um bit de dados
-        byteSaidaAtual = (byteSaidaAtual << 1) | bit;
-        bitsNoByteSaida++;
+    cargaUtilBruta.setCursor(0);
+    while (cargaUtilBruta.temProximo()) {
+      int bit = cargaUtilBruta.lerProximoBit();
 
-        if (bit == 1) {
-          contBits1++;
-        } else {
+      if (contBits1 == 5) {
+        if (bit == 0) { //Encontrou um bit de stuffing
           contBits1 = 0;
-        } //Fim de if bit
+          continue; //Descarta o bit e continua
+        }
+      } //Fim de if contBits1
 
-        if (bitsNoByteSaida == 8) {
-          bytesDecodificados.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        } //Fim if
-      } //Fim for bits
-    } //Fim for bytes
+      //Se nao for bit de stuffing, eh um bit de dados
+      saida.anexarBit(bit);
 
-    return bytesDecodificados;
+      if (bit == 1) {
+        contBits1++;
+      } else {
+        contBits1 = 0;
+      } //Fim de if bit
+    } //Fim while
+
+    //Mantem apenas os bytes completos
+    saida.truncar(inicioSaida + (saida.tamanho() - inicioSaida) / 8 * 8);
   } //Fim desestufarBits
 
 
@@ -326,13 +285,13 @@ public class CamadaEnlaceDadosReceptora {
   /**
    * Realiza o desenquadramento pela tecnica de violacao da camada fisica.
    * <p>
-   * Simplesmente recebe o vetor de inteiros desenquadrado, decodificado
+   * Simplesmente recebe o vetor de bytes desenquadrado, decodificado
    * e tambem desempacotado, com os caracteres posicionados.
    *
-   * @param quadro O fluxo de dados codificado.
-   * @return int[] A mensagem original.
+   * @param quadro  O fluxo de dados codificado.
+   * @return byte[] A mensagem original.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica(int quadro[]){
+  private static byte[] camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica(byte quadro[]){
     return quadro;
   } //Fim camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica
 
@@ -345,12 +304,12 @@ public class CamadaEnlaceDadosReceptora {
    *
    * @param quadro     Vetor com os caracteres da mensagem decodificados, ainda enquadrados.
    * @param controller Controlador da interface grafica.
-   * @return int[]     O resultado do controle de erros.
+   * @return byte[]    O resultado do controle de erros.
    */
-  private static int[] camadaEnlaceDadosReceptoraControleDeErros(int quadro[], ControllerTelaPrincipal controller){
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErros(byte quadro[], ControladorSimulacao controller){
 
     int tipoControleErros = controller.getControleErro();
-    int[] quadroControleErros;
+    byte[] quadroControleErros;
 
     switch (tipoControleErros) {
       case 1:
@@ -360,11 +319,17 @@ public class CamadaEnlaceDadosReceptora {
         quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar(quadro);
         break;
       case 3:
-        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosCRC(quadro);
+        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosCRC(quadro, CalculadoraCRC.obter(controller.getTipoCRC()));
         break;
-      default:
+      case 4:
         quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming(quadro);
         break;
+      case 5:
+        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosHammingSECDED(quadro);
+        break;
+      default:
+        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosParidadeBidimensional(quadro);
+        break;
     } //Fim switch
 
     //Logs detalhados removidos para organizacao
@@ -379,36 +344,16 @@ public class CamadaEnlaceDadosReceptora {
    * Realiza o controle de erros pelo bit de paridade par.
    * <p>
    * Faz a contagem de bits '1' na sequencia e compara com o bit de paridade esperado
-   * com aquele recebido, se diferirem, ha um erro.
+   * com aquele recebido, se diferirem, ha um erro. A contagem eh feita pela
+   * CalculadoraParidade, com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem decodificada e enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade retirado.
+   * @param quadro  Vetor de bytes contendo a mensagem decodificada e enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade retirado.
    */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar(int[] quadro){
-
-    int paridade = 0;
-    //Calcula a paridade byte por byte, bit por bit, ate o penultimo
-    for (int i = 0; i < quadro.length - 1; i++) {
-      int caractere = quadro[i];
-      for (int j = 0; j < 8; j++) {
-        if (((caractere >> j) & 1) == 1) {
-          paridade++;
-        } //Fim if
-      } //Fim for
-    } //Fim for
-
-    int bitParidadeRecebido = quadro[quadro.length - 1];
-    int bitParidadeEsperado = (paridade % 2 == 0) ? 0 : 1;
-
-    if (bitParidadeRecebido != bitParidadeEsperado) {
-      return null; //Erro detectado
-    }
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar(byte[] quadro){
 
-    //Retorna o quadro original sem o bit de paridade
-    int[] quadroOriginal = new int[quadro.length - 1];
-    System.arraycopy(quadro, 0, quadroOriginal, 0, quadroOriginal.length);
-
-    return quadroOriginal;
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.verificar(quadro, false);
 
   } //Fim camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar
 
@@ -418,88 +363,61 @@ public class CamadaEnlaceDadosReceptora {
    * Realiza o controle de erros pelo bit de paridade impar.
    * <p>
    * Faz a contagem de bits '1' na sequencia e compara com o bit de paridade esperado
-   * com aquele recebido, se diferirem, ha um erro.
+   * com aquele recebido, se diferirem, ha um erro. A contagem eh feita pela
+   * CalculadoraParidade, com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem decodificada e enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade retirado.
+   * @param quadro  Vetor de bytes contendo a mensagem decodificada e enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade retirado.
    */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar(int[] quadro){
-    
-    int paridade = 0;
-    //Calcula a paridade byte por byte, bit por bit, ate o penultimo
-    for (int i = 0; i < quadro.length - 1; i++) {
-      int caractere = quadro[i];
-      for (int j = 0; j < 8; j++) {
-        if (((caractere >> j) & 1) == 1) {
-          paridade++;
-        } //Fim if
-      } //Fim for
-    } //Fim for
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar(byte[] quadro){
 
-    int bitParidadeRecebido = quadro[quadro.length - 1];
-    int bitParidadeEsperado = (paridade % 2 == 0) ? 1 : 0; //Se paridade par, 1, se nao, 0
-
-    if (bitParidadeRecebido != bitParidadeEsperado) {
-      return null; //Erro detectado
-    }
-
-    //Retorna o quadro original sem o bit de paridade
-    int[] quadroOriginal = new int[quadro.length - 1];
-    System.arraycopy(quadro, 0, quadroOriginal, 0, quadroOriginal.length);
-
-    return quadroOriginal;
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.verificar(quadro, true);
 
   } //Fim camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar
 
 
 
   /**
-   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * Realiza o controle de erros pela paridade bidimensional.
    * <p>
-   * Faz a divisao polinomial da (mensagem + CRC) recebida pelo p.Gerador CRC-32, se
-   * o resto da divisao for diferente de 0, um erro ocorreu, pois M(x) + R(x) eh 
-   * perfeitamente divisivel por G(x).
+   * Recalcula a paridade das linhas e das colunas de cada bloco de 8 bytes. Se
+   * exatamente uma linha e uma coluna estiverem erradas, o bit do cruzamento eh
+   * corrigido; erros em mais de uma linha ou coluna sao apenas detectados.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem decodificada e enquadrada.
+   * @return byte[] Vetor de bytes com a mensagem corrigida, ou null se houver erro nao corrigivel.
    */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosCRC(int[] quadro){
-    
-    //Polinomio CRC-32 IEEE: 100000100110000010001110110110111 (33 bits)
-    BigInteger polinomio = new BigInteger("100000100110000010001110110110111", 2);
-
-    //Converte todo o quadro (mensagem + CRC) para bits
-    StringBuilder bitsCompleto = new StringBuilder();
-    for (int byteDado : quadro) {
-        String bits = String.format("%8s", Integer.toBinaryString(byteDado & 0xFF)).replace(' ', '0');
-        bitsCompleto.append(bits);
-    }
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosParidadeBidimensional(byte[] quadro){
 
-    //Converte para BigInteger
-    BigInteger mensagem = new BigInteger(bitsCompleto.toString(), 2);
+    //Linhas e colunas erradas sao marcadas em dois bytes, o cruzamento indica o bit
+    return CalculadoraParidade.decodificarBidimensional(quadro);
 
-    //Realiza a divisao polinomial usando XOR
-    int tamanhoPolinomio = 33; //Grau 32 + 1
-    int tamanhoBitsMensagem = bitsCompleto.length();
+  } //Fim camadaEnlaceDadosReceptoraControleDeErrosParidadeBidimensional
 
-    //Faz a divisao bit a bit com XOR
-    for (int i = 0; i <= tamanhoBitsMensagem - tamanhoPolinomio; i++) {
-        //Verifica se o bit mais significativo eh 1
-        if (mensagem.testBit(tamanhoBitsMensagem - 1 - i)) {
-            //Desloca o polinomio para alinhar com a posicao atual e faz XOR
-            BigInteger polinomioDeslocado = polinomio.shiftLeft(tamanhoBitsMensagem - tamanhoPolinomio - i);
-            mensagem = mensagem.xor(polinomioDeslocado);
-        }
-    }
 
+
+  /**
+   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * <p>
+   * Calcula, com o motor de tabelas compartilhado (CalculadoraCRC), o resto da divisao
+   * da (mensagem + CRC) recebida pelo p.Gerador escolhido, se o resto da divisao for
+   * diferente de 0, um erro ocorreu, pois M(x) + R(x) eh perfeitamente divisivel por G(x).
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @param crc     O polinomio gerador do catalogo, o mesmo usado pelo transmissor.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
+   */ 
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosCRC(byte[] quadro, CalculadoraCRC crc){
+    
     //O resto deve ser zero se nao houver erro
-    if (!mensagem.equals(BigInteger.ZERO)) {
+    if (!crc.verificar(quadro)) {
         return null; //Erro detectado!
     }
 
-    //Retorna a mensagem original sem os ultimos 4 bytes (CRC)
-    int tamanhoOriginal = quadro.length - 4;
-    int[] quadroOriginal = new int[tamanhoOriginal];
+    //Retorna a mensagem original sem os bytes do CRC (1, 2, 4 ou 8)
+    int tamanhoOriginal = quadro.length - crc.getNumBytes();
+    byte[] quadroOriginal = new byte[tamanhoOriginal];
     System.arraycopy(quadro, 0, quadroOriginal, 0, tamanhoOriginal);
 
     return quadroOriginal;
@@ -514,164 +432,113 @@ public class CamadaEnlaceDadosReceptora {
    * Faz a comparacao dos bits de paridade esperados (de acordo com os resultados das
    * operacoes XOR com os bits a cada um associados), com os bits de paridade recebidos.
    * Se os bits diferirem, ha um erro, a sindrome eh calculada e o bit 'errado' eh corrigido.
+   * O calculo eh feito pelo CodificadorHamming, sobre bits empacotados, em tempo linear.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming(int[] quadro){
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming(byte[] quadro){
 
-    // Converte o quadro em lista de bits (posicao 0 nao usada)
-    List<Integer> bitsRecebidos = new ArrayList<>();
-    bitsRecebidos.add(0); // Posicao 0 nao usada
-    
-    for (int byteDado : quadro) {
-        for (int i = 7; i >= 0; i--) {  // Extrai do bit 7 ao bit 0
-            bitsRecebidos.add((byteDado >> i) & 1);
-        }
-    }
-    
-    int n = bitsRecebidos.size() - 1; // Tamanho total (sem posicao 0)
-    
-    // Calcula quantos bits de paridade existem
-    int r = 0;
-    int temp = 1;
-    while (temp <= n) {
-        r++;
-        temp = temp << 1;
-    }
-    
-    // Calcula a sindrome (detecta posicao do erro)
-    int sindrome = 0;
-    for (int i = 0; i < r; i++) {
-        int posicaoParidade = 1 << i;  // 1, 2, 4, 8, 16...
-        
-        if (posicaoParidade > n) break;  // Evita acessar posicoes invalidas
-        
-        int paridade = 0;
-        
-        for (int j = 1; j <= n; j++) {
-            if ((j & posicaoParidade) != 0) {
-                paridade ^= bitsRecebidos.get(j);
-            }
-        }
-        
-        if (paridade != 0) {
-            sindrome += posicaoParidade;
-        }
-    }
-    
-    // Se sindrome != 0, corrige o bit errado
-    if (sindrome != 0) {
-        if (sindrome <= n) {
-            System.out.println("Erro detectado na posicao: " + sindrome + " (corrigindo)");
-            bitsRecebidos.set(sindrome, bitsRecebidos.get(sindrome) ^ 1);
-        }
-    }
-    
-    // Extrai apenas os bits de dados (remove bits de paridade)
-    List<Integer> bitsDados = new ArrayList<>();
-    for (int i = 1; i <= n; i++) {
-        if ((i & (i - 1)) != 0) { // Nao e potencia de 2
-            bitsDados.add(bitsRecebidos.get(i));
-        }
-    }
-    
-    // Converte bits de volta para bytes
-    int numBytes = bitsDados.size() / 8;  // Apenas bytes completos
-    int[] quadroOriginal = new int[numBytes];
-    
-    for (int i = 0; i < numBytes * 8; i++) {
-        int indiceByte = i / 8;
-        int posicaoNoByte = 7 - (i % 8);  // MSB primeiro
-        
-        if (bitsDados.get(i) == 1) {
-            quadroOriginal[indiceByte] |= (1 << posicaoNoByte);
-        }
-    }
-    
-    return quadroOriginal;
+    //A sindrome eh o XOR das posicoes dos bits em 1, calculada palavra a palavra
+    return CodificadorHamming.decodificar(quadro);
 
   } //Fim camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming
 
+
+
+  /**
+   * Realiza o controle de erros pelo codigo de Hamming em blocos (72,64) SECDED.
+   * <p>
+   * Recalcula os bits de verificacao de cada bloco de 64 bits e compara com os
+   * recebidos. Um erro simples no bloco eh corrigido pela sindrome; um erro duplo
+   * eh apenas detectado, e o quadro inteiro eh descartado.
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem recebida.
+   * @return byte[] Vetor de bytes com a mensagem corrigida, ou null se houver erro nao corrigivel.
+   */
+  private static byte[] camadaEnlaceDadosReceptoraControleDeErrosHammingSECDED(byte[] quadro){
+
+    //Os blocos sao independentes, e em quadros longos sao decodificados em paralelo
+    return CodificadorSECDED.decodificar(quadro);
+
+  } //Fim camadaEnlaceDadosReceptoraControleDeErrosHammingSECDED
+
   
 
 
-  private static void camadaEnlaceDadosReceptoraControleDeFluxo(int quadro[], ControllerTelaPrincipal controller){
+  /**
+   * Verifica o quadro recebido e o aceita conforme o protocolo de controle de fluxo.
+   * <p>
+   * O numero de sequencia (primeiro byte) esta protegido pelo controle de erros,
+   * entao so eh lido depois dele. No Stop-and-Wait e no Go-Back-N o receptor
+   * aceita apenas o quadro esperado: um quadro duplicado ou fora de ordem eh
+   * descartado e o ultimo quadro aceito eh confirmado de novo (ACK cumulativo), e
+   * um quadro com erro eh descartado sem ACK. O erro pode ser detectado pelo
+   * controle de erros ou, antes dele, pela camada fisica, que descarta o quadro
+   * com simbolos que o codigo de linha nao gera. O Selective Repeat eh tratado em
+   * camadaEnlaceDadosReceptoraControleDeFluxoSelectiveRepeat(). O numero de
+   * sequencia esperado fica na SessaoEnlace do controlador.
+   *
+   * @param quadro      O quadro recebido da camada fisica.
+   * @param controller  Controlador da interface grafica.
+   */
+  private static void camadaEnlaceDadosReceptoraControleDeFluxo(byte quadro[], ControladorSimulacao controller){
 
     try{
-      //Extrai numero de sequencia do quadro (primeiro byte)
-      int seqQuadro = -1;
-      int[] quadroSemSeq = quadro;
-      
-      if (quadro != null && quadro.length > 0) {
-        seqQuadro = quadro[0] & 0x01; // Extrai o bit menos significativo como seq
-        // Remove o numero de sequencia do quadro (primeiro byte)
-        quadroSemSeq = new int[quadro.length - 1];
-        System.arraycopy(quadro, 1, quadroSemSeq, 0, quadro.length - 1);
-      }
+      SessaoEnlace sessao = controller.getSessaoEnlace();
+      int moduloSeq = CamadaEnlaceDadosTransmissora.getModuloSequencia(controller);
 
-      //Verifica se eh um quadro duplicado
-      if (seqQuadro != seqEsperado) {
-        System.out.println("> Quadro duplicado recebido (Seq=" + seqQuadro + ", esperava " + seqEsperado + ") - reenvia ACK e ignora");
-        //Reenvia ACK com o seq do quadro recebido (confirmando o quadro duplicado)
-        int[] ack = { 0x80 | seqQuadro }; //ACK com o seq do quadro recebido
-        CamadaFisicaReceptora.camadaFisicaTransmissora(ack, controller);
-        return; //Ignora o quadro duplicado
-      }
-
-      int[] quadroControleErros = camadaEnlaceDadosReceptoraControleDeErros(quadroSemSeq, controller);
+      byte[] quadroControleErros = (quadro == null || quadro.length == 0) ? null //Descartado pela camada fisica
+          : camadaEnlaceDadosReceptoraControleDeErros(quadro, controller);
 
-      if (quadroControleErros == null) {
+      if (quadroControleErros == null || quadroControleErros.length == 0) {
         //Erro detectado
         System.err.println("\n>>> ERRO DETECTADO: Aguardando retransmissao...");
         controller.beep();
-        
-        Platform.runLater(() -> {
-          Alert alert = new Alert(AlertType.ERROR);
-
-          alert.getDialogPane().getStylesheets().add(
-            CamadaEnlaceDadosReceptora.class.getResource("/view/styles.css").toExternalForm());
-          alert.getDialogPane().getStyleClass().add("dialog-pane");
+        controller.alertarErroDetectado();
 
-          alert.setTitle("ERRO DETECTADO");
-          alert.setHeaderText(null);
-          alert.setContentText("A Camada de Enlace de Dados Receptora detectou um erro de transmissao! Aguardando retransmissao");
-          
-          //Mostra o alert e fecha automaticamente apos 5 segundos
-          alert.show();
-          javafx.concurrent.Task<Void> closeTask = new javafx.concurrent.Task<Void>() {
-            @Override
-            protected Void call() throws Exception {
-              Thread.sleep(5000);
-              Platform.runLater(() -> {
-                if (alert.isShowing()) {
-                  alert.close();
-                }
-              });
-              return null;
-            }
-          };
-          Thread closeThread = new Thread(closeTask);
-          closeThread.setDaemon(true);
-          closeThread.start();
-        });
+        if (controller.getControleFluxo() == 3) {
+          //O seq do quadro com erro nao eh confiavel: pede o primeiro quadro que falta
+          byte[] nak = { (byte) (0x80 | CamadaEnlaceDadosTransmissora.MARCA_NAK | sessao.seqEsperadoQuadro) };
+          CamadaFisicaReceptora.camadaFisicaTransmissora(nak, controller);
+        }
 
         return; //Quebra a transmissao (nao envia ACK)
       }
 
+      //Extrai numero de sequencia do quadro (primeiro byte) e o remove
+      int seqQuadro = quadroControleErros[0] & CamadaEnlaceDadosTransmissora.MASCARA_SEQ;
+      byte[] quadroSemSeq = Arrays.copyOfRange(quadroControleErros, 1, quadroControleErros.length);
+
+      if (controller.getControleFluxo() == 3) {
+        camadaEnlaceDadosReceptoraControleDeFluxoSelectiveRepeat(seqQuadro, quadroSemSeq, controller);
+        return;
+      }
+
+      //Verifica se eh um quadro duplicado ou fora de ordem
+      if (seqQuadro != sessao.seqEsperadoQuadro) {
+        int ultimoAceito = Math.floorMod(sessao.seqEsperadoQuadro - 1, moduloSeq);
+        System.out.println("> Quadro duplicado ou fora de ordem recebido (Seq=" + seqQuadro + ", esperava " + 
+                           sessao.seqEsperadoQuadro + ") - reenvia ACK " + ultimoAceito + " e ignora");
+        //Reenvia o ACK do ultimo quadro aceito em ordem
+        byte[] ack = { (byte) (0x80 | ultimoAceito) }; //ACK cumulativo
+        CamadaFisicaReceptora.camadaFisicaTransmissora(ack, controller);
+        return; //Ignora o quadro
+      }
+
       //Se o quadro esta OK, processa e envia ACK
-      int[] quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramento(quadroControleErros, controller);
+      byte[] quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramento(quadroSemSeq, controller);
 
       CamadaAplicacaoReceptora.camadaAplicacaoReceptora(quadroDesenquadrado, controller);
 
       //Envia ACK com o numero de sequencia recebido, depois atualiza seqEsperado
       int seqRecebido = seqQuadro;
       System.out.println("> ACK enviado (Seq=" + seqRecebido + ")");
-      //ACK eh criado como byte 0x80 | seq (bit 7 setado + seq no bit 0)
-      int[] ack = { 0x80 | seqRecebido }; //ACK com numero de sequencia recebido
+      //ACK eh criado como byte 0x80 | seq (bit 7 setado + seq nos bits 0 a 5)
+      byte[] ack = { (byte) (0x80 | seqRecebido) }; //ACK com numero de sequencia recebido
       
       //Atualiza numero de sequencia esperado para o proximo quadro
-      seqEsperado = (seqEsperado + 1) % 2; // Alterna entre 0 e 1
+      sessao.seqEsperadoQuadro = (sessao.seqEsperadoQuadro + 1) % moduloSeq; // Alterna entre 0 e 1 no Stop-and-Wait
       
       //Envia o ACK atraves da camada fisica, que passara pelo meio de comunicacao para animacao
       CamadaFisicaReceptora.camadaFisicaTransmissora(ack, controller);
@@ -681,17 +548,65 @@ public class CamadaEnlaceDadosReceptora {
       System.err.println("\nEXCECAO NA CAMADA DE ENLACE RECEPTORA --> ArrayIndexOutOfBoundsException" +
         "\nUm erro em um caracter de contagem impossibilitou o termino da transmissao");
 
-      Platform.runLater(() -> {
-        controller.adicionarMsgRecebidaTextArea("A transmissao foi interrompida em virtude de" + 
-          " uma Excecao da Contagem de Caracteres");
-        controller.reativar();
-      }); //Fim runLater
+      controller.adicionarMsgRecebidaTextArea("A transmissao foi interrompida em virtude de" + 
+        " uma Excecao da Contagem de Caracteres");
+      controller.reativar();
 
     } //Fim try-catch
 
   } //Fim camadaEnlaceDadosReceptoraControleDeFluxo
 
 
+  /**
+   * Aceita o quadro pelo protocolo Selective Repeat.
+   * <p>
+   * Quadros dentro da janela do receptor sao guardados no buffer de reordenacao
+   * (no maximo getTamanhoJanela() quadros, um por numero de sequencia) e
+   * confirmados individualmente. Sempre que o quadro esperado chega, ele e os
+   * seguintes ja guardados sao desenquadrados e entregues em ordem a camada de
+   * aplicacao. Um quadro da janela anterior (ja entregue) eh confirmado de novo.
+   *
+   * @param seqQuadro   O numero de sequencia do quadro.
+   * @param quadro      O quadro, sem o numero de sequencia e ja verificado pelo controle de erros.
+   * @param controller  Controlador da interface grafica.
+   */
+  private static void camadaEnlaceDadosReceptoraControleDeFluxoSelectiveRepeat(int seqQuadro, byte[] quadro,
+                                                                              ControladorSimulacao controller) {
+    SessaoEnlace sessao = controller.getSessaoEnlace();
+    int tamanhoJanela = CamadaEnlaceDadosTransmissora.getTamanhoJanela(controller);
+    int deslocamento = Math.floorMod(seqQuadro - sessao.seqEsperadoQuadro, CamadaEnlaceDadosTransmissora.MODULO_SEQ);
+
+    if (deslocamento >= tamanhoJanela) {
+      if (deslocamento >= CamadaEnlaceDadosTransmissora.MODULO_SEQ - tamanhoJanela) {
+        System.out.println("> Quadro ja entregue recebido (Seq=" + seqQuadro + ") - reenvia ACK e ignora");
+        byte[] ack = { (byte) (0x80 | seqQuadro) };
+        CamadaFisicaReceptora.camadaFisicaTransmissora(ack, controller);
+      } else {
+        System.out.println("> Quadro fora da janela do receptor (Seq=" + seqQuadro + ") - ignorado");
+      } //Fim if-else
+      return;
+    } //Fim if
+
+    if (sessao.bufferReordenacao[seqQuadro] == null) {
+      sessao.bufferReordenacao[seqQuadro] = quadro; //Guarda ate que os anteriores cheguem
+    }
+
+    //Entrega, em ordem, o quadro esperado e os seguintes que ja estavam no buffer
+    byte[][] bufferReordenacao = sessao.bufferReordenacao;
+    while (bufferReordenacao[sessao.seqEsperadoQuadro] != null) {
+      byte[] quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramento(bufferReordenacao[sessao.seqEsperadoQuadro], controller);
+      bufferReordenacao[sessao.seqEsperadoQuadro] = null;
+
+      CamadaAplicacaoReceptora.camadaAplicacaoReceptora(quadroDesenquadrado, controller);
+      sessao.seqEsperadoQuadro = (sessao.seqEsperadoQuadro + 1) % CamadaEnlaceDadosTransmissora.MODULO_SEQ;
+    } //Fim while
+
+    System.out.println("> ACK enviado (Seq=" + seqQuadro + ", proximo esperado " + sessao.seqEsperadoQuadro + ")");
+    byte[] ack = { (byte) (0x80 | seqQuadro) }; //ACK individual
+    CamadaFisicaReceptora.camadaFisicaTransmissora(ack, controller);
+  } //Fim camadaEnlaceDadosReceptoraControleDeFluxoSelectiveRepeat
+
+
 
 
 
@@ -703,14 +618,14 @@ public class CamadaEnlaceDadosReceptora {
    * Enquadra os quadros de caracteres recebidos da camada de aplicacao, conforme
    * o enquadramento escolhido na GUI.
    *
-   * @param quadro     Array de inteiros com os codigos ascii dos caracteres.
+   * @param quadro     Array de bytes com os codigos ascii dos caracteres.
    * @param controller Controlador da interface grafica.
-   * @return int[] O resultado do enquadramento.
+   * @return byte[] O resultado do enquadramento.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramento(int quadro[], ControllerTelaPrincipal controller) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramento(byte quadro[], ControladorSimulacao controller) {
 
     int tipoEnquadramento = controller.getEnquadramento(); //Captura o enquadramento escolhido
-    int[] quadroEnquadrado;
+    byte[] quadroEnquadrado;
 
     String enquadramento = "";
 
@@ -735,11 +650,11 @@ public class CamadaEnlaceDadosReceptora {
 
     System.out.println("\nO enquadramento escolhido foi: " + enquadramento + "\n");
 
-    for(int i = 0; i < quadroEnquadrado.length; i++){
+    for(int i = 0; i < quadroEnquadrado.length && controller.exibirDetalhes(); i++){
 
       if(!(tipoEnquadramento == 4)){
-        controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroEnquadrado[i]) + "\n");
-        System.out.println("quadroEnquadrado[" + i + "] = " + Util.bitsParaString(quadroEnquadrado[i]));
+        controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroEnquadrado[i] & 0xFF) + "\n");
+        System.out.println("quadroEnquadrado[" + i + "] = " + Util.bitsParaString(quadroEnquadrado[i] & 0xFF));
       }
 
     } //Fim for
@@ -756,10 +671,10 @@ public class CamadaEnlaceDadosReceptora {
    * Cada quadro da mensagem tem por cabecalho um caracter de contagem de bytes,
    * que devem segui-lo na transmissao, e que delimita o final do quadro.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento de contagem de caracteres.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento de contagem de caracteres.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoContagemDeCaracteres(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoContagemDeCaracteres(byte quadro[]) {
 
     final int tamanhoQuadro = 3;
     int numCaracteres = quadro.length;
@@ -769,7 +684,7 @@ public class CamadaEnlaceDadosReceptora {
 
     //O vetor enquadrado de saida tera os caracteres de carga util + 1 de controle para cada bloco
     int tamanhoSaida = numCaracteres + numBlocos;
-    int[] quadroEnquadrado = new int[tamanhoSaida];
+    byte[] quadroEnquadrado = new byte[tamanhoSaida];
 
     int indiceSaida = 0; //Indice para controlar o armazenamento dos caracteres no novo quadro
 
@@ -777,7 +692,7 @@ public class CamadaEnlaceDadosReceptora {
       //Calcula quantos caracteres ha no quadro
       int charsQuadro = Math.min(tamanhoQuadro, numCaracteres - i);
 
-      quadroEnquadrado[indiceSaida++] = charsQuadro + 1;
+      quadroEnquadrado[indiceSaida++] = (byte) (charsQuadro + 1);
 
       for (int j = 0; j < charsQuadro; j++) { //Adiciona a carga util logo apos o char de contagem
         quadroEnquadrado[indiceSaida++] = quadro[i + j];
@@ -797,10 +712,10 @@ public class CamadaEnlaceDadosReceptora {
    * metodo insere bytes de escape para diferenciar os dados das flags,
    * delimitando os quadros de forma segura.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento por insercao de bytes.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento por insercao de bytes.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBytes(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBytes(byte quadro[]) {
 
     final int TAMANHO_CARGA_UTIL = 5; //Numero fixo maximo de caracteres por quadro de carga util
     final char FLAG = 'i';
@@ -808,7 +723,7 @@ public class CamadaEnlaceDadosReceptora {
 
     //Calcula o pior caso de insercao de flags e escapes e aloca o vetor
     int tamanho = 2 + (2*quadro.length) + (2*quadro.length/TAMANHO_CARGA_UTIL);
-    int[] quadroEnquadrado = new int[tamanho];
+    byte[] quadroEnquadrado = new byte[tamanho];
 
     int indiceSaida = 0; //Indice para controlar a insercao de bytes
     int contCargaUtil = 0; //Contagem de caracteres de carga no quadro atual
@@ -816,7 +731,7 @@ public class CamadaEnlaceDadosReceptora {
     quadroEnquadrado[indiceSaida++] = FLAG; //FLAG inicial
 
     for (int i = 0; i < quadro.length; i++) {
-      int caractere = quadro[i];
+      int caractere = quadro[i] & 0xFF;
 
       //Se o caractere for FLAG ou ESCAPE, insere ESCAPE antes
       if (caractere == FLAG || caractere == ESCAPE) {
@@ -824,7 +739,7 @@ public class CamadaEnlaceDadosReceptora {
       } //Fim if
 
       //Insere o caractere i da mensagem original
-      quadroEnquadrado[indiceSaida++] = caractere;
+      quadroEnquadrado[indiceSaida++] = (byte) caractere;
       contCargaUtil++;
 
       //Se atingiu o tamanho maximo, fecha o quadro com FLAG
@@ -860,23 +775,24 @@ public class CamadaEnlaceDadosReceptora {
    * sequencia de bits apareca nos dados, este metodo insere um bit 0 apos
    * toda sequencia de cinco bits 1 consecutivos nos dados.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento por insercao de bits.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento por insercao de bits.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits(byte quadro[]) {
 
     final int FLAG = 0b01111110; //01111110
     final int TAMANHO_CARGA_UTIL = 5; //Maximo de 5 bytes de dados por quadro
 
-    ArrayList<Integer> quadroEnquadradoList = new ArrayList<>();
-    quadroEnquadradoList.add(FLAG);
+    //Os bits sao anexados direto em um buffer empacotado, sem montar bytes a mao
+    BufferDeBits quadroEnquadrado = new BufferDeBits(quadro.length * 10 + 16);
+    quadroEnquadrado.anexarByte(FLAG);
 
     int contBits1 = 0;
-    int byteSaidaAtual = 0;
-    int bitsNoByteSaida = 0;
     int contCargaUtil = 0; //Contador de bytes de carga util no quadro atual
 
-    for (int caractereEntrada : quadro) {
+    for (int indice = 0; indice < quadro.length; indice++) {
+      int caractereEntrada = quadro[indice] & 0xFF;
+
       //Processa bit a bit para fazer o stuffing
       for (int i = 7; i >= 0; i--) {
         int bit = (caractereEntrada >> i) & 1;
@@ -887,24 +803,10 @@ public class CamadaEnlaceDadosReceptora {
           contBits1 = 0;
         } //Fim if-else
 
-        //Adiciona o bit lido ao byte util sendo construido
-        byteSaidaAtual = (byteSaidaAtual << 1) | bit;
-        bitsNoByteSaida++;
-
-        if (bitsNoByteSaida == 8) {
-          quadroEnquadradoList.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        }
+        quadroEnquadrado.anexarBit(bit);
 
         if (contBits1 == 5) {
-          byteSaidaAtual = (byteSaidaAtual << 1) | 0; //Stuffing com bit 0
-          bitsNoByteSaida++;
-          if (bitsNoByteSaida == 8) { //Se o bit stuff completou um byte util
-            quadroEnquadradoList.add(byteSaidaAtual);
-            byteSaidaAtual = 0;
-            bitsNoByteSaida = 0;
-          }
+          quadroEnquadrado.anexarBit(0); //Stuffing com bit 0
           contBits1 = 0;
         }
       } //Fim for
@@ -913,40 +815,24 @@ public class CamadaEnlaceDadosReceptora {
 
       //Verifica se o quadro de carga util atingiu o tamanho maximo
       if (contCargaUtil >= TAMANHO_CARGA_UTIL) {
-        //Se houver bits restantes no byte de saida, completa com padding e envia
-        if (bitsNoByteSaida > 0) {
-          byteSaidaAtual = byteSaidaAtual << (8 - bitsNoByteSaida);
-          quadroEnquadradoList.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        }
-
-        quadroEnquadradoList.add(FLAG); //Fecha o quadro atual
+        quadroEnquadrado.completarByte(); //Completa o ultimo byte com padding
+        quadroEnquadrado.anexarByte(FLAG); //Fecha o quadro atual
         contCargaUtil = 0; //Zera o contador para o proximo quadro
+        contBits1 = 0; //O receptor desestufa cada quadro a partir do zero
 
-        if (caractereEntrada != quadro[quadro.length - 1]) {
-          quadroEnquadradoList.add(FLAG);
+        if (indice < quadro.length - 1) {
+          quadroEnquadrado.anexarByte(FLAG);
         }
       } //Fim if
     } //Fim for
 
     //Se o ultimo quadro nao foi fechado pela logica de tamanho
     if (contCargaUtil > 0) {
-        //Se houver bits restantes no byte de saida, completa com padding e envia
-        if (bitsNoByteSaida > 0) {
-          byteSaidaAtual = byteSaidaAtual << (8 - bitsNoByteSaida);
-          quadroEnquadradoList.add(byteSaidaAtual);
-        }
-        quadroEnquadradoList.add(FLAG); //Adiciona a FLAG final
+      quadroEnquadrado.completarByte(); //Completa o ultimo byte com padding
+      quadroEnquadrado.anexarByte(FLAG); //Adiciona a FLAG final
     }
 
-    int[] quadroEnquadrado = new int[quadroEnquadradoList.size()];
-
-    for (int i = 0; i < quadroEnquadradoList.size(); i++) {
-      quadroEnquadrado[i] = quadroEnquadradoList.get(i);
-    }
-    
-    return quadroEnquadrado;
+    return quadroEnquadrado.paraBytes();
 
   } //Fim camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits
 
@@ -958,10 +844,10 @@ public class CamadaEnlaceDadosReceptora {
    * Simplesmente manda o mesmo fluxo de caracteres que recebeu, para
    * a camada fisica fazer o devido enquadramento.
    *
-   * @param quadro Vetor de inteiros contendo os caracteres da mensagem.
-   * @return int[] O proprio vetor quadro[].
+   * @param quadro  Vetor de bytes contendo os caracteres da mensagem.
+   * @return byte[] O proprio vetor quadro[].
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica(byte quadro[]) {
     return quadro;
   } //Fim camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica
 
@@ -974,12 +860,12 @@ public class CamadaEnlaceDadosReceptora {
    *
    * @param quadro     Vetor com os caracteres da mensagem enquadrados.
    * @param controller Controlador da interface grafica.
-   * @return int[]     O resultado do controle de erros.
+   * @return byte[]    O resultado do controle de erros.
    */
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErros(int quadro[], ControllerTelaPrincipal controller) {
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErros(byte quadro[], ControladorSimulacao controller) {
 
     int tipoControleErros = controller.getControleErro(); //Captura o controle de erros escolhido
-    int[] quadroControleErros;
+    byte[] quadroControleErros;
 
     String controleErros = "";
 
@@ -993,20 +879,28 @@ public class CamadaEnlaceDadosReceptora {
         controleErros = "Bit de paridade impar";
         break;
       case 3:
-        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCRC(quadro);
-        controleErros = "CRC";
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCRC(quadro, CalculadoraCRC.obter(controller.getTipoCRC()));
+        controleErros = controller.getTipoCRC();
         break;
-      default:
+      case 4:
         quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(quadro);
         controleErros = "Codigo de Hamming";
         break;
+      case 5:
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED(quadro);
+        controleErros = "Hamming SECDED (72,64)";
+        break;
+      default:
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional(quadro);
+        controleErros = "Paridade bidimensional";
+        break;
     } //Fim switch
 
     System.out.println("\nO controle de erro escolhido foi: " + controleErros + "\n");
 
-    for(int i = 0; i < quadroControleErros.length; i++){
-      controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroControleErros[i]) + "\n");
-      System.out.println("quadroControleErros[" + i + "] = " + Util.bitsParaString(quadroControleErros[i]));
+    for(int i = 0; i < quadroControleErros.length && controller.exibirDetalhes(); i++){
+      controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroControleErros[i] & 0xFF) + "\n");
+      System.out.println("quadroControleErros[" + i + "] = " + Util.bitsParaString(quadroControleErros[i] & 0xFF));
     } //Fim for
 
     return quadroControleErros;
@@ -1019,28 +913,16 @@ public class CamadaEnlaceDadosReceptora {
    * Realiza o controle de erros pelo bit de paridade par.
    * <p>
    * Faz a contagem de bits '1' na sequencia e insere o bit correspondente,
-   * isto eh, se par, 0, se impar, 1.
+   * isto eh, se par, 0, se impar, 1. A contagem eh feita pela CalculadoraParidade,
+   * com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar(int[] quadro){
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar(byte[] quadro){
 
-    int paridade = 0;
-
-    for (int caractere : quadro) { //Para cada caractere em quadro
-        for (int i = 0; i < 8; i++) { //Para cada bit
-          if (((caractere >> i) & 1) == 1) { //Se o bit for 1
-            paridade++; //Adiciona
-          } //Fim if
-        } //Fim for
-    } //Fim for quadro
-
-    int[] quadroComParidade = new int[quadro.length + 1];
-    System.arraycopy(quadro, 0, quadroComParidade, 0, quadro.length);
-    quadroComParidade[quadro.length] = (paridade % 2 == 0) ? 0 : 1; //Insere o bit de paridade par
-    
-    return quadroComParidade;
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.anexar(quadro, false);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar
 
@@ -1050,93 +932,56 @@ public class CamadaEnlaceDadosReceptora {
    * Realiza o controle de erros pelo bit de paridade impar.
    * <p>
    * Faz a contagem de bits '1' na sequencia e insere o bit correspondente,
-   * isto eh, se par, 1, se impar, 0.
+   * isto eh, se par, 1, se impar, 0. A contagem eh feita pela CalculadoraParidade,
+   * com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar(int[] quadro){
-    
-    int paridade = 0;
-
-    for (int caractere : quadro) {
-        for (int i = 0; i < 8; i++) { 
-          if (((caractere >> i) & 1) == 1) {
-            paridade++;
-          } //Fim if
-        } //Fim for
-    } //Fim for quadro
-
-    int[] quadroComParidade = new int[quadro.length + 1];
-    System.arraycopy(quadro, 0, quadroComParidade, 0, quadro.length);
-    quadroComParidade[quadro.length] = (paridade % 2 == 0) ? 1 : 0; //Insere o bit de paridade impar
-    
-    return quadroComParidade;
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar(byte[] quadro){
+
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.anexar(quadro, true);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar
 
 
 
   /**
-   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * Realiza o controle de erros pela paridade bidimensional.
    * <p>
-   * Faz a divisao polinomial da sequencia de bits da mensagem enquadrada pelo
-   * polinomio gerador CRC-32 e insere o checksum (resto da divisao) na mensagem
-   * a ser enviada pelas camadas.
+   * Divide a mensagem enquadrada em blocos de 8 bytes, tratados como uma matriz
+   * 8 x 8 de bits, e acrescenta a cada bloco um byte com a paridade de cada linha
+   * e um byte com a paridade de cada coluna.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros contendo a mensagem + CRC.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com os bytes de paridade inseridos.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosCRC(int[] quadro){
-    
-    //Polinomio CRC-32 IEEE: x^32 + x^26 + x^23 + x^22 + x^16 + x^12 + x^11 + x^10 + x^8 + x^7 + x^5 + x^4 + x^2 + x + 1
-    //Em binario: 100000100110000010001110110110111 (33 bits)
-    BigInteger polinomio = new BigInteger("100000100110000010001110110110111", 2);
-
-    //Converte o quadro para uma string de bits
-    StringBuilder bitsMensagem = new StringBuilder();
-    for (int byteDado : quadro) {
-        String bits = String.format("%8s", Integer.toBinaryString(byteDado & 0xFF)).replace(' ', '0');
-        bitsMensagem.append(bits);
-    }
-
-    //Adiciona 32 zeros ao final para a divisao polinomial
-    bitsMensagem.append("00000000000000000000000000000000");
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional(byte[] quadro){
 
-    //Converte para BigInteger
-    BigInteger mensagem = new BigInteger(bitsMensagem.toString(), 2);
+    //A paridade das colunas eh o XOR das linhas; a de cada linha vem da tabela
+    return CalculadoraParidade.codificarBidimensional(quadro);
 
-    //Realiza a divisao polinomial usando XOR
-    int tamanhoPolinomio = 33; //Grau 32 + 1
-    int tamanhoBitsMensagem = bitsMensagem.length();
-
-    //Faz a divisao bit a bit com XOR
-    for (int i = 0; i <= tamanhoBitsMensagem - tamanhoPolinomio; i++) {
-        //Verifica se o bit mais significativo eh 1
-        if (mensagem.testBit(tamanhoBitsMensagem - 1 - i)) {
-            //Desloca o polinomio para alinhar com a posicao atual e faz XOR
-            BigInteger polinomioDeslocado = polinomio.shiftLeft(tamanhoBitsMensagem - tamanhoPolinomio - i);
-            mensagem = mensagem.xor(polinomioDeslocado);
-        }
-    }
+  } //Fim camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional
 
-    //O resto (CRC) sao os ultimos 32 bits
-    BigInteger crc = mensagem;
 
-    //Converte o CRC para string binaria com 32 bits (completa com zeros a esquerda)
-    String crcBits = String.format("%32s", crc.toString(2)).replace(' ', '0');
 
-    //Cria novo quadro com os 4 bytes do CRC adicionados
-    int[] quadroComCRC = new int[quadro.length + 4];
-    System.arraycopy(quadro, 0, quadroComCRC, 0, quadro.length);
-
-    //Adiciona os 4 bytes do CRC ao final
-    for (int i = 0; i < 4; i++) {
-        String byteBits = crcBits.substring(i * 8, (i + 1) * 8);
-        quadroComCRC[quadro.length + i] = Integer.parseInt(byteBits, 2);
-    }
-
-    return quadroComCRC;
+  /**
+   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * <p>
+   * Calcula o resto da divisao polinomial da mensagem enquadrada pelo polinomio
+   * gerador escolhido (CRC-8, CRC-16-CCITT, CRC-32, CRC-32C ou CRC-64), com o motor
+   * de tabelas compartilhado (CalculadoraCRC), e insere o checksum (resto da
+   * divisao) na mensagem a ser enviada pelas camadas.
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @param crc     O polinomio gerador do catalogo.
+   * @return byte[] Vetor de bytes contendo a mensagem + CRC.
+   */ 
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosCRC(byte[] quadro, CalculadoraCRC crc){
+    
+    //O resto eh calculado por tabelas (slicing-by-8) e anexado em 1, 2, 4 ou 8 bytes, MSB primeiro
+    return crc.anexar(quadro);
     
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosCRC
   
@@ -1147,76 +992,37 @@ public class CamadaEnlaceDadosReceptora {
    * <p>
    * Insere bits de paridade, que verificam a paridade dos bits associados
    * a cada um da mensagem enquadrada. Serao inseridos 'r' bits de paridade,
-   * sendo 'r' o primeiro inteiro a tornar 2^r >= m + r + 1 verdadeiro.
+   * sendo 'r' o primeiro inteiro a tornar 2^r >= m + r + 1 verdadeiro. O calculo
+   * eh feito pelo CodificadorHamming, sobre bits empacotados, em tempo linear.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(int[] quadro){
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(byte[] quadro){
 
-    // Converte o quadro em uma lista de bits (MSB primeiro)
-    List<Integer> bitsOriginais = new ArrayList<>();
-    for (int byteDado : quadro) {
-        for (int i = 7; i >= 0; i--) {  // Extrai do bit 7 ao bit 0
-            bitsOriginais.add((byteDado >> i) & 1);
-        }
-    }
-    
-    int m = bitsOriginais.size(); // Numero de bits de dados
-    
-    // Calcula quantos bits de paridade sao necessarios: 2^r >= m + r + 1
-    int r = 0;
-    while ((1 << r) < (m + r + 1)) {
-        r++;
-    }
-    
-    int n = m + r; // Tamanho total com paridade
-    
-    // Cria array para os bits codificados (posicao 0 nao usada, facilita calculo)
-    int[] bitsCodificados = new int[n + 1];
-    
-    // Insere os bits de dados nas posicoes que NAO sao potencia de 2
-    int indiceDado = 0;
-    for (int i = 1; i <= n; i++) {
-        if ((i & (i - 1)) != 0) { // Nao e potencia de 2
-            if (indiceDado < bitsOriginais.size()) {
-                bitsCodificados[i] = bitsOriginais.get(indiceDado++);
-            }
-        }
-    }
-    
-    // Calcula os bits de paridade
-    for (int i = 0; i < r; i++) {
-        int posicaoParidade = 1 << i; // 1, 2, 4, 8, 16...
-        int paridade = 0;
-        
-        // Verifica todos os bits cuja representacao binaria tem o bit i ligado
-        for (int j = 1; j <= n; j++) {
-            if ((j & posicaoParidade) != 0) {
-                paridade ^= bitsCodificados[j];
-            }
-        }
-        
-        bitsCodificados[posicaoParidade] = paridade;
-    }
-    
-    // Converte de volta para bytes (8 bits por posicao, MSB primeiro)
-    int numBytes = (int) Math.ceil(n / 8.0);
-    int[] quadroComHamming = new int[numBytes];
-    
-    // Preenche os bytes
-    for (int i = 1; i <= n; i++) {  // Comeca de 1 (ignora posicao 0)
-        int indiceBit = i - 1;  // Ajusta para indice 0-based
-        int indiceByte = indiceBit / 8;
-        int posicaoNoByte = 7 - (indiceBit % 8);  // MSB primeiro
-        
-        if (bitsCodificados[i] == 1) {
-            quadroComHamming[indiceByte] |= (1 << posicaoNoByte);
-        }
-    }
-    
-    return quadroComHamming;
+    //Os bits sao empacotados em long[] e as paridades vem de uma unica passada (sindrome)
+    return CodificadorHamming.codificar(quadro);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming
 
+
+
+  /**
+   * Realiza o controle de erros pelo codigo de Hamming em blocos (72,64) SECDED.
+   * <p>
+   * Divide a mensagem enquadrada em blocos de 64 bits e acrescenta a cada um
+   * 8 bits de verificacao (7 de Hamming e 1 de paridade geral). Cada bloco
+   * corrige um erro simples e detecta um erro duplo, de forma independente dos
+   * demais, o que mantem a protecao em quadros longos.
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com os bytes de verificacao inseridos.
+   */
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED(byte[] quadro){
+
+    //Os bits de verificacao de cada bloco vem de tabelas pre-calculadas, byte a byte
+    return CodificadorSECDED.codificar(quadro);
+
+  } //Fim camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED
+
 } //Fim da classe CamadaEnlaceDadosReceptora
\ No newline at end of file
@@ -1,13 +1,20 @@
 package model;
 
-import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Semaphore;
-
-import controller.ControllerTelaPrincipal;
-import javafx.application.Platform;
+import java.util.concurrent.ScheduledFuture;
+
+import controller.ControladorSimulacao;
+import util.BufferDeBits;
+import util.CalculadoraCRC;
+import util.CalculadoraParidade;
+import util.CodificadorHamming;
+import util.CodificadorSECDED;
+import util.EstimadorRTT;
+import util.RodaDeTemporizadores;
+import util.ServicoDeTemporizadores;
 import util.Util;
 
 /**
@@ -16,13 +23,15 @@ import util.Util;
  * erros (este ultimo, ainda nao implementado).
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class CamadaEnlaceDadosTransmissora {
-  private static Semaphore mutex = new Semaphore(1);
-  private static Temporizador temporizador;
-  private static int seqEsperado = 0; // Numero de sequencia esperado no ACK (0 ou 1)
+  /**Numeros de sequencia das janelas deslizantes: 6 bits (0 a 63), cabendo no byte do ACK junto com as marcas */
+  protected static final int MODULO_SEQ = 64;
+  protected static final int MASCARA_SEQ = MODULO_SEQ - 1;
+  protected static final int MARCA_NAK = 0x40; //Bit 6 do ACK: pede a retransmissao imediata do quadro (Selective Repeat)
+
 
   /**
    * Realiza as funcionalidades da camada de enlace de dados transmissora.
@@ -31,16 +40,34 @@ public class CamadaEnlaceDadosTransmissora {
    * Atualmente, as funcionalidades de controle de erros e controle de fluxo
    * ainda nao foram implementadas.
    *
-   * @param quadro     Array de inteiros contendo os codigos ASCII dos caracteres.
+   * @param quadro     Array de bytes contendo os codigos ASCII dos caracteres.
    * @param controller Controlador da interface grafica para interacoes com a UI.
    */
-  protected static void camadaEnlaceDadosTransmissora(int quadro[], ControllerTelaPrincipal controller) {
+  protected static void camadaEnlaceDadosTransmissora(byte quadro[], ControladorSimulacao controller) {
+    camadaEnlaceDadosTransmissora(quadro, null, controller);
+  } //Fim camadaEnlaceDadosTransmissora
+
+
+  /**
+   * Igual a camadaEnlaceDadosTransmissora(byte[], ControladorSimulacao), para um
+   * bloco de uma transferencia de arquivo.
+   * <p>
+   * Quando a transmissao do bloco comeca, a sessao passa a entregar os bytes
+   * recebidos a transferencia, e nao a aplicacao; quando termina, a transferencia
+   * eh avisada no lugar do controlador, que so eh reativado no fim do arquivo.
+   *
+   * @param quadro        Array de bytes com os bytes do bloco.
+   * @param transferencia A transferencia a que o bloco pertence (null: uma mensagem comum).
+   * @param controller    Controlador da interface grafica para interacoes com a UI.
+   */
+  protected static void camadaEnlaceDadosTransmissora(byte quadro[], TransferenciaDeArquivo transferencia,
+                                                      ControladorSimulacao controller) {
     System.out.println("\nCAMADA DE ENLACE DE DADOS TRANSMISSORA--------------\n");
 
-    int[] quadroEnquadrado = camadaEnlaceDadosTransmissoraEnquadramento(quadro, controller);
+    byte[] quadroEnquadrado = camadaEnlaceDadosTransmissoraEnquadramento(quadro, controller);
 
     // Divide em quadros primeiro, depois aplica controle de erro em cada quadro
-    camadaEnlaceDadosTransmissoraControleDeFluxo(quadroEnquadrado, controller);
+    camadaEnlaceDadosTransmissoraControleDeFluxo(quadroEnquadrado, transferencia, controller);
   } //Fim camadaEnlaceDadosTransmissora
 
 
@@ -48,14 +75,14 @@ public class CamadaEnlaceDadosTransmissora {
    * Enquadra os quadros de caracteres recebidos da camada de aplicacao, conforme
    * o enquadramento escolhido na GUI.
    *
-   * @param quadro     Array de inteiros com os codigos ascii dos caracteres.
+   * @param quadro     Array de bytes com os codigos ascii dos caracteres.
    * @param controller Controlador da interface grafica.
-   * @return int[] O resultado do enquadramento.
+   * @return byte[] O resultado do enquadramento.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramento(int quadro[], ControllerTelaPrincipal controller) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramento(byte quadro[], ControladorSimulacao controller) {
 
     int tipoEnquadramento = controller.getEnquadramento(); //Captura o enquadramento escolhido
-    int[] quadroEnquadrado;
+    byte[] quadroEnquadrado;
 
     String enquadramento = "";
 
@@ -80,18 +107,20 @@ public class CamadaEnlaceDadosTransmissora {
 
     System.out.println("\nO enquadramento escolhido foi: " + enquadramento + "\n");
 
-    for (int i = 0; i < quadroEnquadrado.length; i++) {
-      if (!(tipoEnquadramento == 4)) {
-        controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroEnquadrado[i]) + "\n");
-        System.out.println("quadroEnquadrado[" + i + "] = " + Util.bitsParaString(quadroEnquadrado[i]));
-      }
-      
-      try {
-        Thread.sleep(controller.getVelocidade());
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
-    } //Fim for
+    if (controller.exibirDetalhes()) { //Exibicao byte a byte, apenas quando ha animacao
+      for (int i = 0; i < quadroEnquadrado.length; i++) {
+        if (!(tipoEnquadramento == 4)) {
+          controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroEnquadrado[i] & 0xFF) + "\n");
+          System.out.println("quadroEnquadrado[" + i + "] = " + Util.bitsParaString(quadroEnquadrado[i] & 0xFF));
+        }
+        
+        try {
+          Thread.sleep(controller.getVelocidade());
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      } //Fim for
+    } //Fim if
 
     return quadroEnquadrado;
   } //Fim camadaEnlaceDadosTransmissoraEnquadramento
@@ -103,10 +132,10 @@ public class CamadaEnlaceDadosTransmissora {
    * Cada quadro da mensagem tem por cabecalho um caracter de contagem de bytes,
    * que devem segui-lo na transmissao, e que delimita o final do quadro.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento de contagem de caracteres.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento de contagem de caracteres.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoContagemDeCaracteres(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoContagemDeCaracteres(byte quadro[]) {
 
     final int tamanhoQuadro = 3;
     int numCaracteres = quadro.length;
@@ -116,7 +145,7 @@ public class CamadaEnlaceDadosTransmissora {
 
     //O vetor enquadrado de saida tera os caracteres de carga util + 1 de controle para cada bloco
     int tamanhoSaida = numCaracteres + numBlocos;
-    int[] quadroEnquadrado = new int[tamanhoSaida];
+    byte[] quadroEnquadrado = new byte[tamanhoSaida];
 
     int indiceSaida = 0; //Indice para controlar o armazenamento dos caracteres no novo quadro
 
@@ -124,7 +153,7 @@ public class CamadaEnlaceDadosTransmissora {
       //Calcula quantos caracteres ha no quadro
       int charsQuadro = Math.min(tamanhoQuadro, numCaracteres - i);
 
-      quadroEnquadrado[indiceSaida++] = charsQuadro + 1;
+      quadroEnquadrado[indiceSaida++] = (byte) (charsQuadro + 1);
 
       for (int j = 0; j < charsQuadro; j++) { //Adiciona a carga util logo apos o char de contagem
         quadroEnquadrado[indiceSaida++] = quadro[i + j];
@@ -144,10 +173,10 @@ public class CamadaEnlaceDadosTransmissora {
    * metodo insere bytes de escape para diferenciar os dados das flags,
    * delimitando os quadros de forma segura.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento por insercao de bytes.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento por insercao de bytes.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBytes(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBytes(byte quadro[]) {
 
     final int TAMANHO_CARGA_UTIL = 5; //Numero fixo maximo de caracteres por quadro de carga util
     final char FLAG = 'i';
@@ -155,7 +184,7 @@ public class CamadaEnlaceDadosTransmissora {
 
     //Calcula o pior caso de insercao de flags e escapes e aloca o vetor
     int tamanho = 2 + (2*quadro.length) + (2*quadro.length/TAMANHO_CARGA_UTIL);
-    int[] quadroEnquadrado = new int[tamanho];
+    byte[] quadroEnquadrado = new byte[tamanho];
 
     int indiceSaida = 0; //Indice para controlar a insercao de bytes
     int contCargaUtil = 0; //Contagem de caracteres de carga no quadro atual
@@ -163,7 +192,7 @@ public class CamadaEnlaceDadosTransmissora {
     quadroEnquadrado[indiceSaida++] = FLAG; //FLAG inicial
 
     for (int i = 0; i < quadro.length; i++) {
-      int caractere = quadro[i];
+      int caractere = quadro[i] & 0xFF;
 
       //Se o caractere for FLAG ou ESCAPE, insere ESCAPE antes
       if (caractere == FLAG || caractere == ESCAPE) {
@@ -171,7 +200,7 @@ public class CamadaEnlaceDadosTransmissora {
       } //Fim if
 
       //Insere o caractere i da mensagem original
-      quadroEnquadrado[indiceSaida++] = caractere;
+      quadroEnquadrado[indiceSaida++] = (byte) caractere;
       contCargaUtil++;
 
       //Se atingiu o tamanho maximo, fecha o quadro com FLAG
@@ -207,23 +236,24 @@ public class CamadaEnlaceDadosTransmissora {
    * sequencia de bits apareca nos dados, este metodo insere um bit 0 apos
    * toda sequencia de cinco bits 1 consecutivos nos dados.
    *
-   * @param quadro Array de inteiros com os codigos ascii dos caracteres.
-   * @return int[] O resultado do enquadramento por insercao de bits.
+   * @param quadro  Array de bytes com os codigos ascii dos caracteres.
+   * @return byte[] O resultado do enquadramento por insercao de bits.
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits(byte quadro[]) {
 
     final int FLAG = 0b01111110; //01111110
     final int TAMANHO_CARGA_UTIL = 5; //Maximo de 5 bytes de dados por quadro
 
-    ArrayList<Integer> quadroEnquadradoList = new ArrayList<>();
-    quadroEnquadradoList.add(FLAG);
+    //Os bits sao anexados direto em um buffer empacotado, sem montar bytes a mao
+    BufferDeBits quadroEnquadrado = new BufferDeBits(quadro.length * 10 + 16);
+    quadroEnquadrado.anexarByte(FLAG);
 
     int contBits1 = 0;
-    int byteSaidaAtual = 0;
-    int bitsNoByteSaida = 0;
     int contCargaUtil = 0; //Contador de bytes de carga util no quadro atual
 
-    for (int caractereEntrada : quadro) {
+    for (int indice = 0; indice < quadro.length; indice++) {
+      int caractereEntrada = quadro[indice] & 0xFF;
+
       //Processa bit a bit para fazer o stuffing
       for (int i = 7; i >= 0; i--) {
         int bit = (caractereEntrada >> i) & 1;
@@ -234,24 +264,10 @@ public class CamadaEnlaceDadosTransmissora {
           contBits1 = 0;
         } //Fim if-else
 
-        //Adiciona o bit lido ao byte util sendo construido
-        byteSaidaAtual = (byteSaidaAtual << 1) | bit;
-        bitsNoByteSaida++;
-
-        if (bitsNoByteSaida == 8) {
-          quadroEnquadradoList.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        }
+        quadroEnquadrado.anexarBit(bit);
 
         if (contBits1 == 5) {
-          byteSaidaAtual = (byteSaidaAtual << 1) | 0; //Stuffing com bit 0
-          bitsNoByteSaida++;
-          if (bitsNoByteSaida == 8) { //Se o bit stuff completou um byte util
-            quadroEnquadradoList.add(byteSaidaAtual);
-            byteSaidaAtual = 0;
-            bitsNoByteSaida = 0;
-          }
+          quadroEnquadrado.anexarBit(0); //Stuffing com bit 0
           contBits1 = 0;
         }
       } //Fim for
@@ -260,40 +276,24 @@ public class CamadaEnlaceDadosTransmissora {
 
       //Verifica se o quadro de carga util atingiu o tamanho maximo
       if (contCargaUtil >= TAMANHO_CARGA_UTIL) {
-        //Se houver bits restantes no byte de saida, completa com padding e envia
-        if (bitsNoByteSaida > 0) {
-          byteSaidaAtual = byteSaidaAtual << (8 - bitsNoByteSaida);
-          quadroEnquadradoList.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        }
-
-        quadroEnquadradoList.add(FLAG); //Fecha o quadro atual
+        quadroEnquadrado.completarByte(); //Completa o ultimo byte com padding
+        quadroEnquadrado.anexarByte(FLAG); //Fecha o quadro atual
         contCargaUtil = 0; //Zera o contador para o proximo quadro
+        contBits1 = 0; //O receptor desestufa cada quadro a partir do zero
 
-        if (caractereEntrada != quadro[quadro.length - 1]) {
-          quadroEnquadradoList.add(FLAG);
+        if (indice < quadro.length - 1) {
+          quadroEnquadrado.anexarByte(FLAG);
         }
       } //Fim if
     } //Fim for
 
     //Se o ultimo quadro nao foi fechado pela logica de tamanho
     if (contCargaUtil > 0) {
-        //Se houver bits restantes no byte de saida, completa com padding e envia
-        if (bitsNoByteSaida > 0) {
-          byteSaidaAtual = byteSaidaAtual << (8 - bitsNoByteSaida);
-          quadroEnquadradoList.add(byteSaidaAtual);
-        }
-        quadroEnquadradoList.add(FLAG); //Adiciona a FLAG final
+      quadroEnquadrado.completarByte(); //Completa o ultimo byte com padding
+      quadroEnquadrado.anexarByte(FLAG); //Adiciona a FLAG final
     }
 
-    int[] quadroEnquadrado = new int[quadroEnquadradoList.size()];
-
-    for (int i = 0; i < quadroEnquadradoList.size(); i++) {
-      quadroEnquadrado[i] = quadroEnquadradoList.get(i);
-    }
-    
-    return quadroEnquadrado;
+    return quadroEnquadrado.paraBytes();
 
   } //Fim camadaEnlaceDadosTransmissoraEnquadramentoInsercaoDeBits
 
@@ -305,10 +305,10 @@ public class CamadaEnlaceDadosTransmissora {
    * Simplesmente manda o mesmo fluxo de caracteres que recebeu, para
    * a camada fisica fazer o devido enquadramento.
    *
-   * @param quadro Vetor de inteiros contendo os caracteres da mensagem.
-   * @return int[] O proprio vetor quadro[].
+   * @param quadro  Vetor de bytes contendo os caracteres da mensagem.
+   * @return byte[] O proprio vetor quadro[].
    */
-  private static int[] camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica(int quadro[]) {
+  private static byte[] camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica(byte quadro[]) {
     return quadro;
   } //Fim camadaEnlaceDadosTransmissoraEnquadramentoViolacaoCamadaFisica
 
@@ -319,12 +319,12 @@ public class CamadaEnlaceDadosTransmissora {
    *
    * @param quadro     Vetor com os caracteres da mensagem enquadrados.
    * @param controller Controlador da interface grafica.
-   * @return int[]     O resultado do controle de erros.
+   * @return byte[]    O resultado do controle de erros.
    */
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErros(int quadro[], ControllerTelaPrincipal controller) {
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErros(byte quadro[], ControladorSimulacao controller) {
 
     int tipoControleErros = controller.getControleErro(); //Captura o controle de erros escolhido
-    int[] quadroControleErros;
+    byte[] quadroControleErros;
 
     String controleErros = "";
 
@@ -338,27 +338,37 @@ public class CamadaEnlaceDadosTransmissora {
         controleErros = "Bit de paridade impar";
         break;
       case 3:
-        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCRC(quadro);
-        controleErros = "CRC";
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCRC(quadro, CalculadoraCRC.obter(controller.getTipoCRC()));
+        controleErros = controller.getTipoCRC();
         break;
-      default:
+      case 4:
         quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(quadro);
         controleErros = "Codigo de Hamming";
         break;
+      case 5:
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED(quadro);
+        controleErros = "Hamming SECDED (72,64)";
+        break;
+      default:
+        quadroControleErros = camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional(quadro);
+        controleErros = "Paridade bidimensional";
+        break;
     } //Fim switch
 
     System.out.println("\nO controle de erro escolhido foi: " + controleErros + "\n");
 
-    for (int i = 0; i < quadroControleErros.length; i++) {
-      controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroControleErros[i]) + "\n");
-      System.out.println("quadroControleErros[" + i + "] = " + Util.bitsParaString(quadroControleErros[i]));
-      
-      try {
-        Thread.sleep(controller.getVelocidade());
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
-    } //Fim for
+    if (controller.exibirDetalhes()) { //Exibicao byte a byte, apenas quando ha animacao
+      for (int i = 0; i < quadroControleErros.length; i++) {
+        controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(quadroControleErros[i] & 0xFF) + "\n");
+        System.out.println("quadroControleErros[" + i + "] = " + Util.bitsParaString(quadroControleErros[i] & 0xFF));
+        
+        try {
+          Thread.sleep(controller.getVelocidade());
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      } //Fim for
+    } //Fim if
 
     return quadroControleErros;
   } //Fim camadaEnlaceDadosTransmissoraControleDeErros
@@ -368,28 +378,16 @@ public class CamadaEnlaceDadosTransmissora {
    * Realiza o controle de erros pelo bit de paridade par.
    * <p>
    * Faz a contagem de bits '1' na sequencia e insere o bit correspondente,
-   * isto eh, se par, 0, se impar, 1.
+   * isto eh, se par, 0, se impar, 1. A contagem eh feita pela CalculadoraParidade,
+   * com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar(int[] quadro){
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar(byte[] quadro){
 
-    int paridade = 0;
-
-    for (int caractere : quadro) { //Para cada caractere em quadro
-        for (int i = 0; i < 8; i++) { //Para cada bit
-          if (((caractere >> i) & 1) == 1) { //Se o bit for 1
-            paridade++; //Adiciona
-          } //Fim if
-        } //Fim for
-    } //Fim for quadro
-
-    int[] quadroComParidade = new int[quadro.length + 1];
-    System.arraycopy(quadro, 0, quadroComParidade, 0, quadro.length);
-    quadroComParidade[quadro.length] = (paridade % 2 == 0) ? 0 : 1; //Insere o bit de paridade par
-    
-    return quadroComParidade;
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.anexar(quadro, false);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosBitParidadePar
 
@@ -399,93 +397,56 @@ public class CamadaEnlaceDadosTransmissora {
    * Realiza o controle de erros pelo bit de paridade impar.
    * <p>
    * Faz a contagem de bits '1' na sequencia e insere o bit correspondente,
-   * isto eh, se par, 1, se impar, 0.
+   * isto eh, se par, 1, se impar, 0. A contagem eh feita pela CalculadoraParidade,
+   * com o XOR dos bytes e uma tabela de 256 entradas.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar(int[] quadro){
-    
-    int paridade = 0;
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar(byte[] quadro){
 
-    for (int caractere : quadro) {
-        for (int i = 0; i < 8; i++) { 
-          if (((caractere >> i) & 1) == 1) {
-            paridade++;
-          } //Fim if
-        } //Fim for
-    } //Fim for quadro
-
-    int[] quadroComParidade = new int[quadro.length + 1];
-    System.arraycopy(quadro, 0, quadroComParidade, 0, quadro.length);
-    quadroComParidade[quadro.length] = (paridade % 2 == 0) ? 1 : 0; //Insere o bit de paridade impar
-    
-    return quadroComParidade;
+    //XOR de todos os bytes e uma consulta a tabela de paridade, sem percorrer bit a bit
+    return CalculadoraParidade.anexar(quadro, true);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosBitParidadeImpar
 
 
 
   /**
-   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * Realiza o controle de erros pela paridade bidimensional.
    * <p>
-   * Faz a divisao polinomial da sequencia de bits da mensagem enquadrada pelo
-   * polinomio gerador CRC-32 e insere o checksum (resto da divisao) na mensagem
-   * a ser enviada pelas camadas.
+   * Divide a mensagem enquadrada em blocos de 8 bytes, tratados como uma matriz
+   * 8 x 8 de bits, e acrescenta a cada bloco um byte com a paridade de cada linha
+   * e um byte com a paridade de cada coluna.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros contendo a mensagem + CRC.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com os bytes de paridade inseridos.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosCRC(int[] quadro){
-    
-    //Polinomio CRC-32 IEEE: x^32 + x^26 + x^23 + x^22 + x^16 + x^12 + x^11 + x^10 + x^8 + x^7 + x^5 + x^4 + x^2 + x + 1
-    //Em binario: 100000100110000010001110110110111 (33 bits)
-    BigInteger polinomio = new BigInteger("100000100110000010001110110110111", 2);
-
-    //Converte o quadro para uma string de bits
-    StringBuilder bitsMensagem = new StringBuilder();
-    for (int byteDado : quadro) {
-        String bits = String.format("%8s", Integer.toBinaryString(byteDado & 0xFF)).replace(' ', '0');
-        bitsMensagem.append(bits);
-    }
-
-    //Adiciona 32 zeros ao final para a divisao polinomial
-    bitsMensagem.append("00000000000000000000000000000000");
-
-    //Converte para BigInteger
-    BigInteger mensagem = new BigInteger(bitsMensagem.toString(), 2);
-
-    //Realiza a divisao polinomial usando XOR
-    int tamanhoPolinomio = 33; //Grau 32 + 1
-    int tamanhoBitsMensagem = bitsMensagem.length();
-
-    //Faz a divisao bit a bit com XOR
-    for (int i = 0; i <= tamanhoBitsMensagem - tamanhoPolinomio; i++) {
-        //Verifica se o bit mais significativo eh 1
-        if (mensagem.testBit(tamanhoBitsMensagem - 1 - i)) {
-            //Desloca o polinomio para alinhar com a posicao atual e faz XOR
-            BigInteger polinomioDeslocado = polinomio.shiftLeft(tamanhoBitsMensagem - tamanhoPolinomio - i);
-            mensagem = mensagem.xor(polinomioDeslocado);
-        }
-    }
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional(byte[] quadro){
 
-    //O resto (CRC) sao os ultimos 32 bits
-    BigInteger crc = mensagem;
+    //A paridade das colunas eh o XOR das linhas; a de cada linha vem da tabela
+    return CalculadoraParidade.codificarBidimensional(quadro);
 
-    //Converte o CRC para string binaria com 32 bits (completa com zeros a esquerda)
-    String crcBits = String.format("%32s", crc.toString(2)).replace(' ', '0');
+  } //Fim camadaEnlaceDadosTransmissoraControleDeErrosParidadeBidimensional
 
-    //Cria novo quadro com os 4 bytes do CRC adicionados
-    int[] quadroComCRC = new int[quadro.length + 4];
-    System.arraycopy(quadro, 0, quadroComCRC, 0, quadro.length);
 
-    //Adiciona os 4 bytes do CRC ao final
-    for (int i = 0; i < 4; i++) {
-        String byteBits = crcBits.substring(i * 8, (i + 1) * 8);
-        quadroComCRC[quadro.length + i] = Integer.parseInt(byteBits, 2);
-    }
 
-    return quadroComCRC;
+  /**
+   * Realiza o controle de erros pela verificacao ciclica de redundancia.
+   * <p>
+   * Calcula o resto da divisao polinomial da mensagem enquadrada pelo polinomio
+   * gerador escolhido (CRC-8, CRC-16-CCITT, CRC-32, CRC-32C ou CRC-64), com o motor
+   * de tabelas compartilhado (CalculadoraCRC), e insere o checksum (resto da
+   * divisao) na mensagem a ser enviada pelas camadas.
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @param crc     O polinomio gerador do catalogo.
+   * @return byte[] Vetor de bytes contendo a mensagem + CRC.
+   */ 
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosCRC(byte[] quadro, CalculadoraCRC crc){
+    
+    //O resto eh calculado por tabelas (slicing-by-8) e anexado em 1, 2, 4 ou 8 bytes, MSB primeiro
+    return crc.anexar(quadro);
     
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosCRC
   
@@ -496,80 +457,41 @@ public class CamadaEnlaceDadosTransmissora {
    * <p>
    * Insere bits de paridade, que verificam a paridade dos bits associados
    * a cada um da mensagem enquadrada. Serao inseridos 'r' bits de paridade,
-   * sendo 'r' o primeiro inteiro a tornar 2^r >= m + r + 1 verdadeiro.
+   * sendo 'r' o primeiro inteiro a tornar 2^r >= m + r + 1 verdadeiro. O calculo
+   * eh feito pelo CodificadorHamming, sobre bits empacotados, em tempo linear.
    *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com o bit de paridade inserido.
    */ 
-  private static int[] camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(int[] quadro){
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming(byte[] quadro){
 
-    // Converte o quadro em uma lista de bits (MSB primeiro)
-    List<Integer> bitsOriginais = new ArrayList<>();
-    for (int byteDado : quadro) {
-        for (int i = 7; i >= 0; i--) {  // Extrai do bit 7 ao bit 0
-            bitsOriginais.add((byteDado >> i) & 1);
-        }
-    }
-    
-    int m = bitsOriginais.size(); // Numero de bits de dados
-    
-    // Calcula quantos bits de paridade sao necessarios: 2^r >= m + r + 1
-    int r = 0;
-    while ((1 << r) < (m + r + 1)) {
-        r++;
-    }
-    
-    int n = m + r; // Tamanho total com paridade
-    
-    // Cria array para os bits codificados (posicao 0 nao usada, facilita calculo)
-    int[] bitsCodificados = new int[n + 1];
-    
-    // Insere os bits de dados nas posicoes que NAO sao potencia de 2
-    int indiceDado = 0;
-    for (int i = 1; i <= n; i++) {
-        if ((i & (i - 1)) != 0) { // Nao e potencia de 2
-            if (indiceDado < bitsOriginais.size()) {
-                bitsCodificados[i] = bitsOriginais.get(indiceDado++);
-            }
-        }
-    }
-    
-    // Calcula os bits de paridade
-    for (int i = 0; i < r; i++) {
-        int posicaoParidade = 1 << i; // 1, 2, 4, 8, 16...
-        int paridade = 0;
-        
-        // Verifica todos os bits cuja representacao binaria tem o bit i ligado
-        for (int j = 1; j <= n; j++) {
-            if ((j & posicaoParidade) != 0) {
-                paridade ^= bitsCodificados[j];
-            }
-        }
-        
-        bitsCodificados[posicaoParidade] = paridade;
-    }
-    
-    // Converte de volta para bytes (8 bits por posicao, MSB primeiro)
-    int numBytes = (int) Math.ceil(n / 8.0);
-    int[] quadroComHamming = new int[numBytes];
-    
-    // Preenche os bytes
-    for (int i = 1; i <= n; i++) {  // Comeca de 1 (ignora posicao 0)
-        int indiceBit = i - 1;  // Ajusta para indice 0-based
-        int indiceByte = indiceBit / 8;
-        int posicaoNoByte = 7 - (indiceBit % 8);  // MSB primeiro
-        
-        if (bitsCodificados[i] == 1) {
-            quadroComHamming[indiceByte] |= (1 << posicaoNoByte);
-        }
-    }
-    
-    return quadroComHamming;
+    //Os bits sao empacotados em long[] e as paridades vem de uma unica passada (sindrome)
+    return CodificadorHamming.codificar(quadro);
 
   } //Fim camadaEnlaceDadosTransmissoraControleDeErrosCodigoHamming
 
 
 
+  /**
+   * Realiza o controle de erros pelo codigo de Hamming em blocos (72,64) SECDED.
+   * <p>
+   * Divide a mensagem enquadrada em blocos de 64 bits e acrescenta a cada um
+   * 8 bits de verificacao (7 de Hamming e 1 de paridade geral). Cada bloco
+   * corrige um erro simples e detecta um erro duplo, de forma independente dos
+   * demais, o que mantem a protecao em quadros longos.
+   *
+   * @param quadro  Vetor de bytes contendo a mensagem enquadrada.
+   * @return byte[] Vetor de bytes com os bytes de verificacao inseridos.
+   */
+  private static byte[] camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED(byte[] quadro){
+
+    //Os bits de verificacao de cada bloco vem de tabelas pre-calculadas, byte a byte
+    return CodificadorSECDED.codificar(quadro);
+
+  } //Fim camadaEnlaceDadosTransmissoraControleDeErrosHammingSECDED
+
+
+
   
   /**
    * Divide a mensagem enquadrada em quadros individuais baseado no tipo de enquadramento.
@@ -578,8 +500,8 @@ public class CamadaEnlaceDadosTransmissora {
    * @param controller Controlador da interface grafica.
    * @return Lista de quadros individuais para transmissao.
    */
-  private static ArrayList<int[]> dividirEmQuadros(int[] quadroEnquadrado, ControllerTelaPrincipal controller) {
-    ArrayList<int[]> quadros = new ArrayList<>();
+  private static ArrayList<byte[]> dividirEmQuadros(byte[] quadroEnquadrado, ControladorSimulacao controller) {
+    ArrayList<byte[]> quadros = new ArrayList<>();
     int tipoEnquadramento = controller.getEnquadramento();
     
     switch (tipoEnquadramento) {
@@ -605,34 +527,17 @@ public class CamadaEnlaceDadosTransmissora {
    * Divide quadros usando contagem de caracteres.
    * Cada quadro comeca com um byte de contagem que indica o tamanho do quadro.
    */
-  private static ArrayList<int[]> dividirQuadrosContagemCaracteres(int[] quadroEnquadrado, ControllerTelaPrincipal controller) {
-    ArrayList<int[]> quadros = new ArrayList<>();
+  private static ArrayList<byte[]> dividirQuadrosContagemCaracteres(byte[] quadroEnquadrado, ControladorSimulacao controller) {
+    ArrayList<byte[]> quadros = new ArrayList<>();
     int indice = 0;
     
     while (indice < quadroEnquadrado.length) {
-      if (quadroEnquadrado[indice] == 0) {
-        break; // Fim logico
-      }
-      
-      // Le o byte de contagem do quadro
-      int tamanhoQuadro = quadroEnquadrado[indice];
+      // Le o byte de contagem do quadro (nunca nulo: o enquadramento conta o proprio byte)
+      int tamanhoQuadro = quadroEnquadrado[indice] & 0xFF;
       
       // Copia o quadro completo (incluindo byte de contagem e dados)
-      int[] quadro = new int[tamanhoQuadro];
-      int tamanhoReal = Math.min(tamanhoQuadro, quadroEnquadrado.length - indice);
-      
-      for (int i = 0; i < tamanhoReal && indice < quadroEnquadrado.length; i++) {
-        quadro[i] = quadroEnquadrado[indice++];
-      }
-      
-      // Se o quadro nao foi completamente copiado, completa com zeros
-      if (tamanhoReal < tamanhoQuadro) {
-        int[] quadroCompleto = new int[tamanhoQuadro];
-        System.arraycopy(quadro, 0, quadroCompleto, 0, tamanhoReal);
-        quadro = quadroCompleto;
-      }
-      
-      quadros.add(quadro);
+      quadros.add(Arrays.copyOfRange(quadroEnquadrado, indice, indice + tamanhoQuadro));
+      indice += tamanhoQuadro;
     }
     
     return quadros;
@@ -641,50 +546,35 @@ public class CamadaEnlaceDadosTransmissora {
   /**
    * Divide quadros usando insercao de bytes.
    * Cada quadro e delimitado por flags e deve incluir as FLAGs de inicio e fim.
+   * Um byte precedido de ESCAPE eh dado e nunca fecha o quadro.
    */
-  private static ArrayList<int[]> dividirQuadrosInsercaoBytes(int[] quadroEnquadrado) {
-    ArrayList<int[]> quadros = new ArrayList<>();
-    ArrayList<Integer> quadroAtual = new ArrayList<>();
+  private static ArrayList<byte[]> dividirQuadrosInsercaoBytes(byte[] quadroEnquadrado) {
+    ArrayList<byte[]> quadros = new ArrayList<>();
     final int FLAG = 'i';
-    boolean dentroQuadro = false;
+    final int ESCAPE = '/';
+    int inicioQuadro = -1; // Posicao da FLAG inicial do quadro atual (-1: fora de um quadro)
     
     for (int i = 0; i < quadroEnquadrado.length; i++) {
-      int caractere = quadroEnquadrado[i];
+      int caractere = quadroEnquadrado[i] & 0xFF;
       
-      if (caractere == FLAG) {
-        if (dentroQuadro) {
-          // Fim do quadro - adiciona a FLAG final e fecha o quadro
-          quadroAtual.add(FLAG);
-          if (!quadroAtual.isEmpty()) {
-            int[] quadro = new int[quadroAtual.size()];
-            for (int j = 0; j < quadroAtual.size(); j++) {
-              quadro[j] = quadroAtual.get(j);
-            }
-            quadros.add(quadro);
-            quadroAtual.clear();
-          }
-          dentroQuadro = false;
+      if (inicioQuadro >= 0 && caractere == ESCAPE && i + 1 < quadroEnquadrado.length) {
+        // Byte escapado: o proximo eh dado, mesmo que seja igual a FLAG
+        i++;
+      } else if (caractere == FLAG) {
+        if (inicioQuadro >= 0) {
+          // Fim do quadro - copia da FLAG inicial ate a FLAG final
+          quadros.add(Arrays.copyOfRange(quadroEnquadrado, inicioQuadro, i + 1));
+          inicioQuadro = -1;
         } else {
-          // Inicio do quadro - adiciona a FLAG inicial
-          quadroAtual.add(FLAG);
-          dentroQuadro = true;
+          // Inicio do quadro - guarda a posicao da FLAG inicial
+          inicioQuadro = i;
         }
-      } else if (dentroQuadro) {
-        quadroAtual.add(caractere);
       }
     }
     
-    // Se ainda ha dados no quadro atual (sem FLAG final), adiciona FLAG final e fecha
-    if (!quadroAtual.isEmpty()) {
-      // Se nao tem FLAG final, adiciona
-      if (quadroAtual.get(quadroAtual.size() - 1) != FLAG) {
-        quadroAtual.add(FLAG);
-      }
-      int[] quadro = new int[quadroAtual.size()];
-      for (int j = 0; j < quadroAtual.size(); j++) {
-        quadro[j] = quadroAtual.get(j);
-      }
-      quadros.add(quadro);
+    // Se ainda ha um quadro aberto (sem FLAG final), copia o restante e fecha
+    if (inicioQuadro >= 0) {
+      quadros.add(fecharQuadro(quadroEnquadrado, inicioQuadro, FLAG));
     }
     
     return quadros;
@@ -694,844 +584,782 @@ public class CamadaEnlaceDadosTransmissora {
    * Divide quadros usando insercao de bits.
    * Cada quadro e delimitado por flags e deve incluir as FLAGs de inicio e fim.
    */
-  private static ArrayList<int[]> dividirQuadrosInsercaoBits(int[] quadroEnquadrado) {
-    ArrayList<int[]> quadros = new ArrayList<>();
-    ArrayList<Integer> quadroAtual = new ArrayList<>();
+  private static ArrayList<byte[]> dividirQuadrosInsercaoBits(byte[] quadroEnquadrado) {
+    ArrayList<byte[]> quadros = new ArrayList<>();
     final int FLAG = 0b01111110;
-    boolean dentroQuadro = false;
+    int inicioQuadro = -1; // Posicao da FLAG inicial do quadro atual (-1: fora de um quadro)
     
     for (int i = 0; i < quadroEnquadrado.length; i++) {
-      int byteAtual = quadroEnquadrado[i];
+      int byteAtual = quadroEnquadrado[i] & 0xFF;
       
       if (byteAtual == FLAG) {
-        if (dentroQuadro) {
-          // Fim do quadro - adiciona a FLAG final e fecha o quadro
-          quadroAtual.add(FLAG);
-          if (!quadroAtual.isEmpty()) {
-            int[] quadro = new int[quadroAtual.size()];
-            for (int j = 0; j < quadroAtual.size(); j++) {
-              quadro[j] = quadroAtual.get(j);
-            }
-            quadros.add(quadro);
-            quadroAtual.clear();
-          }
-          dentroQuadro = false;
+        if (inicioQuadro >= 0) {
+          // Fim do quadro - copia da FLAG inicial ate a FLAG final
+          quadros.add(Arrays.copyOfRange(quadroEnquadrado, inicioQuadro, i + 1));
+          inicioQuadro = -1;
         } else {
-          // Inicio do quadro - adiciona a FLAG inicial
-          quadroAtual.add(FLAG);
-          dentroQuadro = true;
+          // Inicio do quadro - guarda a posicao da FLAG inicial
+          inicioQuadro = i;
         }
-      } else if (dentroQuadro) {
-        quadroAtual.add(byteAtual);
       }
     }
     
-    // Se ainda ha dados no quadro atual (sem FLAG final), adiciona FLAG final e fecha
-    if (!quadroAtual.isEmpty()) {
-      // Se nao tem FLAG final, adiciona
-      if (quadroAtual.get(quadroAtual.size() - 1) != FLAG) {
-        quadroAtual.add(FLAG);
-      }
-      int[] quadro = new int[quadroAtual.size()];
-      for (int j = 0; j < quadroAtual.size(); j++) {
-        quadro[j] = quadroAtual.get(j);
-      }
-      quadros.add(quadro);
+    // Se ainda ha um quadro aberto (sem FLAG final), copia o restante e fecha
+    if (inicioQuadro >= 0) {
+      quadros.add(fecharQuadro(quadroEnquadrado, inicioQuadro, FLAG));
     }
     
     return quadros;
   }
   
-  private static void camadaEnlaceDadosTransmissoraControleDeFluxo(int quadro[], ControllerTelaPrincipal controller) {
-    System.out.println("\n=== CONTROLE DE FLUXO STOP-AND-WAIT ===");
-    
-    // Divide a mensagem enquadrada em quadros individuais
-    ArrayList<int[]> quadrosEnquadrados = dividirEmQuadros(quadro, controller);
-    
-    System.out.println("> Mensagem dividida em " + quadrosEnquadrados.size() + " quadro(s)");
-    
-    // Aplica controle de erro em cada quadro individualmente e adiciona numero de sequencia
-    ArrayList<int[]> quadrosComControleErro = new ArrayList<>();
-    int seqAtual = 0; // Numero de sequencia do primeiro quadro
-    for (int i = 0; i < quadrosEnquadrados.size(); i++) {
-      int[] quadroComErro = camadaEnlaceDadosTransmissoraControleDeErros(quadrosEnquadrados.get(i), controller);
-      // Adiciona numero de sequencia ao inicio do quadro
-      int[] quadroComSeq = new int[quadroComErro.length + 1];
-      quadroComSeq[0] = seqAtual; // Primeiro byte eh o numero de sequencia
-      System.arraycopy(quadroComErro, 0, quadroComSeq, 1, quadroComErro.length);
-      quadrosComControleErro.add(quadroComSeq);
-      seqAtual = (seqAtual + 1) % 2; // Alterna entre 0 e 1
-    }
-    
-    temporizador = new Temporizador(quadrosComControleErro, controller);
-    temporizador.start();
-  } //Fim camadaEnlaceDadosTransmissoraControleDeFluxo
-
-
-
-
-  static class Temporizador extends Thread {
-    private ArrayList<int[]> quadros; //Lista de quadros individuais
-    private int indiceQuadroAtual; //Indice do quadro sendo transmitido
-    private volatile boolean quadroLiberado; //Flag para parar o timer do quadro atual (volatile para visibilidade entre threads)
-    private ControllerTelaPrincipal controller;
-    private int[] quadroAtual; //Quadro sendo transmitido atualmente
-
-    public Temporizador(ArrayList<int[]> quadros, ControllerTelaPrincipal controller) {
-      this.quadros = quadros;
-      this.indiceQuadroAtual = 0;
-      this.quadroLiberado = false;
-      this.controller = controller;
-    }
-
-    //Para o temporizador do quadro atual e avanca para o proximo
-    public synchronized void liberar() {
-      System.out.println("> TEMPORIZADOR.liberar() chamado - quadroLiberado=" + this.quadroLiberado + ", indiceQuadroAtual=" + this.indiceQuadroAtual);
-      this.quadroLiberado = true;
-      this.interrupt(); //Interrompe o sleep
-      notifyAll(); //Notifica threads esperando
-      System.out.println("> TEMPORIZADOR.liberar() concluido - quadroLiberado agora=" + this.quadroLiberado);
-    }
-
-    @Override
-    public void run() {
-      try {
-        mutex.acquire(); //Trava o semaforo
-        
-        // Envia cada quadro sequencialmente
-        for (int i = 0; i < quadros.size(); i++) {
-          indiceQuadroAtual = i;
-          quadroAtual = quadros.get(i);
-          quadroLiberado = false;
-          
-          // Extrai numero de sequencia do quadro
-          int seqQuadro = quadroAtual[0];
-          System.out.println("> Enviando quadro " + (i + 1) + "/" + quadros.size() + 
-                            " (Seq=" + seqQuadro + ", Tentativa 1)");
-          CamadaFisicaTransmissora.camadaFisicaTransmissora(quadroAtual, controller);
-          
-          int tentativas = 2;
-          while (!quadroLiberado) {
-            try {
-              Thread.sleep(5000); // Tempo de Timeout (5 segundos)
-            } catch (InterruptedException e) {
-              // ACK recebido durante o sleep - verifica se foi liberado
-              System.out.println("> InterruptedException capturada - quadroLiberado=" + quadroLiberado);
-              if (quadroLiberado) {
-                System.out.println("> Saindo do loop while - quadro foi liberado");
-                break; // Sai do loop se foi liberado
-              }
-              // Se nao foi liberado, pode ser interrupcao de outro motivo - continua
-              System.out.println("> InterruptedException mas quadro nao liberado - continuando espera");
-              continue;
-            }
-
-            // Verifica novamente apos o sleep (race condition)
-            if (quadroLiberado) {
-              System.out.println("> Quadro liberado apos sleep - saindo do loop");
-              break;
-            }
-
-            // Timeout ocorreu - retransmite
-            System.err.println("> TIMEOUT! Retransmitindo quadro " + (i + 1) + 
-                              " (Seq=" + seqQuadro + ", Tentativa " + (tentativas++) + ")");
-            CamadaFisicaTransmissora.camadaFisicaTransmissora(quadroAtual, controller);
-          }
-          
-          // Log adicional para debug
-          System.out.println("> SAIU DO LOOP WHILE - quadroLiberado=" + quadroLiberado + 
-                            ", indice=" + i + ", total=" + quadros.size());
-          
-          // Verifica se saiu do loop porque foi liberado ou porque ocorreu erro
-          if (!quadroLiberado) {
-            // Se nao foi liberado, pode ter ocorrido um erro - interrompe transmissao
-            System.err.println("> ERRO: Quadro " + (i + 1) + " nao foi confirmado");
-            break;
-          }
-          
-          System.out.println("> Quadro " + (i + 1) + " confirmado (ACK recebido para Seq=" + seqQuadro + ")");
-        }
-        
-        // Loop for terminou - todos os quadros foram enviados
-        // Nao importa se todos foram confirmados, a transmissao deve parar aqui
-        System.out.println("\n>>> TRANSMISSAO CONCLUIDA: Todos os quadros foram transmitidos!");
-        
-        // IMPORTANTE: Limpa referencia ao temporizador ANTES de qualquer outra operacao
-        // Isso impede que ACKs recebidos depois tentem processar em um temporizador ja finalizado
-        Temporizador temp = temporizador;
-        temporizador = null;
-        
-        // Interrompe a thread do temporizador para garantir que nao continue
-        if (temp != null) {
-          System.out.println("> Finalizando temporizador - thread ativa: " + temp.isAlive());
-          temp.interrupt(); // Interrompe qualquer sleep ou operacao pendente
-        }
-        
-        mutex.release(); // Libera o semaforo
-        Platform.runLater(() -> controller.reativar()); // Reativa a GUI
-
-      } catch (InterruptedException e) {
-        // InterruptedException ocorreu - pode ser:
-        // 1. .liberar() chamado (ACK recebido) - quadroLiberado deve ser true
-        // 2. Thread interrompida externamente (finalizacao)
-        
-        System.out.println("> InterruptedException no temporizador - indiceQuadroAtual=" + indiceQuadroAtual + 
-                          ", quadroLiberado=" + quadroLiberado + ", quadros.size()=" + quadros.size());
-        
-        // Finaliza independente do estado - limpa referencia e reativa GUI
-        System.out.println("\n>>> TRANSMISSAO FINALIZADA (InterruptedException)");
-        Temporizador temp = temporizador;
-        temporizador = null; // Limpa referencia imediatamente
-        mutex.release();
-        Platform.runLater(() -> controller.reativar());
-      }
-    } //Fim run
-  } //Fim classe Temporizador
-
-
-  protected static void ACKtemporizador(int[] ack, ControllerTelaPrincipal controller) {
-    // Logica de verificacao de ACK
-    // ACK pode vir como inteiro de 32 bits (0x80000000) ou como array de bytes decodificado
-    boolean ackValido = false;
-    int seqAck = -1;
-    
-    if (ack != null && ack.length > 0) {
-      // Verifica se eh ACK decodificado pela camada fisica (com numero de sequencia)
-      // ACK binaria: [0x80|seq, 0x00, 0x00, 0x00] ou [0x81|seq, 0x00, 0x00, 0x00] (4 bytes)
-      // ACK Manchester: [0x80|seq] ou [0x81|seq] (1 byte)
-      
-      int primeiroByte = ack[0] & 0xFF;
-      
-      // Verifica se o primeiro byte tem bit 7 setado (0x80) - marca de ACK
-      if ((primeiroByte & 0x80) == 0x80) {
-        // Pode ser ACK - verifica se eh valido
-        if (ack.length == 1) {
-          // ACK Manchester ou formato compacto
-          seqAck = primeiroByte & 0x01;
-          ackValido = true;
-        } else if (ack.length >= 4) {
-          // ACK binaria - verifica se os outros bytes sao zeros (padding)
-          // ACK binaria deve ter [0x80|seq, 0, 0, 0]
-          boolean todosZeros = true;
-          for (int i = 1; i < 4 && i < ack.length; i++) {
-            if ((ack[i] & 0xFF) != 0) {
-              todosZeros = false;
-              break;
-            }
-          }
-          if (todosZeros) {
-            seqAck = primeiroByte & 0x01;
-            ackValido = true;
-          }
-        } else if (ack.length >= 2) {
-          // Formato intermediario - primeiro byte deve ser ACK, resto pode ser padding
-          seqAck = primeiroByte & 0x01;
-          ackValido = true;
-        }
-      }
-      
-      // Compatibilidade com formato antigo (sem seq) - apenas se nao reconheceu acima
-      if (!ackValido) {
-        if (ack.length == 1 && (ack[0] == 0x80000000 || ack[0] == 0x80 || ack[0] == (1 << 31))) {
-          seqAck = 0;
-          ackValido = true;
-        } else if (ack.length >= 4 && ack[0] == 0x80 && ack[1] == 0 && ack[2] == 0 && ack[3] == 0) {
-          seqAck = 0;
-          ackValido = true;
-        }
-      }
-    }
-    
-    // Verifica se o ACK corresponde ao numero de sequencia esperado
-    System.out.println("> ACKtemporizador chamado - ackValido=" + ackValido + ", seqAck=" + seqAck + 
-                       ", seqEsperado=" + seqEsperado + ", temporizador=" + (temporizador != null ? "existe" : "null"));
-    
-    if (ackValido && temporizador != null) {
-      if (!temporizador.isAlive()) {
-        System.out.println("> ACK valido mas temporizador nao esta ativo - transmissao ja terminou");
-      } else if (seqAck == seqEsperado) {
-        System.out.println("> ACK recebido e confirmado (Seq=" + seqAck + ", esperava " + seqEsperado + 
-                          ") - chamando liberar()");
-        temporizador.liberar(); // Para o temporizador atual
-        seqEsperado = (seqEsperado + 1) % 2; // Alterna entre 0 e 1
-        System.out.println("> ACK processado - novo seqEsperado=" + seqEsperado);
-      } else {
-        System.out.println("> ACK recebido com Seq incorreto (" + seqAck + " esperava " + seqEsperado + ") - ignorado");
-      }
-    } else if (ack != null && ack.length > 0) {
-      // Debug: mostra o que foi recebido se nao foi reconhecido como ACK
-      if (temporizador == null) {
-        System.out.println("> ACK recebido mas temporizador eh null - transmissao ja terminou?");
-      } else if (!temporizador.isAlive()) {
-        System.out.println("> ACK recebido mas temporizador nao esta ativo - transmissao ja terminou");
-      } else if (!ackValido) {
-        System.out.println("> ACK nao reconhecido - primeiro byte: 0x" + Integer.toHexString(ack[0] & 0xFF) + 
-                           ", length: " + ack.length);
-      }
-    } else {
-      System.out.println("> ACKtemporizador: ack eh null ou vazio");
+  /**
+   * Copia o quadro que comeca em inicio e vai ate o fim da mensagem, acrescentando
+   * a FLAG final se o ultimo byte ainda nao for uma FLAG.
+   */
+  private static byte[] fecharQuadro(byte[] quadroEnquadrado, int inicio, int flag) {
+    byte[] quadro = Arrays.copyOfRange(quadroEnquadrado, inicio, quadroEnquadrado.length);
+    if ((quadro[quadro.length - 1] & 0xFF) != flag) {
+      quadro = Arrays.copyOf(quadro, quadro.length + 1);
+      quadro[quadro.length - 1] = (byte) flag;
     }
+    return quadro;
   }
-
-
-
-
-
+  
+  /**
+   * Retorna o tamanho do espaco de numeros de sequencia do protocolo escolhido.
+   *
+   * @param controller Controlador com o controle de fluxo escolhido.
+   * @return int       2 no Stop-and-Wait (seq de 1 bit), 64 nas janelas deslizantes (seq de 6 bits).
+   */
+  protected static int getModuloSequencia(ControladorSimulacao controller) {
+    return (controller.getControleFluxo() == 1) ? 2 : MODULO_SEQ;
+  } //Fim getModuloSequencia
 
 
   /**
-   * Seleciona e executa o algoritmo de desenquadramento apropriado.
+   * Retorna o tamanho de janela efetivo do protocolo escolhido.
    * <p>
-   * Com base na escolha do usuario na interface grafica, este metodo chama a
-   * implementacao especifica de desenquadramento (contagem de caracteres,
-   * insercao de bytes, etc.).
+   * No Go-Back-N a janela vai ate MODULO_SEQ - 1; no Selective Repeat, ate
+   * MODULO_SEQ / 2, para que a janela do receptor nunca confunda um quadro novo
+   * com a retransmissao de um quadro antigo de mesmo numero de sequencia.
    *
-   * @param quadro      O fluxo de dados brutos vindo da camada fisica.
-   * @param controller  Controlador da GUI para obter o tipo de enquadramento.
-   * @return int[]      O quadro de dados original, ja desenquadrado.
+   * @param controller Controlador com o controle de fluxo e a janela escolhidos.
+   * @return int       O numero maximo de quadros pendentes.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramento(int quadro[], ControllerTelaPrincipal controller) {
+  protected static int getTamanhoJanela(ControladorSimulacao controller) {
+    switch (controller.getControleFluxo()) {
+      case 1:
+        return 1;
+      case 2:
+        return Math.max(1, Math.min(controller.getTamanhoJanela(), MODULO_SEQ - 1));
+      default:
+        return Math.max(1, Math.min(controller.getTamanhoJanela(), MODULO_SEQ / 2));
+    } //Fim switch
+  } //Fim getTamanhoJanela
 
-    int tipoEnquadramento = controller.getEnquadramento(); //Captura o enquadramento escolhido na interface grafica
-    int[] quadroDesenquadrado;
 
-    switch(tipoEnquadramento){
+  /**
+   * Divide a mensagem em quadros, aplica o controle de erros e inicia o envio.
+   * <p>
+   * Cada quadro recebe, no primeiro byte, seu numero de sequencia, que tambem fica
+   * protegido pelo controle de erros. O envio fica a cargo do Temporizador
+   * (Stop-and-Wait, um quadro pendente por vez), do TemporizadorGoBackN ou do
+   * TemporizadorSelectiveRepeat (ate getTamanhoJanela() quadros pendentes), todos
+   * sem thread propria: os prazos ficam no ServicoDeTemporizadores e os envios no
+   * seu executor de envios. O estado do envio fica na
+   * SessaoEnlace do controlador; se outra transmissao do mesmo enlace estiver em
+   * andamento, esta espera na fila da sessao.
+   *
+   * @param quadro        A mensagem ja enquadrada.
+   * @param transferencia A transferencia de arquivo a que a mensagem pertence (ou null).
+   * @param controller    Controlador da interface grafica.
+   */
+  private static void camadaEnlaceDadosTransmissoraControleDeFluxo(byte quadro[], TransferenciaDeArquivo transferencia,
+                                                                   ControladorSimulacao controller) {
+    int moduloSeq = getModuloSequencia(controller);
+    String[] protocolos = {"STOP-AND-WAIT", "GO-BACK-N", "SELECTIVE REPEAT"};
+    System.out.println("\n=== CONTROLE DE FLUXO " + protocolos[controller.getControleFluxo() - 1] + " ===");
+    
+    // Divide a mensagem enquadrada em quadros individuais
+    ArrayList<byte[]> quadrosEnquadrados = dividirEmQuadros(quadro, controller);
+    
+    System.out.println("> Mensagem dividida em " + quadrosEnquadrados.size() + " quadro(s)");
+    
+    // Adiciona numero de sequencia e aplica controle de erro em cada quadro individualmente
+    ArrayList<byte[]> quadrosComControleErro = new ArrayList<>();
+    for (int i = 0; i < quadrosEnquadrados.size(); i++) {
+      byte[] quadroEnquadrado = quadrosEnquadrados.get(i);
+      byte[] quadroComSeq = new byte[quadroEnquadrado.length + 1];
+      quadroComSeq[0] = (byte) (i % moduloSeq); // Primeiro byte eh o numero de sequencia
+      System.arraycopy(quadroEnquadrado, 0, quadroComSeq, 1, quadroEnquadrado.length);
+      // O seq entra no controle de erro: um seq corrompido nao pode entregar o quadro na posicao errada
+      quadrosComControleErro.add(camadaEnlaceDadosTransmissoraControleDeErros(quadroComSeq, controller));
+    }
+    
+    // O RTO parte do tempo limite configurado e se ajusta ao RTT medido durante a transmissao
+    // (nos estagios, a margem sobre o SRTT acompanha a espera medida pelo escalonador das threads)
+    SessaoEnlace sessao = controller.getSessaoEnlace();
+    EstimadorRTT estimador = controller.execucaoEmEstagios()
+        ? new EstimadorRTT(controller.getTempoLimite(), sessao.getPipeline(controller)::getGranularidadeRTO)
+        : new EstimadorRTT(controller.getTempoLimite());
+    Runnable conclusao = (transferencia != null) ? transferencia::blocoConcluido : controller::reativar;
+
+    switch (controller.getControleFluxo()) {
       case 1:
-        quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramentoContagemDeCaracteres(quadro);
+        Temporizador stopAndWait = new Temporizador(quadrosComControleErro, estimador, conclusao, controller);
+        sessao.iniciarTransmissao(() -> {
+          sessao.transferencia = transferencia; //Destino dos bytes no receptor (null: a aplicacao)
+          sessao.temporizador = stopAndWait;
+          stopAndWait.iniciar();
+        });
         break;
       case 2:
-        quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes(quadro);
-        break;
-      case 3:
-        quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBits(quadro);
+        TemporizadorGoBackN goBackN = new TemporizadorGoBackN(quadrosComControleErro, getTamanhoJanela(controller),
+          estimador, conclusao, controller);
+        sessao.iniciarTransmissao(() -> {
+          sessao.transferencia = transferencia;
+          sessao.temporizadorGoBackN = goBackN;
+          goBackN.iniciar();
+        });
         break;
       default:
-        quadroDesenquadrado = camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica(quadro);
+        TemporizadorSelectiveRepeat selectiveRepeat = new TemporizadorSelectiveRepeat(quadrosComControleErro,
+          getTamanhoJanela(controller), estimador, conclusao, controller);
+        sessao.iniciarTransmissao(() -> {
+          sessao.transferencia = transferencia;
+          sessao.temporizadorSelectiveRepeat = selectiveRepeat;
+          selectiveRepeat.iniciar();
+        });
         break;
     } //Fim switch
+  } //Fim camadaEnlaceDadosTransmissoraControleDeFluxo
 
-    for(int i = 0; i < quadroDesenquadrado.length; i++){
-      if(!(quadroDesenquadrado == null)){
-        System.out.println("quadroDesenquadrado[" + i + "] = " + Util.bitsParaString(quadroDesenquadrado[i]));
-      }
-    } //Fim for
-
-    return quadroDesenquadrado;
-
-  } //Fim de camadaEnlaceDadosReceptoraEnquadramento
 
 
 
   /**
-   * Realiza o desenquadramento pelo metodo de contagem de caracteres.
+   * Envia os quadros pelo protocolo Stop-and-Wait, sem thread propria.
    * <p>
-   * Le o byte de contagem no inicio de cada quadro para determinar seu tamanho
-   * e extrair a mensagem original.
-   *
-   * @param quadro O fluxo de dados enquadrado.
-   * @return int[] A mensagem original, sem os bytes de contagem.
+   * O prazo de retransmissao eh uma tarefa do ServicoDeTemporizadores,
+   * compartilhado por todas as transmissoes, e o envio de cada quadro roda no
+   * executor de envios do mesmo servico, fora das threads dos prazos. O prazo so
+   * eh armado quando o envio termina (como o ACK volta pelo mesmo encadeamento de
+   * camadas, ele pode chegar antes disso). Quando o ACK chega, o prazo eh cancelado
+   * sem bloquear e o proximo quadro eh enviado. Cada envio recebe uma geracao:
+   * um prazo que dispare depois do ACK encontra a geracao trocada e eh ignorado.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoContagemDeCaracteres(int quadro[]){
-
-    //Usa um array dinamico, pois o tamanho original da mensagem eh desconhecido a priori
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
+  static class Temporizador {
+    private ArrayList<byte[]> quadros; //Lista de quadros individuais
+    private int indiceQuadroAtual; //Indice do quadro sendo transmitido
+    private ControladorSimulacao controller;
+    private EstimadorRTT estimador; //Fornece o tempo limite (RTO) a partir do RTT medido
+    private long instanteEnvio; //Instante (ns) do primeiro envio do quadro atual
+    private boolean retransmitido; //Regra de Karn: quadro retransmitido nao gera amostra de RTT
+    private int tentativas; //Envios do quadro atual
+    private int geracao; //Muda a cada envio e a cada ACK, invalidando os prazos anteriores
+    private boolean enviando; //Um envio esta em andamento (o proximo so comeca quando ele terminar)
+    private boolean finalizado;
+    private ScheduledFuture<?> prazo; //Prazo de retransmissao do quadro atual
+    private SessaoEnlace sessao; //Enlace ao qual a transmissao pertence
+    private Runnable conclusao; //Avisada no fim da transmissao (reativa o controlador ou avanca a transferencia)
+
+    public Temporizador(ArrayList<byte[]> quadros, EstimadorRTT estimador, Runnable conclusao,
+                        ControladorSimulacao controller) {
+      this.quadros = quadros;
+      this.estimador = estimador;
+      this.conclusao = conclusao;
+      this.controller = controller;
+      this.sessao = controller.getSessaoEnlace();
+    }
 
-    int indiceEntrada = 0; //Controla a posicao de leitura no quadroEnquadrado
+    //Comeca a transmissao pelo primeiro quadro
+    public void iniciar() {
+      // Uma nova transmissao comeca sempre do numero de sequencia 0, nos dois lados
+      sessao.reiniciarControleDeFluxo();
 
-    //Altera o loop para verificar ativamente as condicoes de parada,
-    //em vez de apenas iterar sobre o comprimento do array.
-    while (true) {
-      
-      //Condicao de parada 1: Atingiu o fim fisico do array.
-      if (indiceEntrada >= quadro.length) {
-        break; //Fim da transmissao
+      synchronized (this) {
+        enviando = true;
       }
+      ServicoDeTemporizadores.executarEnvio(this::enviar);
+    }
 
-      //Le o primeiro byte do quadro, que eh o byte de contagem.
-      int tamanhoDoBloco = quadro[indiceEntrada++];
-
-      //Condicao de parada 2: Encontrou um byte de contagem 0.
-      //Isso indica padding ou o fim logico da transmissao.
-      if (tamanhoDoBloco == 0) {
-        break; //Fim logico da transmissao
-      }
+    //ACK do quadro atual: cancela o prazo e avanca para o proximo quadro
+    public void liberar() {
+      boolean enviarProximo;
 
-      int caracteresCargaUtil = tamanhoDoBloco - 1;
+      synchronized (this) {
+        if (finalizado) {
+          System.out.println("> ACK valido mas a transmissao ja terminou");
+          return;
+        }
+        if (prazo != null) {
+          prazo.cancel(false); //Nao bloqueia: se o prazo ja estiver disparando, a geracao o descarta
+          prazo = null;
+        }
+        if (!retransmitido) {
+          estimador.registrarAmostra(System.nanoTime() - instanteEnvio);
+        }
 
-      //Condicao de seguranca: Verifica se o byte de contagem eh valido.
-      //Se for corrompido e apontar para fora do array, lanca a excecao
-      //que eh esperada e tratada pela camadaEnlaceDadosReceptora.
-      if (indiceEntrada + caracteresCargaUtil > quadro.length) {
-        throw new ArrayIndexOutOfBoundsException("Contagem de caracteres corrompida");
+        System.out.println("> Quadro " + (indiceQuadroAtual + 1) + " confirmado (ACK recebido para Seq=" + 
+                          (indiceQuadroAtual % 2) + ")");
+        indiceQuadroAtual++;
+        geracao++;
+        retransmitido = false;
+        tentativas = 0;
+        enviarProximo = !enviando; //Se o ACK chegou durante o envio, quem enviou continua
+        enviando = true;
+      } //Fim synchronized
+
+      if (enviarProximo) {
+        ServicoDeTemporizadores.executarEnvio(this::enviar);
       }
-
-      //Le os caracteres da carga util e os adiciona a lista
-      for (int i = 0; i < caracteresCargaUtil; i++) {
-        quadroOriginalList.add(quadro[indiceEntrada++]);
-      } //Fim do for
-    } //Fim do while
-
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
-    //Converte a lista de inteiros de volta para um int[]
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
     }
 
-    return quadroOriginal;
-
-  } //Fim de camadaEnlaceDadosReceptoraEnquadramentoContagemDeCaracteres
-
-
-
-  /**
-   * Realiza o desenquadramento pelo metodo de insercao de bytes (byte stuffing).
-   * <p>
-   * Remove as flags de inicio/fim e os bytes de escape para restaurar
-   * a mensagem original.
-   *
-   * @param quadro O fluxo de dados enquadrado com flags e escapes.
-   * @return int[] A mensagem original.
-   */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes(int quadro[]){
-
-    final char FLAG = 'i';
-    final char ESCAPE = '/';
-
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
-
-    boolean dentroDoQuadro = false; //Controla se esta dentro do quadro, para determinar o fim
-    boolean proximoEhDado = false; //Controla a relacao do escape lido anteriormente com o byte atual
-
-    for (int i = 0; i < quadro.length; i++) {
-
-      int caractere = quadro[i];
+    //Envia o quadro atual e arma o seu prazo; segue para o proximo se o ACK chegar durante o envio
+    private void enviar() {
+      while (true) {
+        byte[] quadroAtual;
+        int geracaoEnvio;
 
-      if (proximoEhDado) {
-        quadroOriginalList.add(caractere);
-        proximoEhDado = false;
-        continue;
-      }
-
-      if (caractere == FLAG) {
-        //Se estava fora de um quadro, esta FLAG inicia um novo.
-        if (!dentroDoQuadro) {
-          dentroDoQuadro = true;
-        }
-        //Se estava dentro de um quadro, esta FLAG o finaliza.
-        else {
-          dentroDoQuadro = false;
-          
-          //Logica de parada: verifica se existe um proximo byte no array.
-          boolean existeProximoByte = (i + 1) < quadro.length;
-          
-          //Se nao existe proximo byte, ou se o proximo byte nao eh FLAG,
-          //a transmissao eh considerada finalizada e o laco eh interrompido.
-          if (!existeProximoByte || (existeProximoByte && quadro[i + 1] != FLAG)) {
-            break; 
+        synchronized (this) {
+          if (finalizado) {
+            return;
           }
-          //Se a condicao acima for falsa, significa que o proximo byte e uma FLAG
-          //que iniciara um novo quadro na proxima iteracao, entao o laco continua.
-        }
-      }
-      else if (dentroDoQuadro) {
-        if (caractere == ESCAPE) {
-          proximoEhDado = true;
-        } else {
-          quadroOriginalList.add(caractere);
+          if (indiceQuadroAtual >= quadros.size()) {
+            finalizar();
+            return;
+          }
+          quadroAtual = quadros.get(indiceQuadroAtual);
+          if (!retransmitido) {
+            instanteEnvio = System.nanoTime();
+          }
+          tentativas++;
+          geracaoEnvio = ++geracao;
+          enviando = true;
+        } //Fim synchronized
+
+        System.out.println("> Enviando quadro " + (indiceQuadroAtual + 1) + "/" + quadros.size() + 
+                          " (Seq=" + (indiceQuadroAtual % 2) + ", Tentativa " + tentativas + ")");
+        if (tentativas > 1) {
+          controller.registrarRetransmissao(quadroAtual.length);
         }
-      }
-      
+        CamadaFisicaTransmissora.camadaFisicaTransmissora(quadroAtual, controller);
+
+        synchronized (this) {
+          if (geracaoEnvio == geracao && !finalizado) {
+            // Sem ACK ainda: arma o prazo de retransmissao
+            enviando = false;
+            prazo = ServicoDeTemporizadores.agendar(() -> expirar(geracaoEnvio), estimador.getRTO());
+            return;
+          }
+        } //Fim synchronized
+      } //Fim while
     }
 
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
+    //Fim do prazo sem ACK: dobra o RTO e retransmite o quadro atual
+    private void expirar(int geracaoPrazo) {
+      synchronized (this) {
+        if (geracaoPrazo != geracao || finalizado) {
+          return; //O ACK chegou antes
+        }
+        prazo = null;
+        retransmitido = true;
+        enviando = true; //Um ACK atrasado nao dispara um segundo envio
+        estimador.aplicarBackoff();
+        System.err.println("> TIMEOUT! Retransmitindo quadro " + (indiceQuadroAtual + 1) + 
+                          " (Seq=" + (indiceQuadroAtual % 2) + ", Tentativa " + (tentativas + 1) + 
+                          ", RTO=" + estimador.getRTO() + " ms)");
+      } //Fim synchronized
+
+      ServicoDeTemporizadores.executarEnvio(this::enviar); //O prazo nao espera o envio terminar
     }
 
-    return quadroOriginal;
-
-  } //Fim camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBytes
-
+    //Encerra a transmissao e libera a proxima da fila
+    private void finalizar() {
+      finalizado = true;
+      System.out.println("\n>>> TRANSMISSAO CONCLUIDA: Todos os quadros foram transmitidos!");
+      if (sessao.temporizador == this) {
+        sessao.temporizador = null; //ACKs que chegarem depois sao ignorados
+      }
+      AplicacaoReceptora.fimDaMensagem(controller); //Todos os quadros ja foram entregues
+      sessao.finalizarTransmissao();
+      conclusao.run(); // Reativa a GUI (ou segue para o proximo bloco da transferencia)
+    }
+  } //Fim classe Temporizador
 
 
   /**
-   * Realiza o desenquadramento pelo metodo de insercao de bits (bit stuffing).
+   * Envia os quadros pelo protocolo Go-Back-N, sem thread propria.
    * <p>
-   * Procura pela sequencia de cinco bits '1' e remove o bit '0' inserido (stuffed)
-   * para restaurar o fluxo de dados original. As flags sao usadas para
-   * delimitar o quadro.
-   *
-   * @param quadro O fluxo de bits enquadrado.
-   * @return int[] A mensagem original.
+   * Ate tamanhoJanela quadros podem estar enviados e ainda nao confirmados. Os ACKs
+   * sao cumulativos: o ACK com numero de sequencia s confirma todos os quadros
+   * pendentes ate s. Ha um unico temporizador, o do quadro mais antigo da janela
+   * (base); se ele expirar, o envio volta a base e todos os quadros pendentes sao
+   * retransmitidos. Como o receptor repete o ACK do ultimo quadro aceito a cada
+   * quadro fora de ordem, tres ACKs repetidos tambem disparam a volta a base
+   * (retransmissao rapida), sem esperar pelo prazo e sem dobrar o RTO.
+   * <p>
+   * Durante a recuperacao (ate a base passar do ultimo quadro enviado antes da
+   * volta), os ACKs repetidos das copias antigas sao ignorados. Quando um ACK
+   * parcial avanca a base, as copias reenviadas ja estao chegando ao receptor:
+   * como no NewReno, a nova base eh retransmitida no primeiro ACK repetido, sem
+   * esperar por tres nem pelo prazo. Um timeout depois que uma retransmissao foi
+   * confirmada com o RTO dobrado nao o dobra de novo; o backoff so eh desfeito
+   * por uma amostra de um quadro nunca retransmitido.
+   * <p>
+   * Como no Stop-and-Wait, o prazo da base eh uma tarefa do
+   * ServicoDeTemporizadores e os envios rodam no executor de envios: uma tarefa
+   * envia enquanto a janela permitir e termina quando ela enche. Um ACK, um
+   * timeout ou uma retransmissao rapida que abra espaco cria outra, se nenhuma
+   * estiver enviando.
    */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoInsercaoDeBits(int quadro[]) {
+  static class TemporizadorGoBackN {
+    private static final int ACKS_RETRANSMISSAO_RAPIDA = 3; //ACKs repetidos que disparam a retransmissao
+
+    private ArrayList<byte[]> quadros; //Lista de quadros individuais, ja com o numero de sequencia
+    private int tamanhoJanela; //Numero maximo de quadros pendentes
+    private ControladorSimulacao controller;
+    private int base; //Indice do quadro mais antigo ainda nao confirmado
+    private int proximo; //Indice do proximo quadro a ser enviado
+    private int enviados; //Quantos quadros ja foram enviados ao menos uma vez
+    private EstimadorRTT estimador; //Fornece o tempo limite (RTO) a partir do RTT medido
+    private long[] instantesEnvio; //Instante (ns) do primeiro envio de cada quadro
+    private boolean[] retransmitidos; //Regra de Karn: quadros retransmitidos nao geram amostras de RTT
+    private int acksRepetidos; //ACKs repetidos do quadro anterior a base desde o ultimo avanco da janela
+    private int recuperacao; //Ate a base passar deste indice, ACKs repetidos sao efeito da ultima volta, nao perdas novas
+    private boolean avancoNaRecuperacao; //Um ACK parcial avancou a base desde a ultima volta
+    private boolean emBackoff; //O RTO foi dobrado e nenhuma amostra o desfez ainda
+    private boolean backoffSuficiente; //Uma retransmissao foi confirmada desde o ultimo timeout
+    private ScheduledFuture<?> prazo; //Prazo de retransmissao do quadro base
+    private int geracao; //Muda a cada prazo armado ou cancelado, invalidando os anteriores
+    private boolean enviando; //Uma tarefa de envio esta em andamento
+    private int emEnvio = -1; //Quadro sendo enviado: se for a base, o prazo so eh armado quando o envio terminar
+    private boolean finalizado;
+    private SessaoEnlace sessao; //Enlace ao qual a transmissao pertence
+    private Runnable conclusao; //Avisada no fim da transmissao (reativa o controlador ou avanca a transferencia)
+
+    public TemporizadorGoBackN(ArrayList<byte[]> quadros, int tamanhoJanela, EstimadorRTT estimador,
+                               Runnable conclusao, ControladorSimulacao controller) {
+      this.quadros = quadros;
+      this.tamanhoJanela = tamanhoJanela;
+      this.estimador = estimador;
+      this.conclusao = conclusao;
+      this.controller = controller;
+      this.instantesEnvio = new long[quadros.size()];
+      this.retransmitidos = new boolean[quadros.size()];
+      this.sessao = controller.getSessaoEnlace();
+    }
 
-    final int FLAG = 0b01111110; //01111110
-    ArrayList<Integer> quadroOriginalList = new ArrayList<>();
-    ArrayList<Integer> cargaUtilBruta = new ArrayList<>(); //Lista para bytes entre as FLAGs
-    boolean dentroDoQuadro = false;
-
-    //Separa a Carga Util das FLAGs
-    for (int byteEntrada : quadro) {
-      if (byteEntrada == FLAG) {
-        if (dentroDoQuadro) {
-          //FLAG de fim de quadro encontrada. Processa o que acumulou.
-          if (!cargaUtilBruta.isEmpty()) {
-              //Implementacao do desestufamento com uma funcao desestufarBits
-              ArrayList<Integer> cargaUtilLimpa = desestufarBits(cargaUtilBruta);
-              quadroOriginalList.addAll(cargaUtilLimpa);
-              cargaUtilBruta.clear(); //Limpa para o proximo quadro
+    //Comeca a transmissao pelo primeiro quadro
+    public void iniciar() {
+      // Uma nova transmissao comeca sempre do numero de sequencia 0, nos dois lados
+      sessao.reiniciarControleDeFluxo();
+      acordar();
+    }
+
+    //Confirma, de forma cumulativa, os quadros pendentes ate o numero de sequencia recebido
+    public void confirmar(int seqAck) {
+      synchronized (this) {
+        if (finalizado) {
+          return;
+        }
+        int deslocamento = Math.floorMod(seqAck - base, MODULO_SEQ); //Distancia do ACK ate a base
+        if (deslocamento < proximo - base) {
+          int confirmado = base + deslocamento;
+          if (!retransmitidos[confirmado]) {
+            estimador.registrarAmostra(System.nanoTime() - instantesEnvio[confirmado]);
+            emBackoff = false;
+          } else {
+            backoffSuficiente = true; //A retransmissao chegou com o RTO atual
+          } //Fim if-else
+          base = confirmado + 1;
+          acksRepetidos = 0;
+          avancoNaRecuperacao = base < recuperacao; //ACK parcial: as copias reenviadas ja chegam ao receptor
+          // Reinicia o temporizador para a nova base; durante a recuperacao o RTO com backoff
+          // continua valendo ate um quadro nao retransmitido gerar amostra
+          armarPrazo();
+          System.out.println("> ACK cumulativo (Seq=" + seqAck + ") - base da janela agora eh o quadro " + (base + 1));
+        } else if (deslocamento == MODULO_SEQ - 1 && proximo > base && (base >= recuperacao || avancoNaRecuperacao)) {
+          acksRepetidos++; //O receptor recebeu um quadro fora de ordem: o quadro base provavelmente se perdeu
+          System.out.println("> ACK repetido (Seq=" + seqAck + ", " + acksRepetidos + "x)");
+          // Depois de um ACK parcial, o canal entrega em ordem: um unico ACK repetido ja indica a perda
+          if (!avancoNaRecuperacao && acksRepetidos < ACKS_RETRANSMISSAO_RAPIDA) {
+            return;
           }
-          dentroDoQuadro = false; //Sai do quadro
+          // Retransmissao rapida - volta e retransmite toda a janela, sem esperar pelo prazo
+          System.err.println("> ACKs REPETIDOS! Retransmitindo quadros " + (base + 1) + " a " + proximo + 
+                            " (Go-Back-N, Seq=" + (base % MODULO_SEQ) + ")");
+          voltarParaBase(); //As copias ja enviadas vao gerar mais ACKs repetidos
         } else {
-          //FLAG de inicio de quadro encontrada
-          dentroDoQuadro = true;
+          System.out.println("> ACK fora da janela (Seq=" + seqAck + ") - ignorado");
+          return;
         } //Fim if-else
-      } else {
-        if (dentroDoQuadro) {
-          //Este eh um byte de dados (carga util), adiciona para processamento posterior
-          cargaUtilBruta.add(byteEntrada);
-        } //Fim if
-      } //Fim if-else
-    } //Fim for
+      } //Fim synchronized
 
-    if(!cargaUtilBruta.isEmpty()){
-      ArrayList<Integer> cargaUtilLimpa = desestufarBits(cargaUtilBruta);
-      quadroOriginalList.addAll(cargaUtilLimpa);
+      acordar(); //A janela andou ou voltou: ha quadros para enviar (ou a transmissao terminou)
     }
 
-    int[] quadroOriginal = new int[quadroOriginalList.size()];
+    //Fim do prazo do quadro base sem ACK: volta e retransmite toda a janela
+    private void expirar(int geracaoPrazo) {
+      synchronized (this) {
+        if (geracaoPrazo != geracao || finalizado || proximo <= base) {
+          return; //O ACK chegou antes
+        }
+        prazo = null;
+        // Se uma retransmissao ja foi confirmada com o RTO dobrado, ele basta: o timeout eh uma perda
+        // nova, e o RTO so volta a cair com uma amostra (regra de Karn). Sem avanco, dobra de novo
+        if (!emBackoff || !backoffSuficiente) {
+          estimador.aplicarBackoff();
+          emBackoff = true;
+        }
+        backoffSuficiente = false;
+        System.err.println("> TIMEOUT! Retransmitindo quadros " + (base + 1) + " a " + proximo + 
+                          " (Go-Back-N, Seq=" + (base % MODULO_SEQ) + ", RTO=" + estimador.getRTO() + " ms)");
+        voltarParaBase();
+      } //Fim synchronized
 
-    for (int i = 0; i < quadroOriginalList.size(); i++) {
-      quadroOriginal[i] = quadroOriginalList.get(i);
+      acordar();
     }
 
-    return quadroOriginal;
-
-  } //Fim camadaEnlaceDadosReceptoraInsercaoDeBits
+    //Volta o envio a base; chamado com o monitor
+    private void voltarParaBase() {
+      recuperacao = proximo;
+      proximo = base;
+      acksRepetidos = 0;
+      avancoNaRecuperacao = false; //Os ACKs repetidos das copias antigas ainda podem chegar
+      cancelarPrazo(); //Rearmado quando a base for reenviada
+    }
 
+    //Arma o prazo do quadro base com o RTO atual, substituindo o anterior; chamado com o monitor
+    private void armarPrazo() {
+      cancelarPrazo();
+      if (proximo > base && base != emEnvio) { //O envio em andamento nao conta no prazo
+        int geracaoPrazo = geracao;
+        prazo = ServicoDeTemporizadores.agendar(() -> expirar(geracaoPrazo), estimador.getRTO());
+      }
+    }
 
+    //Cancela o prazo do quadro base sem bloquear; chamado com o monitor
+    private void cancelarPrazo() {
+      geracao++; //Um prazo que ja esteja disparando encontra a geracao trocada
+      if (prazo != null) {
+        prazo.cancel(false);
+        prazo = null;
+      }
+    }
 
-  /**
-   * Funcao auxiliar que realiza o desestufamento em uma lista de bytes.
-   * @param cargaUtilBruta      A lista de bytes que compoe a carga util de um quadro.
-   * @return ArrayList<Integer> A lista de bytes apos a remocao dos bits de stuffing.
-   */
-  private static ArrayList<Integer> desestufarBits(ArrayList<Integer> cargaUtilBruta) {
-    ArrayList<Integer> bytesDecodificados = new ArrayList<>();
-    int contBits1 = 0;
-    int byteSaidaAtual = 0;
-    int bitsNoByteSaida = 0;
+    //Cria a tarefa de envio, se nenhuma estiver em andamento
+    private void acordar() {
+      synchronized (this) {
+        if (enviando || finalizado) {
+          return;
+        }
+        enviando = true;
+      } //Fim synchronized
+      ServicoDeTemporizadores.executarEnvio(this::enviar);
+    }
 
-    for (int byteEntrada : cargaUtilBruta) {
-      for (int j = 7; j >= 0; j--) {
-        int bit = (byteEntrada >> j) & 1;
+    //Envia quadros enquanto a janela permitir; termina quando ela enche ou todos forem confirmados
+    private void enviar() {
+      while (true) {
+        int indice;
+        boolean retransmissao;
 
-        if (contBits1 == 5) {
-          if (bit == 0) { //Encontrou um bit de stuffing
-            contBits1 = 0;
-            continue; //Descarta o bit e continua
+        synchronized (this) {
+          if (base >= quadros.size()) {
+            finalizado = true; //Todos os quadros foram confirmados
+            cancelarPrazo();
+            break;
+          }
+          if (proximo >= quadros.size() || proximo >= base + tamanhoJanela) {
+            enviando = false; //Janela cheia: um ACK ou o prazo da base cria a proxima tarefa
+            return;
           }
-        } //Fim de if contBits1
-
-        //Se nao for bit de stuffing, eh um bit de dados
-        byteSaidaAtual = (byteSaidaAtual << 1) | bit;
-        bitsNoByteSaida++;
-
-        if (bit == 1) {
-          contBits1++;
-        } else {
-          contBits1 = 0;
-        } //Fim de if bit
-
-        if (bitsNoByteSaida == 8) {
-          bytesDecodificados.add(byteSaidaAtual);
-          byteSaidaAtual = 0;
-          bitsNoByteSaida = 0;
-        } //Fim if
-      } //Fim for bits
-    } //Fim for bytes
 
-    return bytesDecodificados;
-  } //Fim desestufarBits
+          indice = proximo++;
+          retransmissao = indice < enviados;
+          if (retransmissao) {
+            retransmitidos[indice] = true;
+          } else {
+            instantesEnvio[indice] = System.nanoTime();
+            enviados = indice + 1;
+          } //Fim if-else
+          emEnvio = indice;
+        } //Fim synchronized
+
+        // O envio eh feito fora do monitor, pois o ACK pode chegar durante a transmissao
+        System.out.println("> Enviando quadro " + (indice + 1) + "/" + quadros.size() + 
+                          " (Seq=" + (indice % MODULO_SEQ) + ", janela " + tamanhoJanela + ")");
+        if (retransmissao) {
+          controller.registrarRetransmissao(quadros.get(indice).length);
+        }
+        CamadaFisicaTransmissora.camadaFisicaTransmissora(quadros.get(indice), controller);
 
+        synchronized (this) {
+          emEnvio = -1;
+          if (indice == base && !finalizado) {
+            armarPrazo(); //Sem ACK ainda: o prazo da base comeca quando o envio termina
+          }
+        } //Fim synchronized
+      } //Fim while
+
+      System.out.println("\n>>> TRANSMISSAO CONCLUIDA: Todos os quadros foram confirmados!");
+      sessao.temporizadorGoBackN = null; //ACKs que chegarem depois sao ignorados
+      AplicacaoReceptora.fimDaMensagem(controller); //Todos os quadros ja foram entregues
+      sessao.finalizarTransmissao();
+      conclusao.run();
+    }
+  } //Fim classe TemporizadorGoBackN
 
 
   /**
-   * Realiza o desenquadramento pela tecnica de violacao da camada fisica.
+   * Envia os quadros pelo protocolo Selective Repeat, sem thread propria.
    * <p>
-   * Simplesmente recebe o vetor de inteiros desenquadrado, decodificado
-   * e tambem desempacotado, com os caracteres posicionados.
-   *
-   * @param quadro O fluxo de dados codificado.
-   * @return int[] A mensagem original.
-   */
-  private static int[] camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica(int quadro[]){
-    return quadro;
-  } //Fim camadaEnlaceDadosReceptoraEnquadramentoViolacaoCamadaFisica
-
-
-  
-
-  /**
-   * Realiza o controle de erros com os quadros de caracteres enquadrados recebidos,
-   * conforme a escolha na GUI.
-   *
-   * @param quadro     Vetor com os caracteres da mensagem decodificados, ainda enquadrados.
-   * @param controller Controlador da interface grafica.
-   * @return int[]     O resultado do controle de erros.
+   * Como no Go-Back-N, ate tamanhoJanela quadros podem estar pendentes, mas cada
+   * quadro eh confirmado individualmente e tem seu proprio prazo. Os prazos ficam
+   * em uma unica RodaDeTemporizadores, avancada por uma tarefa do
+   * ServicoDeTemporizadores agendada para o proximo tick enquanto houver prazos
+   * pendentes, em vez de uma thread por quadro. So eh retransmitido o quadro cujo
+   * prazo expirou ou que o receptor pediu por NAK; a janela avanca quando o quadro
+   * base eh confirmado. Os envios rodam no executor de envios, como no Go-Back-N.
    */
-  private static int[] camadaEnlaceDadosReceptoraControleDeErros(int quadro[], ControllerTelaPrincipal controller){
-
-    int tipoControleErros = controller.getControleErro();
-    int[] quadroControleErros;
-
-    switch (tipoControleErros) {
-      case 1:
-        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar(quadro);
-        break;
-      case 2:
-        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar(quadro);
-        break;
-      case 3:
-        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosCRC(quadro);
-        break;
-      default:
-        quadroControleErros = camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming(quadro);
-        break;
-    } //Fim switch
-
-    if(!(quadroControleErros == null)){
-      for(int i = 0; i < quadroControleErros.length; i++){
-      System.out.println("quadroControleErros[" + i + "] = " + Util.bitsParaString(quadroControleErros[i]));
-      } //Fim for      
+  static class TemporizadorSelectiveRepeat {
+    private static final int POSICOES_RODA = 64; //Posicoes da roda de temporizadores
+    private static final long RESOLUCAO_RODA = 1; //Tick fixo, em ms (o RTO minimo): prazos seguem o RTO adaptativo
+
+    private ArrayList<byte[]> quadros; //Lista de quadros individuais, ja com o numero de sequencia
+    private int tamanhoJanela; //Numero maximo de quadros pendentes
+    private ControladorSimulacao controller;
+    private boolean[] confirmados; //Quadros ja confirmados por ACK
+    private ArrayDeque<Integer> retransmitir = new ArrayDeque<>(); //Quadros com prazo expirado ou NAK
+    private RodaDeTemporizadores roda; //Prazos dos quadros pendentes
+    private ScheduledFuture<?> tick; //Proximo avanco da roda (null se nao houver prazos)
+    private int base; //Indice do quadro mais antigo ainda nao confirmado
+    private int proximo; //Indice do proximo quadro novo a ser enviado
+    private EstimadorRTT estimador; //Fornece o tempo limite (RTO) a partir do RTT medido
+    private long[] instantesEnvio; //Instante (ns) do primeiro envio de cada quadro
+    private boolean[] retransmitidos; //Regra de Karn: quadros retransmitidos nao geram amostras de RTT
+    private boolean enviando; //Uma tarefa de envio esta em andamento
+    private boolean finalizado;
+    private SessaoEnlace sessao; //Enlace ao qual a transmissao pertence
+    private Runnable conclusao; //Avisada no fim da transmissao (reativa o controlador ou avanca a transferencia)
+
+    public TemporizadorSelectiveRepeat(ArrayList<byte[]> quadros, int tamanhoJanela, EstimadorRTT estimador,
+                                       Runnable conclusao, ControladorSimulacao controller) {
+      this.quadros = quadros;
+      this.tamanhoJanela = tamanhoJanela;
+      this.estimador = estimador;
+      this.conclusao = conclusao;
+      this.controller = controller;
+      this.confirmados = new boolean[quadros.size()];
+      this.instantesEnvio = new long[quadros.size()];
+      this.retransmitidos = new boolean[quadros.size()];
+      this.sessao = controller.getSessaoEnlace();
     }
 
-    System.out.println("\n");
-    
-    return quadroControleErros;
-
-  } //Fim de camadaEnlaceDadosReceptoraControleDeErros
-
-
-
-  /**
-   * Realiza o controle de erros pelo bit de paridade par.
-   * <p>
-   * Faz a contagem de bits '1' na sequencia e compara com o bit de paridade esperado
-   * com aquele recebido, se diferirem, ha um erro.
-   *
-   * @param quadro Vetor de inteiros contendo a mensagem decodificada e enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade retirado.
-   */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar(int[] quadro){
-
-    int paridade = 0;
-    //Calcula a paridade byte por byte, bit por bit, ate o penultimo
-    for (int i = 0; i < quadro.length - 1; i++) {
-      int caractere = quadro[i];
-      for (int j = 0; j < 8; j++) {
-        if (((caractere >> j) & 1) == 1) {
-          paridade++;
-        } //Fim if
-      } //Fim for
-    } //Fim for
-
-    int bitParidadeRecebido = quadro[quadro.length - 1];
-    int bitParidadeEsperado = (paridade % 2 == 0) ? 0 : 1;
+    //Comeca a transmissao pelo primeiro quadro
+    public void iniciar() {
+      // Uma nova transmissao comeca sempre do numero de sequencia 0, nos dois lados
+      sessao.reiniciarControleDeFluxo();
 
-    if (bitParidadeRecebido != bitParidadeEsperado) {
-      return null; //Erro detectado
+      synchronized (this) {
+        roda = new RodaDeTemporizadores(POSICOES_RODA, RESOLUCAO_RODA, System.currentTimeMillis());
+      }
+      acordar();
     }
 
-    //Retorna o quadro original sem o bit de paridade
-    int[] quadroOriginal = new int[quadro.length - 1];
-    System.arraycopy(quadro, 0, quadroOriginal, 0, quadroOriginal.length);
-
-    return quadroOriginal;
-
-  } //Fim camadaEnlaceDadosReceptoraControleDeErrosBitParidadePar
+    //Converte o numero de sequencia recebido no indice do quadro pendente, ou -1 se estiver fora da janela
+    private int indicePendente(int seq) {
+      int indice = base + Math.floorMod(seq - base, MODULO_SEQ);
+      return (indice < proximo && !confirmados[indice]) ? indice : -1;
+    }
 
+    //Confirma apenas o quadro com o numero de sequencia recebido
+    public void confirmar(int seqAck) {
+      synchronized (this) {
+        int indice = finalizado ? -1 : indicePendente(seqAck);
+        if (indice < 0) {
+          System.out.println("> ACK fora da janela ou repetido (Seq=" + seqAck + ") - ignorado");
+          return;
+        }
 
+        confirmados[indice] = true;
+        roda.cancelar(indice);
+        if (!retransmitidos[indice]) {
+          estimador.registrarAmostra(System.nanoTime() - instantesEnvio[indice]);
+        }
+        while (base < proximo && confirmados[base]) {
+          base++; //A janela avanca ate o primeiro quadro nao confirmado
+        }
+        System.out.println("> ACK (Seq=" + seqAck + ") - base da janela agora eh o quadro " + (base + 1));
+      } //Fim synchronized
 
-  /**
-   * Realiza o controle de erros pelo bit de paridade impar.
-   * <p>
-   * Faz a contagem de bits '1' na sequencia e compara com o bit de paridade esperado
-   * com aquele recebido, se diferirem, ha um erro.
-   *
-   * @param quadro Vetor de inteiros contendo a mensagem decodificada e enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade retirado.
-   */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar(int[] quadro){
-    
-    int paridade = 0;
-    //Calcula a paridade byte por byte, bit por bit, ate o penultimo
-    for (int i = 0; i < quadro.length - 1; i++) {
-      int caractere = quadro[i];
-      for (int j = 0; j < 8; j++) {
-        if (((caractere >> j) & 1) == 1) {
-          paridade++;
-        } //Fim if
-      } //Fim for
-    } //Fim for
+      acordar(); //A janela pode ter andado (ou a transmissao terminado)
+    }
 
-    int bitParidadeRecebido = quadro[quadro.length - 1];
-    int bitParidadeEsperado = (paridade % 2 == 0) ? 1 : 0; //Se paridade par, 1, se nao, 0
+    //Agenda a retransmissao imediata do quadro pedido pelo receptor
+    public void rejeitar(int seqNak) {
+      synchronized (this) {
+        int indice = finalizado ? -1 : indicePendente(seqNak);
+        if (indice < 0 || retransmitir.contains(indice)) {
+          return;
+        }
+        System.out.println("> NAK (Seq=" + seqNak + ") - quadro " + (indice + 1) + " sera retransmitido");
+        roda.cancelar(indice);
+        retransmitir.add(indice);
+      } //Fim synchronized
 
-    if (bitParidadeRecebido != bitParidadeEsperado) {
-      return null; //Erro detectado
+      acordar();
     }
 
-    //Retorna o quadro original sem o bit de paridade
-    int[] quadroOriginal = new int[quadro.length - 1];
-    System.arraycopy(quadro, 0, quadroOriginal, 0, quadroOriginal.length);
-
-    return quadroOriginal;
+    //Avanca a roda ate agora e agenda a retransmissao dos quadros cujo prazo expirou
+    private void avancarRoda() {
+      synchronized (this) {
+        tick = null;
+        if (finalizado) {
+          return;
+        }
 
-  } //Fim camadaEnlaceDadosReceptoraControleDeErrosBitParidadeImpar
+        List<Integer> expirados = roda.avancar(System.currentTimeMillis());
+        if (!expirados.isEmpty()) {
+          estimador.aplicarBackoff(); //Um unico backoff para os prazos que expiraram juntos
+        }
+        for (int expirado : expirados) {
+          if (!confirmados[expirado] && !retransmitir.contains(expirado)) {
+            System.err.println("> TIMEOUT! Retransmitindo quadro " + (expirado + 1) + 
+                              " (Selective Repeat, Seq=" + (expirado % MODULO_SEQ) + ")");
+            retransmitir.add(expirado);
+          }
+        } //Fim for
+        agendarTick();
+        if (retransmitir.isEmpty()) {
+          return;
+        }
+      } //Fim synchronized
 
+      acordar();
+    }
 
+    //Agenda o proximo avanco da roda, se houver prazos e nenhum avanco agendado; chamado com o monitor
+    private void agendarTick() {
+      if (tick == null && !roda.vazia()) {
+        long espera = Math.max(0, roda.proximoTick() - System.currentTimeMillis());
+        tick = ServicoDeTemporizadores.agendar(this::avancarRoda, espera);
+      }
+    }
 
-  /**
-   * Realiza o controle de erros pela verificacao ciclica de redundancia.
-   * <p>
-   * Faz a divisao polinomial da (mensagem + CRC) recebida pelo p.Gerador CRC-32, se
-   * o resto da divisao for diferente de 0, um erro ocorreu, pois M(x) + R(x) eh 
-   * perfeitamente divisivel por G(x).
-   *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
-   */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosCRC(int[] quadro){
-    
-    //Polinomio CRC-32 IEEE: 100000100110000010001110110110111 (33 bits)
-    BigInteger polinomio = new BigInteger("100000100110000010001110110110111", 2);
-
-    //Converte todo o quadro (mensagem + CRC) para bits
-    StringBuilder bitsCompleto = new StringBuilder();
-    for (int byteDado : quadro) {
-        String bits = String.format("%8s", Integer.toBinaryString(byteDado & 0xFF)).replace(' ', '0');
-        bitsCompleto.append(bits);
+    //Cria a tarefa de envio, se nenhuma estiver em andamento
+    private void acordar() {
+      synchronized (this) {
+        if (enviando || finalizado) {
+          return;
+        }
+        enviando = true;
+      } //Fim synchronized
+      ServicoDeTemporizadores.executarEnvio(this::enviar);
     }
 
-    //Converte para BigInteger
-    BigInteger mensagem = new BigInteger(bitsCompleto.toString(), 2);
+    //Envia retransmissoes e quadros novos enquanto houver; termina quando a janela enche
+    private void enviar() {
+      while (true) {
+        int indice;
+        boolean retransmissao;
+
+        synchronized (this) {
+          if (base >= quadros.size()) {
+            finalizado = true; //Todos os quadros foram confirmados
+            if (tick != null) {
+              tick.cancel(false);
+              tick = null;
+            }
+            break;
+          }
 
-    //Realiza a divisao polinomial usando XOR
-    int tamanhoPolinomio = 33; //Grau 32 + 1
-    int tamanhoBitsMensagem = bitsCompleto.length();
+          Integer pendente = retransmitir.poll();
+          while (pendente != null && confirmados[pendente]) {
+            pendente = retransmitir.poll();
+          }
 
-    //Faz a divisao bit a bit com XOR
-    for (int i = 0; i <= tamanhoBitsMensagem - tamanhoPolinomio; i++) {
-        //Verifica se o bit mais significativo eh 1
-        if (mensagem.testBit(tamanhoBitsMensagem - 1 - i)) {
-            //Desloca o polinomio para alinhar com a posicao atual e faz XOR
-            BigInteger polinomioDeslocado = polinomio.shiftLeft(tamanhoBitsMensagem - tamanhoPolinomio - i);
-            mensagem = mensagem.xor(polinomioDeslocado);
+          if (pendente != null) {
+            indice = pendente;
+            retransmissao = true;
+            retransmitidos[indice] = true;
+          } else if (proximo < quadros.size() && proximo < base + tamanhoJanela) {
+            indice = proximo++;
+            retransmissao = false;
+            instantesEnvio[indice] = System.nanoTime();
+          } else {
+            enviando = false; //Janela cheia: um ACK, um NAK ou a roda cria a proxima tarefa
+            return;
+          } //Fim if-else
+
+          roda.agendar(indice, System.currentTimeMillis() + estimador.getRTO()); //Agendado antes do envio, pois o ACK pode chegar durante ele
+          agendarTick();
+        } //Fim synchronized
+
+        // O envio eh feito fora do monitor, pois o ACK pode chegar durante a transmissao
+        System.out.println("> Enviando quadro " + (indice + 1) + "/" + quadros.size() + 
+                          " (Seq=" + (indice % MODULO_SEQ) + ", janela " + tamanhoJanela + ")");
+        if (retransmissao) {
+          controller.registrarRetransmissao(quadros.get(indice).length);
         }
+        CamadaFisicaTransmissora.camadaFisicaTransmissora(quadros.get(indice), controller);
+      } //Fim while
+
+      System.out.println("\n>>> TRANSMISSAO CONCLUIDA: Todos os quadros foram confirmados!");
+      sessao.temporizadorSelectiveRepeat = null; //ACKs que chegarem depois sao ignorados
+      AplicacaoReceptora.fimDaMensagem(controller); //Todos os quadros ja foram entregues
+      sessao.finalizarTransmissao();
+      conclusao.run();
     }
+  } //Fim classe TemporizadorSelectiveRepeat
 
-    //O resto deve ser zero se nao houver erro
-    if (!mensagem.equals(BigInteger.ZERO)) {
-        return null; //Erro detectado!
-    }
-
-    //Retorna a mensagem original sem os ultimos 4 bytes (CRC)
-    int tamanhoOriginal = quadro.length - 4;
-    int[] quadroOriginal = new int[tamanhoOriginal];
-    System.arraycopy(quadro, 0, quadroOriginal, 0, tamanhoOriginal);
 
-    return quadroOriginal;
+  protected static void ACKtemporizador(byte[] ack, ControladorSimulacao controller) {
+    // O ACK chega pelo sentido de volta do meio, ja decodificado e com o tamanho exato
+    // enviado pelo receptor: um byte 0x80 | seq (com MARCA_NAK no NAK do Selective Repeat)
+    SessaoEnlace sessao = controller.getSessaoEnlace();
+    boolean ackValido = ack != null && ack.length == 1 && (ack[0] & 0x80) == 0x80;
+    int seqAck = ackValido ? ack[0] & MASCARA_SEQ : -1;
 
-  } //Fim camadaEnlaceDadosReceptoraControleDeErrosCRC
-  
-  
-
-  /**
-   * Realiza o controle de erros pelo codigo de hamming.
-   * <p>
-   * Faz a comparacao dos bits de paridade esperados (de acordo com os resultados das
-   * operacoes XOR com os bits a cada um associados), com os bits de paridade recebidos.
-   * Se os bits diferirem, ha um erro, a sindrome eh calculada e o bit 'errado' eh corrigido.
-   *
-   * @param quadro Vetor de inteiros contendo a mensagem enquadrada.
-   * @return int[] Vetor de inteiros com o bit de paridade inserido.
-   */ 
-  private static int[] camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming(int[] quadro){
+    // Le uma unica vez os envios em andamento, que podem terminar durante o tratamento
+    Temporizador temporizador = sessao.temporizador;
+    TemporizadorGoBackN temporizadorGoBackN = sessao.temporizadorGoBackN;
+    TemporizadorSelectiveRepeat temporizadorSelectiveRepeat = sessao.temporizadorSelectiveRepeat;
 
-    // Converte o quadro em lista de bits (posicao 0 nao usada)
-    List<Integer> bitsRecebidos = new ArrayList<>();
-    bitsRecebidos.add(0); // Posicao 0 nao usada
-    
-    for (int byteDado : quadro) {
-        for (int i = 7; i >= 0; i--) {  // Extrai do bit 7 ao bit 0
-            bitsRecebidos.add((byteDado >> i) & 1);
-        }
-    }
-    
-    int n = bitsRecebidos.size() - 1; // Tamanho total (sem posicao 0)
-    
-    // Calcula quantos bits de paridade existem
-    int r = 0;
-    int temp = 1;
-    while (temp <= n) {
-        r++;
-        temp = temp << 1;
-    }
-    
-    // Calcula a sindrome (detecta posicao do erro)
-    int sindrome = 0;
-    for (int i = 0; i < r; i++) {
-        int posicaoParidade = 1 << i;  // 1, 2, 4, 8, 16...
-        
-        if (posicaoParidade > n) break;  // Evita acessar posicoes invalidas
-        
-        int paridade = 0;
-        
-        for (int j = 1; j <= n; j++) {
-            if ((j & posicaoParidade) != 0) {
-                paridade ^= bitsRecebidos.get(j);
-            }
-        }
-        
-        if (paridade != 0) {
-            sindrome += posicaoParidade;
-        }
-    }
-    
-    // Se sindrome != 0, corrige o bit errado
-    if (sindrome != 0) {
-        if (sindrome <= n) {
-            System.out.println("Erro detectado na posicao: " + sindrome + " (corrigindo)");
-            bitsRecebidos.set(sindrome, bitsRecebidos.get(sindrome) ^ 1);
-        }
-    }
-    
-    // Extrai apenas os bits de dados (remove bits de paridade)
-    List<Integer> bitsDados = new ArrayList<>();
-    for (int i = 1; i <= n; i++) {
-        if ((i & (i - 1)) != 0) { // Nao e potencia de 2
-            bitsDados.add(bitsRecebidos.get(i));
-        }
-    }
-    
-    // Converte bits de volta para bytes
-    int numBytes = bitsDados.size() / 8;  // Apenas bytes completos
-    int[] quadroOriginal = new int[numBytes];
+    // Verifica se o ACK corresponde ao numero de sequencia esperado
+    System.out.println("> ACKtemporizador chamado - ackValido=" + ackValido + ", seqAck=" + seqAck + 
+                       ", seqEsperado=" + sessao.seqEsperadoACK + ", temporizador=" + (temporizador != null ? "existe" : "null"));
     
-    for (int i = 0; i < numBytes * 8; i++) {
-        int indiceByte = i / 8;
-        int posicaoNoByte = 7 - (i % 8);  // MSB primeiro
-        
-        if (bitsDados.get(i) == 1) {
-            quadroOriginal[indiceByte] |= (1 << posicaoNoByte);
-        }
+    if (ackValido && temporizadorSelectiveRepeat != null) {
+      if ((ack[0] & MARCA_NAK) != 0) {
+        temporizadorSelectiveRepeat.rejeitar(seqAck); //NAK: o receptor recebeu um quadro com erro
+      } else {
+        temporizadorSelectiveRepeat.confirmar(seqAck); //No Selective Repeat o ACK eh individual
+      }
+    } else if (ackValido && temporizadorGoBackN != null) {
+      temporizadorGoBackN.confirmar(seqAck); //No Go-Back-N o ACK eh cumulativo
+    } else if (ackValido && temporizador != null) {
+      if (seqAck == sessao.seqEsperadoACK) {
+        System.out.println("> ACK recebido e confirmado (Seq=" + seqAck + ", esperava " + sessao.seqEsperadoACK + 
+                          ") - chamando liberar()");
+        sessao.seqEsperadoACK = (sessao.seqEsperadoACK + 1) % 2; // Alterna entre 0 e 1, antes que liberar() dispare o proximo envio
+        temporizador.liberar(); // Cancela o prazo do quadro atual
+        System.out.println("> ACK processado - novo seqEsperado=" + sessao.seqEsperadoACK);
+      } else {
+        System.out.println("> ACK recebido com Seq incorreto (" + seqAck + " esperava " + sessao.seqEsperadoACK + ") - ignorado");
+      }
+    } else if (ack != null && ack.length > 0) {
+      // Debug: mostra o que foi recebido se nao foi reconhecido como ACK
+      if (temporizador == null) {
+        System.out.println("> ACK recebido mas temporizador eh null - transmissao ja terminou?");
+      } else if (!ackValido) {
+        System.out.println("> ACK nao reconhecido - primeiro byte: 0x" + Integer.toHexString(ack[0] & 0xFF) + 
+                           ", length: " + ack.length);
+      }
+    } else {
+      System.out.println("> ACKtemporizador: ack eh null ou vazio");
     }
-    
-    return quadroOriginal;
-
-  } //Fim camadaEnlaceDadosReceptoraControleDeErrosCodigoHamming
-
+  }
 
 } //Fim da classe CamadaEnlaceDadosTransmissora
\ No newline at end of file
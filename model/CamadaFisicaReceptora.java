@@ -1,9 +1,17 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
+import controller.ControladorSimulacao;
+import util.Codificador4B5B;
+import util.Codificador8B10B;
+import util.CodificadorAMI;
+import util.CodificadorManchester;
+import util.CodificadorManchesterDiferencial;
+import util.CodificadorNRZI;
+import util.EnquadradorViolacao;
 import util.Util;
 
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * Simula o funcionamento da camada fisica de um receptor em uma rede.
@@ -13,7 +21,7 @@ import java.util.Arrays;
  * desenquadrar e enviar para a camada de enlace de dados receptora.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class CamadaFisicaReceptora {
@@ -24,52 +32,95 @@ public class CamadaFisicaReceptora {
    * Recebe o fluxo de bits e seleciona o metodo de decodificacao apropriado
    * com base na escolha do usuario na interface grafica.
    *
-   * @param fluxoBits   O fluxo de bits codificado recebido do meio de comunicacao.
-   * @param controller  O controlador da interface grafica.
+   * @param fluxoBits     O fluxo de bits codificado recebido do meio de comunicacao.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @param controller    O controlador da interface grafica.
    */
-  protected static void camadaFisicaReceptora(int fluxoBits[], ControllerTelaPrincipal controller) {
+  protected static void camadaFisicaReceptora(int fluxoBits[], int bytesDoQuadro, ControladorSimulacao controller) {
 
-    //Verifica se eh ACK antes de processar (ACK tem 1 inteiro de 32 bits = 0x80000000)
-    if (fluxoBits != null && fluxoBits.length == 1 && fluxoBits[0] == 0x80000000) {
-      //ACK nao precisa ser decodificado - encaminha diretamente
-      return;
-    }
+    byte quadro[] = decodificarFluxo(fluxoBits, bytesDoQuadro, controller);
 
-    int[] fluxoBitsDecodificar; //Fluxo de bits, possivelmente enquadrado, a ser decodificado
+    CamadaEnlaceDadosReceptora.camadaEnlaceDadosReceptora(quadro, controller);
+  } //Fim camadaFisicaReceptora
 
-    if(controller.getEnquadramento() == 4){ //Se for Violacao da Cod. da Camada Fisica
-      fluxoBitsDecodificar = camadaFisicaReceptoraDesenquadramentoViolacao(fluxoBits);
-    } else {
-      fluxoBitsDecodificar = fluxoBits;
-    }
 
-    int quadro[];
-    
-    switch (controller.getCodificacao()) { //Obtem a codificacao escolhida na interface grafica
-      case 1: //Decodificacao Binaria
-        quadro = camadaFisicaReceptoraDecodificacaoBinaria(fluxoBitsDecodificar);
-        break;
-      case 2: //Decodificacao Manchester
-        quadro = camadaFisicaReceptoraDecodificacaoManchester(fluxoBitsDecodificar);
-        break;
-      default: //Decodificacao Manchester Diferencial
-        quadro = camadaFisicaReceptoraDecodificacaoManchesterDiferencial(fluxoBitsDecodificar);
-        break;
-    } //Fim switch-case
+  /**
+   * Cria o receptor que decodifica o fluxo enquanto ele chega do meio.
+   * <p>
+   * Usado por MeioDeComunicacao.transmitirEmFluxo(): cada palavra eh decodificada
+   * ao chegar e, no fim do fluxo, o quadro vai para a camada de enlace receptora,
+   * como em camadaFisicaReceptora().
+   *
+   * @param  controller      O controlador da interface grafica.
+   * @param  bytesDoQuadro   O numero de bytes do quadro, informado pelo transmissor.
+   * @return ReceptorDeFluxo O receptor da camada fisica para um quadro.
+   */
+  protected static ReceptorDeFluxo receptorEmFluxo(ControladorSimulacao controller, int bytesDoQuadro) {
+    return new DecodificadorEmFluxo(controller, bytesDoQuadro,
+        quadro -> CamadaEnlaceDadosReceptora.camadaEnlaceDadosReceptora(quadro, controller));
+  } //Fim receptorEmFluxo
 
-    if(controller.getControleErro() == 3){ //Se o controle de erro for CRC
-      int tamanhoSemPadding = quadro.length;
 
-      if(quadro[tamanhoSemPadding-1] == 0){
-        tamanhoSemPadding--;
-      }
+  /**
+   * Desenquadra (violacao) e decodifica o fluxo de bits, sem entrega-lo a camada de enlace.
+   * <p>
+   * Usado por camadaFisicaReceptora() e pelo estagio da camada fisica receptora
+   * na execucao em estagios (PipelineEnlace).
+   *
+   * @param  fluxoBits     O fluxo de bits codificado recebido do meio de comunicacao.
+   * @param  bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @param  controller    O controlador da interface grafica.
+   * @return byte[]        O quadro decodificado, ou null se o sinal tinha simbolos invalidos.
+   */
+  protected static byte[] decodificarFluxo(int fluxoBits[], int bytesDoQuadro, ControladorSimulacao controller) {
+    return decodificarFluxo(fluxoBits, (fluxoBits != null) ? fluxoBits.length : 0, bytesDoQuadro, controller);
+  } //Fim decodificarFluxo
 
-      quadro = Arrays.copyOf(quadro, tamanhoSemPadding);
-    }
 
-    //Logs detalhados removidos para organizacao - apenas processa os dados
-    CamadaEnlaceDadosReceptora.camadaEnlaceDadosReceptora(quadro, controller);
-  } //Fim camadaFisicaReceptora
+  /**
+   * Igual a decodificarFluxo(int[], int, ControladorSimulacao), mas usa apenas as
+   * primeiras tamanho palavras do vetor. Usado pelo estagio da camada fisica
+   * receptora, que le o fluxo direto da posicao do AnelDeQuadros escrita pelo meio.
+   *
+   * @param  fluxoBits     O vetor com o fluxo de bits codificado.
+   * @param  tamanho       O numero de palavras do fluxo.
+   * @param  bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @param  controller    O controlador da interface grafica.
+   * @return byte[]        O quadro decodificado (sempre um vetor novo), ou null se o sinal tinha simbolos invalidos.
+   */
+  protected static byte[] decodificarFluxo(int[] fluxoBits, int tamanho, int bytesDoQuadro,
+                                          ControladorSimulacao controller) {
+    DecodificadorEmFluxo decodificador = new DecodificadorEmFluxo(controller, bytesDoQuadro, null);
+    decodificador.receberPalavras(fluxoBits, 0, tamanho);
+    decodificador.fimDoFluxo();
+    return decodificador.getQuadro();
+  } //Fim decodificarFluxo
+
+
+  /**
+   * Retorna o numero de palavras que a codificacao gera para um quadro (antes do
+   * enquadramento por violacao). Com o tamanho do quadro, informado pelo
+   * transmissor, o receptor sabe onde os dados terminam sem procurar o padding
+   * no sinal.
+   *
+   * @param  codificacao   A codificacao (1 binaria, 2 Manchester, 3 Manchester Diferencial,
+   *                       4 NRZI, 5 AMI, 6 4B/5B, 7 8B/10B).
+   * @param  bytesDoQuadro O numero de bytes do quadro.
+   * @return int           O numero de palavras de 32 bits do sinal.
+   */
+  protected static int palavrasDoSinal(int codificacao, int bytesDoQuadro) {
+    switch (codificacao) {
+      case 2: //Manchester
+      case 3: //Manchester Diferencial
+      case 5: //AMI
+        return (bytesDoQuadro + 1) / 2; //Dois caracteres por palavra
+      case 6: //4B/5B
+      case 7: //8B/10B
+        return (bytesDoQuadro * Codificador8B10B.BITS_POR_CARACTERE + 31) / 32;
+      default: //Binaria e NRZI: quatro caracteres por palavra
+        return (bytesDoQuadro + 3) / 4;
+    } //Fim switch
+  } //Fim palavrasDoSinal
 
 
 
@@ -77,27 +128,14 @@ public class CamadaFisicaReceptora {
    * Realiza a decodificacao binaria do fluxo de bits.
    * <p>
    * Este metodo desempacota cada inteiro de 32 bits do fluxo de entrada
-   * em quatro caracteres de 8 bits (representados como inteiros).
+   * em quatro caracteres de 8 bits.
    *
-   * @param fluxoBits   Fluxo de bits a ser decodificado.
-   * @return int[]      Array de inteiros representando os caracteres originais.
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
    */
-  protected static int[] camadaFisicaReceptoraDecodificacaoBinaria(int fluxoBits[]) {
-
-    int decodificado[] = new int[fluxoBits.length * 4];
-
-    for (int i = 0; i < fluxoBits.length; i++) {
-      int aux = fluxoBits[i];
-
-      decodificado[i*4] = (aux >> 24) & 255; //Extrai os bits de 31-24
-      decodificado[i*4 + 1] = (aux >> 16) & 255; //Extrai de 23-16
-      decodificado[i*4 + 2] = (aux >> 8) & 255; //Extrai de 15-8
-      decodificado[i*4 + 3] = aux & 255; //Extrai de 7-0
-
-    } //Fim for
-
-    return decodificado;
-    
+  protected static byte[] camadaFisicaReceptoraDecodificacaoBinaria(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(1, fluxoBits, bytesDoQuadro);
   } //Fim camadaFisicaReceptoraDecodificacaoBinaria
 
 
@@ -108,70 +146,12 @@ public class CamadaFisicaReceptora {
    * convertido de volta para um unico bit (0 ou 1). Cada inteiro de 32 bits
    * do fluxo de entrada eh decodificado em dois caracteres de 8 bits.
    *
-   * @param fluxoBits   Fluxo de bits a ser decodificado.
-   * @return int[]      Array de inteiros representando os caracteres originais.
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
    */
-  protected static int[] camadaFisicaReceptoraDecodificacaoManchester(int fluxoBits[]) {
-
-    // Array temporario com tamanho maximo possivel
-    int[] decodificadoTemp = new int[fluxoBits.length * 2];
-    int bytesDecodificados = 0;
-    
-    for (int i = 0; i < fluxoBits.length; i++) {
-        int intRecebido = fluxoBits[i];
-        
-        // Se o inteiro eh completamente zero, pula (padding final)
-        if (intRecebido == 0) {
-            break;
-        }
-        
-        // Decodifica o primeiro caractere (bits 31-16)
-        int primeiroChar = 0;
-        boolean primeiraMetadeValida = false;
-        
-        for (int j = 0; j < 8; j++) {
-            int par = (intRecebido >> (30 - j*2)) & 0b11;
-            primeiroChar <<= 1;
-            if(par == 0b10){
-                primeiroChar |= 1;
-            }
-            if (par != 0) {
-                primeiraMetadeValida = true;
-            }
-        }
-        
-        // So adiciona se a primeira metade tem dados validos
-        if (primeiraMetadeValida) {
-            decodificadoTemp[bytesDecodificados++] = primeiroChar;
-        }
-        
-        // Decodifica o segundo caractere (bits 15-0)
-        int segundoChar = 0;
-        boolean segundaMetadeValida = false;
-        
-        for (int j = 0; j < 8; j++) {
-            int par = (intRecebido >> (14 - j*2)) & 0b11;
-            segundoChar <<= 1;
-            if(par == 0b10){
-                segundoChar |= 1;
-            }
-            if (par != 0) {
-                segundaMetadeValida = true;
-            }
-        }
-        
-        // So adiciona se a segunda metade tem dados validos
-        if (segundaMetadeValida) {
-            decodificadoTemp[bytesDecodificados++] = segundoChar;
-        }
-    }
-    
-    // Cria array final com tamanho exato
-    int[] decodificado = new int[bytesDecodificados];
-    System.arraycopy(decodificadoTemp, 0, decodificado, 0, bytesDecodificados);
-    
-    return decodificado;
-
+  protected static byte[] camadaFisicaReceptoraDecodificacaoManchester(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(2, fluxoBits, bytesDoQuadro);
   } //Fim camadaFisicaReceptoraDecodificacaoManchester
 
 
@@ -182,156 +162,418 @@ public class CamadaFisicaReceptora {
    * periodo de bit em relacao ao final do periodo anterior. Uma transicao
    * representa um bit 0, e a ausencia de transicao representa um bit 1.
    *
-   * @param fluxoBits   Fluxo de bits a ser decodificado.
-   * @return int[]      Array de inteiros representando os caracteres originais.
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
    */
-  protected static int[] camadaFisicaReceptoraDecodificacaoManchesterDiferencial(int fluxoBits[]) {
-
-    // Array temporario com tamanho maximo possivel
-    int[] decodificadoTemp = new int[fluxoBits.length * 2];
-    int bytesDecodificados = 0;
-    boolean ultimoSinal = true;
-
-    for (int i = 0; i < fluxoBits.length; i++) {
-        int intRecebido = fluxoBits[i];
-        
-        // Se o inteiro eh completamente zero, pula (padding final)
-        if (intRecebido == 0) {
-            break;
-        }
-        
-        // Decodifica o primeiro caractere (bits 31-16)
-        int primeiroChar = 0;
-        boolean primeiraMetadeValida = false;
-        
-        for (int j = 0; j < 8; j++) {
-            int primeiroSinalPar = (intRecebido >> (31 - j * 2)) & 1;
-            int segundoSinalPar = (intRecebido >> (30 - j * 2)) & 1;
-
-            primeiroChar <<= 1;
-
-            if ((primeiroSinalPar == 1) == ultimoSinal) {
-                primeiroChar |= 1;
-            }
-            ultimoSinal = (segundoSinalPar == 1);
-            
-            if (primeiroSinalPar != 0 || segundoSinalPar != 0) {
-                primeiraMetadeValida = true;
-            }
-        }
+  protected static byte[] camadaFisicaReceptoraDecodificacaoManchesterDiferencial(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(3, fluxoBits, bytesDoQuadro);
+  } //Fim camadaFisicaReceptoraDecodificacaoManchesterDiferencial
 
-        // So adiciona se a primeira metade tem dados validos
-        if (primeiraMetadeValida) {
-            decodificadoTemp[bytesDecodificados++] = primeiroChar;
-        }
 
-        // Decodifica o segundo caractere (bits 15-0)
-        int segundoChar = 0;
-        boolean segundaMetadeValida = false;
-        
-        for (int j = 0; j < 8; j++) {
-            int primeiroSinalPar = (intRecebido >> (15 - j * 2)) & 1;
-            int segundoSinalPar = (intRecebido >> (14 - j * 2)) & 1;
-
-            segundoChar <<= 1;
-            if ((primeiroSinalPar == 1) == ultimoSinal) {
-                segundoChar |= 1;
-            }
-            ultimoSinal = (segundoSinalPar == 1);
-            
-            if (primeiroSinalPar != 0 || segundoSinalPar != 0) {
-                segundaMetadeValida = true;
-            }
-        }
-        
-        // So adiciona se a segunda metade tem dados validos
-        if (segundaMetadeValida) {
-            decodificadoTemp[bytesDecodificados++] = segundoChar;
-        }
-    }
-    
-    // Cria array final com tamanho exato
-    int[] decodificado = new int[bytesDecodificados];
-    System.arraycopy(decodificadoTemp, 0, decodificado, 0, bytesDecodificados);
-    
-    return decodificado;
+  /**
+   * Realiza a decodificacao NRZI do fluxo de bits.
+   * <p>
+   * Uma mudanca de nivel em relacao ao bit anterior representa 1, e a ausencia
+   * dela representa 0. Cada inteiro de 32 bits vira quatro caracteres, como na
+   * decodificacao binaria.
+   *
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
+   */
+  protected static byte[] camadaFisicaReceptoraDecodificacaoNRZI(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(4, fluxoBits, bytesDoQuadro);
+  } //Fim camadaFisicaReceptoraDecodificacaoNRZI
 
-  } //Fim camadaFisicaReceptoraDecodificacaoManchesterDiferencial
-  
 
   /**
-   * Realiza o desenquadramento dos dados com a Violacao da Codificacao da Camada Fisica.
+   * Realiza a decodificacao AMI (bipolar) do fluxo de bits.
    * <p>
-   * Este metodo procura pela flag de violacao (dois bits '1' consecutivos),
-   * que delimita o inicio e o fim do quadro, extraindo apenas os dados contidos entre elas.
+   * Cada par de bits eh um simbolo de tres niveis: o nulo (00) representa 0 e os
+   * pulsos (10 e 01) representam 1. Cada inteiro de 32 bits vira dois caracteres.
    *
-   * @param fluxoBitsEnquadrado   Fluxo de bits enquadrado a ser desenquadrado.
-   * @return int[]                Array de bits codificados desenquadrados.
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
    */
-  protected static int[] camadaFisicaReceptoraDesenquadramentoViolacao(int[] fluxoBitsEnquadrado) {
+  protected static byte[] camadaFisicaReceptoraDecodificacaoAMI(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(5, fluxoBits, bytesDoQuadro);
+  } //Fim camadaFisicaReceptoraDecodificacaoAMI
 
-    if (fluxoBitsEnquadrado == null || fluxoBitsEnquadrado.length == 0) {
-      return new int[0];
-    }
 
-    //Encontra o numero total de bits significativos no fluxo de entrada
-    int totalBits = 0;
-    int ultimoIntComDados = -1;
-    for (int i = fluxoBitsEnquadrado.length - 1; i >= 0; i--) {
-      if (fluxoBitsEnquadrado[i] != 0) {
-        ultimoIntComDados = i;
-        break;
-      }
-    } //Fim for
+  /**
+   * Realiza a decodificacao 4B/5B (com NRZI) do fluxo de bits.
+   * <p>
+   * Desfaz o NRZI e converte cada grupo de 10 bits de volta em um caractere; o
+   * preenchimento com o simbolo IDLE, depois do ultimo, eh ignorado.
+   *
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
+   */
+  protected static byte[] camadaFisicaReceptoraDecodificacao4B5B(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(6, fluxoBits, bytesDoQuadro);
+  } //Fim camadaFisicaReceptoraDecodificacao4B5B
 
-    if (ultimoIntComDados != -1) {
-      int ultimoInt = fluxoBitsEnquadrado[ultimoIntComDados];
-      int posUltimoBit = 31 - Integer.numberOfLeadingZeros(ultimoInt);
-      totalBits = (ultimoIntComDados * 32) + posUltimoBit + 1;
-    }
 
-    //Validacao basica: precisa ter pelo menos as duas flags (4 bits)
-    if (totalBits < 4) {
-      System.err.println("Erro de desenquadramento: fluxo de bits muito curto.");
+  /**
+   * Realiza a decodificacao 8B/10B do fluxo de bits.
+   * <p>
+   * Converte cada grupo de 10 bits de volta em um caractere, conferindo a
+   * disparidade corrente; o preenchimento com o simbolo K28.5, depois do
+   * ultimo, eh ignorado.
+   *
+   * @param fluxoBits     Fluxo de bits a ser decodificado.
+   * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+   * @return byte[]       Os caracteres originais, um por byte.
+   */
+  protected static byte[] camadaFisicaReceptoraDecodificacao8B10B(int fluxoBits[], int bytesDoQuadro) {
+    return decodificarVetor(7, fluxoBits, bytesDoQuadro);
+  } //Fim camadaFisicaReceptoraDecodificacao8B10B
+
+
+  /**
+   * Decodifica um fluxo inteiro, ja desenquadrado, com o DecodificadorEmFluxo.
+   *
+   * @param  codificacao   A codificacao do fluxo.
+   * @param  fluxoBits     O fluxo de bits.
+   * @param  bytesDoQuadro O numero de bytes do quadro.
+   * @return byte[]        O quadro, com exatamente bytesDoQuadro posicoes.
+   */
+  private static byte[] decodificarVetor(int codificacao, int[] fluxoBits, int bytesDoQuadro) {
+    DecodificadorEmFluxo decodificador = new DecodificadorEmFluxo(codificacao, false, bytesDoQuadro, null);
+    decodificador.receberPalavras(fluxoBits, 0, fluxoBits.length);
+    return decodificador.getBytes();
+  } //Fim decodificarVetor
+  
+
+  /**
+   * Realiza o desenquadramento dos dados com a Violacao da Codificacao da Camada Fisica.
+   * <p>
+   * Os dados comecam depois da flag de violacao inicial (dois bits '1'
+   * consecutivos) e o seu tamanho vem do tamanho do quadro, entao a flag final
+   * nao precisa ser procurada no sinal.
+   *
+   * @param fluxoBitsEnquadrado O vetor com o fluxo de bits enquadrado.
+   * @param tamanho             O numero de palavras do fluxo.
+   * @param numBits             O numero de bits de dados (ver palavrasDoSinal()).
+   * @return int[]              Array de bits codificados desenquadrados.
+   */
+  protected static int[] camadaFisicaReceptoraDesenquadramentoViolacao(int[] fluxoBitsEnquadrado, int tamanho,
+                                                                       int numBits) {
+
+    if (fluxoBitsEnquadrado == null || tamanho == 0) {
       return new int[0];
     }
 
-    //Calcula o tamanho do novo fluxo de bits (sem as flags)
-    int numDataBits = totalBits - 4;
-    int tamanhoArraySaida = (numDataBits + 31) / 32;
-    int[] fluxoDesenquadrado = new int[tamanhoArraySaida];
+    //Com perda de palavras no meio, o fluxo pode terminar antes dos dados
+    int bitsRecebidos = tamanho * 32 - EnquadradorViolacao.BITS_DA_FLAG;
+    if (numBits > bitsRecebidos) {
+      System.err.println("Erro de desenquadramento: fluxo de bits mais curto que o quadro.");
+      numBits = Math.max(0, bitsRecebidos) & ~31; //So as palavras completas
+    }
 
-    //Copia os bits de dados (pulando as flags)
-    int idxEntrada = 0;
-    int deslocamentoEntrada = 29; //Pula os 2 primeiros bits (pos 31 e 30)
-    int idxSaida = 0;
-    int deslocamentoSaida = 31;
+    return EnquadradorViolacao.desenquadrar(fluxoBitsEnquadrado, tamanho, numBits);
 
-    for (int i = 0; i < numDataBits; i++) {
-      //Pega o bit da entrada
-      int bit = (fluxoBitsEnquadrado[idxEntrada] >> deslocamentoEntrada) & 1;
+  } //Fim camadaFisicaReceptoraDesenquadramentoViolacao
 
-      //Coloca o bit na saida
-      fluxoDesenquadrado[idxSaida] |= bit << deslocamentoSaida;
 
-      //Atualiza os ponteiros
-      deslocamentoEntrada--;
-      deslocamentoSaida--;
+  /**
+   * Decodificador incremental da camada fisica receptora.
+   * <p>
+   * Recebe o fluxo aos pedacos, a medida que as palavras atravessam o meio, e
+   * decodifica cada palavra assim que ela chega: quando o meio termina, falta
+   * apenas montar o quadro. Cada palavra depende so dela mesma (binaria e
+   * Manchester) ou do estado do sinal no fim da anterior (o nivel no Manchester
+   * Diferencial, no NRZI e no 4B/5B, a polaridade no AMI e a disparidade no
+   * 8B/10B), guardado entre as chamadas; no 4B/5B e no 8B/10B os bits de um
+   * caractere que atravessa duas palavras tambem esperam a seguinte. Com a violacao da camada fisica, a flag final so
+   * eh reconhecida no fim do fluxo; nesse caso as palavras sao guardadas e
+   * desenquadradas em fimDoFluxo(). As versoes de vetor inteiro
+   * (camadaFisicaReceptoraDecodificacao...) usam este mesmo decodificador.
+   * <p>
+   * O tamanho do quadro em bytes vem do transmissor, junto com o sinal. O vetor
+   * do quadro eh criado com esse tamanho e cada caractere eh decodificado pela
+   * sua posicao: a metade de padding de uma palavra Manchester ou AMI e o
+   * preenchimento do 4B/5B e do 8B/10B sao simplesmente ignorados, sem procurar
+   * palavras nulas ou simbolos de fim no sinal. Um simbolo de preenchimento
+   * dentro do quadro eh um caractere invalido, e posicoes que nao chegaram (perda
+   * de palavras no meio) ficam nulas. Um caractere invalido so aparece se o sinal
+   * foi alterado no meio: o quadro eh descartado (entregue como null), e a camada
+   * de enlace o trata como um erro detectado, sem depender do controle de erros.
+   */
+  static class DecodificadorEmFluxo implements ReceptorDeFluxo {
+    private final int codificacao; //1 binaria, 2 Manchester, 3 Manchester Diferencial, 4 NRZI, 5 AMI, 6 4B/5B, 7 8B/10B
+    private final boolean violacao; //Fluxo enquadrado por violacao da camada fisica
+    private final Consumer<byte[]> entrega; //Recebe o quadro no fim do fluxo (null: apenas guarda)
+
+    private final byte[] bytes; //O quadro, do tamanho informado pelo transmissor
+    private int quantidade; //Posicoes ja decodificadas de bytes
+    private int caracteresInvalidos; //Caracteres com simbolos que o codigo nao gera (sinal alterado no meio)
+    private int nivel; //Manchester Diferencial, NRZI e 4B/5B: nivel do sinal no fim do bit anterior
+    private int polaridade = CodificadorAMI.POLARIDADE_INICIAL; //AMI: polaridade do ultimo pulso
+    private int disparidade = Codificador8B10B.DISPARIDADE_INICIAL; //8B/10B: disparidade corrente
+    private long acumulador; //4B/5B e 8B/10B: bits recebidos que ainda nao formam um caractere (nos bits menos significativos)
+    private int bitsAcumulados;
+    private int[] palavrasGuardadas; //Violacao: o fluxo ainda enquadrado
+    private int palavrasRecebidas;
+    private byte[] quadro; //Resultado, depois de fimDoFluxo()
+
+    /**
+     * Cria o decodificador com a configuracao atual do controlador.
+     *
+     * @param controller    O controlador da interface grafica.
+     * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+     * @param entrega       Quem recebe o quadro no fim do fluxo (ou null).
+     */
+    DecodificadorEmFluxo(ControladorSimulacao controller, int bytesDoQuadro, Consumer<byte[]> entrega) {
+      this(controller.getCodificacao(), controller.getEnquadramento() == 4, bytesDoQuadro, entrega);
+    } //Fim construtor
+
+    /**
+     * Cria o decodificador.
+     *
+     * @param codificacao   A codificacao (1 binaria, 2 Manchester, 3 Manchester Diferencial,
+     *                      4 NRZI, 5 AMI, 6 4B/5B, 7 8B/10B).
+     * @param violacao      Se o fluxo vem enquadrado por violacao da camada fisica.
+     * @param bytesDoQuadro O numero de bytes do quadro, informado pelo transmissor.
+     * @param entrega       Quem recebe o quadro no fim do fluxo (ou null).
+     */
+    DecodificadorEmFluxo(int codificacao, boolean violacao, int bytesDoQuadro, Consumer<byte[]> entrega) {
+      this.codificacao = codificacao;
+      this.violacao = violacao;
+      this.entrega = entrega;
+      this.bytes = new byte[bytesDoQuadro];
+      this.nivel = (codificacao == 3) ? CodificadorManchesterDiferencial.NIVEL_INICIAL : CodificadorNRZI.NIVEL_INICIAL;
+      if (violacao) { //O tamanho do fluxo enquadrado tambem eh conhecido
+        int bitsDoSinal = palavrasDoSinal(codificacao, bytesDoQuadro) * 32;
+        this.palavrasGuardadas = new int[(bitsDoSinal + 2 * EnquadradorViolacao.BITS_DA_FLAG + 31) / 32];
+      }
+    } //Fim construtor
 
-      if (deslocamentoEntrada < 0) {
-        deslocamentoEntrada = 31;
-        idxEntrada++;
+    @Override
+    public void receberPalavras(int[] palavras, int inicio, int quantidadePalavras) {
+      if (quantidadePalavras <= 0) {
+        return;
       }
-      if (deslocamentoSaida < 0) {
-        deslocamentoSaida = 31;
-        idxSaida++;
+      if (violacao) { //Os dados so comecam depois da flag: guarda para desenquadrar no fim
+        if (palavrasRecebidas + quantidadePalavras > palavrasGuardadas.length) { //Palavras duplicadas pelo meio
+          palavrasGuardadas = Arrays.copyOf(palavrasGuardadas,
+              Math.max(palavrasGuardadas.length * 2, palavrasRecebidas + quantidadePalavras));
+        }
+        System.arraycopy(palavras, inicio, palavrasGuardadas, palavrasRecebidas, quantidadePalavras);
+      } else {
+        decodificar(palavras, inicio, quantidadePalavras);
+      } //Fim if-else
+
+      palavrasRecebidas += quantidadePalavras;
+    } //Fim receberPalavras
+
+    @Override
+    public void fimDoFluxo() {
+      if (violacao) {
+        int[] desenquadrado = camadaFisicaReceptoraDesenquadramentoViolacao(palavrasGuardadas, palavrasRecebidas,
+            palavrasDoSinal(codificacao, bytes.length) * 32);
+        decodificar(desenquadrado, 0, desenquadrado.length);
       }
 
-    } //Fim for
+      if (quantidade < bytes.length) {
+        System.out.println("> CamadaFisicaReceptora: o sinal terminou antes do quadro (" + quantidade
+            + " de " + bytes.length + " bytes)");
+      }
 
-    return fluxoDesenquadrado;
+      if (caracteresInvalidos > 0) { //Violacao do codigo: erro detectado na propria camada fisica
+        System.out.println("> CamadaFisicaReceptora: " + caracteresInvalidos
+            + " caractere(s) com simbolos de sinal invalidos - quadro descartado");
+        quadro = null;
+      } else {
+        quadro = bytes;
+      } //Fim if-else
 
-  } //Fim camadaFisicaReceptoraDesenquadramentoViolacao
+      if (entrega != null) {
+        entrega.accept(quadro);
+      }
+    } //Fim fimDoFluxo
+
+    /**
+     * Retorna o quadro montado em fimDoFluxo().
+     *
+     * @return byte[] O quadro, ou null se o fluxo ainda nao terminou ou foi descartado.
+     */
+    byte[] getQuadro() {
+      return quadro;
+    } //Fim getQuadro
+
+    /**
+     * Retorna os bytes do quadro, sem as regras do fim do fluxo.
+     *
+     * @return byte[] O quadro, com as posicoes ainda nao decodificadas nulas.
+     */
+    byte[] getBytes() {
+      return bytes;
+    } //Fim getBytes
+
+    /**
+     * Decodifica uma sequencia de palavras ja desenquadradas, ate completar o quadro.
+     *
+     * @param palavras           O vetor com as palavras.
+     * @param inicio             A posicao da primeira palavra.
+     * @param quantidadePalavras O numero de palavras.
+     */
+    private void decodificar(int[] palavras, int inicio, int quantidadePalavras) {
+      for (int i = inicio; i < inicio + quantidadePalavras && quantidade < bytes.length; i++) {
+        int palavra = palavras[i];
+        boolean soUmCaractere = (bytes.length - quantidade == 1); //Ultima palavra de um quadro de tamanho impar
+
+        switch (codificacao) {
+          case 1: //Binaria: quatro caracteres de 8 bits por palavra
+            decodificarPalavraBinaria(palavra);
+            break;
+          case 2: //Manchester: o caractere isolado fica nos bits 15-0
+            if (!soUmCaractere) {
+              decodificarMetadeManchester(palavra >>> 16); //Bits 31-16
+            }
+            decodificarMetadeManchester(palavra & 0xFFFF); //Bits 15-0
+            break;
+          case 3: //Manchester Diferencial
+            if (!soUmCaractere) {
+              decodificarMetadeManchesterDiferencial(palavra >>> 16);
+            }
+            decodificarMetadeManchesterDiferencial(palavra & 0xFFFF);
+            break;
+          case 4: //NRZI: sem o NRZI, os caracteres estao empacotados como na binaria
+            decodificarPalavraBinaria(CodificadorNRZI.decodificar(palavra, nivel));
+            nivel = palavra & 1;
+            break;
+          case 5: //AMI: dois caracteres por palavra; o isolado fica nos bits 31-16
+            decodificarMetadeAMI(palavra >>> 16);
+            if (!soUmCaractere) {
+              decodificarMetadeAMI(palavra & 0xFFFF);
+            }
+            break;
+          case 6: //4B/5B, depois de desfeito o NRZI
+            decodificarCaracteresDe10Bits(CodificadorNRZI.decodificar(palavra, nivel));
+            nivel = palavra & 1;
+            break;
+          default: //8B/10B
+            decodificarCaracteresDe10Bits(palavra);
+            break;
+        } //Fim switch
+      } //Fim for
+    } //Fim decodificar
+
+    /**
+     * Separa uma palavra binaria (ou NRZI ja desfeita) em ate quatro caracteres;
+     * os bytes de padding da ultima palavra sao ignorados.
+     *
+     * @param palavra Os 32 bits, com o primeiro caractere nos bits 31-24.
+     */
+    private void decodificarPalavraBinaria(int palavra) {
+      int caracteres = Math.min(4, bytes.length - quantidade);
+      for (int j = 0; j < caracteres; j++) {
+        bytes[quantidade++] = (byte) (palavra >>> (24 - j * 8)); //Bits 31-24, 23-16, 15-8 e 7-0
+      }
+    } //Fim decodificarPalavraBinaria
+
+    /**
+     * Decodifica 16 bits Manchester (8 pares 01 ou 10) em um caractere, pela
+     * tabela de CodificadorManchester.
+     *
+     * @param metade Os 16 bits, nos bits 15-0.
+     */
+    private void decodificarMetadeManchester(int metade) {
+      int caractere = CodificadorManchester.decodificar(metade);
+
+      if (caractere == CodificadorManchester.SEM_DADOS) { //Dentro do quadro, sem dados eh erro
+        caracteresInvalidos++;
+        bytes[quantidade++] = 0;
+        return;
+      }
+      if ((caractere & CodificadorManchester.SIMBOLO_INVALIDO) != 0) {
+        caracteresInvalidos++;
+      }
+      bytes[quantidade++] = (byte) caractere;
+    } //Fim decodificarMetadeManchester
+
+    /**
+     * Decodifica 16 bits Manchester Diferencial em um caractere, pelas tabelas de
+     * CodificadorManchesterDiferencial: uma transicao no inicio do periodo
+     * representa 0, e a ausencia dela representa 1.
+     *
+     * @param metade Os 16 bits, nos bits 15-0.
+     */
+    private void decodificarMetadeManchesterDiferencial(int metade) {
+      int resultado = CodificadorManchesterDiferencial.decodificar(metade, nivel);
+
+      if (resultado == CodificadorManchesterDiferencial.SEM_DADOS) { //Dentro do quadro, sem dados eh erro
+        caracteresInvalidos++;
+        bytes[quantidade++] = 0;
+        return;
+      }
+      if ((resultado & CodificadorManchesterDiferencial.SIMBOLO_INVALIDO) != 0) {
+        caracteresInvalidos++;
+      }
+      nivel = CodificadorManchesterDiferencial.proximoNivel(resultado);
+      bytes[quantidade++] = (byte) resultado;
+    } //Fim decodificarMetadeManchesterDiferencial
+
+    /**
+     * Decodifica 16 bits AMI (8 simbolos) em um caractere, pelas tabelas de
+     * CodificadorAMI: qualquer pulso representa 1 e o nulo representa 0.
+     *
+     * @param metade Os 16 bits, nos bits 15-0.
+     */
+    private void decodificarMetadeAMI(int metade) {
+      int resultado = CodificadorAMI.decodificar(metade, polaridade);
+
+      if ((resultado & CodificadorAMI.SIMBOLO_INVALIDO) != 0) {
+        caracteresInvalidos++; //Violacao bipolar ou simbolo 11
+      }
+      polaridade = CodificadorAMI.proximaPolaridade(resultado);
+      bytes[quantidade++] = (byte) resultado;
+    } //Fim decodificarMetadeAMI
+
+    /**
+     * Acrescenta 32 bits ao acumulador e decodifica os caracteres de 10 bits
+     * (4B/5B ou 8B/10B) que ficaram completos. Um caractere pode comecar em uma
+     * palavra e terminar na seguinte; os bits que sobram esperam a proxima. Os
+     * bits depois do ultimo caractere do quadro sao preenchimento e nao sao lidos.
+     *
+     * @param bits Os 32 bits, ja sem o NRZI no caso do 4B/5B.
+     */
+    private void decodificarCaracteresDe10Bits(int bits) {
+      acumulador = (acumulador << 32) | (bits & 0xFFFFFFFFL);
+      bitsAcumulados += 32;
+
+      while (bitsAcumulados >= Codificador8B10B.BITS_POR_CARACTERE && quantidade < bytes.length) {
+        bitsAcumulados -= Codificador8B10B.BITS_POR_CARACTERE;
+        int codigo = (int) (acumulador >>> bitsAcumulados) & 0x3FF;
+        int resultado;
+
+        if (codificacao == 6) {
+          resultado = Codificador4B5B.decodificar(codigo);
+        } else {
+          resultado = Codificador8B10B.decodificar(codigo, disparidade);
+          if (resultado == Codificador8B10B.FIM_DOS_DADOS) {
+            disparidade ^= 1; //O K28.5 inverte a RD, como no transmissor
+          } else {
+            disparidade = Codificador8B10B.proximaDisparidade(resultado);
+          }
+        } //Fim if-else
+
+        if (resultado == Codificador8B10B.FIM_DOS_DADOS) { //Mesmo valor nas duas classes
+          caracteresInvalidos++; //Preenchimento dentro do quadro eh erro
+          bytes[quantidade++] = 0;
+          continue;
+        }
+        if ((resultado & Codificador8B10B.SIMBOLO_INVALIDO) != 0) { //Mesma marca nas duas classes
+          caracteresInvalidos++;
+        }
+        bytes[quantidade++] = (byte) resultado;
+      } //Fim while
+    } //Fim decodificarCaracteresDe10Bits
+  } //Fim da classe DecodificadorEmFluxo
 
 
 
@@ -346,29 +588,37 @@ public class CamadaFisicaReceptora {
    * Metodo principal que inicia a transmissao na camada fisica.
    * <p>
    * Seleciona o tipo de codificacao de acordo com a escolha na GUI, codifica
-   * os quadros e envia o fluxo de bits resultante para o meio de comunicacao.
+   * os ACKs e NAKs do receptor e envia o fluxo de bits resultante para o meio
+   * de comunicacao.
    *
-   * @param quadro      Array de inteiros com os dados vindos da camada de enlace.
+   * @param quadro      O quadro vindo da camada de enlace, um byte por posicao.
    * @param controller  Controlador da interface grafica.
    */
-  protected static void camadaFisicaTransmissora(int quadro[], ControllerTelaPrincipal controller) {
+  protected static void camadaFisicaTransmissora(byte quadro[], ControladorSimulacao controller) {
     int tipoCodificacao = controller.getCodificacao();
     int[] fluxoBits;
 
-    String codificacao = "";
-
     switch (tipoCodificacao) { //Seleciona o tipo de codificacao com base na escolha do usuario
       case 1: //Codificacao binaria simples
         fluxoBits = camadaFisicaTransmissoraCodificacaoBinaria(quadro, controller);
-        codificacao = "Binaria";
         break;
       case 2: //Codificacao Manchester
         fluxoBits = camadaFisicaTransmissoraCodificacaoManchester(quadro, controller);
-        codificacao = "Manchester";
         break;
-      default: //Codificacao Manchester Diferencial
+      case 3: //Codificacao Manchester Diferencial
         fluxoBits = camadaFisicaTransmissoraCodificacaoManchesterDiferencial(quadro, controller);
-        codificacao = "Manchester Diferencial";
+        break;
+      case 4: //Codificacao NRZI
+        fluxoBits = camadaFisicaTransmissoraCodificacaoNRZI(quadro, controller);
+        break;
+      case 5: //Codificacao AMI (bipolar)
+        fluxoBits = camadaFisicaTransmissoraCodificacaoAMI(quadro, controller);
+        break;
+      case 6: //Codificacao 4B/5B com NRZI
+        fluxoBits = camadaFisicaTransmissoraCodificacao4B5B(quadro, controller);
+        break;
+      default: //Codificacao 8B/10B
+        fluxoBits = camadaFisicaTransmissoraCodificacao8B10B(quadro, controller);
         break;
     } //Fim switch
 
@@ -380,33 +630,9 @@ public class CamadaFisicaReceptora {
       fluxoBitsFinal = fluxoBits;
     } //Fim if-else
 
-    //Verifica se eh ACK: ACK tem 1 byte (0x80 ou 0x81) que vira 1 inteiro de 32 bits (0x80000000 ou 0x81000000)
-    boolean ehACK = false;
-    if (quadro != null && quadro.length == 1) {
-      int primeiroByte = quadro[0] & 0xFF;
-      if ((primeiroByte & 0x80) == 0x80) {
-        //ACK tem bit 7 setado - pode ser 0x80, 0x81, etc
-        ehACK = true;
-      }
-    }
-    
-    if (!ehACK) {
-      for(int c : fluxoBits){
-        controller.adicionarBitsCodificadosTextArea(Util.bitsParaString(c));
-      }
-
-      System.out.println("\nCAMADA FISICA TRANSMISSORA ---------------------" + 
-      "\nA codificacao escolhida foi: " + codificacao + "\n");
-      for(int c : fluxoBitsFinal){
-        if(controller.getEnquadramento() == 4){
-          controller.adicionarBitsEnquadradosTextArea(Util.bitsParaString(c));
-        } //Fim if
-        
-        System.out.println(Util.bitsParaString(c));
-      } //Fim for
-    }
-    
-    MeioDeComunicacao.meioDeComunicacao(fluxoBitsFinal, controller, ehACK);
+    //Este transmissor so envia ACKs e NAKs: o tipo do quadro vem da direcao e nao
+    //do conteudo, entao um quadro de dados nunca eh confundido com um de controle
+    MeioDeComunicacao.meioDeComunicacao(fluxoBitsFinal, quadro.length, controller, true);
   } //Fim camadaFisicaTransmissora
 
 
@@ -414,14 +640,14 @@ public class CamadaFisicaReceptora {
   /**
    * Realiza a codificacao binaria dos dados.
    * <p>
-   * Neste metodo, quatro caracteres de 8 bits (representados como inteiros)
+   * Neste metodo, quatro caracteres de 8 bits (os bytes do quadro, sem sinal)
    * sao empacotados em um unico inteiro de 32 bits para transmissao.
    *
    * @param quadro      Vetor com os caracteres a serem codificados.
    * @param controller  Controlador da interface grafica.
    * @return int[]      Array de inteiros onde cada elemento representa um bloco de 32 bits codificados.
    */
-  protected static int[] camadaFisicaTransmissoraCodificacaoBinaria(int quadro[], ControllerTelaPrincipal controller) {
+  protected static int[] camadaFisicaTransmissoraCodificacaoBinaria(byte quadro[], ControladorSimulacao controller) {
 
     int tamanho = (quadro.length - 1) / 4 + 1; //Calcula o tamanho necessario para o array de bits codificados
     int codificado[] = new int[tamanho];
@@ -429,11 +655,11 @@ public class CamadaFisicaReceptora {
     for (int i = 0; i < codificado.length; i++) { //Laco para gerar cada bloco codificado
       int informacao = 0; //Variavel inteira que vai empacotar os 32 bits
 
-      informacao |= quadro[i * 4] << 24; //Armazena de 4 em 4
+      informacao |= (quadro[i * 4] & 0xFF) << 24; //Armazena de 4 em 4
 
-      if (i * 4 + 1 < quadro.length) {informacao |= (quadro[i * 4 + 1] << 16);} //Segundos 8 bits (posicoes 23-16)
-      if (i * 4 + 2 < quadro.length) {informacao |= (quadro[i * 4 + 2] << 8);} //Terceiros 8 bits (posicoes 15-8)
-      if (i * 4 + 3 < quadro.length) {informacao |= (quadro[i * 4 + 3]);} //Quartos 8 bits (posicoes 7-0)
+      if (i * 4 + 1 < quadro.length) {informacao |= ((quadro[i * 4 + 1] & 0xFF) << 16);} //Segundos 8 bits (posicoes 23-16)
+      if (i * 4 + 2 < quadro.length) {informacao |= ((quadro[i * 4 + 2] & 0xFF) << 8);} //Terceiros 8 bits (posicoes 15-8)
+      if (i * 4 + 3 < quadro.length) {informacao |= (quadro[i * 4 + 3] & 0xFF);} //Quartos 8 bits (posicoes 7-0)
       
       codificado[i] = informacao; //Armazena os bits acumulados de 4 caracteres no vetor
 
@@ -449,190 +675,130 @@ public class CamadaFisicaReceptora {
    * <p>
    * Cada bit eh transformado em dois: o bit 0 vira 01 e o bit 1 vira 10.
    * Por isso, cada caractere de 8 bits passa a ocupar 16 bits. Dois caracteres
-   * codificados sao empacotados em um inteiro de 32 bits.
+   * codificados sao empacotados em um inteiro de 32 bits. Os pares vem da tabela
+   * de CodificadorManchester.
    *
    * @param quadro      Vetor com os caracteres a serem codificados.
    * @param controller  Controlador da interface grafica.
    * @return int[]      Array de inteiros com os bits codificados.
    */
-  protected static int[] camadaFisicaTransmissoraCodificacaoManchester(int quadro[], ControllerTelaPrincipal controller) {
+  protected static int[] camadaFisicaTransmissoraCodificacaoManchester(byte quadro[], ControladorSimulacao controller) {
 
-    int tamanho = (quadro.length + 1) / 2;
-    int codificado[] = new int[tamanho];
-    int informacao;
+    return CodificadorManchester.codificar(quadro); //Uma consulta a tabela por caractere
+
+  } //Fim camadaFisicaTransmissoraCodificacaoManchester
 
-    for (int i = 0; i < tamanho; i++) { //Laco para processar os caracteres de entrada em pares
-      informacao = 0; //A variavel eh zerada para ser preenchida
 
-      //Laco que ira iterar sobre os 8 bits do primeiro caractere do par envolvido
-      for (int j = 7; j >= 0; j--) {
-        //Manchester codifica cada bit como 0 -> 01 e 1 -> 10
-        int bit = (quadro[i*2] >> j) & 1;
-        int par = (bit == 1) ? 0b10 : 0b01;
-        informacao = (informacao << 2) | par;
-      } //Fim for
+  /**
+   * Realiza a codificacao Manchester Diferencial dos dados.
+   * <p>
+   * A codificacao depende do bit anterior. Um bit '0' causa uma transicao
+   * no inicio do periodo, enquanto um bit '1' mantem o nivel de sinal do bit anterior.
+   * Uma transicao sempre ocorre no meio do periodo para manter o clock. Os
+   * pares vem das tabelas de CodificadorManchesterDiferencial, indexadas pelo nivel.
+   *
+   * @param quadro      Vetor com os caracteres a serem codificados.
+   * @param controller  Controlador da interface grafica.
+   * @return int[]      Array de inteiros com os bits codificados.
+   */
+  protected static int[] camadaFisicaTransmissoraCodificacaoManchesterDiferencial(byte quadro[], ControladorSimulacao controller) {
 
-      if (i * 2 + 1 < quadro.length) { //Verifica se ha proximo caractere para leitura
-        for (int j = 7; j >= 0; j--) {
-          int bit = (quadro[i*2 + 1] >> j) & 1;
-          int par = (bit == 1) ? 0b10 : 0b01;
-          informacao = (informacao << 2) | par;
-        } //Fim for
-      } //Fim if
+    return CodificadorManchesterDiferencial.codificar(quadro); //Uma consulta a tabela por caractere
 
-      codificado[i] = informacao;
-    } //Fim for
+  } //Fim camadaFisicaTransmissoraCodificacaoManchesterDiferencial
 
-    return codificado;
 
-  } //Fim camadaFisicaTransmissoraCodificacaoManchester
+  /**
+   * Realiza a codificacao NRZI dos dados.
+   * <p>
+   * O bit 1 inverte o nivel do sinal e o bit 0 o mantem, entao cada caractere
+   * continua ocupando 8 bits: quatro caracteres por inteiro de 32 bits, como na
+   * codificacao binaria. A inversao eh feita pela palavra inteira em
+   * CodificadorNRZI.
+   *
+   * @param quadro      Vetor com os caracteres a serem codificados.
+   * @param controller  Controlador da interface grafica.
+   * @return int[]      Array de inteiros com os bits codificados.
+   */
+  protected static int[] camadaFisicaTransmissoraCodificacaoNRZI(byte quadro[], ControladorSimulacao controller) {
+
+    return CodificadorNRZI.codificar(quadro);
+
+  } //Fim camadaFisicaTransmissoraCodificacaoNRZI
 
 
   /**
-   * Realiza a codificacao Manchester Diferencial dos dados.
+   * Realiza a codificacao AMI (bipolar) dos dados.
    * <p>
-   * A codificacao depende do bit anterior. Um bit '0' causa uma transicao
-   * no inicio do periodo, enquanto um bit '1' mantem o nivel de sinal do bit anterior.
-   * Uma transicao sempre ocorre no meio do periodo para manter o clock.
+   * O bit 0 vira o sinal nulo (00) e o bit 1 vira um pulso, alternadamente
+   * positivo (10) e negativo (01). Cada caractere passa a ocupar 16 bits, dois
+   * por inteiro de 32 bits. Os simbolos vem das tabelas de CodificadorAMI,
+   * indexadas pela polaridade do ultimo pulso.
    *
    * @param quadro      Vetor com os caracteres a serem codificados.
    * @param controller  Controlador da interface grafica.
    * @return int[]      Array de inteiros com os bits codificados.
    */
-  protected static int[] camadaFisicaTransmissoraCodificacaoManchesterDiferencial(int quadro[], ControllerTelaPrincipal controller) {
+  protected static int[] camadaFisicaTransmissoraCodificacaoAMI(byte quadro[], ControladorSimulacao controller) {
 
-    int tamanho = (quadro.length + 1) / 2;
-    int codificado[] = new int[tamanho];
-    int informacao;
+    return CodificadorAMI.codificar(quadro); //Uma consulta a tabela por caractere
 
-    Boolean ultimoSinal = true; //Armazena o estado do ultimo bit, isto eh, o diferencial dessa codificacao
+  } //Fim camadaFisicaTransmissoraCodificacaoAMI
 
-    for (int i = 0; i < tamanho; i++) {
-      informacao = 0; //O bloco eh zerado para ser preenchido
 
-      for (int k = 0; k < 2; k++) { //Processa os dois caracteres do par
-        if (i * 2 + k >= quadro.length) continue; //Pula se nao houver segundo caractere
+  /**
+   * Realiza a codificacao 4B/5B dos dados, seguida de NRZI.
+   * <p>
+   * Cada nibble vira um grupo de 5 bits, entao cada caractere passa a ocupar 10
+   * bits, empacotados continuamente nos inteiros de 32 bits. O fim da ultima
+   * palavra eh preenchido com o simbolo IDLE. Os grupos vem da tabela de
+   * Codificador4B5B.
+   *
+   * @param quadro      Vetor com os caracteres a serem codificados.
+   * @param controller  Controlador da interface grafica.
+   * @return int[]      Array de inteiros com os bits codificados.
+   */
+  protected static int[] camadaFisicaTransmissoraCodificacao4B5B(byte quadro[], ControladorSimulacao controller) {
 
-        int caractere = quadro[i * 2 + k];
+    return Codificador4B5B.codificar(quadro); //Uma consulta a tabela por caractere
 
-        for (int j = 7; j >= 0; j--) { //Loop processa do bit 7 ao 0
-          int bit = (caractere >> j) & 1; //Isola o bit da posicao 'j'
-          int primeiroSinal, segundoSinal;
+  } //Fim camadaFisicaTransmissoraCodificacao4B5B
 
-          if (bit == 0) { //Bit 0: transicao no inicio do periodo
-            primeiroSinal = ultimoSinal ? 0 : 1;
-            segundoSinal = ultimoSinal ? 1 : 0;
-          } else { //Bit 1: sem transicao no inicio do periodo
-            primeiroSinal = ultimoSinal ? 1 : 0;
-            segundoSinal = ultimoSinal ? 0 : 1;
-          }
-          
-          informacao <<= 2; //Abre espaco para os proximos 2 bits
-          informacao |= (primeiroSinal << 1) | segundoSinal; //Adiciona o par de bits codificados
-          ultimoSinal = (segundoSinal == 1); //Atualiza o ultimo sinal para o proximo bit
-        } //Fim for
-    } //Fim for k
-
-      codificado[i] = informacao;
-    } //Fim for
 
-    return codificado;
+  /**
+   * Realiza a codificacao 8B/10B dos dados.
+   * <p>
+   * Cada caractere vira 10 bits, escolhidos pela disparidade corrente para manter
+   * o sinal equilibrado, empacotados continuamente nos inteiros de 32 bits. O fim
+   * da ultima palavra eh preenchido com o simbolo K28.5. Os codigos vem da tabela
+   * de Codificador8B10B, indexada pela disparidade.
+   *
+   * @param quadro      Vetor com os caracteres a serem codificados.
+   * @param controller  Controlador da interface grafica.
+   * @return int[]      Array de inteiros com os bits codificados.
+   */
+  protected static int[] camadaFisicaTransmissoraCodificacao8B10B(byte quadro[], ControladorSimulacao controller) {
 
-  } //Fim camadaFisicaTransmissoraCodificacaoManchesterDiferencial
+    return Codificador8B10B.codificar(quadro); //Uma consulta a tabela por caractere
+
+  } //Fim camadaFisicaTransmissoraCodificacao8B10B
 
 
   /**
    * Realiza o enquadramento dos dados com a Violacao da Codificacao da Camada Fisica.
    * <p>
    * Este metodo insere uma flag de violacao (dois bits '1' consecutivos)
-   * no inicio e no fim do fluxo de bits para delimitar o quadro.
+   * no inicio e no fim do fluxo de bits para delimitar o quadro. Todas as
+   * palavras do fluxo sao dados (os codigos Manchester nunca geram uma palavra
+   * nula), entao o tamanho em bits eh conhecido e as palavras sao copiadas
+   * inteiras por EnquadradorViolacao, sem procurar o padding.
    *
    * @param fluxoBrutoDeBits      Vetor com os bits codificados.
    * @return int[]                Array de inteiros com os bits codificados enquadrados.
    */
   protected static int[] camadaFisicaTransmissoraEnquadramentoViolacao(int[] fluxoBrutoDeBits) {
 
-    //Variaveis para controlar a posicao bit a bit nos arrays de inteiros
-    int deslocamentoFluxoBruto = 31; //Posicao do bit (31 a 0) no int de entrada
-    int deslocamentoFluxoEnquadrado = 31; //Posicao do bit (31 a 0) no int de saida
-    int idxFluxoBruto = 0; //Indice do array de int de entrada
-    int idxFluxoEnquadrado = 0; //Indice do array de int de saida
-    int bit; //Armazena o bit lido
-    int proximosBits; //Verificacao de padding
-
-    //Array temporario com espaco extra para as flags e possivel expansao
-    int[] fluxoEnquadradoTemp = new int[fluxoBrutoDeBits.length * 2];
-
-    //Insere a flag de violacao (11) no inicio do quadro
-    fluxoEnquadradoTemp[idxFluxoEnquadrado] |= 1 << deslocamentoFluxoEnquadrado--;
-    fluxoEnquadradoTemp[idxFluxoEnquadrado] |= 1 << deslocamentoFluxoEnquadrado--;
-
-    //Itera por cada bit do fluxo de entrada
-    for (int i = 0; i < fluxoBrutoDeBits.length * 32; i++) {
-      //Avanca para o proximo int do array de entrada se necessario
-      if (deslocamentoFluxoBruto < 0) {
-        idxFluxoBruto++;
-        deslocamentoFluxoBruto = 31;
-      }
-
-      //Encerra se todos os ints de entrada foram lidos
-      if(idxFluxoBruto >= fluxoBrutoDeBits.length) break;
-
-      //A cada dois bits, verifica se o restante do fluxo eh apenas padding (00000000)
-      if (i % 2 == 0) {
-        if(deslocamentoFluxoBruto - 1 < 0) continue; //Pula se nao ha dois bits para ler
-        int bit1 = Math.abs((fluxoBrutoDeBits[idxFluxoBruto] & (1 << deslocamentoFluxoBruto)) >> deslocamentoFluxoBruto);
-        int bit2 = Math.abs((fluxoBrutoDeBits[idxFluxoBruto] & (1 << deslocamentoFluxoBruto - 1)) >> deslocamentoFluxoBruto - 1);
-        proximosBits = bit1 + bit2;
-        //Se encontrou um par de bits '00'
-        if (proximosBits == 0 && bit1 == 0 && bit2 == 0) {
-          boolean fimReal = true;
-          //Verifica se todos os bits restantes em todo o array sao zero
-          for(int k=idxFluxoBruto; k<fluxoBrutoDeBits.length; k++){
-            if(fluxoBrutoDeBits[k] != 0) fimReal = false;
-          }
-          //Se for, encerra o loop para evitar processar zeros desnecessarios
-          if(fimReal) break;
-        } //Fim if
-      } //Fim if
-
-      //Extrai o bit atual da entrada e o copia para a saida
-      bit = (fluxoBrutoDeBits[idxFluxoBruto] & (1 << deslocamentoFluxoBruto)) >> deslocamentoFluxoBruto;
-      bit = Math.abs(bit);
-      fluxoEnquadradoTemp[idxFluxoEnquadrado] |= (bit) << deslocamentoFluxoEnquadrado;
-
-      deslocamentoFluxoBruto--;
-      deslocamentoFluxoEnquadrado--;
-
-      //Avanca para o proximo int do array de saida se necessario
-      if (deslocamentoFluxoEnquadrado < 0) {
-        idxFluxoEnquadrado++;
-        if(idxFluxoEnquadrado >= fluxoEnquadradoTemp.length) break; //Evita estourar o array temporario
-        deslocamentoFluxoEnquadrado = 31;
-      }
-    } //Fim for 
-
-    //Garante alinhamento para inserir a flag final
-    if(deslocamentoFluxoEnquadrado % 2 == 0) {
-      deslocamentoFluxoEnquadrado--;
-    }
-    
-    //Avanca para o proximo int se nao houver espaco para a flag
-    if(deslocamentoFluxoEnquadrado < 1) {
-      idxFluxoEnquadrado++;
-      deslocamentoFluxoEnquadrado = 31;
-    }
-    //Insere a flag de violacao (11) no final do quadro
-    fluxoEnquadradoTemp[idxFluxoEnquadrado] |= 1 << deslocamentoFluxoEnquadrado--;
-    fluxoEnquadradoTemp[idxFluxoEnquadrado] |= 1 << deslocamentoFluxoEnquadrado--;
-
-    //Remocao de espacos nao utilizados
-    int tamanhoFinal = (deslocamentoFluxoEnquadrado < 31) ? idxFluxoEnquadrado + 1 : idxFluxoEnquadrado;
-    if (tamanhoFinal == 0 && fluxoBrutoDeBits.length > 0) tamanhoFinal = 1;
-
-    int[] fluxoBitsFinal = Arrays.copyOf(fluxoEnquadradoTemp, tamanhoFinal);
-
-    return fluxoBitsFinal;
+    return EnquadradorViolacao.enquadrar(fluxoBrutoDeBits, fluxoBrutoDeBits.length * 32);
 
   } //Fim camadaFisicaTransmissoraEnquadramentoViolacao
 
@@ -1,139 +1,259 @@
 package model;
 
-import controller.ControllerTelaPrincipal;
-import java.util.Random;
+import controller.ControladorSimulacao;
+import java.util.Arrays;
+import util.ModeloDeCanal;
  
 /**
  * Modela o funcionamento de um meio de comunicacao em uma rede.
  * <p>
  * Esta classe eh responsavel por simular a transmissao de informacoes de um
  * ponto a outro (transmissor para receptor), dando continuidade ao fluxo de
- * envio de dados entre as camadas da simulacao. Alem disso, ha uma simulacao
- * de ocorrencia de um erro de transmissao, mediante a probabilidade escolhida.
+ * envio de dados entre as camadas da simulacao. Alem disso, os quadros passam
+ * pelo modelo de erros do enlace (ModeloDeCanal): por padrao, um erro de bit com
+ * a probabilidade escolhida; no modo sem interface, tambem BER, rajadas e
+ * perda, apagamento ou duplicacao de palavras.
  *
  * @author  Italo de Souza Leao (Matricula: 202410120)
- * @version 04/11/2025 (Ultima alteracao)
+ * @version 18/10/2026 (Ultima alteracao)
  * @since   02/10/2025 (Inicio)
  */
 public class MeioDeComunicacao {
 
+  private static final int PALAVRAS_POR_BLOCO = 64; //Palavras entregues de uma vez ao receptor quando nao ha animacao
+
   /**
    * Simula a transmissao de dados bit a bit em um meio fisico.
    * <p>
    * Este metodo recebe um fluxo de bits do transmissor (Ponto A), itera sobre
-   * cada bit individualmente, atualiza a interface grafica para visualizar a
-   * transmissao do sinal e, ao final, entrega o fluxo de bits completo para o
-   * receptor (Ponto B), que o encaminha para a camada fisica receptora.
+   * cada bit individualmente e atualiza a interface grafica para visualizar a
+   * transmissao do sinal. Os quadros chegam a camada fisica receptora palavra a
+   * palavra (transmitirEmFluxo); o ACK eh entregue inteiro, ja decodificado, ao
+   * transmissor.
+   * <p>
+   * Junto com o sinal vai o tamanho do quadro em bytes, como o campo de tamanho
+   * do cabecalho de uma camada fisica real: o receptor sabe onde os dados
+   * terminam sem procurar o padding no sinal. Como os ACKs, esse metadado nao
+   * sofre erros.
    *
-   * @param fluxoBits   O fluxo de bits a ser transmitido, vindo da camada fisica transmissora.
-   * @param controller  O controlador da interface grafica para atualizacoes visuais.
-   * @param ehACK       Indica se a transmissao eh um ACK (para animacao reversa).
+   * @param fluxoBits     O fluxo de bits a ser transmitido, vindo da camada fisica transmissora.
+   * @param bytesDoQuadro O numero de bytes do quadro que gerou o fluxo.
+   * @param controller    O controlador da interface grafica para atualizacoes visuais.
+   * @param ehACK         Indica se a transmissao eh um ACK (para animacao reversa).
    */
-  protected static void meioDeComunicacao(int fluxoBits[], ControllerTelaPrincipal controller, boolean ehACK) {
+  protected static void meioDeComunicacao(int fluxoBits[], int bytesDoQuadro, ControladorSimulacao controller,
+                                          boolean ehACK) {
 
-    int fluxoBitsPontoA[] = fluxoBits; //Ponto A
-    int fluxoBitsPontoB[] = new int[fluxoBits.length]; //Ponto B
-    int bitParaEnviar;
+    if (ehACK) {
+
+      int fluxoBitsPontoB[] = transmitirPeloMeio(fluxoBits, controller, ehACK);
+
+      //ACK precisa ser decodificado antes de chegar ao transmissor
+      //Passa pela camada fisica para decodificacao (Manchester, etc)
+      boolean exibirDetalhes = controller.exibirDetalhes(); //Diagnostico do ACK, apenas quando ha animacao
+      if (exibirDetalhes) {
+        System.out.println("> MeioDeComunicacao: ACK recebido, iniciando decodificacao (codificacao=" + controller.getCodificacao() + ")");
+      }
+      byte[] ackDecodificado = null;
+
+      //Com violacao da camada fisica, o ACK tambem chega com os marcadores de violacao
+      if (controller.getEnquadramento() == 4) {
+        fluxoBitsPontoB = CamadaFisicaReceptora.camadaFisicaReceptoraDesenquadramentoViolacao(fluxoBitsPontoB,
+            fluxoBitsPontoB.length, CamadaFisicaReceptora.palavrasDoSinal(controller.getCodificacao(), bytesDoQuadro) * 32);
+      }
+      
+      //Decodifica o ACK de acordo com a codificacao escolhida
+      //Como eh um ACK, nao precisa passar por desenquadramento, apenas decodificacao
+      switch (controller.getCodificacao()) {
+        case 1: //Binaria
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoBinaria(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        case 2: //Manchester
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoManchester(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        case 3: //Manchester Diferencial
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoManchesterDiferencial(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        case 4: //NRZI
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoNRZI(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        case 5: //AMI
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoAMI(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        case 6: //4B/5B
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacao4B5B(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+        default: //8B/10B
+          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacao8B10B(fluxoBitsPontoB, bytesDoQuadro);
+          break;
+      }
+      
+      //ACK vai para o transmissor (ja decodificado)
+      if (exibirDetalhes) {
+        System.out.println("> MeioDeComunicacao: ACK decodificado - length=" 
+            + (ackDecodificado != null ? ackDecodificado.length : 0));
+        if (ackDecodificado != null && ackDecodificado.length > 0) {
+          System.out.println("> MeioDeComunicacao: Primeiro byte do ACK decodificado: 0x" + Integer.toHexString(ackDecodificado[0] & 0xFF));
+        }
+        System.out.println("> MeioDeComunicacao: Enviando ACK decodificado para ACKtemporizador");
+      }
+      CamadaEnlaceDadosTransmissora.ACKtemporizador(ackDecodificado, controller);
+
+    } else {
+      //O quadro eh decodificado pela camada fisica receptora enquanto atravessa o meio
+      transmitirEmFluxo(fluxoBits, fluxoBits.length, controller,
+          CamadaFisicaReceptora.receptorEmFluxo(controller, bytesDoQuadro));
+    }
+
+  } //Fim meioDeComunicacao
+
+
+  /**
+   * Leva o fluxo de bits do ponto A ao ponto B, sem entrega-lo a ninguem.
+   * <p>
+   * Aplica a animacao, a espera entre as palavras e o possivel erro de
+   * transmissao. Usado por meioDeComunicacao() e pelo estagio do meio na
+   * execucao em estagios (PipelineEnlace).
+   *
+   * @param  fluxoBits  O fluxo de bits vindo da camada fisica transmissora.
+   * @param  controller O controlador da interface grafica para atualizacoes visuais.
+   * @param  ehACK      Indica se a transmissao eh um ACK (ACKs nao sofrem erros).
+   * @return int[]      O fluxo de bits que chegou ao ponto B (pode ter outro tamanho, se houve perda ou duplicacao).
+   */
+  protected static int[] transmitirPeloMeio(int fluxoBits[], ControladorSimulacao controller, boolean ehACK) {
+    int fluxoBitsPontoB[] = new int[ehACK ? fluxoBits.length : fluxoBits.length * ModeloDeCanal.FATOR_MAXIMO]; //Ponto B
+    int recebidas = transmitirPeloMeio(fluxoBits, fluxoBits.length, fluxoBitsPontoB, controller, ehACK);
+    return (recebidas == fluxoBitsPontoB.length) ? fluxoBitsPontoB : Arrays.copyOf(fluxoBitsPontoB, recebidas);
+  } //Fim transmitirPeloMeio
+
+
+  /**
+   * Leva as primeiras tamanho palavras do ponto A ao vetor do ponto B.
+   * <p>
+   * Usado pelo estagio do meio na execucao em estagios, que escreve o ponto B
+   * direto na posicao reservada no AnelDeQuadros da camada fisica receptora, sem
+   * alocar um vetor por quadro.
+   *
+   * @param  fluxoBits  O vetor com o fluxo de bits no ponto A.
+   * @param  tamanho    O numero de palavras do fluxo.
+   * @param  pontoB     O vetor onde o fluxo chega (com pelo menos tamanho * ModeloDeCanal.FATOR_MAXIMO posicoes).
+   * @param  controller O controlador da interface grafica para atualizacoes visuais.
+   * @param  ehACK      Indica se a transmissao eh um ACK (ACKs nao sofrem erros).
+   * @return int        O numero de palavras que chegaram ao ponto B.
+   */
+  protected static int transmitirPeloMeio(int[] fluxoBits, int tamanho, int[] pontoB,
+                                           ControladorSimulacao controller, boolean ehACK) {
+    return transmitir(fluxoBits, tamanho, pontoB, null, controller, ehACK);
+  } //Fim transmitirPeloMeio
 
-    Random random = new Random();
-    
-    int probErro = controller.getErro();
-    int erroRandom = random.nextInt(100);
 
-    //Se random acertar o intervalo [0,probErro], gera um indice aleatorio, se nao eh 0
-    int indiceFluxoErro = (erroRandom < probErro) ? random.nextInt(fluxoBitsPontoA.length) : 0;
+  /**
+   * Leva o fluxo de bits de um quadro do ponto A ao receptor, palavra a palavra.
+   * <p>
+   * Em vez de entregar o fluxo inteiro no fim, as palavras vao para o receptor a
+   * medida que chegam ao ponto B: uma a uma quando ha espera entre as palavras
+   * (animacao), em blocos de PALAVRAS_POR_BLOCO quando nao ha. Assim a camada
+   * fisica receptora decodifica enquanto o restante do quadro ainda atravessa o
+   * meio, e o meio nao precisa de um vetor do tamanho do quadro para o ponto B.
+   *
+   * @param fluxoBits  O vetor com o fluxo de bits no ponto A.
+   * @param tamanho    O numero de palavras do fluxo.
+   * @param controller O controlador da interface grafica para atualizacoes visuais.
+   * @param receptor   Quem recebe as palavras no ponto B (ex: CamadaFisicaReceptora.receptorEmFluxo()).
+   */
+  protected static void transmitirEmFluxo(int[] fluxoBits, int tamanho, ControladorSimulacao controller,
+                                           ReceptorDeFluxo receptor) {
+    int[] bloco = new int[Math.min(tamanho, PALAVRAS_POR_BLOCO) * ModeloDeCanal.FATOR_MAXIMO];
+    transmitir(fluxoBits, tamanho, bloco, receptor, controller, false);
+  } //Fim transmitirEmFluxo
+
+
+  /**
+   * Laco do meio: animacao, espera entre as palavras e erros do modelo de canal
+   * da sessao, com o ponto B em um vetor ou em um receptor.
+   *
+   * @param  fluxoBits  O vetor com o fluxo de bits no ponto A.
+   * @param  tamanho    O numero de palavras do fluxo.
+   * @param  pontoB     Sem receptor, o vetor do ponto B; com receptor, o bloco reaproveitado entre as entregas.
+   * @param  receptor   Quem recebe as palavras a medida que chegam (ou null).
+   * @param  controller O controlador da interface grafica para atualizacoes visuais.
+   * @param  ehACK      Indica se a transmissao eh um ACK (ACKs nao sofrem erros).
+   * @return int        O numero de palavras que chegaram ao vetor do ponto B (0 com receptor, que ja as recebeu).
+   */
+  private static int transmitir(int[] fluxoBits, int tamanho, int[] pontoB, ReceptorDeFluxo receptor,
+                                ControladorSimulacao controller, boolean ehACK) {
 
-    boolean erro = erroRandom < probErro;
+    int fluxoBitsPontoA[] = fluxoBits; //Ponto A
+    int fluxoBitsPontoB[] = pontoB; //Ponto B
+    int palavrasNoPontoB = 0; //Palavras no ponto B ainda nao entregues ao receptor
+    int limiteBloco = fluxoBitsPontoB.length - ModeloDeCanal.FATOR_MAXIMO; //Acima disso a proxima palavra pode nao caber no bloco
 
+    ModeloDeCanal canal = null; //ACKs nao sofrem erros
     if (!ehACK) {
+      canal = controller.getSessaoEnlace().getModeloDeCanal(controller);
+      canal.iniciarQuadro(tamanho);
       System.out.println("\nMEIO DE COMUNICACAO----------------------\n" 
-          + "Probabilidade de erro: " + probErro + "%\n");
+          + "Probabilidade de erro: " + controller.getErro() + "%\n");
     }
 
-    for (int i = 0; i < fluxoBits.length; i++) { //Laco para processar cada inteiro de 32 bits
+    boolean exibirDetalhes = controller.exibirDetalhes();
+
+    for (int i = 0; i < tamanho; i++) { //Laco para processar cada inteiro de 32 bits
 
       int bits = fluxoBitsPontoA[i];
-      int bitComparacao = 1;
-      bitParaEnviar = 0;
 
-      for (int x = 0; x < 32; x++) { //Laco para processar cada bit
+      if (exibirDetalhes) { //A animacao eh feita bit a bit apenas quando ha interface
+        int bitComparacao = 1;
 
-        bitParaEnviar |= (bits & bitComparacao);
-        
-        //Usa animacao normal para ACK (mesma direcao dos quadros normais)
-        controller.atualizarSinais(); //Atualiza a visualizacao dos sinais na GUI
-        controller.sinalizar((bits & bitComparacao) != 0 ? 1 : 0); //Define o sinal atual a ser exibido
+        for (int x = 0; x < 32; x++) { //Laco para processar cada bit
 
-        //Duplica o sinal na GUI, ja que nao ha transicoes na cod. binaria
-        if (controller.getCodificacao() == 1) {
-          controller.atualizarSinais();
-          controller.sinalizar((bits & bitComparacao) != 0 ? 1 : 0);
-        } //Fim do if
+          //Usa animacao normal para ACK (mesma direcao dos quadros normais)
+          controller.atualizarSinais(); //Atualiza a visualizacao dos sinais na GUI
+          controller.sinalizar((bits & bitComparacao) != 0 ? 1 : 0); //Define o sinal atual a ser exibido
 
-        bitComparacao <<= 1; //Prepara para o proximo bit, 1 bitwise left
+          //Duplica o sinal na GUI quando cada bit do fluxo ocupa um periodo inteiro (Manchester e AMI usam dois)
+          int codificacao = controller.getCodificacao();
+          if (codificacao != 2 && codificacao != 3 && codificacao != 5) {
+            controller.atualizarSinais();
+            controller.sinalizar((bits & bitComparacao) != 0 ? 1 : 0);
+          } //Fim do if
 
-      } //Fim for bits
+          bitComparacao <<= 1; //Prepara para o proximo bit, 1 bitwise left
 
-      controller.atualizarSinais();
-      
-      if(erro && !ehACK){ //ACKs nao sofrem erros
-
-        if(i == indiceFluxoErro){
-          int bitErro = random.nextInt(32); //Posicao do bit que tera erro
-          bitParaEnviar ^= (1 << bitErro); //Bitwise XOR para alterar o bit
-        }
+        } //Fim for bits
 
+        controller.atualizarSinais();
       } //Fim if
 
-      fluxoBitsPontoB[i] = bitParaEnviar;
+      if (canal != null) { //O modelo escreve o que chegou: 0, 1 ou 2 palavras
+        palavrasNoPontoB += canal.transmitir(bits, fluxoBitsPontoB, palavrasNoPontoB);
+      } else {
+        fluxoBitsPontoB[palavrasNoPontoB++] = bits;
+      }
 
-      try {Thread.sleep(controller.getVelocidade());} 
-      catch (Exception e) {e.printStackTrace();} //Fim de try-catch
+      int velocidade = controller.getVelocidade(); //Lida a cada palavra, o slider pode mudar durante a transmissao
+
+      if (receptor != null && (velocidade > 0 || palavrasNoPontoB > limiteBloco)) {
+        receptor.receberPalavras(fluxoBitsPontoB, 0, palavrasNoPontoB); //Decodifica enquanto a proxima palavra viaja
+        palavrasNoPontoB = 0;
+      }
+      if (velocidade > 0) { //Sem espera quando a velocidade eh 0 (modo sem interface)
+        try {Thread.sleep(velocidade);} 
+        catch (Exception e) {e.printStackTrace();} //Fim de try-catch
+      }
 
     } //Fim for fluxoBits[]
 
-    for(int i=0; i < 12; i++){
+    for(int i=0; i < 12 && exibirDetalhes; i++){
       controller.atualizarSinais();
     }
-    
-    if (ehACK) {
 
-      //ACK precisa ser decodificado antes de chegar ao transmissor
-      //Passa pela camada fisica para decodificacao (Manchester, etc)
-      System.out.println("> MeioDeComunicacao: ACK recebido, iniciando decodificacao (codificacao=" + controller.getCodificacao() + ")");
-      int[] ackDecodificado = null;
-      
-      //Decodifica o ACK de acordo com a codificacao escolhida
-      //Como eh um ACK, nao precisa passar por desenquadramento, apenas decodificacao
-      switch (controller.getCodificacao()) {
-        case 1: //Binaria
-          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoBinaria(fluxoBitsPontoB);
-          System.out.println("> MeioDeComunicacao: ACK decodificado (binaria) - length=" 
-              + (ackDecodificado != null ? ackDecodificado.length : 0));
-          if (ackDecodificado != null && ackDecodificado.length > 0) {
-            System.out.println("> MeioDeComunicacao: Primeiro byte do ACK decodificado: 0x" + Integer.toHexString(ackDecodificado[0] & 0xFF));
-          }
-          break;
-        case 2: //Manchester
-          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoManchester(fluxoBitsPontoB);
-          System.out.println("> MeioDeComunicacao: ACK decodificado (Manchester) - length=" 
-              + (ackDecodificado != null ? ackDecodificado.length : 0));
-          break;
-        default: //Manchester Diferencial
-          ackDecodificado = CamadaFisicaReceptora.camadaFisicaReceptoraDecodificacaoManchesterDiferencial(fluxoBitsPontoB);
-          System.out.println("> MeioDeComunicacao: ACK decodificado (Manchester Diferencial) - length=" 
-              + (ackDecodificado != null ? ackDecodificado.length : 0));
-          break;
-      }
-      
-      //ACK vai para o transmissor (ja decodificado)
-      System.out.println("> MeioDeComunicacao: Enviando ACK decodificado para ACKtemporizador");
-      CamadaEnlaceDadosTransmissora.ACKtemporizador(ackDecodificado, controller);
-
-    } else {
-      CamadaFisicaReceptora.camadaFisicaReceptora(fluxoBitsPontoB, controller);
+    if (receptor != null) {
+      receptor.receberPalavras(fluxoBitsPontoB, 0, palavrasNoPontoB);
+      receptor.fimDoFluxo();
+      palavrasNoPontoB = 0;
     }
-
-  } //Fim meioDeComunicacao
+    return palavrasNoPontoB;
+  } //Fim transmitir
   
 } //Fim da classe MeioDeComunicacao
\ No newline at end of file
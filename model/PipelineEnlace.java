@@ -0,0 +1,328 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import controller.ControladorSimulacao;
+import util.AnelDeQuadros;
+import util.ModeloDeCanal;
+
+/**
+ * Execucao em estagios do caminho de ida dos quadros de um enlace.
+ * <p>
+ * Na execucao normal, a camada fisica transmissora chama o meio, que chama a
+ * camada fisica receptora, que chama a camada de enlace receptora, tudo na
+ * thread de quem envia: enquanto o quadro k atravessa o meio, nada mais anda.
+ * Aqui cada etapa eh um estagio com a sua propria thread, ligado ao seguinte por
+ * um AnelDeQuadros limitado (um produtor, um consumidor, sem travas):
+ * <pre>
+ *   transmissor (codificacao) -> meio -> camada fisica receptora -> camada de enlace receptora
+ * </pre>
+ * Assim a codificacao, a passagem pelo meio e a decodificacao de quadros
+ * diferentes acontecem ao mesmo tempo, em nucleos diferentes. Quando um estagio
+ * fica para tras, o seu anel enche e quem o alimenta espera (contrapressao).
+ * A ordem dos quadros eh preservada. O ACK continua sendo enviado de forma
+ * sincrona pelo ultimo estagio, que o entrega ao transmissor.
+ * <p>
+ * O fluxo codificado pelo transmissor e o quadro decodificado pela camada fisica
+ * sao vetores novos a cada quadro, entao sao entregues ao estagio seguinte sem
+ * copia. Ja o meio escreve o ponto B direto nas posicoes reaproveitadas do anel
+ * da camada fisica receptora, que as decodifica no lugar: esse trecho nao aloca
+ * vetores. A estrategia de espera dos aneis vem da propriedade de sistema
+ * "simulacao.estagios.espera" (ocupada, ceder ou estacionar; padrao: estacionar).
+ * <p>
+ * Cada quadro leva a epoca da transmissao que o enviou. Quadros de uma
+ * transmissao ja encerrada (ex: copias retransmitidas que ainda estavam nas
+ * aneis) sao descartados pelo ultimo estagio, que confere a epoca sob a trava do
+ * receptor da sessao. A thread de um estagio termina depois de um periodo sem
+ * quadros e eh recriada quando o proximo chegar.
+ * <p>
+ * Com os estagios, os quadros da janela ficam de fato pendentes ao mesmo tempo e
+ * o RTT inclui a espera nos aneis e pelo escalonador. Um atraso ocasional do
+ * escalonador nao aparece na variacao das amostras e, com o RTO colado no SRTT,
+ * disparava retransmissoes da janela inteira no Go-Back-N. Por isso cada estagio
+ * mede quanto o quadro esperou entre ser publicado num anel vazio e a thread do
+ * estagio acordar para ele; o maior valor recente (que cai pela metade a cada
+ * MEIA_VIDA_ATRASO sem ser superado) somado nos estagios eh a margem G do RTO
+ * (getGranularidadeRTO()). A propriedade de sistema
+ * "simulacao.estagios.granularidade" fixa G em milissegundos no lugar da medida.
+ * <p>
+ * O ganho depende de haver um nucleo livre para cada estagio. Com um unico
+ * processador os estagios se revezam no mesmo nucleo e o modo fica mais lento
+ * que o sincrono, pela troca de threads a cada quadro.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class PipelineEnlace {
+
+  private static final int CAPACIDADE_FILA = 16; //Quadros em espera entre dois estagios
+  private static final long OCIOSIDADE = 1000; //Tempo sem quadros ate a thread do estagio terminar, em milissegundos
+  private static final long MEIA_VIDA_ATRASO = TimeUnit.SECONDS.toNanos(1); //Intervalo em que o pico de atraso cai pela metade
+  private static final String PROPRIEDADE_ESPERA = "simulacao.estagios.espera";
+  private static final String PROPRIEDADE_GRANULARIDADE = "simulacao.estagios.granularidade";
+  private static final AnelDeQuadros.EstrategiaDeEspera ESPERA = lerEstrategiaDeEspera();
+  private static final long GRANULARIDADE_FIXA = lerGranularidade(); //Em nanossegundos; negativa: usa a medida
+
+  private final SessaoEnlace sessao;
+  private final ControladorSimulacao controller;
+  private final Estagio enlaceReceptor;
+  private final Estagio fisicaReceptora;
+  private final Estagio meio;
+
+  /**
+   * Cria os estagios do enlace (as threads so sao criadas com o primeiro quadro).
+   *
+   * @param sessao     A sessao do enlace.
+   * @param controller O controlador dono da sessao.
+   */
+  PipelineEnlace(SessaoEnlace sessao, ControladorSimulacao controller) {
+    this.sessao = sessao;
+    this.controller = controller;
+    this.enlaceReceptor = new Estagio("enlace-receptor", this::receberNoEnlace);
+    this.fisicaReceptora = new Estagio("fisica-receptora", this::decodificar);
+    this.meio = new Estagio("meio", this::transmitirPeloMeio);
+  } //Fim construtor
+
+
+  /**
+   * Coloca o fluxo de bits de um quadro no primeiro estagio (o meio).
+   * <p>
+   * Retorna assim que houver espaco no anel: o quadro segue pelos estagios
+   * enquanto o transmissor codifica o proximo. As transmissoes de um enlace sao
+   * feitas uma de cada vez, mas o envio pode mudar de thread (ex: os envios dos
+   * protocolos rodam no executor de envios do servico de temporizadores); a
+   * trava garante um produtor por vez.
+   *
+   * @param fluxoBits     O quadro codificado pela camada fisica transmissora (passa a pertencer ao estagio).
+   * @param bytesDoQuadro O numero de bytes do quadro antes da codificacao.
+   */
+  synchronized void enviar(int[] fluxoBits, int bytesDoQuadro) {
+    meio.publicar(fluxoBits, bytesDoQuadro, sessao.epoca);
+  } //Fim enviar
+
+
+  /**
+   * Retorna a margem minima do RTO sobre o SRTT (G) para os quadros que passam
+   * pelos estagios: a soma dos picos recentes de espera pelo escalonador de
+   * cada estagio, ou o valor fixado na propriedade de sistema.
+   *
+   * @return long A granularidade, em nanossegundos.
+   */
+  long getGranularidadeRTO() {
+    if (GRANULARIDADE_FIXA >= 0) {
+      return GRANULARIDADE_FIXA;
+    }
+    long agora = System.nanoTime();
+    return meio.picoDeAtraso(agora) + fisicaReceptora.picoDeAtraso(agora) + enlaceReceptor.picoDeAtraso(agora);
+  } //Fim getGranularidadeRTO
+
+
+  /**
+   * Estagio do meio: leva o fluxo do ponto A ao ponto B, escrito direto na
+   * posicao reservada no anel da camada fisica receptora.
+   *
+   * @param entrada O anel do meio, posicionado no quadro atual.
+   */
+  private void transmitirPeloMeio(AnelDeQuadros entrada) {
+    int tamanho = entrada.tamanho();
+    int[] pontoB = fisicaReceptora.anel.reservar(tamanho * ModeloDeCanal.FATOR_MAXIMO); //Cabe o quadro com duplicacoes
+    int recebidas = MeioDeComunicacao.transmitirPeloMeio(entrada.palavras(), tamanho, pontoB, controller, false);
+    fisicaReceptora.publicar(recebidas, entrada.bytesDoQuadro(), entrada.epoca());
+  } //Fim transmitirPeloMeio
+
+
+  /**
+   * Estagio da camada fisica receptora: desenquadra e decodifica o fluxo.
+   *
+   * @param entrada O anel da camada fisica receptora, posicionado no fluxo recebido do meio.
+   */
+  private void decodificar(AnelDeQuadros entrada) {
+    byte[] quadro = CamadaFisicaReceptora.decodificarFluxo(entrada.palavras(), entrada.tamanho(),
+        entrada.bytesDoQuadro(), controller);
+    if (quadro == null) { //Simbolos de sinal invalidos: segue vazio, e o receptor o trata como erro detectado
+      quadro = new byte[0];
+    }
+    enlaceReceptor.publicar(quadro, entrada.epoca()); //O receptor pode guardar o quadro: vai sem copia
+  } //Fim decodificar
+
+
+  /**
+   * Estagio da camada de enlace receptora: controle de erros, controle de fluxo,
+   * entrega a aplicacao e envio do ACK.
+   *
+   * @param entrada O anel da camada de enlace receptora, posicionado no quadro decodificado.
+   */
+  private void receberNoEnlace(AnelDeQuadros entrada) {
+    synchronized (sessao.travaReceptor) {
+      if (entrada.epoca() != sessao.epoca) {
+        System.out.println("> Quadro de uma transmissao anterior descartado");
+        return;
+      }
+      CamadaEnlaceDadosReceptora.camadaEnlaceDadosReceptora(entrada.quadro(), controller);
+    } //Fim synchronized
+  } //Fim receberNoEnlace
+
+
+  /**
+   * Le a estrategia de espera da propriedade de sistema, ou usa a padrao.
+   *
+   * @return AnelDeQuadros.EstrategiaDeEspera A estrategia dos aneis.
+   */
+  private static AnelDeQuadros.EstrategiaDeEspera lerEstrategiaDeEspera() {
+    try {
+      String valor = System.getProperty(PROPRIEDADE_ESPERA);
+      if (valor != null) {
+        return AnelDeQuadros.EstrategiaDeEspera.valueOf(valor.trim().toUpperCase());
+      }
+    } catch (IllegalArgumentException | SecurityException e) {
+      System.err.println("Estrategia de espera invalida em " + PROPRIEDADE_ESPERA + ", usando ESTACIONAR");
+    } //Fim try-catch
+    return AnelDeQuadros.EstrategiaDeEspera.ESTACIONAR; //Nao gasta processador com os estagios parados
+  } //Fim lerEstrategiaDeEspera
+
+
+  /**
+   * Le a granularidade fixa do RTO da propriedade de sistema, em milissegundos.
+   *
+   * @return long A granularidade em nanossegundos, ou -1 para usar a medida.
+   */
+  private static long lerGranularidade() {
+    try {
+      String valor = System.getProperty(PROPRIEDADE_GRANULARIDADE);
+      if (valor != null) {
+        long granularidade = Long.parseLong(valor.trim());
+        if (granularidade >= 0) {
+          return TimeUnit.MILLISECONDS.toNanos(granularidade);
+        }
+        System.err.println("Granularidade negativa em " + PROPRIEDADE_GRANULARIDADE + ", usando a medida");
+      }
+    } catch (NumberFormatException | SecurityException e) {
+      System.err.println("Granularidade invalida em " + PROPRIEDADE_GRANULARIDADE + ", usando a medida");
+    } //Fim try-catch
+    return -1;
+  } //Fim lerGranularidade
+
+
+  /**
+   * Etapa do caminho dos quadros, com o seu anel de entrada e a sua thread.
+   */
+  private static class Estagio {
+    private final String nome;
+    private final Consumer<AnelDeQuadros> processamento; //Processa o quadro atual do anel
+    private final AnelDeQuadros anel = new AnelDeQuadros(CAPACIDADE_FILA, ESPERA);
+    private final AtomicBoolean ativo = new AtomicBoolean(); //Ha uma thread consumindo o anel
+    private long picoDeAtraso; //Maior espera recente entre publicar num anel vazio e a thread acordar, em nanossegundos
+    private long instantePico; //Quando picoDeAtraso foi registrado
+
+    Estagio(String nome, Consumer<AnelDeQuadros> processamento) {
+      this.nome = nome;
+      this.processamento = processamento;
+    } //Fim construtor
+
+    /**
+     * Publica a posicao reservada em anel.reservar() e garante que ha uma thread consumindo.
+     *
+     * @param tamanho       O numero de palavras escritas na posicao.
+     * @param bytesDoQuadro O numero de bytes do quadro que as palavras carregam.
+     * @param epoca         A epoca do quadro.
+     */
+    void publicar(int tamanho, int bytesDoQuadro, int epoca) {
+      anel.publicar(tamanho, bytesDoQuadro, epoca);
+      garantirConsumidor();
+    } //Fim publicar
+
+    /**
+     * Publica o proprio vetor do fluxo, esperando se o anel estiver cheio, e
+     * garante que ha uma thread consumindo.
+     *
+     * @param fluxoBits     O fluxo codificado para este estagio.
+     * @param bytesDoQuadro O numero de bytes do quadro que o vetor carrega.
+     * @param epoca         A epoca do quadro.
+     */
+    void publicar(int[] fluxoBits, int bytesDoQuadro, int epoca) {
+      anel.publicar(fluxoBits, bytesDoQuadro, epoca); //Contrapressao: espera o estagio abrir espaco
+      garantirConsumidor();
+    } //Fim publicar
+
+    /**
+     * Publica o proprio quadro decodificado, esperando se o anel estiver cheio, e
+     * garante que ha uma thread consumindo.
+     *
+     * @param quadro O quadro para este estagio, um caractere por byte.
+     * @param epoca  A epoca do quadro.
+     */
+    void publicar(byte[] quadro, int epoca) {
+      anel.publicar(quadro, epoca); //Contrapressao: espera o estagio abrir espaco
+      garantirConsumidor();
+    } //Fim publicar
+
+    /**
+     * Retorna o pico recente de espera pelo escalonador, ja com o decaimento.
+     *
+     * @param  agora O instante atual (System.nanoTime()).
+     * @return long  O pico, em nanossegundos.
+     */
+    synchronized long picoDeAtraso(long agora) {
+      long meiasVidas = (agora - instantePico) / MEIA_VIDA_ATRASO;
+      return (meiasVidas >= Long.SIZE) ? 0 : picoDeAtraso >> meiasVidas;
+    } //Fim picoDeAtraso
+
+    /**
+     * Registra a espera de um quadro que chegou com a thread parada no anel vazio.
+     *
+     * @param atraso O tempo entre a publicacao e a thread acordar, em nanossegundos.
+     * @param agora  O instante atual (System.nanoTime()).
+     */
+    private synchronized void registrarAtraso(long atraso, long agora) {
+      if (atraso >= picoDeAtraso(agora)) {
+        picoDeAtraso = atraso;
+        instantePico = agora;
+      }
+    } //Fim registrarAtraso
+
+    /**
+     * Cria a thread do estagio, se nao houver uma.
+     */
+    private void garantirConsumidor() {
+      if (!ativo.get() && ativo.compareAndSet(false, true)) {
+        Thread thread = new Thread(this::consumir, "estagio-" + nome);
+        thread.setDaemon(true);
+        thread.start();
+      }
+    } //Fim garantirConsumidor
+
+    /**
+     * Laco da thread do estagio: processa os quadros em ordem e devolve cada
+     * posicao ao anel; termina quando o anel fica ocioso.
+     */
+    private void consumir() {
+      while (true) {
+        boolean esperando = anel.vazio(); //So a espera pelo despertar entra na medida, nao a fila
+        if (!anel.aguardar(TimeUnit.MILLISECONDS.toNanos(OCIOSIDADE))) {
+          ativo.set(false);
+          //Confere de novo depois de desligar: quem publicou antes disso nao criou outra thread
+          if (anel.vazio() || !ativo.compareAndSet(false, true)) {
+            return;
+          }
+          continue;
+        }
+        if (esperando) {
+          long agora = System.nanoTime();
+          registrarAtraso(agora - anel.instantePublicacao(), agora);
+        }
+
+        try {
+          processamento.accept(anel);
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+        } finally {
+          anel.liberar();
+        } //Fim try-catch-finally
+      } //Fim while
+    } //Fim consumir
+  } //Fim da classe Estagio
+
+} //Fim da classe PipelineEnlace
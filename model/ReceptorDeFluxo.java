@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * Quem recebe o fluxo de bits do meio de comunicacao aos pedacos.
+ * <p>
+ * Em MeioDeComunicacao.transmitirEmFluxo(), as palavras de 32 bits sao
+ * entregues a medida que atravessam o meio, em vez de todas juntas no fim. Assim
+ * o receptor (ex: o decodificador da camada fisica receptora) trabalha enquanto
+ * o restante do quadro ainda esta a caminho.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 17/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public interface ReceptorDeFluxo {
+
+  /**
+   * Recebe as proximas palavras do fluxo, na ordem em que chegaram.
+   * <p>
+   * O vetor pode ser reaproveitado pelo meio depois da chamada: quem precisar das
+   * palavras deve copia-las.
+   *
+   * @param palavras   O vetor com as palavras.
+   * @param inicio     A posicao da primeira palavra no vetor.
+   * @param quantidade O numero de palavras.
+   */
+  void receberPalavras(int[] palavras, int inicio, int quantidade);
+
+  /**
+   * Avisa que a ultima palavra do fluxo ja foi entregue.
+   */
+  void fimDoFluxo();
+
+} //Fim da interface ReceptorDeFluxo
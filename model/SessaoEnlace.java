@@ -0,0 +1,162 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import controller.ControladorSimulacao;
+import util.DecodificadorDeTexto;
+import util.ModeloDeCanal;
+
+/**
+ * Estado de um enlace simulado: os numeros de sequencia, a janela de ARQ e os
+ * temporizadores dos dois lados.
+ * <p>
+ * Antes este estado ficava em campos estaticos das camadas de enlace, o que
+ * limitava a simulacao a uma transmissao por vez em toda a JVM. Agora cada
+ * controlador possui a sua sessao, obtida pelas camadas em
+ * ControladorSimulacao.getSessaoEnlace(): enlaces diferentes transmitem em
+ * paralelo, e as transmissoes de um mesmo enlace continuam em fila, uma de cada
+ * vez, pois compartilham os numeros de sequencia.
+ * <p>
+ * A sessao tambem eh a origem dos sorteios do enlace: cada consumidor (ex: o
+ * modelo de canal) recebe um gerador proprio, dividido do gerador da sessao
+ * (SplittableRandom.split()), e o usa sem sincronizacao. Com a mesma semente,
+ * os mesmos sorteios se repetem, na mesma ordem; sessoes criadas sem semente
+ * tem sequencias independentes.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class SessaoEnlace {
+
+  //Transmissor
+  private final ArrayDeque<Runnable> transmissoesPendentes = new ArrayDeque<>(); //Esperam a transmissao atual terminar
+  private boolean transmissaoEmAndamento;
+  volatile CamadaEnlaceDadosTransmissora.Temporizador temporizador; //Stop-and-Wait em andamento
+  volatile CamadaEnlaceDadosTransmissora.TemporizadorGoBackN temporizadorGoBackN; //Go-Back-N em andamento
+  volatile CamadaEnlaceDadosTransmissora.TemporizadorSelectiveRepeat temporizadorSelectiveRepeat; //Selective Repeat em andamento
+  int seqEsperadoACK; //Numero de sequencia esperado no ACK do Stop-and-Wait (0 ou 1)
+
+  //Receptor
+  final Object travaReceptor = new Object(); //Protege o receptor na execucao em estagios
+  volatile int epoca; //Muda a cada transmissao; quadros de epocas anteriores sao descartados nos estagios
+  int seqEsperadoQuadro; //Numero de sequencia esperado (0 ou 1 no Stop-and-Wait, 0 a 63 nas janelas)
+  final byte[][] bufferReordenacao = new byte[CamadaEnlaceDadosTransmissora.MODULO_SEQ][]; //Selective Repeat
+  final DecodificadorDeTexto texto = new DecodificadorDeTexto(); //Caracteres UTF-8 divididos entre quadros
+  volatile TransferenciaDeArquivo transferencia; //Recebe os bytes da transmissao atual no lugar da aplicacao (ou null)
+
+  private final SplittableRandom aleatorio; //Origem dos geradores dos consumidores da sessao
+  private PipelineEnlace pipeline; //Criado na primeira transmissao em estagios
+  private ModeloDeCanal canal; //Erros do meio; criado no primeiro quadro
+
+  /**
+   * Cria a sessao com sorteios diferentes a cada execucao.
+   */
+  public SessaoEnlace() {
+    this.aleatorio = new SplittableRandom();
+  } //Fim construtor
+
+
+  /**
+   * Cria a sessao com sorteios reproduziveis.
+   *
+   * @param semente A semente do gerador da sessao.
+   */
+  public SessaoEnlace(long semente) {
+    this.aleatorio = new SplittableRandom(semente);
+  } //Fim construtor
+
+
+  /**
+   * Cria um gerador de numeros aleatorios para um consumidor da sessao.
+   * <p>
+   * Os geradores sao independentes entre si e do gerador da sessao; cada um deve
+   * ser usado por uma thread de cada vez.
+   *
+   * @return SplittableRandom O novo gerador.
+   */
+  public synchronized SplittableRandom novoGeradorAleatorio() {
+    return aleatorio.split();
+  } //Fim novoGeradorAleatorio
+
+
+  /**
+   * Inicia a transmissao agora ou, se outra deste enlace estiver em andamento,
+   * coloca-a na fila. Quem espera nao ocupa uma thread.
+   *
+   * @param inicio Comeca a transmissao (deve apenas disparar o envio, sem bloquear).
+   */
+  void iniciarTransmissao(Runnable inicio) {
+    synchronized (transmissoesPendentes) {
+      if (transmissaoEmAndamento) {
+        transmissoesPendentes.add(inicio);
+        return;
+      }
+      transmissaoEmAndamento = true;
+    } //Fim synchronized
+    inicio.run();
+  } //Fim iniciarTransmissao
+
+
+  /**
+   * Encerra a transmissao atual e inicia a proxima da fila, se houver.
+   */
+  void finalizarTransmissao() {
+    Runnable proxima;
+    synchronized (transmissoesPendentes) {
+      proxima = transmissoesPendentes.poll();
+      if (proxima == null) {
+        transmissaoEmAndamento = false;
+        return;
+      }
+    } //Fim synchronized
+    proxima.run();
+  } //Fim finalizarTransmissao
+
+
+  /**
+   * Volta os numeros de sequencia dos dois lados para 0 e descarta os quadros
+   * guardados fora de ordem e o texto incompleto da mensagem anterior; chamado
+   * no inicio de cada transmissao.
+   */
+  void reiniciarControleDeFluxo() {
+    seqEsperadoACK = 0;
+    synchronized (travaReceptor) {
+      epoca++;
+      seqEsperadoQuadro = 0;
+      Arrays.fill(bufferReordenacao, null);
+      texto.reiniciar();
+    } //Fim synchronized
+  } //Fim reiniciarControleDeFluxo
+
+
+  /**
+   * Retorna os estagios da execucao em estagios deste enlace, criando-os na primeira vez.
+   *
+   * @param  controller     O controlador dono da sessao.
+   * @return PipelineEnlace Os estagios do enlace.
+   */
+  synchronized PipelineEnlace getPipeline(ControladorSimulacao controller) {
+    if (pipeline == null) {
+      pipeline = new PipelineEnlace(this, controller);
+    }
+    return pipeline;
+  } //Fim getPipeline
+
+
+  /**
+   * Retorna o modelo de erros do meio deste enlace, criando-o na primeira vez.
+   *
+   * @param  controller    O controlador dono da sessao.
+   * @return ModeloDeCanal O modelo de canal do enlace.
+   */
+  synchronized ModeloDeCanal getModeloDeCanal(ControladorSimulacao controller) {
+    if (canal == null) {
+      canal = controller.criarModeloDeCanal(novoGeradorAleatorio());
+    }
+    return canal;
+  } //Fim getModeloDeCanal
+
+} //Fim da classe SessaoEnlace
@@ -0,0 +1,335 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+import controller.ControladorSimulacao;
+import util.ExecutorDeTransmissoes;
+
+/**
+ * Transferencia de um arquivo pelo enlace, em blocos, com memoria limitada.
+ * <p>
+ * O arquivo de origem eh lido por um FileChannel, um bloco por vez, e cada bloco
+ * segue pela camada de enlace como uma mensagem propria (enquadrada, com numeros
+ * de sequencia a partir de 0). No maximo BLOCOS_EM_VOO blocos estao no enlace ao
+ * mesmo tempo: enquanto um eh transmitido, o seguinte ja foi lido e espera na fila
+ * da sessao, e a leitura so continua quando um deles termina. Assim a memoria
+ * usada depende do tamanho do bloco, e nao do tamanho do arquivo. No receptor, os
+ * bytes entregues pela camada de enlace vao para um buffer que eh gravado no
+ * arquivo de destino sempre que enche, sem passar pelo controlador.
+ * <p>
+ * A integridade eh conferida de ponta a ponta: o transmissor calcula o SHA-256 de
+ * tudo o que leu e o envia pelo proprio enlace, como ultimo bloco, e o receptor o
+ * compara com o SHA-256 do que gravou. Um quadro alterado que o controle de erro
+ * deixou passar, ou um bloco que nao chegou inteiro, aparece como resumos
+ * diferentes. A transferencia roda em uma tarefa do ExecutorDeTransmissoes e
+ * ocupa uma das suas vagas ate o fim.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class TransferenciaDeArquivo {
+
+  /**Tamanho padrao de cada bloco, em bytes */
+  public static final int TAMANHO_BLOCO_PADRAO = 64 * 1024;
+
+  private static final int BLOCOS_EM_VOO = 2; //Blocos entregues ao enlace e ainda nao concluidos
+  private static final String ALGORITMO_RESUMO = "SHA-256";
+  private static final int TAMANHO_RESUMO = 32; //Bytes do SHA-256
+  private static final int TAMANHO_ESCRITA = 64 * 1024; //Buffer de gravacao do receptor
+
+  private final FileChannel origem;
+  private final FileChannel destino;
+  private final int tamanhoBloco;
+  private final ControladorSimulacao controller;
+  private final Semaphore vagas = new Semaphore(BLOCOS_EM_VOO); //Uma por bloco em voo
+  private final CountDownLatch fim = new CountDownLatch(1);
+
+  //Transmissor (usado apenas pela tarefa da transferencia)
+  private final MessageDigest resumoEnviado;
+  private long bytesEnviados;
+  private int blocosEnviados;
+
+  //Receptor (protegido pelo monitor do objeto)
+  private final MessageDigest resumoRecebido;
+  private final ByteBuffer escrita = ByteBuffer.allocate(TAMANHO_ESCRITA);
+  private final ByteBuffer resumoInformado = ByteBuffer.allocate(TAMANHO_RESUMO);
+  private boolean recebendoResumo; //O ultimo bloco traz o resumo do transmissor, e nao dados do arquivo
+  private boolean resumoExcedido; //Chegaram mais bytes do que o resumo tem
+  private long bytesRecebidos;
+  private IOException erroNoDestino;
+
+  private volatile boolean integra;
+  private volatile Exception falha; //Interrompeu a transferencia no transmissor
+
+
+  /**
+   * Abre os arquivos da transferencia; o envio so comeca em iniciar().
+   *
+   * @param  origem       O arquivo a ser transmitido.
+   * @param  destino      O arquivo gravado pelo receptor (criado ou sobrescrito).
+   * @param  tamanhoBloco O numero de bytes de cada bloco.
+   * @param  controller   O controlador da simulacao.
+   * @throws IOException  Erro na abertura de um dos arquivos.
+   */
+  TransferenciaDeArquivo(Path origem, Path destino, int tamanhoBloco, ControladorSimulacao controller)
+      throws IOException {
+    if (tamanhoBloco < 1) {
+      throw new IllegalArgumentException("Tamanho de bloco invalido: " + tamanhoBloco);
+    }
+    this.tamanhoBloco = tamanhoBloco;
+    this.controller = controller;
+    this.resumoEnviado = novoResumo();
+    this.resumoRecebido = novoResumo();
+
+    this.origem = FileChannel.open(origem, StandardOpenOption.READ);
+    try {
+      this.destino = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                      StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException e) {
+      this.origem.close();
+      throw e;
+    } //Fim try-catch
+  } //Fim construtor
+
+
+  /**
+   * Cria o calculo do SHA-256, que toda JVM deve oferecer.
+   *
+   * @return MessageDigest O calculo do resumo.
+   */
+  private static MessageDigest novoResumo() {
+    try {
+      return MessageDigest.getInstance(ALGORITMO_RESUMO);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(ALGORITMO_RESUMO + " indisponivel", e);
+    } //Fim try-catch
+  } //Fim novoResumo
+
+
+  /**
+   * Agenda a transferencia no ExecutorDeTransmissoes.
+   */
+  void iniciar() {
+    ExecutorDeTransmissoes.executar(this::transmitir);
+  } //Fim iniciar
+
+
+  /**
+   * Le o arquivo bloco a bloco e entrega cada um a camada de enlace; no fim,
+   * envia o resumo, espera a sua chegada e confere a integridade.
+   */
+  private void transmitir() {
+    System.out.println("\nTRANSFERENCIA DE ARQUIVO -------------------");
+    try {
+      ByteBuffer bloco = ByteBuffer.allocate(tamanhoBloco); //Reaproveitado a cada leitura
+      while (lerBloco(bloco)) {
+        bloco.flip();
+        resumoEnviado.update(bloco.duplicate());
+        bytesEnviados += bloco.remaining();
+        enviarBloco(bloco);
+        blocosEnviados++;
+        bloco.clear();
+      } //Fim while
+
+      vagas.acquire(BLOCOS_EM_VOO); //Espera o ultimo bloco de dados terminar
+      synchronized (this) {
+        recebendoResumo = true;
+      }
+      vagas.release(BLOCOS_EM_VOO);
+
+      enviarBloco(ByteBuffer.wrap(resumoEnviado.digest()));
+      vagas.acquire(BLOCOS_EM_VOO); //Espera o resumo chegar ao receptor
+
+      integra = verificar();
+      System.out.println("> Transferencia concluida: " + bytesEnviados + " bytes em " + blocosEnviados
+          + " bloco(s), " + (integra ? "resumos iguais" : "resumos diferentes"));
+    } catch (IOException | InterruptedException e) {
+      falha = e;
+      System.out.println("> Transferencia interrompida: " + e);
+    } finally {
+      fechar();
+      fim.countDown();
+      controller.reativar();
+    } //Fim try-catch-finally
+  } //Fim transmitir
+
+
+  /**
+   * Le da origem ate encher o bloco ou chegar ao fim do arquivo.
+   *
+   * @param  bloco       O buffer, vazio.
+   * @return boolean     Verdadeiro se algum byte foi lido.
+   * @throws IOException Erro na leitura da origem.
+   */
+  private boolean lerBloco(ByteBuffer bloco) throws IOException {
+    while (bloco.hasRemaining() && origem.read(bloco) >= 0) {
+      //Leituras parciais: continua ate encher ou chegar ao fim
+    }
+    return bloco.position() > 0;
+  } //Fim lerBloco
+
+
+  /**
+   * Entrega um bloco a camada de enlace, esperando antes que haja vaga.
+   *
+   * @param  bloco                O buffer com os bytes do bloco (consumido).
+   * @throws InterruptedException Se a espera pela vaga for interrompida.
+   */
+  private void enviarBloco(ByteBuffer bloco) throws InterruptedException {
+    byte[] quadro = new byte[bloco.remaining()];
+    bloco.get(quadro);
+
+    vagas.acquire(); //Devolvida por blocoConcluido()
+    CamadaEnlaceDadosTransmissora.camadaEnlaceDadosTransmissora(quadro, this, controller);
+  } //Fim enviarBloco
+
+
+  /**
+   * Avisa que a transmissao de um bloco terminou; chamado pela camada de enlace.
+   */
+  void blocoConcluido() {
+    vagas.release();
+  } //Fim blocoConcluido
+
+
+  /**
+   * Recebe bytes de um bloco, na ordem; chamado pela aplicacao receptora.
+   *
+   * @param dados Os bytes entregues pela camada de enlace.
+   */
+  synchronized void receber(byte[] dados) {
+    if (recebendoResumo) {
+      int quantidade = Math.min(dados.length, resumoInformado.remaining());
+      resumoExcedido |= quantidade < dados.length;
+      resumoInformado.put(dados, 0, quantidade);
+      return;
+    }
+
+    bytesRecebidos += dados.length;
+    resumoRecebido.update(dados);
+    if (erroNoDestino != null) {
+      return; //O destino ja falhou: apenas conta os bytes
+    }
+
+    try {
+      int posicao = 0;
+      while (posicao < dados.length) {
+        int quantidade = Math.min(escrita.remaining(), dados.length - posicao);
+        escrita.put(dados, posicao, quantidade);
+        posicao += quantidade;
+        if (!escrita.hasRemaining()) {
+          gravar();
+        }
+      } //Fim while
+    } catch (IOException e) {
+      erroNoDestino = e;
+    } //Fim try-catch
+  } //Fim receber
+
+
+  /**
+   * Grava no destino o que esta no buffer de escrita.
+   *
+   * @throws IOException Erro na gravacao.
+   */
+  private void gravar() throws IOException {
+    escrita.flip();
+    while (escrita.hasRemaining()) {
+      destino.write(escrita);
+    }
+    escrita.clear();
+  } //Fim gravar
+
+
+  /**
+   * Grava o restante do buffer e compara o resumo calculado pelo receptor com o
+   * recebido do transmissor.
+   *
+   * @return boolean Verdadeiro se o destino foi gravado sem erros e os resumos sao iguais.
+   */
+  private synchronized boolean verificar() {
+    if (erroNoDestino == null) {
+      try {
+        gravar();
+      } catch (IOException e) {
+        erroNoDestino = e;
+      } //Fim try-catch
+    }
+    if (erroNoDestino != null) {
+      System.out.println("> Transferencia: erro na gravacao do destino: " + erroNoDestino);
+      return false;
+    }
+
+    boolean resumoCompleto = !resumoExcedido && !resumoInformado.hasRemaining();
+    return resumoCompleto && MessageDigest.isEqual(resumoRecebido.digest(), resumoInformado.array());
+  } //Fim verificar
+
+
+  /**
+   * Fecha os dois arquivos.
+   */
+  private synchronized void fechar() {
+    try {
+      origem.close();
+    } catch (IOException e) {
+      System.out.println("> Transferencia: erro ao fechar a origem: " + e);
+    } //Fim try-catch
+    try {
+      destino.close();
+    } catch (IOException e) {
+      System.out.println("> Transferencia: erro ao fechar o destino: " + e);
+    } //Fim try-catch
+  } //Fim fechar
+
+
+  /**
+   * Espera o fim da transferencia.
+   *
+   * @return boolean              Verdadeiro se o arquivo chegou inteiro e igual a origem.
+   * @throws InterruptedException Se a espera for interrompida.
+   */
+  public boolean aguardar() throws InterruptedException {
+    fim.await();
+    return integra;
+  } //Fim aguardar
+
+
+  /**
+   * Retorna quantos bytes do arquivo o transmissor leu e enviou.
+   *
+   * @return long O total de bytes enviados.
+   */
+  public long getBytesEnviados() {
+    return bytesEnviados; //Lido depois de aguardar()
+  } //Fim getBytesEnviados
+
+
+  /**
+   * Retorna quantos bytes de dados o receptor recebeu (sem o resumo).
+   *
+   * @return long O total de bytes recebidos.
+   */
+  public synchronized long getBytesRecebidos() {
+    return bytesRecebidos;
+  } //Fim getBytesRecebidos
+
+
+  /**
+   * Retorna o erro que interrompeu a transferencia no transmissor, se houve.
+   *
+   * @return Exception O erro, ou null.
+   */
+  public Exception getFalha() {
+    return falha;
+  } //Fim getFalha
+
+} //Fim da classe TransferenciaDeArquivo
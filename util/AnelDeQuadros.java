@@ -0,0 +1,339 @@
+package util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Anel de quadros com um unico produtor e um unico consumidor, sem travas.
+ * <p>
+ * As posicoes (slots) sao criadas uma vez, na construcao, e reaproveitadas: cada
+ * uma guarda um vetor de palavras, o tamanho usado dele, o tamanho do quadro em
+ * bytes (as palavras podem ser o quadro codificado, que nao diz onde os dados
+ * terminam), a epoca do quadro e o instante da publicacao (System.nanoTime()),
+ * que permite ao consumidor medir quanto o quadro esperou no anel. O produtor
+ * pede uma posicao com reservar(), escreve as palavras no vetor devolvido e
+ * chama publicar(); o consumidor espera com aguardar(), le a posicao atual e a
+ * devolve com liberar(). O vetor de uma posicao so eh trocado quando um quadro
+ * maior chega, entao no regime normal nao ha alocacao por quadro. Quando o
+ * consumidor precisa ficar com o vetor (ex: o receptor guarda o quadro no buffer
+ * de reordenacao), o produtor usa publicar(int[], int, int), que entrega o proprio
+ * vetor em vez de copiar para a posicao; os dois modos nao devem ser misturados
+ * no mesmo anel. Um quadro ja decodificado (um caractere por byte) segue da
+ * mesma forma, pelo proprio vetor, com publicar(byte[], int) e quadro().
+ * <p>
+ * As posicoes do produtor (cauda) e do consumidor (cabeca) sao contadores que
+ * so crescem, cada um em sua propria linha de cache (preenchida com campos long
+ * nos dois lados), para que um lado nao invalide a linha do outro a cada quadro.
+ * Cada lado guarda tambem a ultima posicao do outro que viu e so le o contador
+ * compartilhado quando essa copia nao basta. Quem precisa esperar (anel vazio ou
+ * cheio) usa a estrategia escolhida na criacao:
+ * <ul>
+ *   <li>OCUPADA: gira em Thread.onSpinWait(); menor latencia, mas ocupa um nucleo
+ *       inteiro: so serve com um nucleo livre para cada lado que espera;</li>
+ *   <li>CEDER: Thread.yield() a cada tentativa;</li>
+ *   <li>ESTACIONAR: gira um pouco e depois estaciona a thread (LockSupport), que
+ *       eh acordada pelo outro lado; nao gasta processador parada.</li>
+ * </ul>
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class AnelDeQuadros {
+
+  /**Como um lado espera pelo outro */
+  public enum EstrategiaDeEspera { OCUPADA, CEDER, ESTACIONAR }
+
+  private static final int GIROS_ANTES_DE_ESTACIONAR = 100; //Tentativas com onSpinWait antes de estacionar
+
+  /**Posicao reaproveitavel do anel */
+  private static final class Posicao {
+    int[] palavras = new int[0];
+    byte[] quadro; //Quadro decodificado, publicado com publicar(byte[], int)
+    int tamanho;
+    int bytesDoQuadro;
+    int epoca;
+    long instante; //System.nanoTime() da publicacao
+  } //Fim da classe Posicao
+
+  //Contador em sua propria linha de cache: a heranca garante a ordem dos campos
+  private static class PreenchimentoAntes {
+    long p01, p02, p03, p04, p05, p06, p07;
+  } //Fim da classe PreenchimentoAntes
+
+  private static class ValorDoContador extends PreenchimentoAntes {
+    volatile long valor; //Posicao publicada para o outro lado
+    long vistoDoOutroLado; //Ultimo valor lido do contador do outro lado (so o dono usa)
+  } //Fim da classe ValorDoContador
+
+  private static final class Contador extends ValorDoContador {
+    long p11, p12, p13, p14, p15, p16, p17;
+  } //Fim da classe Contador
+
+  private final Posicao[] posicoes;
+  private final int mascara; //capacidade - 1 (a capacidade eh potencia de 2)
+  private final EstrategiaDeEspera estrategia;
+  private final Contador cauda = new Contador(); //Proxima posicao a publicar (produtor)
+  private final Contador cabeca = new Contador(); //Proxima posicao a consumir (consumidor)
+  private volatile Thread produtorEsperando; //Estacionado com o anel cheio
+  private volatile Thread consumidorEsperando; //Estacionado com o anel vazio
+
+  /**
+   * Cria o anel com todas as posicoes.
+   *
+   * @param capacidade O numero de posicoes (arredondado para a potencia de 2 seguinte).
+   * @param estrategia Como esperar com o anel vazio ou cheio.
+   */
+  public AnelDeQuadros(int capacidade, EstrategiaDeEspera estrategia) {
+    int tamanho = Integer.highestOneBit(Math.max(1, capacidade - 1)) << 1;
+    this.posicoes = new Posicao[tamanho];
+    for (int i = 0; i < tamanho; i++) {
+      posicoes[i] = new Posicao();
+    }
+    this.mascara = tamanho - 1;
+    this.estrategia = estrategia;
+  } //Fim construtor
+
+
+  /**
+   * (Produtor) Espera uma posicao livre e devolve o seu vetor, com espaco para
+   * pelo menos tamanho palavras.
+   *
+   * @param  tamanho O numero de palavras do quadro.
+   * @return int[]   O vetor da posicao, a ser preenchido antes de publicar().
+   */
+  public int[] reservar(int tamanho) {
+    aguardarEspaco();
+    Posicao posicao = posicoes[(int) cauda.valor & mascara];
+    if (posicao.palavras.length < tamanho) {
+      posicao.palavras = new int[tamanho]; //So cresce: quadros menores reaproveitam o vetor
+    }
+    return posicao.palavras;
+  } //Fim reservar
+
+
+  /**
+   * (Produtor) Publica a posicao reservada, preenchida com tamanho palavras.
+   *
+   * @param tamanho       O numero de palavras escritas no vetor.
+   * @param bytesDoQuadro O numero de bytes do quadro que as palavras carregam.
+   * @param epoca         A epoca do quadro.
+   */
+  public void publicar(int tamanho, int bytesDoQuadro, int epoca) {
+    long posicaoAtual = cauda.valor;
+    Posicao posicao = posicoes[(int) posicaoAtual & mascara];
+    posicao.tamanho = tamanho;
+    posicao.bytesDoQuadro = bytesDoQuadro;
+    posicao.epoca = epoca;
+    posicao.instante = System.nanoTime();
+    cauda.valor = posicaoAtual + 1; //Escrita volatil: o consumidor ve a posicao ja preenchida
+    acordar(consumidorEsperando);
+  } //Fim publicar
+
+
+  /**
+   * (Produtor) Espera uma posicao livre e publica nela o proprio vetor, que
+   * passa a pertencer ao consumidor.
+   *
+   * @param palavras      O quadro completo.
+   * @param bytesDoQuadro O numero de bytes do quadro que as palavras carregam.
+   * @param epoca         A epoca do quadro.
+   */
+  public void publicar(int[] palavras, int bytesDoQuadro, int epoca) {
+    aguardarEspaco();
+    posicoes[(int) cauda.valor & mascara].palavras = palavras;
+    publicar(palavras.length, bytesDoQuadro, epoca);
+  } //Fim publicar
+
+
+  /**
+   * (Produtor) Espera uma posicao livre e publica nela o proprio quadro de bytes,
+   * que passa a pertencer ao consumidor.
+   *
+   * @param quadro O quadro decodificado, um caractere por byte.
+   * @param epoca  A epoca do quadro.
+   */
+  public void publicar(byte[] quadro, int epoca) {
+    aguardarEspaco();
+    posicoes[(int) cauda.valor & mascara].quadro = quadro;
+    publicar(0, quadro.length, epoca);
+  } //Fim publicar
+
+
+  /**
+   * (Consumidor) Espera ate haver um quadro publicado.
+   *
+   * @param  esperaMaxima O tempo maximo de espera, em nanossegundos.
+   * @return boolean      Verdadeiro se ha um quadro; falso se o tempo acabou.
+   */
+  public boolean aguardar(long esperaMaxima) {
+    long posicao = cabeca.valor;
+    if (posicao < cabeca.vistoDoOutroLado) {
+      return true; //A ultima leitura da cauda ja mostrava este quadro
+    }
+
+    long limite = System.nanoTime() + esperaMaxima;
+    for (int tentativa = 0; ; tentativa++) {
+      long publicada = cauda.valor;
+      if (posicao < publicada) {
+        cabeca.vistoDoOutroLado = publicada;
+        return true;
+      }
+      if (System.nanoTime() - limite >= 0) {
+        return false;
+      }
+      esperar(tentativa, limite, true);
+    } //Fim for
+  } //Fim aguardar
+
+
+  /**
+   * (Consumidor) Retorna o vetor do quadro atual (valido ate liberar()).
+   *
+   * @return int[] As palavras; so as primeiras tamanho() sao do quadro.
+   */
+  public int[] palavras() {
+    return posicoes[(int) cabeca.valor & mascara].palavras;
+  } //Fim palavras
+
+
+  /**
+   * (Consumidor) Retorna o quadro de bytes atual, publicado com publicar(byte[], int).
+   *
+   * @return byte[] O quadro, um caractere por byte.
+   */
+  public byte[] quadro() {
+    return posicoes[(int) cabeca.valor & mascara].quadro;
+  } //Fim quadro
+
+
+  /**
+   * (Consumidor) Retorna o numero de palavras do quadro atual.
+   *
+   * @return int O tamanho do quadro.
+   */
+  public int tamanho() {
+    return posicoes[(int) cabeca.valor & mascara].tamanho;
+  } //Fim tamanho
+
+
+  /**
+   * (Consumidor) Retorna o numero de bytes do quadro atual.
+   *
+   * @return int O tamanho do quadro em bytes, informado na publicacao.
+   */
+  public int bytesDoQuadro() {
+    return posicoes[(int) cabeca.valor & mascara].bytesDoQuadro;
+  } //Fim bytesDoQuadro
+
+
+  /**
+   * (Consumidor) Retorna a epoca do quadro atual.
+   *
+   * @return int A epoca.
+   */
+  public int epoca() {
+    return posicoes[(int) cabeca.valor & mascara].epoca;
+  } //Fim epoca
+
+
+  /**
+   * (Consumidor) Retorna o instante em que o quadro atual foi publicado.
+   *
+   * @return long O System.nanoTime() da publicacao.
+   */
+  public long instantePublicacao() {
+    return posicoes[(int) cabeca.valor & mascara].instante;
+  } //Fim instantePublicacao
+
+
+  /**
+   * (Consumidor) Devolve a posicao atual ao produtor.
+   */
+  public void liberar() {
+    cabeca.valor = cabeca.valor + 1; //Escrita volatil: o produtor ja pode reaproveitar a posicao
+    acordar(produtorEsperando);
+  } //Fim liberar
+
+
+  /**
+   * Indica se nao ha quadros publicados (leitura instantanea, de qualquer thread).
+   *
+   * @return boolean Verdadeiro se o anel esta vazio.
+   */
+  public boolean vazio() {
+    return cabeca.valor == cauda.valor;
+  } //Fim vazio
+
+
+  /**
+   * (Produtor) Espera ate a posicao da cauda estar livre (contrapressao).
+   */
+  private void aguardarEspaco() {
+    long minimo = cauda.valor - mascara; //A cabeca precisa ter passado deste ponto
+    if (cauda.vistoDoOutroLado >= minimo) {
+      return;
+    }
+
+    for (int tentativa = 0; ; tentativa++) {
+      long consumida = cabeca.valor;
+      if (consumida >= minimo) {
+        cauda.vistoDoOutroLado = consumida;
+        return;
+      }
+      esperar(tentativa, 0, false);
+    } //Fim for
+  } //Fim aguardarEspaco
+
+
+  /**
+   * Espera uma vez, conforme a estrategia, antes de conferir o anel de novo.
+   *
+   * @param tentativa   Quantas vezes este lado ja esperou nesta chamada.
+   * @param limite      O instante (System.nanoTime) em que a espera do consumidor acaba.
+   * @param consumidor  Verdadeiro se quem espera eh o consumidor.
+   */
+  private void esperar(int tentativa, long limite, boolean consumidor) {
+    switch (estrategia) {
+      case OCUPADA:
+        Thread.onSpinWait();
+        break;
+      case CEDER:
+        Thread.yield();
+        break;
+      default: //ESTACIONAR
+        if (tentativa < GIROS_ANTES_DE_ESTACIONAR) {
+          Thread.onSpinWait();
+          break;
+        }
+        Thread atual = Thread.currentThread();
+        long espera = consumidor ? Math.max(0, limite - System.nanoTime()) : Long.MAX_VALUE; //O produtor so sai com espaco
+        if (consumidor) {
+          consumidorEsperando = atual;
+          if (vazio()) { //Confere de novo depois de se anunciar: a publicacao nao pode se perder
+            LockSupport.parkNanos(this, espera);
+          }
+          consumidorEsperando = null;
+        } else {
+          produtorEsperando = atual;
+          if (cabeca.valor < cauda.valor - mascara) {
+            LockSupport.parkNanos(this, espera);
+          }
+          produtorEsperando = null;
+        } //Fim if-else
+        break;
+    } //Fim switch
+  } //Fim esperar
+
+
+  /**
+   * Acorda a thread estacionada do outro lado, se houver.
+   *
+   * @param thread A thread anunciada (ou null).
+   */
+  private static void acordar(Thread thread) {
+    if (thread != null) {
+      LockSupport.unpark(thread);
+    }
+  } //Fim acordar
+
+} //Fim da classe AnelDeQuadros
@@ -0,0 +1,379 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Vetor de bits empacotados, compartilhado pelas rotinas que trabalham bit a bit.
+ * <p>
+ * Os bits ficam em um long[] (64 bits por posicao, MSB primeiro), em vez de uma
+ * lista com um Integer por bit ou de um vetor com um byte por posicao. O buffer
+ * cresce conforme os bits sao anexados e oferece leitura e escrita de ate 64 bits
+ * por chamada em qualquer posicao, copia em blocos entre buffers e um cursor para
+ * leitura sequencial. Os bits alem do tamanho atual sao sempre zero.
+ * <p>
+ * A conversao para o formato usado entre as camadas (o quadro em um byte[]) eh
+ * feita apenas nas bordas, por deBytes() e paraBytes().
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class BufferDeBits {
+
+  private long[] palavras; //Bits empacotados, MSB primeiro
+  private int tamanho; //Numero de bits validos
+  private int cursor; //Posicao do proximo bit a ser lido sequencialmente
+
+  /**
+   * Cria um buffer vazio com capacidade inicial para 64 bits.
+   */
+  public BufferDeBits() {
+    this(64);
+  } //Fim construtor
+
+
+  /**
+   * Cria um buffer vazio com a capacidade inicial informada.
+   *
+   * @param capacidadeBits O numero de bits que cabem sem realocacao.
+   */
+  public BufferDeBits(int capacidadeBits) {
+    palavras = new long[Math.max(1, (capacidadeBits + 63) >>> 6)];
+  } //Fim construtor
+
+
+  /**
+   * Cria um buffer com os bytes de um trecho do quadro.
+   *
+   * @param  bytes        O quadro.
+   * @param  inicio       Indice do primeiro byte (inclusivo).
+   * @param  fim          Indice do ultimo byte (exclusivo).
+   * @return BufferDeBits O buffer com 8 bits por byte, MSB primeiro.
+   */
+  public static BufferDeBits deBytes(byte[] bytes, int inicio, int fim) {
+    BufferDeBits buffer = new BufferDeBits((fim - inicio) * 8);
+    int i = inicio;
+
+    for (; fim - i >= 8; i += 8) { //Empacota 8 bytes por palavra
+      long palavra = 0;
+      for (int j = 0; j < 8; j++) {
+        palavra = (palavra << 8) | (bytes[i + j] & 0xFF);
+      }
+      buffer.anexarBits(palavra, 64);
+    } //Fim for
+
+    for (; i < fim; i++) {
+      buffer.anexarBits(bytes[i] & 0xFF, 8);
+    }
+
+    return buffer;
+  } //Fim deBytes
+
+
+  /**
+   * Cria um buffer com todos os bytes do quadro.
+   *
+   * @param  bytes        O quadro.
+   * @return BufferDeBits O buffer com 8 bits por byte, MSB primeiro.
+   */
+  public static BufferDeBits deBytes(byte[] bytes) {
+    return deBytes(bytes, 0, bytes.length);
+  } //Fim deBytes
+
+
+  /**
+   * Converte o buffer para um quadro de bytes.
+   * <p>
+   * Se o tamanho nao for multiplo de 8, o ultimo byte eh completado com zeros.
+   *
+   * @return byte[] Os bytes do buffer, MSB primeiro.
+   */
+  public byte[] paraBytes() {
+    byte[] bytes = new byte[(tamanho + 7) >>> 3];
+
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (palavras[i >>> 3] >>> (56 - ((i & 7) << 3)));
+    }
+
+    return bytes;
+  } //Fim paraBytes
+
+
+  /**
+   * Retorna o numero de bits validos no buffer.
+   *
+   * @return int O tamanho em bits.
+   */
+  public int tamanho() {
+    return tamanho;
+  } //Fim tamanho
+
+
+  /**
+   * Reduz o tamanho do buffer, zerando os bits descartados.
+   *
+   * @param novoTamanho O novo tamanho em bits (menor ou igual ao atual).
+   */
+  public void truncar(int novoTamanho) {
+    if (novoTamanho >= tamanho) {
+      return;
+    }
+
+    int indice = novoTamanho >>> 6;
+    if ((novoTamanho & 63) != 0) {
+      palavras[indice] &= -1L << (64 - (novoTamanho & 63)); //Mantem apenas os bits antes do corte
+      indice++;
+    }
+    Arrays.fill(palavras, indice, ((tamanho + 63) >>> 6), 0L);
+
+    tamanho = novoTamanho;
+    cursor = Math.min(cursor, tamanho);
+  } //Fim truncar
+
+
+  /**
+   * Esvazia o buffer, mantendo a capacidade alocada.
+   */
+  public void limpar() {
+    truncar(0);
+  } //Fim limpar
+
+
+  /**
+   * Anexa um bit ao final do buffer.
+   *
+   * @param bit O bit (0 ou 1).
+   */
+  public void anexarBit(int bit) {
+    garantirCapacidade(tamanho + 1);
+    if ((bit & 1) == 1) {
+      palavras[tamanho >>> 6] |= Long.MIN_VALUE >>> (tamanho & 63);
+    }
+    tamanho++;
+  } //Fim anexarBit
+
+
+  /**
+   * Anexa ate 64 bits ao final do buffer.
+   *
+   * @param valor      Os bits, alinhados a direita.
+   * @param quantidade O numero de bits (0 a 64).
+   */
+  public void anexarBits(long valor, int quantidade) {
+    escreverBits(tamanho, quantidade, valor);
+  } //Fim anexarBits
+
+
+  /**
+   * Anexa um byte (8 bits) ao final do buffer.
+   *
+   * @param valor O byte, nos 8 bits menos significativos.
+   */
+  public void anexarByte(int valor) {
+    escreverBits(tamanho, 8, valor & 0xFF);
+  } //Fim anexarByte
+
+
+  /**
+   * Completa o ultimo byte com zeros, para que o tamanho seja multiplo de 8.
+   */
+  public void completarByte() {
+    int resto = tamanho & 7;
+    if (resto != 0) {
+      escreverBits(tamanho, 8 - resto, 0);
+    }
+  } //Fim completarByte
+
+
+  /**
+   * Anexa um trecho de outro buffer ao final deste.
+   *
+   * @param origem     O buffer de origem.
+   * @param posicao    O indice do primeiro bit na origem.
+   * @param quantidade O numero de bits a copiar.
+   */
+  public void anexar(BufferDeBits origem, int posicao, int quantidade) {
+    copiar(origem, posicao, tamanho, quantidade);
+  } //Fim anexar
+
+
+  /**
+   * Copia um trecho de outro buffer para este, de 64 em 64 bits.
+   *
+   * @param origem         O buffer de origem.
+   * @param posicaoOrigem  O indice do primeiro bit na origem.
+   * @param posicaoDestino O indice do primeiro bit neste buffer.
+   * @param quantidade     O numero de bits a copiar.
+   */
+  public void copiar(BufferDeBits origem, int posicaoOrigem, int posicaoDestino, int quantidade) {
+    while (quantidade > 0) {
+      int bloco = Math.min(64, quantidade);
+      escreverBits(posicaoDestino, bloco, origem.lerBits(posicaoOrigem, bloco));
+      posicaoOrigem += bloco;
+      posicaoDestino += bloco;
+      quantidade -= bloco;
+    } //Fim while
+  } //Fim copiar
+
+
+  /**
+   * Le um bit do buffer.
+   *
+   * @param  posicao O indice do bit.
+   * @return int     O bit (0 ou 1).
+   */
+  public int lerBit(int posicao) {
+    return (int) (palavras[posicao >>> 6] >>> (63 - (posicao & 63))) & 1;
+  } //Fim lerBit
+
+
+  /**
+   * Le ate 64 bits consecutivos do buffer (MSB primeiro).
+   *
+   * @param  posicao    O indice do primeiro bit.
+   * @param  quantidade O numero de bits (1 a 64).
+   * @return long       Os bits lidos, alinhados a direita.
+   */
+  public long lerBits(int posicao, int quantidade) {
+    int indice = posicao >>> 6;
+    int deslocamento = posicao & 63;
+
+    long valor = palavras[indice] << deslocamento;
+    if (deslocamento != 0 && deslocamento + quantidade > 64 && indice + 1 < palavras.length) {
+      valor |= palavras[indice + 1] >>> (64 - deslocamento);
+    }
+
+    return (quantidade == 64) ? valor : valor >>> (64 - quantidade);
+  } //Fim lerBits
+
+
+  /**
+   * Escreve ate 64 bits consecutivos no buffer (MSB primeiro), substituindo os anteriores.
+   * <p>
+   * Se a escrita passar do final, o buffer cresce e o tamanho eh atualizado.
+   *
+   * @param posicao    O indice do primeiro bit.
+   * @param quantidade O numero de bits (0 a 64).
+   * @param valor      Os bits a escrever, alinhados a direita.
+   */
+  public void escreverBits(int posicao, int quantidade, long valor) {
+    if (quantidade == 0) {
+      return;
+    }
+    garantirCapacidade(posicao + quantidade);
+
+    int indice = posicao >>> 6;
+    int deslocamento = posicao & 63;
+
+    long mascara = (quantidade == 64) ? -1L : -1L << (64 - quantidade); //Bits escritos, alinhados a esquerda
+    long alinhado = (quantidade == 64) ? valor : (valor << (64 - quantidade)) & mascara;
+
+    palavras[indice] = (palavras[indice] & ~(mascara >>> deslocamento)) | (alinhado >>> deslocamento);
+    if (deslocamento != 0 && deslocamento + quantidade > 64) {
+      palavras[indice + 1] = (palavras[indice + 1] & ~(mascara << (64 - deslocamento)))
+                           | (alinhado << (64 - deslocamento));
+    }
+
+    tamanho = Math.max(tamanho, posicao + quantidade);
+  } //Fim escreverBits
+
+
+  /**
+   * Inverte um bit do buffer.
+   *
+   * @param posicao O indice do bit.
+   */
+  public void inverterBit(int posicao) {
+    palavras[posicao >>> 6] ^= Long.MIN_VALUE >>> (posicao & 63);
+  } //Fim inverterBit
+
+
+  /**
+   * Retorna uma palavra de 64 bits do armazenamento interno.
+   * <p>
+   * Permite processar o buffer palavra a palavra (ex: contagem de bits).
+   *
+   * @param  indice O indice da palavra (bits 64*indice a 64*indice + 63).
+   * @return long   A palavra, com o bit de menor indice no MSB.
+   */
+  public long getPalavra(int indice) {
+    return palavras[indice];
+  } //Fim getPalavra
+
+
+  /**
+   * Retorna o numero de palavras de 64 bits ocupadas pelo tamanho atual.
+   *
+   * @return int O numero de palavras.
+   */
+  public int getNumPalavras() {
+    return (tamanho + 63) >>> 6;
+  } //Fim getNumPalavras
+
+
+  /**
+   * Retorna a posicao do cursor de leitura sequencial.
+   *
+   * @return int O indice do proximo bit a ser lido.
+   */
+  public int getCursor() {
+    return cursor;
+  } //Fim getCursor
+
+
+  /**
+   * Posiciona o cursor de leitura sequencial.
+   *
+   * @param cursor O indice do proximo bit a ser lido.
+   */
+  public void setCursor(int cursor) {
+    this.cursor = cursor;
+  } //Fim setCursor
+
+
+  /**
+   * Informa se ainda ha bits a ler a partir do cursor.
+   *
+   * @return boolean Verdadeiro se o cursor estiver antes do final.
+   */
+  public boolean temProximo() {
+    return cursor < tamanho;
+  } //Fim temProximo
+
+
+  /**
+   * Le o bit na posicao do cursor e avanca o cursor.
+   *
+   * @return int O bit lido (0 ou 1).
+   */
+  public int lerProximoBit() {
+    return lerBit(cursor++);
+  } //Fim lerProximoBit
+
+
+  /**
+   * Le ate 64 bits a partir do cursor e avanca o cursor.
+   *
+   * @param  quantidade O numero de bits (1 a 64).
+   * @return long       Os bits lidos, alinhados a direita.
+   */
+  public long lerProximosBits(int quantidade) {
+    long valor = lerBits(cursor, quantidade);
+    cursor += quantidade;
+    return valor;
+  } //Fim lerProximosBits
+
+
+  /**
+   * Garante espaco para o numero de bits informado, dobrando a capacidade se preciso.
+   *
+   * @param bits O numero de bits que deve caber no buffer.
+   */
+  private void garantirCapacidade(int bits) {
+    int palavrasNecessarias = (bits + 63) >>> 6;
+    if (palavrasNecessarias > palavras.length) {
+      palavras = Arrays.copyOf(palavras, Math.max(palavrasNecessarias, palavras.length * 2));
+    }
+  } //Fim garantirCapacidade
+
+} //Fim da classe BufferDeBits
@@ -0,0 +1,226 @@
+package util;
+
+/**
+ * Motor de calculo da verificacao ciclica de redundancia (CRC) orientado a tabelas.
+ * <p>
+ * Substitui a divisao polinomial bit a bit (com BigInteger) por uma tabela de
+ * consulta na tecnica "slicing-by-8": oito tabelas de 256 entradas permitem
+ * processar 8 bytes do quadro por iteracao, com apenas deslocamentos, XORs e
+ * acessos a memoria. O calculo eh feito diretamente sobre o quadro (byte[])
+ * usado pelas camadas de enlace.
+ * <p>
+ * O registrador eh mantido alinhado a esquerda em um long de 64 bits, de forma
+ * que o mesmo codigo atende polinomios de grau 8 a 64. O CRC calculado eh o
+ * resto puro da divisao de M(x) * x^grau por G(x) (valor inicial 0, sem reflexao
+ * e sem XOR final), exatamente o mesmo resto produzido pela divisao longa.
+ * <p>
+ * A classe tambem funciona como catalogo dos polinomios disponiveis na simulacao
+ * (CRC-8, CRC-16-CCITT, CRC-32, CRC-32C e CRC-64), que ocupam 1, 2, 4 ou 8 bytes
+ * no quadro. As tabelas de cada polinomio so sao construidas no primeiro uso e
+ * ficam guardadas na propria instancia do catalogo.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class CalculadoraCRC {
+
+  /**Polinomio CRC-8: x^8 + x^2 + x + 1 */
+  public static final CalculadoraCRC CRC_8 = new CalculadoraCRC("CRC-8", 8, 0x07L);
+
+  /**Polinomio CRC-16-CCITT: x^16 + x^12 + x^5 + 1 */
+  public static final CalculadoraCRC CRC_16_CCITT = new CalculadoraCRC("CRC-16-CCITT", 16, 0x1021L);
+
+  /**Polinomio CRC-32 IEEE 802.3: x^32 + x^26 + x^23 + x^22 + x^16 + x^12 + x^11 + x^10 + x^8 + x^7 + x^5 + x^4 + x^2 + x + 1 */
+  public static final CalculadoraCRC CRC_32 = new CalculadoraCRC("CRC-32", 32, 0x04C11DB7L);
+
+  /**Polinomio CRC-32C (Castagnoli), com melhor distancia de Hamming que o CRC-32 para quadros curtos */
+  public static final CalculadoraCRC CRC_32C = new CalculadoraCRC("CRC-32C", 32, 0x1EDC6F41L);
+
+  /**Polinomio CRC-64 ECMA-182 */
+  public static final CalculadoraCRC CRC_64 = new CalculadoraCRC("CRC-64", 64, 0x42F0E1EBA9EA3693L);
+
+  /**Catalogo dos polinomios disponiveis, na ordem de tamanho do CRC */
+  private static final CalculadoraCRC[] CATALOGO = { CRC_8, CRC_16_CCITT, CRC_32, CRC_32C, CRC_64 };
+
+  private final String nome; //Nome do polinomio no catalogo
+  private final int grau; //Grau do polinomio gerador, isto eh, numero de bits do CRC
+  private final long polinomioAlinhado; //Polinomio (sem o termo x^grau) alinhado ao bit 63
+  private volatile long[][] tabelas; //Tabelas do slicing-by-8, construidas no primeiro uso
+
+  /**
+   * Cria um motor de CRC para o polinomio gerador informado.
+   *
+   * @param nome        O nome do polinomio, usado na busca pelo catalogo.
+   * @param grau        O grau do polinomio gerador (8 a 64, multiplo de 8).
+   * @param polinomio   Os coeficientes do polinomio, sem o termo de maior grau.
+   */
+  public CalculadoraCRC(String nome, int grau, long polinomio) {
+    if (grau < 8 || grau > 64 || grau % 8 != 0) {
+      throw new IllegalArgumentException("Grau de CRC nao suportado: " + grau);
+    }
+    this.nome = nome;
+    this.grau = grau;
+    this.polinomioAlinhado = polinomio << (64 - grau);
+  } //Fim construtor
+
+
+  /**
+   * Busca um polinomio do catalogo pelo nome.
+   *
+   * @param  nome           O nome do polinomio (ex: "CRC-32C").
+   * @return CalculadoraCRC O motor correspondente.
+   */
+  public static CalculadoraCRC obter(String nome) {
+    for (CalculadoraCRC crc : CATALOGO) {
+      if (crc.nome.equals(nome)) {
+        return crc;
+      }
+    } //Fim for
+    throw new IllegalArgumentException("Polinomio CRC desconhecido: " + nome);
+  } //Fim obter
+
+
+  /**
+   * Retorna as tabelas de consulta, construindo-as na primeira chamada.
+   *
+   * @return long[][] As oito tabelas do slicing-by-8.
+   */
+  private long[][] getTabelas() {
+    long[][] t = tabelas;
+    if (t == null) {
+      synchronized (this) {
+        t = tabelas;
+        if (t == null) {
+          t = construirTabelas();
+          tabelas = t;
+        }
+      }
+    } //Fim if
+    return t;
+  } //Fim getTabelas
+
+
+  /**
+   * Preenche as oito tabelas de consulta.
+   * <p>
+   * A tabela 0 contem o resto de cada byte possivel deslocado para o topo do
+   * registrador. A tabela k contem o efeito do mesmo byte seguido de k bytes
+   * nulos, o que permite combinar 8 bytes em uma unica rodada de XORs.
+   *
+   * @return long[][] As tabelas preenchidas.
+   */
+  private long[][] construirTabelas() {
+    long[][] tabelas = new long[8][256];
+
+    for (int b = 0; b < 256; b++) {
+      long resto = ((long) b) << 56;
+      for (int i = 0; i < 8; i++) { //Divisao de um unico byte, bit a bit
+        resto = (resto < 0) ? (resto << 1) ^ polinomioAlinhado : (resto << 1);
+      }
+      tabelas[0][b] = resto;
+    } //Fim for
+
+    for (int k = 1; k < 8; k++) {
+      for (int b = 0; b < 256; b++) {
+        long anterior = tabelas[k - 1][b];
+        tabelas[k][b] = (anterior << 8) ^ tabelas[0][(int) (anterior >>> 56)];
+      }
+    } //Fim for
+
+    return tabelas;
+  } //Fim construirTabelas
+
+
+  /**
+   * Calcula o CRC de um trecho do quadro.
+   *
+   * @param quadro  O quadro.
+   * @param inicio  Indice do primeiro byte (inclusivo).
+   * @param fim     Indice do ultimo byte (exclusivo).
+   * @return long   O resto da divisao, nos 'grau' bits menos significativos.
+   */
+  public long calcular(byte[] quadro, int inicio, int fim) {
+    long[][] tabelas = getTabelas();
+    long registrador = 0;
+    int i = inicio;
+
+    //Slicing-by-8: consome 8 bytes por iteracao
+    while (fim - i >= 8) {
+      registrador ^= ((long) (quadro[i] & 0xFF) << 56) | ((long) (quadro[i + 1] & 0xFF) << 48)
+                   | ((long) (quadro[i + 2] & 0xFF) << 40) | ((long) (quadro[i + 3] & 0xFF) << 32)
+                   | ((long) (quadro[i + 4] & 0xFF) << 24) | ((long) (quadro[i + 5] & 0xFF) << 16)
+                   | ((long) (quadro[i + 6] & 0xFF) << 8)  |  (long) (quadro[i + 7] & 0xFF);
+
+      registrador = tabelas[7][(int) (registrador >>> 56)]
+                  ^ tabelas[6][(int) (registrador >>> 48) & 0xFF]
+                  ^ tabelas[5][(int) (registrador >>> 40) & 0xFF]
+                  ^ tabelas[4][(int) (registrador >>> 32) & 0xFF]
+                  ^ tabelas[3][(int) (registrador >>> 24) & 0xFF]
+                  ^ tabelas[2][(int) (registrador >>> 16) & 0xFF]
+                  ^ tabelas[1][(int) (registrador >>> 8) & 0xFF]
+                  ^ tabelas[0][(int) registrador & 0xFF];
+      i += 8;
+    } //Fim while
+
+    //Bytes restantes, um por vez
+    for (; i < fim; i++) {
+      registrador = (registrador << 8) ^ tabelas[0][(int) (registrador >>> 56) ^ (quadro[i] & 0xFF)];
+    }
+
+    return registrador >>> (64 - grau);
+  } //Fim calcular
+
+
+  /**
+   * Gera o quadro com o CRC anexado ao final.
+   *
+   * @param quadro  A mensagem enquadrada.
+   * @return byte[] A mensagem seguida dos bytes do CRC (MSB primeiro).
+   */
+  public byte[] anexar(byte[] quadro) {
+    int numBytesCRC = grau / 8;
+    long crc = calcular(quadro, 0, quadro.length);
+
+    byte[] quadroComCRC = new byte[quadro.length + numBytesCRC];
+    System.arraycopy(quadro, 0, quadroComCRC, 0, quadro.length);
+
+    for (int i = 0; i < numBytesCRC; i++) { //Escreve o CRC do byte mais significativo ao menos
+      quadroComCRC[quadro.length + i] = (byte) (crc >>> (8 * (numBytesCRC - 1 - i)));
+    }
+
+    return quadroComCRC;
+  } //Fim anexar
+
+
+  /**
+   * Verifica se o quadro recebido (mensagem + CRC) eh divisivel pelo polinomio gerador.
+   *
+   * @param quadro    A mensagem e o CRC recebidos.
+   * @return boolean  Verdadeiro se o resto da divisao for zero (sem erro detectado).
+   */
+  public boolean verificar(byte[] quadro) {
+    return quadro.length >= grau / 8 && calcular(quadro, 0, quadro.length) == 0;
+  } //Fim verificar
+
+
+  /**
+   * Retorna o numero de bytes ocupados pelo CRC no quadro.
+   *
+   * @return int O tamanho do CRC em bytes.
+   */
+  public int getNumBytes() {
+    return grau / 8;
+  } //Fim getNumBytes
+
+
+  /**
+   * Retorna o nome do polinomio no catalogo.
+   *
+   * @return String O nome do polinomio.
+   */
+  public String getNome() {
+    return nome;
+  } //Fim getNome
+
+} //Fim da classe CalculadoraCRC
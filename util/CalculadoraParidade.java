@@ -0,0 +1,180 @@
+package util;
+
+/**
+ * Motor de calculo de paridade usado pelo controle de erros das camadas de enlace.
+ * <p>
+ * Em vez de testar os 8 bits de cada byte, a paridade de um trecho do quadro eh
+ * obtida pelo XOR de todos os seus bytes (a paridade dos bits eh preservada pelo
+ * XOR) seguido de uma unica consulta a uma tabela de 256 entradas. O quadro eh
+ * percorrido uma unica vez, sem desvios por bit.
+ * <p>
+ * Tambem implementa a paridade bidimensional: o quadro eh dividido em blocos de
+ * 8 bytes, vistos como uma matriz 8 x 8 de bits (cada byte eh uma linha). Cada
+ * bloco recebe um byte com a paridade par das linhas e um byte com a paridade par
+ * das colunas. Um erro simples no bloco altera exatamente uma linha e uma coluna,
+ * o que permite localiza-lo e corrigi-lo. O ultimo bloco eh encurtado: leva so os
+ * bytes que existem, como se os que faltam fossem nulos (que nao alteram as
+ * paridades), e o receptor deduz o tamanho dos dados do tamanho do quadro.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class CalculadoraParidade {
+
+  private static final int BYTES_POR_BLOCO = 8; //Linhas da matriz de paridade bidimensional
+  private static final int TAMANHO_BLOCO_CODIFICADO = BYTES_POR_BLOCO + 2; //Linhas + byte das linhas + byte das colunas
+
+  /**Paridade (0 ou 1) de cada valor de byte possivel */
+  private static final int[] TABELA_PARIDADE = new int[256];
+
+  static {
+    for (int b = 1; b < 256; b++) {
+      TABELA_PARIDADE[b] = TABELA_PARIDADE[b >> 1] ^ (b & 1);
+    }
+  } //Fim static
+
+
+  /**
+   * Calcula a paridade de um trecho do quadro.
+   *
+   * @param  quadro O quadro.
+   * @param  inicio Indice do primeiro byte (inclusivo).
+   * @param  fim    Indice do ultimo byte (exclusivo).
+   * @return int    1 se a quantidade de bits em 1 for impar, 0 se for par.
+   */
+  public static int calcular(byte[] quadro, int inicio, int fim) {
+    int acumulado = 0;
+    for (int i = inicio; i < fim; i++) {
+      acumulado ^= quadro[i];
+    }
+    return TABELA_PARIDADE[acumulado & 0xFF];
+  } //Fim calcular
+
+
+  /**
+   * Gera o quadro com o bit de paridade (par ou impar) anexado ao final, em um byte.
+   *
+   * @param  quadro A mensagem enquadrada.
+   * @param  impar  Verdadeiro para paridade impar, falso para paridade par.
+   * @return byte[] A mensagem seguida do bit de paridade.
+   */
+  public static byte[] anexar(byte[] quadro, boolean impar) {
+    byte[] quadroComParidade = new byte[quadro.length + 1];
+    System.arraycopy(quadro, 0, quadroComParidade, 0, quadro.length);
+    quadroComParidade[quadro.length] = (byte) (calcular(quadro, 0, quadro.length) ^ (impar ? 1 : 0));
+
+    return quadroComParidade;
+  } //Fim anexar
+
+
+  /**
+   * Verifica o bit de paridade (ultimo byte) e o remove do quadro.
+   *
+   * @param  quadro A mensagem e o bit de paridade recebidos.
+   * @param  impar  Verdadeiro para paridade impar, falso para paridade par.
+   * @return byte[] A mensagem original, ou null se um erro for detectado.
+   */
+  public static byte[] verificar(byte[] quadro, boolean impar) {
+    if (quadro.length == 0) {
+      return null; //Nem o bit de paridade chegou
+    }
+
+    int bitParidadeRecebido = quadro[quadro.length - 1] & 0xFF;
+    int bitParidadeEsperado = calcular(quadro, 0, quadro.length - 1) ^ (impar ? 1 : 0);
+
+    if (bitParidadeRecebido != bitParidadeEsperado) {
+      return null; //Erro detectado
+    }
+
+    byte[] quadroOriginal = new byte[quadro.length - 1];
+    System.arraycopy(quadro, 0, quadroOriginal, 0, quadroOriginal.length);
+
+    return quadroOriginal;
+  } //Fim verificar
+
+
+  /**
+   * Codifica o quadro com paridade bidimensional, bloco a bloco.
+   *
+   * @param  quadro A mensagem enquadrada.
+   * @return byte[] Os blocos de ate 8 bytes, cada um seguido da paridade das linhas e das colunas.
+   */
+  public static byte[] codificarBidimensional(byte[] quadro) {
+    int numBlocos = (quadro.length + BYTES_POR_BLOCO - 1) / BYTES_POR_BLOCO;
+    byte[] quadroCodificado = new byte[quadro.length + numBlocos * (TAMANHO_BLOCO_CODIFICADO - BYTES_POR_BLOCO)];
+
+    for (int b = 0; b < numBlocos; b++) {
+      int entrada = b * BYTES_POR_BLOCO;
+      int saida = b * TAMANHO_BLOCO_CODIFICADO;
+      int linhas = Math.min(BYTES_POR_BLOCO, quadro.length - entrada); //O ultimo bloco pode ser encurtado
+
+      int paridadeLinhas = 0;
+      int paridadeColunas = 0;
+      for (int i = 0; i < linhas; i++) {
+        int linha = quadro[entrada + i] & 0xFF;
+        paridadeLinhas |= TABELA_PARIDADE[linha] << (7 - i); //Linha i no bit (7 - i), MSB primeiro
+        paridadeColunas ^= linha;
+        quadroCodificado[saida + i] = (byte) linha;
+      } //Fim for
+
+      quadroCodificado[saida + linhas] = (byte) paridadeLinhas;
+      quadroCodificado[saida + linhas + 1] = (byte) paridadeColunas;
+    } //Fim for
+
+    return quadroCodificado;
+  } //Fim codificarBidimensional
+
+
+  /**
+   * Decodifica o quadro com paridade bidimensional, corrigindo um erro simples por bloco.
+   * <p>
+   * Em cada bloco, as linhas e as colunas com paridade errada sao marcadas em
+   * dois bytes. Uma linha e uma coluna marcadas indicam o bit a corrigir; apenas
+   * uma linha ou apenas uma coluna indica erro no proprio byte de paridade, e os
+   * dados estao corretos. Qualquer outra combinacao eh um erro multiplo, assim
+   * como uma linha marcada que nao existe no ultimo bloco.
+   *
+   * @param  quadro Os blocos recebidos.
+   * @return byte[] Os dados, ou null se houver erro nao corrigivel.
+   */
+  public static byte[] decodificarBidimensional(byte[] quadro) {
+    int numBlocos = (quadro.length + TAMANHO_BLOCO_CODIFICADO - 1) / TAMANHO_BLOCO_CODIFICADO;
+    int tamanhoDados = quadro.length - numBlocos * (TAMANHO_BLOCO_CODIFICADO - BYTES_POR_BLOCO);
+    if (tamanhoDados <= (numBlocos - 1) * BYTES_POR_BLOCO) {
+      System.out.println("Quadro sem os dados do ultimo bloco (nao corrigivel)");
+      return null; //Tamanho que o codificador nao gera
+    }
+    byte[] quadroOriginal = new byte[tamanhoDados];
+
+    for (int b = 0; b < numBlocos; b++) {
+      int entrada = b * TAMANHO_BLOCO_CODIFICADO;
+      int saida = b * BYTES_POR_BLOCO;
+      int linhas = Math.min(BYTES_POR_BLOCO, tamanhoDados - saida);
+
+      int linhasErradas = quadro[entrada + linhas] & 0xFF;
+      int colunasErradas = quadro[entrada + linhas + 1] & 0xFF;
+      for (int i = 0; i < linhas; i++) {
+        int linha = quadro[entrada + i] & 0xFF;
+        linhasErradas ^= TABELA_PARIDADE[linha] << (7 - i);
+        colunasErradas ^= linha;
+        quadroOriginal[saida + i] = (byte) linha;
+      } //Fim for
+
+      int numLinhas = Integer.bitCount(linhasErradas);
+      int numColunas = Integer.bitCount(colunasErradas);
+
+      int linha = Integer.numberOfLeadingZeros(linhasErradas) - 24;
+      if (numLinhas == 1 && numColunas == 1 && linha < linhas) {
+        System.out.println("Erro detectado no bloco " + b + ", linha " + linha + " (corrigindo)");
+        quadroOriginal[saida + linha] ^= (byte) colunasErradas;
+      } else if (numLinhas + numColunas > 1) {
+        System.out.println("Erro multiplo detectado no bloco " + b + " (nao corrigivel)");
+        return null;
+      } //Fim if-else
+    } //Fim for
+
+    return quadroOriginal;
+  } //Fim decodificarBidimensional
+
+} //Fim da classe CalculadoraParidade
@@ -0,0 +1,55 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Canal com erros de bit independentes, a uma taxa fixa (BER).
+ * <p>
+ * Cada bit eh invertido com probabilidade taxaErroBit, independente dos outros.
+ * Em vez de um sorteio por bit, guarda quantos bits faltam ate o proximo erro
+ * (intervalo geometrico): palavras inteiras antes dele passam sem sorteio.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CanalBER implements ModeloDeCanal {
+
+  private final double taxaErroBit;
+  private final SplittableRandom aleatorio;
+  private long bitsAteErro; //Bits corretos antes do proximo erro, a partir da proxima palavra
+
+  /**
+   * Cria o canal.
+   *
+   * @param taxaErroBit A probabilidade de cada bit ser invertido (0 a 1).
+   * @param aleatorio   O gerador de numeros aleatorios.
+   */
+  public CanalBER(double taxaErroBit, SplittableRandom aleatorio) {
+    this.taxaErroBit = taxaErroBit;
+    this.aleatorio = aleatorio;
+    this.bitsAteErro = ModeloDeCanal.intervaloGeometrico(aleatorio, taxaErroBit);
+  } //Fim construtor
+
+
+  @Override
+  public int transmitir(int palavra, int[] pontoB, int posicao) {
+    if (bitsAteErro >= 32) { //Caso comum: nenhum erro nesta palavra
+      bitsAteErro -= 32;
+      pontoB[posicao] = palavra;
+      return 1;
+    }
+
+    int mascara = 0;
+    while (bitsAteErro < 32) {
+      mascara |= 1 << (31 - (int) bitsAteErro); //Bits na ordem de envio: do 31 ao 0
+      long intervalo = ModeloDeCanal.intervaloGeometrico(aleatorio, taxaErroBit);
+      bitsAteErro = ModeloDeCanal.somarIntervalos(bitsAteErro + 1, intervalo);
+    } //Fim while
+    bitsAteErro -= 32;
+
+    pontoB[posicao] = palavra ^ mascara;
+    return 1;
+  } //Fim transmitir
+
+} //Fim da classe CanalBER
@@ -0,0 +1,81 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Eventos de palavra inteira sobre outro modelo de canal: perda, apagamento e
+ * duplicacao.
+ * <p>
+ * Cada palavra, independentemente, pode se perder (nao chega ao ponto B, e o
+ * quadro fica mais curto), ser apagada (chega sem sinal: uma palavra nula) ou
+ * chegar duas vezes. As demais passam pelo modelo interno (ex: CanalBER), que
+ * aplica os erros de bit. Como nos modelos de bit, o numero de palavras ate o
+ * proximo evento eh sorteado de uma vez (intervalo geometrico), e o tipo do
+ * evento so eh sorteado quando ele acontece.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CanalDePalavras implements ModeloDeCanal {
+
+  private final ModeloDeCanal interno; //Erros de bit das palavras que chegam (deve escrever uma palavra)
+  private final double perda;
+  private final double apagamento;
+  private final double probabilidadeEvento; //perda + apagamento + duplicacao
+  private final SplittableRandom aleatorio;
+  private long palavrasAteEvento; //Palavras sem evento antes do proximo
+
+  /**
+   * Cria o canal.
+   *
+   * @param interno    O modelo de erros de bit das palavras que chegam.
+   * @param perda      A probabilidade de uma palavra se perder.
+   * @param apagamento A probabilidade de uma palavra chegar apagada (nula).
+   * @param duplicacao A probabilidade de uma palavra chegar duas vezes.
+   * @param aleatorio  O gerador de numeros aleatorios.
+   */
+  public CanalDePalavras(ModeloDeCanal interno, double perda, double apagamento, double duplicacao,
+                         SplittableRandom aleatorio) {
+    this.interno = interno;
+    this.perda = perda;
+    this.apagamento = apagamento;
+    this.probabilidadeEvento = Math.min(1.0, perda + apagamento + duplicacao);
+    this.aleatorio = aleatorio;
+    this.palavrasAteEvento = ModeloDeCanal.intervaloGeometrico(aleatorio, probabilidadeEvento);
+  } //Fim construtor
+
+
+  @Override
+  public void iniciarQuadro(int tamanho) {
+    interno.iniciarQuadro(tamanho);
+  } //Fim iniciarQuadro
+
+
+  @Override
+  public int transmitir(int palavra, int[] pontoB, int posicao) {
+    if (palavrasAteEvento > 0) { //Caso comum: a palavra so passa pelos erros de bit
+      palavrasAteEvento--;
+      return interno.transmitir(palavra, pontoB, posicao);
+    }
+
+    palavrasAteEvento = ModeloDeCanal.intervaloGeometrico(aleatorio, probabilidadeEvento);
+    double evento = aleatorio.nextDouble() * probabilidadeEvento; //Qual dos tres eventos aconteceu
+
+    if (evento < perda) {
+      return 0; //Perdida: nada chega ao ponto B
+    }
+    if (evento < perda + apagamento) {
+      pontoB[posicao] = 0; //Apagada: o receptor ve o meio sem sinal
+      return 1;
+    }
+
+    int recebidas = interno.transmitir(palavra, pontoB, posicao); //Duplicada: a mesma palavra recebida, duas vezes
+    if (recebidas == 1) {
+      pontoB[posicao + 1] = pontoB[posicao];
+      recebidas = 2;
+    }
+    return recebidas;
+  } //Fim transmitir
+
+} //Fim da classe CanalDePalavras
@@ -0,0 +1,55 @@
+package util;
+
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Modelo original do simulador: no maximo um bit errado por quadro.
+ * <p>
+ * No inicio de cada quadro, com a probabilidade de erro configurada (em
+ * porcentagem), sorteia uma palavra do quadro e um bit dela para inverter. A
+ * probabilidade eh lida a cada quadro, pois na interface grafica o usuario pode
+ * muda-la durante a transmissao.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CanalErroUnico implements ModeloDeCanal {
+
+  private final IntSupplier probabilidadeErro; //Em porcentagem (0-100)
+  private final SplittableRandom aleatorio;
+  private int indiceErro = -1; //Palavra do quadro atual que tera o erro (-1: nenhuma)
+  private int mascaraErro; //Bit invertido na palavra do erro
+  private int palavraAtual; //Posicao, no quadro atual, da proxima palavra
+
+  /**
+   * Cria o modelo.
+   *
+   * @param probabilidadeErro Fornece a probabilidade de erro por quadro, em porcentagem.
+   * @param aleatorio         O gerador de numeros aleatorios.
+   */
+  public CanalErroUnico(IntSupplier probabilidadeErro, SplittableRandom aleatorio) {
+    this.probabilidadeErro = probabilidadeErro;
+    this.aleatorio = aleatorio;
+  } //Fim construtor
+
+
+  @Override
+  public void iniciarQuadro(int tamanho) {
+    palavraAtual = 0;
+    indiceErro = -1;
+    if (tamanho > 0 && aleatorio.nextInt(100) < probabilidadeErro.getAsInt()) {
+      indiceErro = aleatorio.nextInt(tamanho);
+      mascaraErro = 1 << aleatorio.nextInt(32); //Posicao do bit que tera erro
+    }
+  } //Fim iniciarQuadro
+
+
+  @Override
+  public int transmitir(int palavra, int[] pontoB, int posicao) {
+    pontoB[posicao] = (palavraAtual++ == indiceErro) ? palavra ^ mascaraErro : palavra;
+    return 1;
+  } //Fim transmitir
+
+} //Fim da classe CanalErroUnico
@@ -0,0 +1,110 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Canal com erros em rajadas, pelo modelo de Gilbert-Elliott.
+ * <p>
+ * O canal alterna entre dois estados: BOM, com taxa de erro de bit baixa, e
+ * RUIM, com taxa alta. A cada bit, o canal passa de BOM para RUIM com
+ * probabilidade pBomRuim e de RUIM para BOM com probabilidade pRuimBom; assim os
+ * erros se concentram nos periodos ruins (duracao media de 1/pRuimBom bits), como
+ * em um enlace sujeito a interferencia. Eh o caso que separa um CRC de uma
+ * paridade simples, e o Hamming da correcao de um unico bit.
+ * <p>
+ * Os dois intervalos sao sorteados de uma vez (distribuicao geometrica): quantos
+ * bits faltam para trocar de estado e quantos faltam para o proximo erro no
+ * estado atual. Ao trocar de estado, o intervalo ate o erro eh sorteado de novo,
+ * o que nao muda a distribuicao, ja que ela nao tem memoria.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CanalGilbertElliott implements ModeloDeCanal {
+
+  private final double pBomRuim; //Probabilidade, por bit, de entrar em uma rajada
+  private final double pRuimBom; //Probabilidade, por bit, de sair da rajada
+  private final double taxaErroBom; //BER no estado BOM
+  private final double taxaErroRuim; //BER no estado RUIM
+  private final SplittableRandom aleatorio;
+
+  private boolean ruim; //Estado atual
+  private long bitsNoEstado; //Bits restantes ate a troca de estado
+  private long bitsAteErro; //Bits corretos antes do proximo erro, no estado atual
+
+  /**
+   * Cria o canal no estado BOM.
+   *
+   * @param pBomRuim     A probabilidade, por bit, de passar de BOM para RUIM.
+   * @param pRuimBom     A probabilidade, por bit, de passar de RUIM para BOM.
+   * @param taxaErroBom  A probabilidade de erro de bit no estado BOM.
+   * @param taxaErroRuim A probabilidade de erro de bit no estado RUIM.
+   * @param aleatorio    O gerador de numeros aleatorios.
+   */
+  public CanalGilbertElliott(double pBomRuim, double pRuimBom, double taxaErroBom, double taxaErroRuim,
+                             SplittableRandom aleatorio) {
+    this.pBomRuim = pBomRuim;
+    this.pRuimBom = pRuimBom;
+    this.taxaErroBom = taxaErroBom;
+    this.taxaErroRuim = taxaErroRuim;
+    this.aleatorio = aleatorio;
+    entrarNoEstado(false);
+  } //Fim construtor
+
+
+  @Override
+  public int transmitir(int palavra, int[] pontoB, int posicao) {
+    if (bitsNoEstado >= 32 && bitsAteErro >= 32) { //Caso comum: a palavra inteira no mesmo estado, sem erro
+      bitsNoEstado -= 32;
+      bitsAteErro -= 32;
+      pontoB[posicao] = palavra;
+      return 1;
+    }
+
+    int mascara = 0;
+    int bit = 0; //Bits da palavra ja percorridos
+    while (bit < 32) {
+      int trecho = (int) Math.min(32 - bit, bitsNoEstado); //Bits desta palavra ainda no estado atual
+
+      while (bitsAteErro < trecho) {
+        mascara |= 1 << (31 - (bit + (int) bitsAteErro)); //Bits na ordem de envio: do 31 ao 0
+        bitsAteErro = ModeloDeCanal.somarIntervalos(bitsAteErro + 1, sortearErro());
+      } //Fim while
+      bitsAteErro -= trecho;
+      bitsNoEstado -= trecho;
+      bit += trecho;
+
+      if (bitsNoEstado == 0) {
+        entrarNoEstado(!ruim);
+      }
+    } //Fim while
+
+    pontoB[posicao] = palavra ^ mascara;
+    return 1;
+  } //Fim transmitir
+
+
+  /**
+   * Troca de estado e sorteia a sua duracao e o primeiro erro nele.
+   *
+   * @param ruim O novo estado.
+   */
+  private void entrarNoEstado(boolean ruim) {
+    this.ruim = ruim;
+    long duracao = ModeloDeCanal.intervaloGeometrico(aleatorio, ruim ? pRuimBom : pBomRuim);
+    bitsNoEstado = ModeloDeCanal.somarIntervalos(1, duracao); //Pelo menos um bit em cada estado
+    bitsAteErro = sortearErro();
+  } //Fim entrarNoEstado
+
+
+  /**
+   * Sorteia quantos bits corretos vem antes do proximo erro no estado atual.
+   *
+   * @return long O intervalo ate o erro.
+   */
+  private long sortearErro() {
+    return ModeloDeCanal.intervaloGeometrico(aleatorio, ruim ? taxaErroRuim : taxaErroBom);
+  } //Fim sortearErro
+
+} //Fim da classe CanalGilbertElliott
@@ -0,0 +1,122 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Codificacao 4B/5B seguida de NRZI (como no FDDI e no 100BASE-FX), por tabelas.
+ * <p>
+ * Cada nibble vira um grupo de 5 bits com no maximo um 0 no inicio e dois no fim,
+ * de modo que, depois do NRZI (o bit 1 inverte o sinal), nunca ha mais de tres
+ * bits sem transicao. Cada caractere vira 10 bits (sobrecarga 1,25): o nibble alto
+ * primeiro. A tabela de codificacao leva o byte direto aos 10 bits, e a de
+ * decodificacao leva os 10 bits de volta ao byte, com uma consulta por caractere
+ * (1024 entradas). Grupos que nao sao dados marcam o caractere como invalido.
+ * <p>
+ * Os grupos sao empacotados continuamente, 32 bits por palavra, entao um
+ * caractere pode comecar em uma palavra e terminar na seguinte. O fim da ultima
+ * palavra eh preenchido com o simbolo IDLE (11111), que o receptor nao le: ele
+ * sabe pelo tamanho do quadro onde os dados terminam, e dois IDLE dentro do
+ * quadro sao um caractere invalido. O NRZI eh aplicado por CodificadorNRZI sobre as
+ * palavras ja empacotadas.
+ * <p>
+ * Um grupo alterado pelo meio que ainda eh de dados vira outro nibble, com ate
+ * quatro bits errados: alem da paridade, o Hamming estendido tambem pode nao
+ * perceber, entao o controle de erro adequado eh o CRC.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class Codificador4B5B {
+
+  /**Bits de um caractere codificado */
+  public static final int BITS_POR_CARACTERE = 10;
+
+  /**Marca, no resultado de decodificar(), um caractere com grupo que nao eh de dados */
+  public static final int SIMBOLO_INVALIDO = 0x100;
+
+  /**Resultado de decodificar() para dois simbolos IDLE: o fim dos dados */
+  public static final int FIM_DOS_DADOS = -1;
+
+  private static final int IDLE = 0b11111;
+  private static final int IDLE_DUPLO = (IDLE << 5) | IDLE;
+
+  /**Grupo de 5 bits de cada nibble */
+  private static final int[] GRUPOS = {
+    0b11110, 0b01001, 0b10100, 0b10101, 0b01010, 0b01011, 0b01110, 0b01111,
+    0b10010, 0b10011, 0b10110, 0b10111, 0b11010, 0b11011, 0b11100, 0b11101
+  };
+
+  /**Codigo de 10 bits de cada valor de byte */
+  private static final char[] TABELA_CODIFICACAO = new char[256];
+
+  /**Caractere de cada codigo de 10 bits, com SIMBOLO_INVALIDO se algum grupo nao for de dados */
+  private static final char[] TABELA_DECODIFICACAO = new char[1024];
+
+  static {
+    int[] nibbles = new int[32];
+    Arrays.fill(nibbles, -1);
+    for (int n = 0; n < 16; n++) {
+      nibbles[GRUPOS[n]] = n;
+    }
+
+    for (int b = 0; b < 256; b++) {
+      TABELA_CODIFICACAO[b] = (char) ((GRUPOS[b >> 4] << 5) | GRUPOS[b & 0xF]);
+    }
+
+    for (int codigo = 0; codigo < 1024; codigo++) {
+      int alto = nibbles[codigo >> 5];
+      int baixo = nibbles[codigo & 0b11111];
+      int caractere = ((alto & 0xF) << 4) | (baixo & 0xF);
+      TABELA_DECODIFICACAO[codigo] = (char) ((alto < 0 || baixo < 0) ? caractere | SIMBOLO_INVALIDO : caractere);
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica um quadro: 4B/5B, empacotamento em palavras de 32 bits e NRZI a
+   * partir de CodificadorNRZI.NIVEL_INICIAL.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length * BITS_POR_CARACTERE + 31) / 32];
+    long acumulador = 0; //Bits ainda nao escritos ficam nos bits menos significativos
+    int bitsAcumulados = 0;
+    int posicao = 0;
+
+    for (int c = 0; posicao < codificado.length; c++) { //Depois dos dados, IDLE ate completar a palavra
+      int codigo = (c < quadro.length) ? TABELA_CODIFICACAO[quadro[c] & 0xFF] : IDLE_DUPLO;
+      acumulador = (acumulador << BITS_POR_CARACTERE) | codigo;
+      bitsAcumulados += BITS_POR_CARACTERE;
+      if (bitsAcumulados >= 32) {
+        bitsAcumulados -= 32;
+        codificado[posicao++] = (int) (acumulador >>> bitsAcumulados);
+      }
+    } //Fim for
+
+    int nivel = CodificadorNRZI.NIVEL_INICIAL;
+    for (int i = 0; i < codificado.length; i++) {
+      codificado[i] = CodificadorNRZI.codificar(codificado[i], nivel);
+      nivel = codificado[i] & 1;
+    } //Fim for
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica os 10 bits de um caractere, ja sem o NRZI.
+   *
+   * @param  codigo Os 10 bits, nos bits 9-0.
+   * @return int    FIM_DOS_DADOS para dois IDLE; se nao, o caractere, com SIMBOLO_INVALIDO
+   *                se algum dos grupos nao for de dados.
+   */
+  public static int decodificar(int codigo) {
+    if (codigo == IDLE_DUPLO) {
+      return FIM_DOS_DADOS;
+    }
+    return TABELA_DECODIFICACAO[codigo & 0x3FF];
+  } //Fim decodificar
+
+} //Fim da classe Codificador4B5B
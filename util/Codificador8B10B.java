@@ -0,0 +1,205 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Codificacao 8B/10B (Widmer-Franaszek) com disparidade corrente, por tabelas.
+ * <p>
+ * Cada caractere HGF EDCBA vira 10 bits abcdei fghj (sobrecarga 1,25): os 5 bits
+ * baixos viram um sub-bloco de 6 bits e os 3 altos um de 4. Cada sub-bloco tem
+ * duas versoes, uma com mais uns e outra com mais zeros (ou a mesma, se
+ * equilibrada), escolhida pela disparidade corrente (RD), de modo que o sinal
+ * nunca acumula mais uns que zeros, ou o contrario, e nunca passa de cinco bits
+ * iguais seguidos. A tabela de codificacao eh indexada por (RD, byte) e devolve
+ * os 10 bits e a RD seguinte; a de decodificacao leva os 10 bits ao byte, com uma
+ * consulta por caractere (1024 entradas). Codigos que nao existem marcam o
+ * caractere como invalido, e o decodificador tambem confere a RD de cada
+ * sub-bloco (erro de disparidade), como um receptor 8B/10B real.
+ * <p>
+ * Os codigos sao empacotados continuamente, 32 bits por palavra, com o bit a
+ * (primeiro a ser transmitido) no bit mais significativo. O fim da ultima palavra
+ * eh preenchido com o simbolo de controle K28.5 (a virgula), que o receptor nao
+ * le, pois sabe pelo tamanho do quadro onde os dados terminam. Assim como o
+ * receptor real, este apenas marca o caractere invalido: quando um bit trocado
+ * gera outro codigo de dados, o byte inteiro pode mudar, e so o CRC do enlace
+ * garante a deteccao.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class Codificador8B10B {
+
+  /**Bits de um caractere codificado */
+  public static final int BITS_POR_CARACTERE = 10;
+
+  /**Disparidade corrente antes do primeiro caractere de um quadro (0: RD-, 1: RD+) */
+  public static final int DISPARIDADE_INICIAL = 0;
+
+  /**Marca, no resultado de decodificar(), um codigo inexistente ou com erro de disparidade */
+  public static final int SIMBOLO_INVALIDO = 0x100;
+
+  /**Resultado de decodificar() para o K28.5: o fim dos dados */
+  public static final int FIM_DOS_DADOS = -1;
+
+  private static final int DESLOCAMENTO_DISPARIDADE = 9; //Posicao da RD seguinte no resultado de decodificar()
+
+  private static final int K28_5_NEGATIVO = 0b001111_1010; //K28.5 com RD-
+  private static final int K28_5_POSITIVO = 0b110000_0101; //K28.5 com RD+
+
+  /**Sub-bloco abcdei de cada valor EDCBA, na versao para RD- */
+  private static final int[] SEIS_BITS = {
+    0b100111, 0b011101, 0b101101, 0b110001, 0b110101, 0b101001, 0b011001, 0b111000,
+    0b111001, 0b100101, 0b010101, 0b110100, 0b001101, 0b101100, 0b011100, 0b010111,
+    0b011011, 0b100011, 0b010011, 0b110010, 0b001011, 0b101010, 0b011010, 0b111010,
+    0b110011, 0b100110, 0b010110, 0b110110, 0b001110, 0b101110, 0b011110, 0b101011
+  };
+
+  /**Sub-bloco fghj de cada valor HGF, na versao para RD- (D.x.P7 no 7) */
+  private static final int[] QUATRO_BITS = {0b1011, 0b1001, 0b0101, 0b1100, 0b1101, 0b1010, 0b0110, 0b1110};
+
+  private static final int QUATRO_BITS_A7 = 0b0111; //D.x.A7, evita cinco bits iguais seguidos com alguns EDCBA
+
+  /**Codigo de cada (RD, byte), no indice RD * 256 + byte: bits 9-0 com o codigo e bit 10 com a RD seguinte */
+  private static final char[] TABELA_CODIFICACAO = new char[512];
+
+  /**Caractere de cada codigo de 10 bits, ou SIMBOLO_INVALIDO para codigos que nao sao de dados */
+  private static final char[] TABELA_DECODIFICACAO = new char[1024];
+
+  static {
+    Arrays.fill(TABELA_DECODIFICACAO, (char) SIMBOLO_INVALIDO);
+
+    for (int rd = 0; rd < 2; rd++) {
+      for (int b = 0; b < 256; b++) {
+        int cinco = b & 0b11111;
+        int tres = b >> 5;
+        int disparidade = rd;
+
+        int seis = escolherVersao(SEIS_BITS[cinco], 6, disparidade, cinco == 7); //D.07 (111000) tambem tem duas versoes
+        if (Integer.bitCount(seis) != 3) {
+          disparidade ^= 1;
+        }
+
+        boolean alternativo = (tres == 7) && ((disparidade == 0 && (cinco == 17 || cinco == 18 || cinco == 20))
+                                          || (disparidade == 1 && (cinco == 11 || cinco == 13 || cinco == 14)));
+        int quatro = escolherVersao(alternativo ? QUATRO_BITS_A7 : QUATRO_BITS[tres], 4, disparidade, tres == 3);
+        if (Integer.bitCount(quatro) != 2) {
+          disparidade ^= 1;
+        }
+
+        int codigo = (seis << 4) | quatro;
+        TABELA_CODIFICACAO[rd * 256 + b] = (char) (codigo | (disparidade << 10));
+        TABELA_DECODIFICACAO[codigo] = (char) b;
+      } //Fim for
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Escolhe a versao de um sub-bloco para a disparidade corrente.
+   *
+   * @param  negativo    O sub-bloco na versao para RD-.
+   * @param  bits        O tamanho do sub-bloco (6 ou 4).
+   * @param  disparidade A disparidade corrente (0: RD-, 1: RD+).
+   * @param  especial    Se o sub-bloco eh equilibrado mas tem duas versoes (111000 e 1100).
+   * @return int         O sub-bloco a transmitir.
+   */
+  private static int escolherVersao(int negativo, int bits, int disparidade, boolean especial) {
+    boolean equilibrado = Integer.bitCount(negativo) * 2 == bits;
+    if (disparidade == 1 && (!equilibrado || especial)) {
+      return ~negativo & ((1 << bits) - 1); //Versao RD+: o complemento
+    }
+    return negativo;
+  } //Fim escolherVersao
+
+
+  /**
+   * Codifica um quadro, empacotando os codigos em palavras de 32 bits, a partir
+   * de DISPARIDADE_INICIAL.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length * BITS_POR_CARACTERE + 31) / 32];
+    long acumulador = 0; //Bits ainda nao escritos ficam nos bits menos significativos
+    int bitsAcumulados = 0;
+    int posicao = 0;
+    int disparidade = DISPARIDADE_INICIAL;
+
+    for (int c = 0; posicao < codificado.length; c++) { //Depois dos dados, K28.5 ate completar a palavra
+      int codigo;
+      if (c < quadro.length) {
+        int entrada = TABELA_CODIFICACAO[(disparidade << 8) | (quadro[c] & 0xFF)];
+        codigo = entrada & 0x3FF;
+        disparidade = entrada >> 10;
+      } else {
+        codigo = (disparidade == 0) ? K28_5_NEGATIVO : K28_5_POSITIVO;
+        disparidade ^= 1; //Os dois sub-blocos do K28.5 juntos invertem a RD
+      } //Fim if-else
+
+      acumulador = (acumulador << BITS_POR_CARACTERE) | codigo;
+      bitsAcumulados += BITS_POR_CARACTERE;
+      if (bitsAcumulados >= 32) {
+        bitsAcumulados -= 32;
+        codificado[posicao++] = (int) (acumulador >>> bitsAcumulados);
+      }
+    } //Fim for
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica os 10 bits de um caractere.
+   * <p>
+   * Alem do codigo, confere a disparidade: um sub-bloco com mais uns so pode vir
+   * com RD-, e um com mais zeros so com RD+ (o mesmo vale para 111000/000111 e
+   * 1100/0011). Depois de um erro, a RD segue o sinal recebido.
+   *
+   * @param  codigo      Os 10 bits, nos bits 9-0.
+   * @param  disparidade A disparidade corrente antes do caractere (0: RD-, 1: RD+).
+   * @return int         FIM_DOS_DADOS para o K28.5; se nao, o caractere nos bits 7-0,
+   *                     SIMBOLO_INVALIDO se o codigo for invalido e a RD seguinte
+   *                     (ver proximaDisparidade()).
+   */
+  public static int decodificar(int codigo, int disparidade) {
+    codigo &= 0x3FF;
+    if (codigo == K28_5_NEGATIVO || codigo == K28_5_POSITIVO) {
+      return FIM_DOS_DADOS;
+    }
+
+    int resultado = TABELA_DECODIFICACAO[codigo];
+    int seis = codigo >> 4;
+    int quatro = codigo & 0b1111;
+
+    int uns = Integer.bitCount(seis);
+    if ((uns > 3 || seis == 0b111000) ? disparidade == 1 : (uns < 3 || seis == 0b000111) && disparidade == 0) {
+      resultado |= SIMBOLO_INVALIDO; //Erro de disparidade no sub-bloco de 6 bits
+    }
+    if (uns != 3) {
+      disparidade = (uns > 3) ? 1 : 0;
+    }
+
+    uns = Integer.bitCount(quatro);
+    if ((uns > 2 || quatro == 0b1100) ? disparidade == 1 : (uns < 2 || quatro == 0b0011) && disparidade == 0) {
+      resultado |= SIMBOLO_INVALIDO; //Erro de disparidade no sub-bloco de 4 bits
+    }
+    if (uns != 2) {
+      disparidade = (uns > 2) ? 1 : 0;
+    }
+
+    return resultado | (disparidade << DESLOCAMENTO_DISPARIDADE);
+  } //Fim decodificar
+
+
+  /**
+   * Extrai a disparidade seguinte de um resultado de decodificar().
+   *
+   * @param  resultado O valor devolvido por decodificar() (diferente de FIM_DOS_DADOS).
+   * @return int       A disparidade corrente depois do caractere decodificado.
+   */
+  public static int proximaDisparidade(int resultado) {
+    return (resultado >> DESLOCAMENTO_DISPARIDADE) & 1;
+  } //Fim proximaDisparidade
+
+} //Fim da classe Codificador8B10B
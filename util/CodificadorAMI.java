@@ -0,0 +1,151 @@
+package util;
+
+/**
+ * Codificacao AMI (Alternate Mark Inversion, bipolar) por tabelas, usada pelas
+ * camadas fisicas.
+ * <p>
+ * O bit 0 eh o sinal nulo e o bit 1 eh um pulso, com polaridade alternada a cada
+ * bit 1. Os tres niveis ocupam dois bits do fluxo: 00 para o nulo, 10 para o
+ * pulso positivo e 01 para o negativo (11 nao existe). Na linha real eh um
+ * simbolo por bit (sobrecarga 1), mas aqui cada caractere ocupa 16 bits do fluxo,
+ * como no Manchester. O pulso seguinte depende da polaridade do ultimo pulso:
+ * as tabelas sao indexadas por (polaridade, byte). A de codificacao devolve os
+ * 16 bits do caractere e a polaridade seguinte; a de decodificacao devolve, para
+ * 4 simbolos do sinal, o nibble, a polaridade seguinte e uma marca de violacao
+ * bipolar (dois pulsos seguidos com a mesma polaridade) ou de simbolo 11, que so
+ * aparecem quando o meio altera o sinal. Depois de uma violacao o decodificador
+ * segue a polaridade recebida.
+ * <p>
+ * O padding nao pode ser reconhecido pelo sinal, pois um caractere nulo tambem eh
+ * so sinal nulo. Em um quadro de tamanho impar o ultimo caractere fica nos bits
+ * 31-16 da ultima palavra e os bits 15-0 ficam nulos; o receptor sabe pelo
+ * tamanho do quadro que eles sao padding.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CodificadorAMI {
+
+  /**Polaridade antes do primeiro bit de um quadro: o primeiro pulso eh positivo */
+  public static final int POLARIDADE_INICIAL = 0;
+
+  /**Marca, no resultado de decodificar(), um caractere com violacao bipolar ou simbolo 11 */
+  public static final int SIMBOLO_INVALIDO = 0x100;
+
+  private static final int DESLOCAMENTO_POLARIDADE = 9; //Posicao da polaridade seguinte no resultado de decodificar()
+
+  private static final int NULO = 0b00;
+  private static final int POSITIVO = 0b10;
+  private static final int NEGATIVO = 0b01;
+
+  /**
+   * Codigo de cada (polaridade, byte), no indice polaridade * 256 + byte: bits
+   * 15-0 com o sinal e bit 16 com a polaridade seguinte. A polaridade 0 indica
+   * que o proximo pulso eh positivo.
+   */
+  private static final int[] TABELA_CODIFICACAO = new int[512];
+
+  /**
+   * Decodificacao de cada (polaridade, byte do sinal), no indice polaridade * 256 +
+   * byte: bits 3-0 com o nibble, bit 4 com a polaridade seguinte e bit 5 marcando
+   * violacao.
+   */
+  private static final byte[] TABELA_DECODIFICACAO = new byte[512];
+
+  static {
+    for (int polaridadeAnterior = 0; polaridadeAnterior < 2; polaridadeAnterior++) {
+      for (int b = 0; b < 256; b++) {
+        int polaridade = polaridadeAnterior;
+        int codigo = 0;
+        for (int j = 7; j >= 0; j--) {
+          int simbolo = NULO;
+          if (((b >> j) & 1) == 1) {
+            simbolo = (polaridade == 0) ? POSITIVO : NEGATIVO;
+            polaridade ^= 1;
+          }
+          codigo = (codigo << 2) | simbolo;
+        } //Fim for
+        TABELA_CODIFICACAO[polaridadeAnterior * 256 + b] = codigo | (polaridade << 16);
+      } //Fim for
+
+      for (int s = 0; s < 256; s++) {
+        int polaridade = polaridadeAnterior;
+        int nibble = 0;
+        int invalido = 0;
+        for (int j = 0; j < 4; j++) {
+          int simbolo = (s >> (6 - j * 2)) & 0b11;
+          nibble = (nibble << 1) | ((simbolo != NULO) ? 1 : 0);
+          if (simbolo == POSITIVO || simbolo == NEGATIVO) {
+            int esperado = (polaridade == 0) ? POSITIVO : NEGATIVO;
+            if (simbolo != esperado) {
+              invalido = 1; //Violacao bipolar: mesma polaridade do pulso anterior
+            }
+            polaridade = (simbolo == POSITIVO) ? 1 : 0; //Segue o sinal recebido
+          } else if (simbolo != NULO) {
+            invalido = 1; //Simbolo 11
+          } //Fim if-else
+        } //Fim for
+        TABELA_DECODIFICACAO[polaridadeAnterior * 256 + s] = (byte) (nibble | (polaridade << 4) | (invalido << 5));
+      } //Fim for
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica um quadro, dois caracteres por inteiro de 32 bits, a partir de
+   * POLARIDADE_INICIAL.
+   * <p>
+   * O primeiro caractere do par ocupa os bits 31-16 e o segundo os bits 15-0. Se
+   * o quadro tem tamanho impar, o ultimo caractere fica nos bits 31-16 e os bits
+   * 15-0 ficam nulos.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length + 1) / 2];
+    int pares = quadro.length / 2;
+    int polaridade = POLARIDADE_INICIAL;
+
+    for (int i = 0; i < pares; i++) {
+      int primeiro = TABELA_CODIFICACAO[(polaridade << 8) | (quadro[i * 2] & 0xFF)];
+      int segundo = TABELA_CODIFICACAO[((primeiro >> 16) << 8) | (quadro[i * 2 + 1] & 0xFF)];
+      codificado[i] = (primeiro << 16) | (segundo & 0xFFFF);
+      polaridade = segundo >> 16;
+    } //Fim for
+    if (pares < codificado.length) {
+      codificado[pares] = TABELA_CODIFICACAO[(polaridade << 8) | (quadro[quadro.length - 1] & 0xFF)] << 16;
+    }
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica 16 bits do sinal (8 simbolos) em um caractere.
+   *
+   * @param  metade     Os 16 bits, nos bits 15-0.
+   * @param  polaridade A polaridade no fim da metade anterior (0: o proximo pulso eh positivo).
+   * @return int        O caractere nos bits 7-0, SIMBOLO_INVALIDO se houver violacao e a
+   *                    polaridade seguinte (ver proximaPolaridade()).
+   */
+  public static int decodificar(int metade, int polaridade) {
+    int alto = TABELA_DECODIFICACAO[(polaridade << 8) | ((metade >> 8) & 0xFF)];
+    int baixo = TABELA_DECODIFICACAO[(((alto >> 4) & 1) << 8) | (metade & 0xFF)];
+
+    return ((alto & 0xF) << 4) | (baixo & 0xF) | ((((alto | baixo) >> 5) & 1) << 8)
+           | (((baixo >> 4) & 1) << DESLOCAMENTO_POLARIDADE);
+  } //Fim decodificar
+
+
+  /**
+   * Extrai a polaridade seguinte de um resultado de decodificar().
+   *
+   * @param  resultado O valor devolvido por decodificar().
+   * @return int       A polaridade no fim da metade decodificada.
+   */
+  public static int proximaPolaridade(int resultado) {
+    return (resultado >> DESLOCAMENTO_POLARIDADE) & 1;
+  } //Fim proximaPolaridade
+
+} //Fim da classe CodificadorAMI
@@ -0,0 +1,163 @@
+package util;
+
+/**
+ * Codificador e decodificador do codigo de Hamming sobre vetores de bits empacotados.
+ * <p>
+ * Os bits do quadro sao guardados em um BufferDeBits (long[] com 64 bits por
+ * posicao, MSB primeiro), em vez de uma lista com um Integer por bit. O indice de cada bit no vetor eh a
+ * propria posicao de Hamming (o bit 0 nao eh usado), o que permite calcular a
+ * sindrome palavra a palavra: a sindrome eh o XOR das posicoes de todos os bits
+ * em 1, e cada bit dela eh a paridade (Long.bitCount) da palavra filtrada por uma
+ * mascara fixa. Os bits de dados sao copiados em blocos entre as potencias de 2.
+ * <p>
+ * O formato no quadro eh identico ao da implementacao com listas: bits de dados
+ * nas posicoes que nao sao potencia de 2, 'r' bits de paridade nas potencias de 2
+ * (2^r >= m + r + 1), empacotados em bytes com o MSB primeiro.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class CodificadorHamming {
+
+  /**Mascaras dos indices (0 a 63) dentro de uma palavra que tem o bit j ligado, para j = 0..5 */
+  private static final long[] MASCARAS = new long[6];
+
+  static {
+    for (int j = 0; j < 6; j++) {
+      for (int b = 0; b < 64; b++) {
+        if (((b >> j) & 1) == 1) {
+          MASCARAS[j] |= 1L << (63 - b); //Indice b fica no bit (63 - b), MSB primeiro
+        }
+      }
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica o quadro inserindo os bits de paridade de Hamming.
+   *
+   * @param quadro  A mensagem enquadrada.
+   * @return byte[] Os bits de dados e de paridade, empacotados em bytes.
+   */
+  public static byte[] codificar(byte[] quadro) {
+
+    int m = quadro.length * 8; //Numero de bits de dados
+
+    //Calcula quantos bits de paridade sao necessarios: 2^r >= m + r + 1
+    int r = 0;
+    while ((1 << r) < (m + r + 1)) {
+      r++;
+    }
+
+    int n = m + r; //Tamanho total com paridade
+
+    BufferDeBits dados = BufferDeBits.deBytes(quadro);
+
+    //Posicao 0 nao usada, o indice do bit eh a propria posicao de Hamming
+    BufferDeBits codigo = new BufferDeBits(n + 1);
+
+    //Copia os bits de dados em blocos: entre as paridades p e 2p ha (p - 1) posicoes de dados
+    int origem = 0;
+    for (int p = 1; origem < m; p <<= 1) {
+      int tamanhoBloco = Math.min(p - 1, m - origem);
+      codigo.copiar(dados, origem, p + 1, tamanhoBloco);
+      origem += tamanhoBloco;
+    } //Fim for
+
+    //Com as paridades zeradas, a sindrome eh exatamente o valor dos bits de paridade
+    int sindrome = calcularSindrome(codigo);
+    for (int i = 0; i < r; i++) {
+      if (((sindrome >>> i) & 1) == 1) {
+        codigo.escreverBits(1 << i, 1, 1);
+      }
+    } //Fim for
+
+    //Converte de volta para bytes (8 bits por posicao, MSB primeiro)
+    byte[] quadroComHamming = new byte[(n + 7) / 8];
+    for (int i = 0; i < quadroComHamming.length; i++) {
+      int bitsRestantes = Math.min(8, n - i * 8);
+      quadroComHamming[i] = (byte) (codigo.lerBits(1 + i * 8, bitsRestantes) << (8 - bitsRestantes));
+    }
+
+    return quadroComHamming;
+
+  } //Fim codificar
+
+
+  /**
+   * Decodifica o quadro, corrigindo um erro de um bit, se houver.
+   * <p>
+   * A sindrome eh calculada em uma unica passada. Se for diferente de zero e
+   * apontar para uma posicao valida, o bit da posicao eh invertido. Em seguida
+   * os bits de dados sao extraidos em blocos e apenas os bytes completos retornados.
+   *
+   * @param quadro  A mensagem recebida com os bits de paridade.
+   * @return byte[] Os dados originais.
+   */
+  public static byte[] decodificar(byte[] quadro) {
+
+    int n = quadro.length * 8; //Tamanho total recebido
+
+    BufferDeBits codigo = new BufferDeBits(n + 1);
+    codigo.anexarBit(0); //Posicao 0 nao usada
+    for (int i = 0; i < quadro.length; i++) {
+      codigo.anexarByte(quadro[i]);
+    }
+
+    //Calcula a sindrome (detecta posicao do erro)
+    int sindrome = calcularSindrome(codigo);
+
+    //Se sindrome != 0, corrige o bit errado
+    if (sindrome != 0 && sindrome <= n) {
+      System.out.println("Erro detectado na posicao: " + sindrome + " (corrigindo)");
+      codigo.inverterBit(sindrome);
+    }
+
+    //Extrai apenas os bits de dados (remove as posicoes potencia de 2)
+    int numBitsParidade = 32 - Integer.numberOfLeadingZeros(n);
+    int numBitsDados = n - numBitsParidade;
+    BufferDeBits dados = new BufferDeBits(numBitsDados);
+
+    for (int p = 1; p <= n; p <<= 1) {
+      dados.anexar(codigo, p + 1, Math.min(p - 1, n - p));
+    } //Fim for
+
+    //Converte bits de volta para bytes, apenas bytes completos
+    dados.truncar(numBitsDados / 8 * 8);
+    byte[] quadroOriginal = dados.paraBytes();
+
+    return quadroOriginal;
+
+  } //Fim decodificar
+
+
+  /**
+   * Calcula o XOR das posicoes de todos os bits em 1, palavra a palavra.
+   * <p>
+   * Para cada palavra, o bit j da sindrome eh invertido pela paridade dos bits
+   * cujo indice na palavra tem o bit j ligado; os bits altos vem do indice da
+   * palavra, invertidos quando a quantidade de bits em 1 da palavra eh impar.
+   *
+   * @param  codigo O vetor de bits, com o indice igual a posicao de Hamming.
+   * @return int    A sindrome.
+   */
+  private static int calcularSindrome(BufferDeBits codigo) {
+    int sindrome = 0;
+
+    for (int w = 0; w < codigo.getNumPalavras(); w++) {
+      long palavra = codigo.getPalavra(w);
+      if (palavra == 0) continue;
+
+      if ((Long.bitCount(palavra) & 1) == 1) {
+        sindrome ^= w << 6;
+      }
+      for (int j = 0; j < 6; j++) {
+        sindrome ^= (Long.bitCount(palavra & MASCARAS[j]) & 1) << j;
+      }
+    } //Fim for
+
+    return sindrome;
+  } //Fim calcularSindrome
+
+} //Fim da classe CodificadorHamming
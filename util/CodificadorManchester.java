@@ -0,0 +1,122 @@
+package util;
+
+/**
+ * Codificacao Manchester por tabelas, usada pelas camadas fisicas.
+ * <p>
+ * Cada bit vira um par de sinais: o bit 0 vira 01 e o bit 1 vira 10. Em vez de
+ * montar os pares bit a bit, a codificacao consulta uma tabela de 256 entradas
+ * (byte -> 16 bits), e a decodificacao consulta uma tabela de 256 entradas por
+ * byte do sinal (4 pares -> 4 bits), duas vezes por caractere. A tabela de
+ * decodificacao tambem marca os pares invalidos (00 e 11), que so aparecem
+ * quando o meio altera o sinal, e conta os pares nao nulos, usados para separar
+ * dados do padding. Com 4 pares por consulta as duas tabelas ocupam 768 bytes e
+ * ficam na cache L1, ao contrario de uma tabela de 65536 entradas.
+ * <p>
+ * Os pares invalidos sao decodificados como na versao bit a bit: apenas 10 vale
+ * 1. Assim o caractere continua ocupando a sua posicao no quadro e o erro eh
+ * tratado pelo controle de erros da camada de enlace.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CodificadorManchester {
+
+  /**Marca, no resultado de decodificar(), um caractere com pares 00 ou 11 */
+  public static final int SIMBOLO_INVALIDO = 0x100;
+
+  /**Resultado de decodificar() para uma metade sem dados (padding) */
+  public static final int SEM_DADOS = -1;
+
+  /**Codigo de 16 bits de cada valor de byte */
+  private static final char[] TABELA_CODIFICACAO = new char[256];
+
+  /**
+   * Decodificacao de cada byte do sinal (4 pares): bits 3-0 com o nibble, bits
+   * 6-4 com os pares nao nulos e bit 7 marcando par invalido.
+   */
+  private static final byte[] TABELA_DECODIFICACAO = new byte[256];
+
+  static {
+    for (int b = 0; b < 256; b++) {
+      int codigo = 0;
+      for (int j = 7; j >= 0; j--) {
+        codigo = (codigo << 2) | (((b >> j) & 1) == 1 ? 0b10 : 0b01);
+      }
+      TABELA_CODIFICACAO[b] = (char) codigo;
+    } //Fim for
+
+    for (int s = 0; s < 256; s++) {
+      int nibble = 0;
+      int pares = 0;
+      int invalido = 0;
+      for (int j = 0; j < 4; j++) {
+        int par = (s >> (6 - j * 2)) & 0b11;
+        nibble = (nibble << 1) | (par == 0b10 ? 1 : 0);
+        if (par != 0) {
+          pares++;
+        }
+        if (par == 0b00 || par == 0b11) {
+          invalido = 1;
+        }
+      } //Fim for
+      TABELA_DECODIFICACAO[s] = (byte) (nibble | (pares << 4) | (invalido << 7));
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica um caractere.
+   *
+   * @param  caractere O caractere (apenas os 8 bits menos significativos sao usados).
+   * @return int       Os 16 bits do sinal, nos bits 15-0.
+   */
+  public static int codificar(int caractere) {
+    return TABELA_CODIFICACAO[caractere & 0xFF];
+  } //Fim codificar
+
+
+  /**
+   * Codifica um quadro, dois caracteres por inteiro de 32 bits.
+   * <p>
+   * O primeiro caractere do par ocupa os bits 31-16 e o segundo os bits 15-0. Se
+   * o quadro tem tamanho impar, o ultimo caractere fica sozinho nos bits 15-0.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length + 1) / 2];
+    int pares = quadro.length / 2;
+
+    for (int i = 0; i < pares; i++) {
+      codificado[i] = (TABELA_CODIFICACAO[quadro[i * 2] & 0xFF] << 16) | TABELA_CODIFICACAO[quadro[i * 2 + 1] & 0xFF];
+    }
+    if (pares < codificado.length) {
+      codificado[pares] = TABELA_CODIFICACAO[quadro[quadro.length - 1] & 0xFF];
+    }
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica 16 bits do sinal (8 pares) em um caractere.
+   * <p>
+   * Uma metade com menos de dois pares nao nulos eh padding (um unico par nao
+   * nulo eh padding atingido por um erro) e nao gera caractere.
+   *
+   * @param  metade Os 16 bits, nos bits 15-0.
+   * @return int    O caractere (com SIMBOLO_INVALIDO se houver par 00 ou 11), ou SEM_DADOS.
+   */
+  public static int decodificar(int metade) {
+    int alto = TABELA_DECODIFICACAO[(metade >> 8) & 0xFF];
+    int baixo = TABELA_DECODIFICACAO[metade & 0xFF];
+
+    if (((alto >> 4) & 0b111) + ((baixo >> 4) & 0b111) < 2) {
+      return SEM_DADOS;
+    }
+    int caractere = ((alto & 0xF) << 4) | (baixo & 0xF);
+    return ((alto | baixo) < 0) ? caractere | SIMBOLO_INVALIDO : caractere; //Bit 7 do byte: sinal negativo
+  } //Fim decodificar
+
+} //Fim da classe CodificadorManchester
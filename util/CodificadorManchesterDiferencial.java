@@ -0,0 +1,155 @@
+package util;
+
+/**
+ * Codificacao Manchester Diferencial por tabelas indexadas pelo nivel do sinal.
+ * <p>
+ * Ha sempre uma transicao no meio do periodo de cada bit; o bit 0 tem tambem uma
+ * transicao no inicio do periodo, e o bit 1 nao. Por isso o par de sinais de um
+ * bit depende do nivel em que o bit anterior terminou. As tabelas sao indexadas
+ * por (nivel anterior, byte): a de codificacao devolve os 16 bits do caractere,
+ * e o nivel seguinte eh o ultimo sinal deles (bit 0); a de decodificacao
+ * devolve, para 4 pares do sinal, o nibble, o nivel seguinte, os pares nao
+ * nulos e uma marca de par invalido (00 ou 11, sem a transicao do meio).
+ * <p>
+ * O nivel eh passado e devolvido explicitamente, entao o mesmo codigo atende um
+ * quadro inteiro ou um fluxo recebido em partes. Uma metade de padding (menos de
+ * dois pares nao nulos) nao gera caractere e nao altera o nivel: antes o nivel
+ * era atualizado tambem nela, e o caractere sozinho na metade baixa da ultima
+ * palavra (todo quadro de tamanho impar, inclusive o ACK) era decodificado a
+ * partir do nivel errado.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CodificadorManchesterDiferencial {
+
+  /**Nivel do sinal antes do primeiro bit de um quadro */
+  public static final int NIVEL_INICIAL = 1;
+
+  /**Marca, no resultado de decodificar(), um caractere com pares 00 ou 11 */
+  public static final int SIMBOLO_INVALIDO = 0x100;
+
+  /**Resultado de decodificar() para uma metade sem dados (padding) */
+  public static final int SEM_DADOS = -1;
+
+  private static final int DESLOCAMENTO_NIVEL = 9; //Posicao do nivel seguinte no resultado de decodificar()
+
+  /**Codigo de 16 bits de cada (nivel anterior, byte), no indice nivel * 256 + byte */
+  private static final char[] TABELA_CODIFICACAO = new char[512];
+
+  /**
+   * Decodificacao de cada (nivel anterior, byte do sinal), no indice nivel * 256 +
+   * byte: bits 3-0 com o nibble, bit 4 com o nivel seguinte, bits 7-5 com os pares
+   * nao nulos e bit 8 marcando par invalido.
+   */
+  private static final char[] TABELA_DECODIFICACAO = new char[512];
+
+  static {
+    for (int nivelAnterior = 0; nivelAnterior < 2; nivelAnterior++) {
+      for (int b = 0; b < 256; b++) {
+        int nivel = nivelAnterior;
+        int codigo = 0;
+        for (int j = 7; j >= 0; j--) {
+          int primeiroSinal = (((b >> j) & 1) == 0) ? nivel ^ 1 : nivel; //Bit 0: transicao no inicio do periodo
+          int segundoSinal = primeiroSinal ^ 1; //Transicao no meio do periodo
+          codigo = (codigo << 2) | (primeiroSinal << 1) | segundoSinal;
+          nivel = segundoSinal;
+        } //Fim for
+        TABELA_CODIFICACAO[nivelAnterior * 256 + b] = (char) codigo;
+      } //Fim for
+
+      for (int s = 0; s < 256; s++) {
+        int nivel = nivelAnterior;
+        int nibble = 0;
+        int pares = 0;
+        int invalido = 0;
+        for (int j = 0; j < 4; j++) {
+          int primeiroSinal = (s >> (7 - j * 2)) & 1;
+          int segundoSinal = (s >> (6 - j * 2)) & 1;
+          nibble = (nibble << 1) | ((primeiroSinal == nivel) ? 1 : 0); //Sem transicao no inicio: bit 1
+          nivel = segundoSinal;
+          if (primeiroSinal != 0 || segundoSinal != 0) {
+            pares++;
+          }
+          if (primeiroSinal == segundoSinal) {
+            invalido = 1;
+          }
+        } //Fim for
+        TABELA_DECODIFICACAO[nivelAnterior * 256 + s] = (char) (nibble | (nivel << 4) | (pares << 5) | (invalido << 8));
+      } //Fim for
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica um caractere.
+   *
+   * @param  caractere O caractere (apenas os 8 bits menos significativos sao usados).
+   * @param  nivel     O nivel do sinal no fim do caractere anterior (0 ou 1).
+   * @return int       Os 16 bits do sinal, nos bits 15-0; o nivel seguinte eh o bit 0.
+   */
+  public static int codificar(int caractere, int nivel) {
+    return TABELA_CODIFICACAO[(nivel << 8) | (caractere & 0xFF)];
+  } //Fim codificar
+
+
+  /**
+   * Codifica um quadro, dois caracteres por inteiro de 32 bits, a partir de
+   * NIVEL_INICIAL.
+   * <p>
+   * O primeiro caractere do par ocupa os bits 31-16 e o segundo os bits 15-0. Se
+   * o quadro tem tamanho impar, o ultimo caractere fica sozinho nos bits 15-0.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length + 1) / 2];
+    int pares = quadro.length / 2;
+    int nivel = NIVEL_INICIAL;
+
+    for (int i = 0; i < pares; i++) {
+      int primeiro = TABELA_CODIFICACAO[(nivel << 8) | (quadro[i * 2] & 0xFF)];
+      int segundo = TABELA_CODIFICACAO[((primeiro & 1) << 8) | (quadro[i * 2 + 1] & 0xFF)];
+      codificado[i] = (primeiro << 16) | segundo;
+      nivel = segundo & 1;
+    } //Fim for
+    if (pares < codificado.length) {
+      codificado[pares] = TABELA_CODIFICACAO[(nivel << 8) | (quadro[quadro.length - 1] & 0xFF)];
+    }
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica 16 bits do sinal (8 pares) em um caractere.
+   *
+   * @param  metade Os 16 bits, nos bits 15-0.
+   * @param  nivel  O nivel do sinal no fim da metade anterior (0 ou 1).
+   * @return int    SEM_DADOS para padding; se nao, o caractere nos bits 7-0, SIMBOLO_INVALIDO
+   *                se houver par 00 ou 11 e o nivel seguinte (ver proximoNivel()).
+   */
+  public static int decodificar(int metade, int nivel) {
+    int alto = TABELA_DECODIFICACAO[(nivel << 8) | ((metade >> 8) & 0xFF)];
+    int baixo = TABELA_DECODIFICACAO[(((alto >> 4) & 1) << 8) | (metade & 0xFF)];
+
+    if (((alto >> 5) & 0b111) + ((baixo >> 5) & 0b111) < 2) {
+      return SEM_DADOS; //O nivel nao muda
+    }
+    return ((alto & 0xF) << 4) | (baixo & 0xF) | ((alto | baixo) & SIMBOLO_INVALIDO)
+           | (((baixo >> 4) & 1) << DESLOCAMENTO_NIVEL);
+  } //Fim decodificar
+
+
+  /**
+   * Extrai o nivel seguinte de um resultado de decodificar().
+   *
+   * @param  resultado O valor devolvido por decodificar() (diferente de SEM_DADOS).
+   * @return int       O nivel do sinal no fim da metade decodificada.
+   */
+  public static int proximoNivel(int resultado) {
+    return (resultado >> DESLOCAMENTO_NIVEL) & 1;
+  } //Fim proximoNivel
+
+} //Fim da classe CodificadorManchesterDiferencial
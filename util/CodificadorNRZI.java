@@ -0,0 +1,82 @@
+package util;
+
+/**
+ * Codificacao NRZI (Non-Return-to-Zero Inverted), usada pelas camadas fisicas.
+ * <p>
+ * O bit 1 inverte o nivel do sinal e o bit 0 o mantem; cada bit de dados ocupa
+ * um bit de sinal (sobrecarga 1). O sinal do bit i eh o XOR de todos os bits de
+ * dados ate i com o nivel anterior ao quadro, ou seja, um prefixo de XOR: em vez
+ * de uma tabela, a palavra inteira eh convertida com cinco deslocamentos (32 bits
+ * por vez), e a decodificacao, que compara cada sinal com o anterior, com um so
+ * deslocamento. O nivel no fim da palavra (bit 0) eh o nivel anterior da
+ * proxima, entao o mesmo codigo atende um quadro inteiro ou um fluxo em partes.
+ * <p>
+ * Os caracteres sao empacotados como na codificacao binaria (quatro por palavra,
+ * o primeiro nos bits 31-24), e o padding continua sendo de bytes nulos: um
+ * trecho sem transicoes. Um sinal trocado pelo meio altera dois bits de dados
+ * vizinhos, o que a paridade nao percebe; o controle de erro adequado eh o CRC.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class CodificadorNRZI {
+
+  /**Nivel do sinal antes do primeiro bit de um quadro */
+  public static final int NIVEL_INICIAL = 0;
+
+
+  /**
+   * Converte 32 bits de dados em 32 bits de sinal NRZI.
+   *
+   * @param  dados Os bits de dados, o primeiro no bit 31.
+   * @param  nivel O nivel do sinal antes do bit 31 (0 ou 1).
+   * @return int   O sinal; o nivel seguinte eh o bit 0.
+   */
+  public static int codificar(int dados, int nivel) {
+    int sinal = dados;
+    sinal ^= sinal >>> 1; //Cada bit acumula o XOR dos bits a sua esquerda (mais antigos)
+    sinal ^= sinal >>> 2;
+    sinal ^= sinal >>> 4;
+    sinal ^= sinal >>> 8;
+    sinal ^= sinal >>> 16;
+    return sinal ^ -nivel; //Nivel anterior 1: todos os sinais invertidos
+  } //Fim codificar
+
+
+  /**
+   * Codifica um quadro, quatro caracteres por inteiro de 32 bits, a partir de
+   * NIVEL_INICIAL.
+   *
+   * @param  quadro O quadro, um caractere por byte.
+   * @return int[]  O fluxo de bits codificado.
+   */
+  public static int[] codificar(byte[] quadro) {
+    int[] codificado = new int[(quadro.length + 3) / 4];
+    int nivel = NIVEL_INICIAL;
+
+    for (int i = 0; i < codificado.length; i++) {
+      int dados = 0;
+      for (int j = 0; j < 4; j++) { //Empacota como a codificacao binaria
+        int posicao = i * 4 + j;
+        dados = (dados << 8) | ((posicao < quadro.length) ? quadro[posicao] & 0xFF : 0);
+      } //Fim for
+      codificado[i] = codificar(dados, nivel);
+      nivel = codificado[i] & 1;
+    } //Fim for
+    return codificado;
+  } //Fim codificar
+
+
+  /**
+   * Converte 32 bits de sinal NRZI de volta em 32 bits de dados.
+   *
+   * @param  sinal Os bits de sinal, o primeiro no bit 31.
+   * @param  nivel O nivel do sinal antes do bit 31 (0 ou 1).
+   * @return int   Os dados: 1 onde o sinal muda em relacao ao anterior. O nivel seguinte eh o bit 0 do sinal.
+   */
+  public static int decodificar(int sinal, int nivel) {
+    return sinal ^ ((sinal >>> 1) | (nivel << 31));
+  } //Fim decodificar
+
+} //Fim da classe CodificadorNRZI
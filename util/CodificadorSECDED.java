@@ -0,0 +1,189 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Codificador e decodificador do codigo de Hamming em blocos (72,64) SECDED.
+ * <p>
+ * O quadro eh dividido em blocos de 64 bits (8 bytes) e cada bloco recebe um byte
+ * de verificacao: 7 bits de Hamming e 1 bit de paridade geral. Assim cada bloco
+ * corrige um erro simples (SEC) e detecta um erro duplo (DED), em vez de um unico
+ * codigo de Hamming para o quadro inteiro. O ultimo bloco eh encurtado (codigo
+ * encurtado): leva so os bytes que existem, seguidos do byte de verificacao, como
+ * se os que faltam fossem nulos. O receptor deduz o tamanho dos dados do tamanho
+ * do quadro, e uma sindrome que aponta para um byte que nao existe eh um erro
+ * multiplo.
+ * <p>
+ * Os bits de dados ocupam as 64 primeiras posicoes que nao sao potencia de 2 de
+ * um codigo de Hamming (3, 5, 6, 7, 9, ..., 71). A codificacao e a decodificacao
+ * sao feitas por tabelas: a contribuicao de cada byte de dados para os bits de
+ * verificacao eh pre-calculada (8 x 256 entradas) e a sindrome eh convertida no
+ * bit a corrigir por uma tabela de 128 entradas. Os blocos sao independentes e,
+ * em quadros longos, sao decodificados em paralelo.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class CodificadorSECDED {
+
+  private static final int BYTES_POR_BLOCO = 8; //64 bits de dados por bloco
+  private static final int BLOCOS_PARA_PARALELISMO = 1024; //Abaixo disso, o custo das threads nao compensa
+
+  private static final int SINDROME_BIT_VERIFICACAO = -1; //A sindrome aponta para um bit de verificacao
+  private static final int SINDROME_INVALIDA = -2; //A sindrome aponta para fora do codigo (erro multiplo)
+
+  /**Contribuicao de cada byte de dados (posicao 0 a 7, valor 0 a 255) para os 7 bits de Hamming */
+  private static final int[][] TABELA_VERIFICACAO = new int[BYTES_POR_BLOCO][256];
+
+  /**Indice do bit de dados (0 a 63) que corresponde a cada sindrome */
+  private static final int[] TABELA_SINDROME = new int[128];
+
+  static {
+    int[] posicaoDoBit = new int[64]; //Posicao de Hamming de cada bit de dados
+    Arrays.fill(TABELA_SINDROME, SINDROME_INVALIDA);
+
+    int bit = 0;
+    for (int posicao = 1; bit < 64; posicao++) {
+      if (Util.ehPotenciaDeDois(posicao)) {
+        TABELA_SINDROME[posicao] = SINDROME_BIT_VERIFICACAO;
+      } else {
+        TABELA_SINDROME[posicao] = bit;
+        posicaoDoBit[bit++] = posicao;
+      }
+    } //Fim for
+
+    for (int i = 0; i < BYTES_POR_BLOCO; i++) {
+      for (int valor = 0; valor < 256; valor++) {
+        int verificacao = 0;
+        for (int j = 0; j < 8; j++) {
+          if (((valor >> (7 - j)) & 1) == 1) { //MSB primeiro: bit j do byte i eh o bit de dados 8i + j
+            verificacao ^= posicaoDoBit[i * 8 + j];
+          }
+        }
+        TABELA_VERIFICACAO[i][valor] = verificacao;
+      }
+    } //Fim for
+  } //Fim static
+
+
+  /**
+   * Codifica o quadro, acrescentando um byte de verificacao a cada 8 bytes de dados.
+   *
+   * @param quadro  A mensagem enquadrada.
+   * @return byte[] Os blocos de ate 8 bytes de dados, cada um seguido do seu byte de verificacao.
+   */
+  public static byte[] codificar(byte[] quadro) {
+    int numBlocos = (quadro.length + BYTES_POR_BLOCO - 1) / BYTES_POR_BLOCO;
+    byte[] quadroCodificado = new byte[quadro.length + numBlocos];
+
+    for (int b = 0; b < numBlocos; b++) {
+      int entrada = b * BYTES_POR_BLOCO;
+      int saida = b * (BYTES_POR_BLOCO + 1);
+      int bytesDoBloco = Math.min(BYTES_POR_BLOCO, quadro.length - entrada); //O ultimo bloco pode ser encurtado
+
+      int verificacao = 0;
+      int paridade = 0;
+      for (int i = 0; i < bytesDoBloco; i++) {
+        int valor = quadro[entrada + i] & 0xFF;
+        verificacao ^= TABELA_VERIFICACAO[i][valor];
+        paridade ^= valor;
+        quadroCodificado[saida + i] = (byte) valor;
+      } //Fim for
+
+      //Bit de paridade geral sobre os 64 bits de dados e os 7 bits de Hamming
+      int paridadeGeral = (Integer.bitCount(paridade) + Integer.bitCount(verificacao)) & 1;
+      quadroCodificado[saida + bytesDoBloco] = (byte) ((paridadeGeral << 7) | verificacao);
+    } //Fim for
+
+    return quadroCodificado;
+  } //Fim codificar
+
+
+  /**
+   * Decodifica o quadro, corrigindo um erro simples por bloco.
+   *
+   * @param quadro  Os blocos recebidos.
+   * @return byte[] Os dados, ou null se algum bloco tiver erro duplo.
+   */
+  public static byte[] decodificar(byte[] quadro) {
+    int numBlocos = (quadro.length + BYTES_POR_BLOCO) / (BYTES_POR_BLOCO + 1);
+    int tamanhoDados = quadro.length - numBlocos;
+    if (tamanhoDados <= (numBlocos - 1) * BYTES_POR_BLOCO) {
+      System.out.println("Quadro sem os dados do ultimo bloco (nao corrigivel)");
+      return null; //Tamanho que o codificador nao gera
+    }
+    byte[] quadroOriginal = new byte[tamanhoDados]; //Cada bloco escreve os seus proprios bytes
+    AtomicBoolean erroDuplo = new AtomicBoolean(false);
+
+    IntStream blocos = IntStream.range(0, numBlocos);
+    if (numBlocos >= BLOCOS_PARA_PARALELISMO) {
+      blocos = blocos.parallel(); //Os blocos nao dependem uns dos outros
+    }
+
+    blocos.forEach(b -> {
+      if (!decodificarBloco(quadro, b, quadroOriginal)) {
+        erroDuplo.set(true);
+      }
+    });
+
+    if (erroDuplo.get()) {
+      return null; //Erro detectado, mas nao corrigivel
+    }
+
+    return quadroOriginal;
+  } //Fim decodificar
+
+
+  /**
+   * Decodifica um unico bloco, escrevendo os dados (corrigidos) na saida.
+   *
+   * @param  quadro         O quadro recebido.
+   * @param  bloco          O indice do bloco.
+   * @param  quadroOriginal O vetor de saida com os dados.
+   * @return boolean        Falso se o bloco tiver um erro detectado e nao corrigivel.
+   */
+  private static boolean decodificarBloco(byte[] quadro, int bloco, byte[] quadroOriginal) {
+    int entrada = bloco * (BYTES_POR_BLOCO + 1);
+    int saida = bloco * BYTES_POR_BLOCO;
+    int bytesDoBloco = Math.min(BYTES_POR_BLOCO, quadroOriginal.length - saida);
+
+    int verificacao = 0;
+    int paridade = 0;
+    for (int i = 0; i < bytesDoBloco; i++) {
+      int valor = quadro[entrada + i] & 0xFF;
+      verificacao ^= TABELA_VERIFICACAO[i][valor];
+      paridade ^= valor;
+      quadroOriginal[saida + i] = (byte) valor;
+    } //Fim for
+
+    int verificacaoRecebida = quadro[entrada + bytesDoBloco] & 0xFF;
+    int sindrome = verificacao ^ (verificacaoRecebida & 0x7F);
+    int paridadeGeral = (Integer.bitCount(paridade) + Integer.bitCount(verificacaoRecebida)) & 1;
+
+    if (sindrome == 0) {
+      return true; //Sem erro, ou erro apenas no bit de paridade geral
+    }
+
+    if (paridadeGeral == 0) { //Sindrome nao nula com paridade correta: numero par de erros
+      System.out.println("Erro duplo detectado no bloco " + bloco + " (nao corrigivel)");
+      return false;
+    }
+
+    int bitErrado = TABELA_SINDROME[sindrome];
+    if (bitErrado == SINDROME_INVALIDA || bitErrado / 8 >= bytesDoBloco) { //Tambem um byte que nao existe
+      System.out.println("Erro multiplo detectado no bloco " + bloco + " (nao corrigivel)");
+      return false;
+    }
+
+    if (bitErrado >= 0) { //Erro em um bit de dados; erros nos bits de verificacao nao afetam os dados
+      System.out.println("Erro detectado no bloco " + bloco + ", bit " + bitErrado + " (corrigindo)");
+      quadroOriginal[saida + bitErrado / 8] ^= (byte) (1 << (7 - bitErrado % 8));
+    }
+
+    return true;
+  } //Fim decodificarBloco
+
+} //Fim da classe CodificadorSECDED
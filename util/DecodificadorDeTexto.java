@@ -0,0 +1,80 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converte em texto UTF-8 os bytes entregues, em partes, a aplicacao receptora.
+ * <p>
+ * A mensagem chega quadro a quadro, e um caractere de dois a quatro bytes pode
+ * comecar em um quadro e terminar no seguinte. Os bytes de um caractere
+ * incompleto no fim de uma parte ficam guardados (no maximo tres) e sao
+ * decodificados junto com a proxima; o que nao for UTF-8 valido vira o
+ * caractere de substituicao (U+FFFD), sem interromper a recepcao. Os bytes em
+ * si nao sao alterados: quem precisa deles os recebe antes da conversao.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class DecodificadorDeTexto {
+
+  private static final int MAXIMO_PENDENTES = 3; //Bytes de um caractere UTF-8 incompleto
+
+  private final CharsetDecoder decodificador = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final byte[] pendentes = new byte[MAXIMO_PENDENTES];
+  private int numPendentes;
+
+
+  /**
+   * Decodifica mais uma parte da mensagem.
+   *
+   * @param  dados  Os bytes recebidos, na ordem da mensagem.
+   * @return String O texto dos caracteres completos (pode ser vazio).
+   */
+  public synchronized String decodificar(byte[] dados) {
+    ByteBuffer entrada;
+    if (numPendentes == 0) {
+      entrada = ByteBuffer.wrap(dados);
+    } else { //Completa o caractere que ficou da parte anterior
+      entrada = ByteBuffer.allocate(numPendentes + dados.length);
+      entrada.put(pendentes, 0, numPendentes).put(dados).flip();
+    } //Fim if-else
+
+    CharBuffer saida = CharBuffer.allocate(entrada.remaining() + 1); //No UTF-8, nunca mais de um char por byte
+    decodificador.decode(entrada, saida, false);
+
+    numPendentes = entrada.remaining(); //O decodificador so para antes do fim em um caractere incompleto
+    entrada.get(pendentes, 0, numPendentes);
+    return saida.flip().toString();
+  } //Fim decodificar
+
+
+  /**
+   * Encerra a mensagem: um caractere que ficou incompleto vira U+FFFD.
+   *
+   * @return String O texto que faltava entregar (vazio se nao havia bytes guardados).
+   */
+  public synchronized String finalizar() {
+    CharBuffer saida = CharBuffer.allocate(MAXIMO_PENDENTES + 1);
+    decodificador.decode(ByteBuffer.wrap(pendentes, 0, numPendentes), saida, true);
+    decodificador.flush(saida);
+    reiniciar();
+    return saida.flip().toString();
+  } //Fim finalizar
+
+
+  /**
+   * Descarta os bytes guardados, para uma nova mensagem.
+   */
+  public synchronized void reiniciar() {
+    decodificador.reset();
+    numPendentes = 0;
+  } //Fim reiniciar
+
+} //Fim da classe DecodificadorDeTexto
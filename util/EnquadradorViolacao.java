@@ -0,0 +1,88 @@
+package util;
+
+/**
+ * Enquadramento por violacao da codificacao da camada fisica, palavra a palavra.
+ * <p>
+ * O quadro eh delimitado pelo par de sinais 11, que nao existe no Manchester nem
+ * no Manchester Diferencial: uma flag nos bits 31-30 da primeira palavra, os bits
+ * do fluxo codificado logo em seguida e outra flag na primeira posicao par depois
+ * deles; o resto da ultima palavra fica nulo. O tamanho do fluxo eh informado em
+ * bits, entao os dados sao copiados com dois deslocamentos por palavra, sem
+ * procurar o padding bit a bit nem reler o restante do vetor a cada par.
+ * <p>
+ * No desenquadramento, o numero de bits de dados vem do tamanho do quadro,
+ * informado pelo transmissor, entao a flag final nao eh procurada: os dados
+ * depois da flag inicial sao copiados com os mesmos deslocamentos.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public class EnquadradorViolacao {
+
+  /**Bits de cada flag de violacao */
+  public static final int BITS_DA_FLAG = 2;
+
+  private static final int FLAG = 0b11;
+
+
+  /**
+   * Enquadra os primeiros numBits bits de um fluxo.
+   *
+   * @param  fluxo   O fluxo de bits codificado, o primeiro bit no bit 31 da palavra 0.
+   * @param  numBits O numero de bits do fluxo que sao dados.
+   * @return int[]   O fluxo com as flags: BITS_DA_FLAG + numBits (arredondado para par)
+   *                 + BITS_DA_FLAG bits, completado com zeros ate a ultima palavra.
+   */
+  public static int[] enquadrar(int[] fluxo, int numBits) {
+    int posicaoFlagFinal = BITS_DA_FLAG + numBits;
+    posicaoFlagFinal += posicaoFlagFinal & 1; //A flag final fica alinhada aos pares
+    int[] enquadrado = new int[(posicaoFlagFinal + BITS_DA_FLAG + 31) / 32];
+
+    enquadrado[0] = FLAG << 30;
+    int palavrasDeDados = (numBits + 31) / 32;
+    int bitsNaUltima = numBits & 31;
+    for (int i = 0; i < palavrasDeDados; i++) {
+      int palavra = fluxo[i];
+      if (i == palavrasDeDados - 1 && bitsNaUltima != 0) {
+        palavra &= -1 << (32 - bitsNaUltima); //Descarta o que vem depois dos dados
+      }
+      enquadrado[i] |= palavra >>> BITS_DA_FLAG;
+      if (i + 1 < enquadrado.length) {
+        enquadrado[i + 1] = palavra << (32 - BITS_DA_FLAG);
+      }
+    } //Fim for
+
+    enquadrado[posicaoFlagFinal >>> 5] |= FLAG << (30 - (posicaoFlagFinal & 31));
+    return enquadrado;
+  } //Fim enquadrar
+
+
+  /**
+   * Retira as flags de um fluxo enquadrado.
+   *
+   * @param  enquadrado O fluxo enquadrado.
+   * @param  tamanho    O numero de palavras do fluxo.
+   * @param  numBits    O numero de bits de dados.
+   * @return int[]      Os bits de dados, o primeiro no bit 31 da palavra 0; o resto da
+   *                    ultima palavra fica nulo.
+   */
+  public static int[] desenquadrar(int[] enquadrado, int tamanho, int numBits) {
+    int[] fluxo = new int[(numBits + 31) / 32];
+
+    for (int i = 0; i < fluxo.length; i++) {
+      int palavra = enquadrado[i] << BITS_DA_FLAG;
+      if (i + 1 < tamanho) {
+        palavra |= enquadrado[i + 1] >>> (32 - BITS_DA_FLAG);
+      }
+      fluxo[i] = palavra;
+    } //Fim for
+
+    int bitsNaUltima = numBits & 31;
+    if (bitsNaUltima != 0) {
+      fluxo[fluxo.length - 1] &= -1 << (32 - bitsNaUltima); //Descarta a flag final
+    }
+    return fluxo;
+  } //Fim desenquadrar
+
+} //Fim da classe EnquadradorViolacao
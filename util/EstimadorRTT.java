@@ -0,0 +1,123 @@
+package util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Estimador do tempo de ida e volta (RTT) e do tempo limite de retransmissao (RTO).
+ * <p>
+ * Segue o algoritmo de Jacobson/Karels (RFC 6298): a cada amostra R, a media
+ * suavizada (SRTT) e a variacao (RTTVAR) sao atualizadas por
+ * <pre>
+ *   RTTVAR = 3/4 * RTTVAR + 1/4 * |SRTT - R|
+ *   SRTT   = 7/8 * SRTT   + 1/8 * R
+ *   RTO    = SRTT + max(G, 4 * RTTVAR)
+ * </pre>
+ * A primeira amostra inicializa SRTT = R e RTTVAR = R/2. Antes dela o RTO eh o
+ * valor inicial informado. A cada timeout o RTO eh dobrado (backoff exponencial),
+ * ate a proxima amostra valida. Quem usa o estimador deve respeitar a regra de
+ * Karn: quadros retransmitidos nao geram amostras, pois nao se sabe a qual envio
+ * o ACK pertence. As amostras sao guardadas em nanossegundos, ja que sem
+ * animacao o RTT fica abaixo de um milissegundo; o RTO eh devolvido em
+ * milissegundos, arredondado para cima.
+ * G eh a granularidade informada na criacao, consultada a cada amostra: a
+ * variacao do RTT que nao aparece nas amostras (ex: a espera pelo escalonador
+ * quando o quadro passa de uma thread para outra, que quem cria o estimador
+ * mede). Sem ela, um RTT muito estavel leva o RTO para perto do RTT e qualquer
+ * atraso ocasional vira uma retransmissao.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class EstimadorRTT {
+
+  private static final long NANOS_POR_MILI = 1_000_000L;
+  private static final long RTO_MINIMO = NANOS_POR_MILI; //1 ms, a resolucao das esperas das threads de envio
+  private static final long RTO_MAXIMO = 60_000 * NANOS_POR_MILI; //60 s, teto tambem para o backoff
+
+  private long srtt; //Media suavizada do RTT, em nanossegundos
+  private long rttvar; //Variacao suavizada do RTT, em nanossegundos
+  private long rto; //Tempo limite atual, em nanossegundos
+  private final LongSupplier granularidade; //Margem minima sobre o SRTT (G), em nanossegundos
+  private boolean temAmostra; //Falso ate a primeira amostra
+
+  /**
+   * Cria o estimador sem amostras.
+   *
+   * @param rtoInicial O RTO usado ate a primeira amostra, em milissegundos.
+   */
+  public EstimadorRTT(long rtoInicial) {
+    this(rtoInicial, () -> 0);
+  } //Fim construtor
+
+
+  /**
+   * Cria o estimador sem amostras, com uma margem minima sobre o SRTT.
+   *
+   * @param rtoInicial    O RTO usado ate a primeira amostra, em milissegundos.
+   * @param granularidade Fornece a margem minima G do RTO sobre o SRTT, em nanossegundos.
+   */
+  public EstimadorRTT(long rtoInicial, LongSupplier granularidade) {
+    this.granularidade = granularidade;
+    this.rto = limitar(rtoInicial * NANOS_POR_MILI);
+  } //Fim construtor
+
+
+  /**
+   * Atualiza SRTT, RTTVAR e RTO com uma nova amostra (desfaz o backoff).
+   *
+   * @param rtt O tempo entre o envio de um quadro nao retransmitido e o seu ACK, em nanossegundos.
+   */
+  public synchronized void registrarAmostra(long rtt) {
+    if (!temAmostra) {
+      srtt = rtt;
+      rttvar = rtt / 2;
+      temAmostra = true;
+    } else {
+      rttvar += (Math.abs(srtt - rtt) - rttvar) / 4;
+      srtt += (rtt - srtt) / 8;
+    } //Fim if-else
+
+    rto = limitar(srtt + Math.max(granularidade.getAsLong(), 4 * rttvar));
+  } //Fim registrarAmostra
+
+
+  /**
+   * Dobra o RTO apos um timeout.
+   */
+  public synchronized void aplicarBackoff() {
+    rto = limitar(rto * 2);
+  } //Fim aplicarBackoff
+
+
+  /**
+   * Retorna o tempo limite de retransmissao atual.
+   *
+   * @return long O RTO, em milissegundos (minimo 1).
+   */
+  public synchronized long getRTO() {
+    return (rto + NANOS_POR_MILI - 1) / NANOS_POR_MILI;
+  } //Fim getRTO
+
+
+  /**
+   * Retorna a media suavizada do RTT.
+   *
+   * @return long O SRTT, em nanossegundos (0 antes da primeira amostra).
+   */
+  public synchronized long getSRTT() {
+    return srtt;
+  } //Fim getSRTT
+
+
+  /**
+   * Mantem o RTO entre o minimo e o maximo.
+   *
+   * @param  rto  O valor calculado, em nanossegundos.
+   * @return long O valor limitado.
+   */
+  private static long limitar(long rto) {
+    return Math.max(RTO_MINIMO, Math.min(RTO_MAXIMO, rto));
+  } //Fim limitar
+
+} //Fim da classe EstimadorRTT
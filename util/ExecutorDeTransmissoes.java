@@ -0,0 +1,131 @@
+package util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor compartilhado que prepara as mensagens a transmitir.
+ * <p>
+ * Cada mensagem passa pela camada de aplicacao, pelo enquadramento e pelo
+ * controle de erros em uma tarefa deste executor, em vez de uma nova thread de
+ * plataforma por mensagem. No Java 21 ou superior cada tarefa roda em uma thread
+ * virtual (obtida por reflexao, pois o codigo tambem compila em versoes
+ * anteriores). Nas versoes anteriores, um pool limitado de threads daemon eh
+ * usado no lugar.
+ * <p>
+ * Ate LIMITE mensagens sao preparadas ao mesmo tempo e as demais esperam a vez.
+ * O limite eh lido da propriedade de sistema "simulacao.transmissoes.limite"
+ * (padrao: 4 por processador). Ao fim da JVM, um gancho de encerramento deixa as
+ * tarefas em andamento terminarem por ate TEMPO_ENCERRAMENTO milissegundos.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 17/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class ExecutorDeTransmissoes {
+
+  private static final String PROPRIEDADE_LIMITE = "simulacao.transmissoes.limite";
+  private static final long TEMPO_ENCERRAMENTO = 2000; //Espera maxima do gancho de encerramento, em milissegundos
+  private static final int LIMITE = lerLimite(); //Mensagens preparadas ao mesmo tempo
+  private static final Semaphore vagas = new Semaphore(LIMITE);
+  private static final ExecutorService EXECUTOR = criarExecutor();
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> encerrar(TEMPO_ENCERRAMENTO), "encerramento-transmissoes"));
+  } //Fim static
+
+
+  /**
+   * Executa a preparacao de uma mensagem assim que houver vaga.
+   *
+   * @param tarefa A tarefa da mensagem (camada de aplicacao ate o inicio do envio).
+   */
+  public static void executar(Runnable tarefa) {
+    EXECUTOR.execute(() -> {
+      vagas.acquireUninterruptibly(); //Em uma thread virtual, esperar pela vaga nao prende uma thread de plataforma
+      try {
+        tarefa.run();
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      } finally {
+        vagas.release();
+      } //Fim try-catch-finally
+    });
+  } //Fim executar
+
+
+  /**
+   * Recusa novas tarefas e espera as que estao em andamento.
+   *
+   * @param  tempoLimite O tempo maximo de espera, em milissegundos.
+   * @return boolean     Verdadeiro se todas as tarefas terminaram a tempo.
+   */
+  public static boolean encerrar(long tempoLimite) {
+    EXECUTOR.shutdown();
+    try {
+      return EXECUTOR.awaitTermination(tempoLimite, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } //Fim try-catch
+  } //Fim encerrar
+
+
+  /**
+   * Retorna o limite de mensagens preparadas ao mesmo tempo.
+   *
+   * @return int O limite.
+   */
+  public static int getLimite() {
+    return LIMITE;
+  } //Fim getLimite
+
+
+  /**
+   * Le o limite da propriedade de sistema, ou usa o padrao.
+   *
+   * @return int O limite (minimo 1).
+   */
+  private static int lerLimite() {
+    int padrao = 4 * Runtime.getRuntime().availableProcessors();
+    try {
+      return Math.max(1, Integer.getInteger(PROPRIEDADE_LIMITE, padrao));
+    } catch (SecurityException e) {
+      return padrao;
+    } //Fim try-catch
+  } //Fim lerLimite
+
+
+  /**
+   * Cria o executor de threads virtuais ou, se nao houver, o pool limitado.
+   *
+   * @return ExecutorService O executor das mensagens.
+   */
+  private static ExecutorService criarExecutor() {
+    try {
+      Method virtual = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) virtual.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      //Java anterior ao 21 (ou threads virtuais desabilitadas): pool de plataforma
+    } //Fim try-catch
+
+    AtomicInteger contador = new AtomicInteger();
+    ThreadFactory fabrica = tarefa -> {
+      Thread thread = new Thread(tarefa, "transmissao-" + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(LIMITE, LIMITE, 30, TimeUnit.SECONDS,
+                                                     new LinkedBlockingQueue<>(), fabrica);
+    pool.allowCoreThreadTimeOut(true); //Sem mensagens, as threads ociosas terminam
+    return pool;
+  } //Fim criarExecutor
+
+} //Fim da classe ExecutorDeTransmissoes
@@ -0,0 +1,85 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Modelo de erros do meio de comunicacao.
+ * <p>
+ * O meio passa cada palavra de 32 bits do quadro pelo modelo, na ordem, e o
+ * modelo escreve no ponto B o que chegou: a palavra com bits trocados, uma
+ * palavra apagada (sem sinal, 0), nada (palavra perdida) ou a palavra duas vezes
+ * (duplicada). Os bits sao contados na ordem em que atravessam o meio, do bit 31
+ * ao bit 0 de cada palavra. O estado do modelo (ex: a fase de rajada do
+ * Gilbert-Elliott) continua de um quadro para o outro do mesmo enlace.
+ * <p>
+ * Para nao sortear um numero por bit, os modelos sorteiam a distancia ate o
+ * proximo evento (intervaloGeometrico): com probabilidade p por bit, o numero de
+ * bits sem erro antes do proximo erro segue a distribuicao geometrica, obtida de
+ * um unico sorteio. Com BER de 1e-6, um quadro inteiro costuma passar com uma
+ * subtracao por palavra.
+ * <p>
+ * Um modelo atende um quadro por vez (as transmissoes de um enlace sao feitas
+ * uma de cada vez); nao eh preciso sincronizar.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   18/10/2026 (Inicio)
+ */
+public interface ModeloDeCanal {
+
+  /**Posicoes do ponto B por palavra enviada, no maximo (uma palavra duplicada ocupa duas) */
+  int FATOR_MAXIMO = 2;
+
+  /**
+   * Avisa o inicio de um quadro (ex: para sortear o erro do quadro).
+   *
+   * @param tamanho O numero de palavras do quadro.
+   */
+  default void iniciarQuadro(int tamanho) {
+  } //Fim iniciarQuadro
+
+
+  /**
+   * Passa uma palavra pelo canal.
+   *
+   * @param  palavra A palavra enviada no ponto A.
+   * @param  pontoB  O vetor do ponto B (com pelo menos FATOR_MAXIMO posicoes livres a partir de posicao).
+   * @param  posicao A proxima posicao livre do ponto B.
+   * @return int     Quantas palavras foram escritas no ponto B (0 a FATOR_MAXIMO).
+   */
+  int transmitir(int palavra, int[] pontoB, int posicao);
+
+
+  /**
+   * Sorteia quantas tentativas falham antes do proximo sucesso, com
+   * probabilidade de sucesso constante (distribuicao geometrica).
+   *
+   * @param  aleatorio     O gerador de numeros aleatorios.
+   * @param  probabilidade A probabilidade de sucesso em cada tentativa.
+   * @return long          O numero de tentativas sem sucesso (Long.MAX_VALUE se a probabilidade for 0).
+   */
+  static long intervaloGeometrico(SplittableRandom aleatorio, double probabilidade) {
+    if (probabilidade <= 0) {
+      return Long.MAX_VALUE;
+    }
+    if (probabilidade >= 1) {
+      return 0;
+    }
+    double u = 1.0 - aleatorio.nextDouble(); //Em (0, 1]: evita log(0)
+    double intervalo = Math.floor(Math.log(u) / Math.log1p(-probabilidade));
+    return (intervalo >= Long.MAX_VALUE) ? Long.MAX_VALUE : (long) intervalo;
+  } //Fim intervaloGeometrico
+
+
+  /**
+   * Soma dois intervalos sem estourar (Long.MAX_VALUE representa "nunca").
+   *
+   * @param  a    O primeiro intervalo.
+   * @param  b    O segundo intervalo.
+   * @return long A soma, limitada a Long.MAX_VALUE.
+   */
+  static long somarIntervalos(long a, long b) {
+    return (b > Long.MAX_VALUE - a) ? Long.MAX_VALUE : a + b;
+  } //Fim somarIntervalos
+
+} //Fim da interface ModeloDeCanal
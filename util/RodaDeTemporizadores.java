@@ -0,0 +1,142 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Roda de temporizadores (timing wheel) para muitos prazos simultaneos.
+ * <p>
+ * Em vez de uma thread dormindo por prazo, o tempo eh dividido em ticks de
+ * resolucao fixa e cada prazo eh guardado na posicao (tick % numPosicoes) de um
+ * vetor circular. Quem usa a roda chama avancar() periodicamente, com o
+ * instante atual, e recebe os identificadores cujo prazo expirou; apenas as
+ * posicoes dos ticks decorridos sao percorridas. Agendar e cancelar custam O(1).
+ * <p>
+ * Reagendar um identificador invalida o prazo anterior (cada agendamento recebe
+ * uma versao, e entradas com versao antiga sao descartadas quando sua posicao eh
+ * percorrida). A roda nao eh sincronizada: o dono deve proteger o acesso.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 17/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class RodaDeTemporizadores {
+
+  /**Prazo agendado: o identificador, a versao do agendamento e o tick em que expira */
+  private static class Entrada {
+    final int id;
+    final int versao;
+    final long tick;
+
+    Entrada(int id, int versao, long tick) {
+      this.id = id;
+      this.versao = versao;
+      this.tick = tick;
+    }
+  } //Fim da classe Entrada
+
+  private final ArrayList<Entrada>[] posicoes; //Vetor circular de listas de prazos
+  private final long resolucao; //Duracao de um tick, em milissegundos
+  private final long inicio; //Instante do tick 0, em milissegundos
+  private final HashMap<Integer, Integer> versoes = new HashMap<>(); //Versao vigente de cada id agendado
+  private long tickAtual; //Ultimo tick ja processado
+  private int proximaVersao;
+
+  /**
+   * Cria uma roda vazia.
+   *
+   * @param numPosicoes Numero de posicoes do vetor circular.
+   * @param resolucao   Duracao de um tick, em milissegundos (minimo 1).
+   * @param inicio      Instante do tick 0, em milissegundos.
+   */
+  @SuppressWarnings("unchecked")
+  public RodaDeTemporizadores(int numPosicoes, long resolucao, long inicio) {
+    this.posicoes = (ArrayList<Entrada>[]) new ArrayList<?>[numPosicoes];
+    for (int i = 0; i < numPosicoes; i++) {
+      posicoes[i] = new ArrayList<>();
+    }
+    this.resolucao = Math.max(1, resolucao);
+    this.inicio = inicio;
+  } //Fim construtor
+
+
+  /**
+   * Agenda (ou reagenda) o prazo de um identificador.
+   *
+   * @param id    O identificador (ex: indice do quadro).
+   * @param prazo O instante em que o prazo expira, em milissegundos.
+   */
+  public void agendar(int id, long prazo) {
+    long tick = Math.max(tickAtual + 1, (prazo - inicio + resolucao - 1) / resolucao); //Arredonda para cima
+    int versao = ++proximaVersao;
+
+    versoes.put(id, versao);
+    posicoes[(int) (tick % posicoes.length)].add(new Entrada(id, versao, tick));
+  } //Fim agendar
+
+
+  /**
+   * Cancela o prazo de um identificador, se houver.
+   *
+   * @param id O identificador.
+   */
+  public void cancelar(int id) {
+    versoes.remove(id); //A entrada fica na roda e eh descartada quando sua posicao for percorrida
+  } //Fim cancelar
+
+
+  /**
+   * Processa os ticks decorridos ate o instante informado.
+   *
+   * @param  agora         O instante atual, em milissegundos.
+   * @return List<Integer> Os identificadores cujo prazo expirou, em ordem de posicao.
+   */
+  public List<Integer> avancar(long agora) {
+    List<Integer> expirados = new ArrayList<>();
+    long alvo = (agora - inicio) / resolucao;
+
+    //Se passou mais de uma volta, cada posicao eh percorrida uma unica vez
+    long passos = Math.min(alvo - tickAtual, posicoes.length);
+    for (long p = 1; p <= passos; p++) {
+      Iterator<Entrada> it = posicoes[(int) ((tickAtual + p) % posicoes.length)].iterator();
+      while (it.hasNext()) {
+        Entrada entrada = it.next();
+        Integer versao = versoes.get(entrada.id);
+
+        if (versao == null || versao != entrada.versao) {
+          it.remove(); //Cancelada ou reagendada
+        } else if (entrada.tick <= alvo) {
+          it.remove();
+          versoes.remove(entrada.id);
+          expirados.add(entrada.id);
+        } //Fim if-else
+      } //Fim while
+    } //Fim for
+
+    tickAtual = Math.max(tickAtual, alvo);
+    return expirados;
+  } //Fim avancar
+
+
+  /**
+   * Retorna o instante do proximo tick, para quem precisa esperar por ele.
+   *
+   * @return long O instante, em milissegundos.
+   */
+  public long proximoTick() {
+    return inicio + (tickAtual + 1) * resolucao;
+  } //Fim proximoTick
+
+
+  /**
+   * Informa se ha algum prazo agendado.
+   *
+   * @return boolean Verdadeiro se nenhum prazo estiver pendente.
+   */
+  public boolean vazia() {
+    return versoes.isEmpty();
+  } //Fim vazia
+
+} //Fim da classe RodaDeTemporizadores
@@ -0,0 +1,104 @@
+package util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servico de temporizadores compartilhado pelas transmissoes.
+ * <p>
+ * Um unico ScheduledThreadPoolExecutor, com poucas threads, executa os prazos de
+ * retransmissao de todas as transmissoes (Stop-and-Wait, Go-Back-N e Selective
+ * Repeat), em vez de uma thread dormindo por transmissao. Cancelar um prazo
+ * (quando o ACK chega) eh apenas ScheduledFuture.cancel(false): nao bloqueia e
+ * nao interrompe ninguem, e a tarefa cancelada eh retirada da fila na hora.
+ * <p>
+ * Os envios nao rodam nessas threads: um envio bloqueia ate o quadro atravessar
+ * o meio (que dorme entre as palavras quando ha animacao), e ocuparia a thread
+ * de que os prazos das outras sessoes dependem. Eles vao para um segundo
+ * executor, que reaproveita as threads ociosas e so cria outra quando todas
+ * estao enviando. As threads dos dois sao daemon, para nao impedir o fim do
+ * programa.
+ *
+ * @author  Italo de Souza Leao (Matricula: 202410120)
+ * @version 18/10/2026 (Ultima alteracao)
+ * @since   17/10/2026 (Inicio)
+ */
+public class ServicoDeTemporizadores {
+
+  private static final int NUM_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+  private static final ScheduledThreadPoolExecutor EXECUTOR = criarExecutor();
+  private static final ExecutorService ENVIOS = Executors.newCachedThreadPool(fabrica("envio-"));
+
+  /**
+   * Agenda uma tarefa para depois de um atraso.
+   *
+   * @param  tarefa             A tarefa (ex: a retransmissao de um quadro).
+   * @param  atraso             O atraso, em milissegundos.
+   * @return ScheduledFuture<?> O prazo agendado, que pode ser cancelado.
+   */
+  public static ScheduledFuture<?> agendar(Runnable tarefa, long atraso) {
+    return EXECUTOR.schedule(protegida(tarefa), atraso, TimeUnit.MILLISECONDS);
+  } //Fim agendar
+
+
+  /**
+   * Executa um envio, que pode bloquear, fora das threads dos prazos.
+   *
+   * @param tarefa A tarefa (ex: o envio do proximo quadro).
+   */
+  public static void executarEnvio(Runnable tarefa) {
+    ENVIOS.execute(protegida(tarefa));
+  } //Fim executarEnvio
+
+
+  /**
+   * Envolve a tarefa para que uma excecao seja exibida, em vez de ficar guardada
+   * no Future que ninguem consulta.
+   *
+   * @param  tarefa   A tarefa original.
+   * @return Runnable A tarefa protegida.
+   */
+  private static Runnable protegida(Runnable tarefa) {
+    return () -> {
+      try {
+        tarefa.run();
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+      } //Fim try-catch
+    };
+  } //Fim protegida
+
+
+  /**
+   * Cria o executor com threads daemon nomeadas.
+   *
+   * @return ScheduledThreadPoolExecutor O executor configurado.
+   */
+  private static ScheduledThreadPoolExecutor criarExecutor() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(NUM_THREADS, fabrica("temporizador-"));
+    executor.setRemoveOnCancelPolicy(true); //Prazos cancelados pelo ACK nao ficam ocupando a fila
+    return executor;
+  } //Fim criarExecutor
+
+
+  /**
+   * Cria a fabrica de threads daemon nomeadas de um executor.
+   *
+   * @param  prefixo       O inicio do nome das threads.
+   * @return ThreadFactory A fabrica.
+   */
+  private static ThreadFactory fabrica(String prefixo) {
+    AtomicInteger contador = new AtomicInteger();
+    return tarefa -> {
+      Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  } //Fim fabrica
+
+} //Fim da classe ServicoDeTemporizadores